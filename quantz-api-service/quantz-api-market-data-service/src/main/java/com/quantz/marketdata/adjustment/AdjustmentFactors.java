@@ -0,0 +1,139 @@
+package com.quantz.marketdata.adjustment;
+
+import com.quantz.marketdata.entity.CandleData;
+import com.quantz.marketdata.entity.CorporateAction;
+
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Cumulative split and bonus adjustment of one instrument.
+ * <p>
+ * Ex-dates are kept as ascending epoch days together with the product of the price factors of every action
+ * from that ex-date on, so the factor of any candle is one binary search away. A candle dated before an
+ * ex-date has its prices multiplied and its volume divided by the factor; candles on or after the last
+ * ex-date are returned untouched.
+ */
+public final class AdjustmentFactors {
+
+    public static final AdjustmentFactors NONE = new AdjustmentFactors(new long[0], new double[0]);
+
+    private final long[] exDays;
+    private final double[] cumulative;
+
+    private AdjustmentFactors(long[] exDays, double[] cumulative) {
+        this.exDays = exDays;
+        this.cumulative = cumulative;
+    }
+
+    public static AdjustmentFactors of(Collection<CorporateAction> actions) {
+        if (actions.isEmpty()) {
+            return NONE;
+        }
+
+        // Several actions on one ex-date combine into a single step
+        TreeMap<Long, Double> factorByDay = new TreeMap<>();
+        for (CorporateAction action : actions) {
+            factorByDay.merge(action.getExDate().toEpochDay(), priceFactor(action), (left, right) -> left * right);
+        }
+
+        int size = factorByDay.size();
+        long[] exDays = new long[size];
+        double[] factors = new double[size];
+        int index = 0;
+        for (Map.Entry<Long, Double> entry : factorByDay.entrySet()) {
+            exDays[index] = entry.getKey();
+            factors[index++] = entry.getValue();
+        }
+
+        double[] cumulative = new double[size];
+        double product = 1.0;
+        for (int i = size - 1; i >= 0; i--) {
+            product *= factors[i];
+            cumulative[i] = product;
+        }
+        return new AdjustmentFactors(exDays, cumulative);
+    }
+
+    /**
+     * Factor that prices before the ex-date of the action are multiplied by
+     *
+     * @throws IllegalArgumentException when the ratio is not positive
+     */
+    public static double priceFactor(CorporateAction action) {
+        Integer held = action.getRatioHeld();
+        Integer added = action.getRatioNew();
+        if (held == null || added == null || held <= 0 || added <= 0) {
+            throw new IllegalArgumentException("Corporate action ratio must be positive");
+        }
+        return switch (action.getActionType()) {
+            case SPLIT -> (double) held / added;
+            case BONUS -> (double) held / (held + added);
+        };
+    }
+
+    public boolean isEmpty() {
+        return exDays.length == 0;
+    }
+
+    public int size() {
+        return exDays.length;
+    }
+
+    /**
+     * Cumulative price factor of a bar on the given date: the product of every action with a later ex-date
+     */
+    public double priceFactor(LocalDate date) {
+        int index = firstExDayAfter(date.toEpochDay());
+        return index < exDays.length ? cumulative[index] : 1.0;
+    }
+
+    /**
+     * Adjusted copies of the candles dated before the last ex-date; later candles are passed through as they are
+     */
+    public List<CandleData> apply(List<CandleData> candles) {
+        if (isEmpty() || candles.isEmpty()) {
+            return candles;
+        }
+
+        List<CandleData> adjusted = new ArrayList<>(candles.size());
+        for (CandleData candle : candles) {
+            double factor = priceFactor(candle.getTimestamp().toLocalDate());
+            adjusted.add(factor == 1.0 ? candle : adjust(candle, factor));
+        }
+        return adjusted;
+    }
+
+    private int firstExDayAfter(long epochDay) {
+        int low = 0;
+        int high = exDays.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (exDays[mid] <= epochDay) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static CandleData adjust(CandleData candle, double factor) {
+        return CandleData.builder()
+                .id(candle.getId())
+                .instrumentKey(candle.getInstrumentKey())
+                .interval(candle.getInterval())
+                .timestamp(candle.getTimestamp())
+                .open(scale(candle.getOpen(), factor))
+                .high(scale(candle.getHigh(), factor))
+                .low(scale(candle.getLow(), factor))
+                .close(scale(candle.getClose(), factor))
+                .volume(candle.getVolume() != null ? Math.round(candle.getVolume() / factor) : null)
+                .createdAt(candle.getCreatedAt())
+                .build();
+    }
+
+    private static Double scale(Double price, double factor) {
+        return price != null ? price * factor : null;
+    }
+}
@@ -0,0 +1,132 @@
+package com.quantz.marketdata.backtest;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.quantz.marketdata.event.CandlesSavedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Loads backtest data with plain JDBC, streaming rows straight into primitive columns. No JPA entity,
+ * boxed number or LocalDateTime is kept per bar, which is what makes years of minute bars fit in memory.
+ * Postgres only honours the fetch size inside a transaction, so each series is read in a read-only one.
+ * <p>
+ * Recently loaded datasets, with their memoised indicators, are kept up to a total number of bars so that
+ * repeated sweeps and walk-forward studies over the same universe skip the database. Saving candles of
+ * an instrument drops the datasets that contain it, as their range may then be incomplete.
+ */
+@Component
+public class BacktestDataLoader {
+
+    private static final String SQL = "SELECT c.timestamp, c.open, c.high, c.low, c.close, c.volume FROM candle_data c " +
+            "WHERE c.instrument_key = ? AND c.interval = ? AND c.timestamp BETWEEN ? AND ? ORDER BY c.timestamp";
+    private static final int FETCH_SIZE = 50_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readTransaction;
+    private final long indicatorBudget;
+    private final Cache<DatasetKey, BacktestDataset> datasets;
+
+    public BacktestDataLoader(DataSource dataSource,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${quantz.backtest.dataset-cache-bars:20000000}") long datasetCacheBars,
+                              @Value("${quantz.backtest.indicator-memory-mb:256}") long indicatorMemoryMb) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(FETCH_SIZE);
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.indicatorBudget = indicatorMemoryMb * 1024 * 1024;
+        this.datasets = Caffeine.newBuilder()
+                .maximumWeight(datasetCacheBars)
+                .<DatasetKey, BacktestDataset>weigher((key, dataset) -> Math.max(1, dataset.events()))
+                .expireAfterAccess(Duration.ofHours(1))
+                .build();
+    }
+
+    /**
+     * Dataset of the instruments' candles in [startTime, endTime], shared with earlier identical requests
+     */
+    public BacktestDataset load(List<String> instrumentKeys, String interval, LocalDateTime startTime, LocalDateTime endTime) {
+        DatasetKey key = new DatasetKey(List.copyOf(instrumentKeys), interval, startTime, endTime);
+        return datasets.get(key, this::read);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCandlesSaved(CandlesSavedEvent event) {
+        datasets.asMap().keySet().removeIf(key -> key.interval().equals(event.getInterval())
+                && key.instrumentKeys().contains(event.getInstrumentKey()));
+    }
+
+    private BacktestDataset read(DatasetKey key) {
+        List<BarSeries> series = new ArrayList<>(key.instrumentKeys().size());
+        for (String instrumentKey : key.instrumentKeys()) {
+            series.add(loadSeries(instrumentKey, key.interval(), key.startTime(), key.endTime()));
+        }
+        return BacktestDataset.of(key.interval(), series, indicatorBudget);
+    }
+
+    private BarSeries loadSeries(String instrumentKey, String interval, LocalDateTime startTime, LocalDateTime endTime) {
+        Columns columns = new Columns();
+        readTransaction.executeWithoutResult(status -> jdbcTemplate.query(SQL, resultSet -> {
+            columns.add(resultSet.getTimestamp(1).toLocalDateTime().toEpochSecond(ZoneOffset.UTC),
+                    resultSet.getFloat(2), resultSet.getFloat(3), resultSet.getFloat(4),
+                    resultSet.getFloat(5), resultSet.getFloat(6));
+        }, instrumentKey, interval, Timestamp.valueOf(startTime), Timestamp.valueOf(endTime)));
+        return columns.toSeries(instrumentKey);
+    }
+
+    private record DatasetKey(List<String> instrumentKeys, String interval, LocalDateTime startTime,
+                              LocalDateTime endTime) {
+    }
+
+    /**
+     * Growable column buffers for one instrument
+     */
+    private static final class Columns {
+        long[] time = new long[4096];
+        float[] open = new float[4096];
+        float[] high = new float[4096];
+        float[] low = new float[4096];
+        float[] close = new float[4096];
+        float[] volume = new float[4096];
+        int size;
+
+        void add(long t, float o, float h, float l, float c, float v) {
+            if (size == time.length) {
+                int capacity = size * 2;
+                time = Arrays.copyOf(time, capacity);
+                open = Arrays.copyOf(open, capacity);
+                high = Arrays.copyOf(high, capacity);
+                low = Arrays.copyOf(low, capacity);
+                close = Arrays.copyOf(close, capacity);
+                volume = Arrays.copyOf(volume, capacity);
+            }
+            time[size] = t;
+            open[size] = o;
+            high[size] = h;
+            low[size] = l;
+            close[size] = c;
+            volume[size] = v;
+            size++;
+        }
+
+        BarSeries toSeries(String instrumentKey) {
+            return new BarSeries(instrumentKey, Arrays.copyOf(time, size), Arrays.copyOf(open, size),
+                    Arrays.copyOf(high, size), Arrays.copyOf(low, size), Arrays.copyOf(close, size),
+                    Arrays.copyOf(volume, size));
+        }
+    }
+}
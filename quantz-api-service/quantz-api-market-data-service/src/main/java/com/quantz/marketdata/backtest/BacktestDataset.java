@@ -0,0 +1,184 @@
+package com.quantz.marketdata.backtest;
+
+import com.quantz.marketdata.indicators.Indicator;
+import com.quantz.marketdata.indicators.Indicators;
+
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Immutable bar data of a backtest universe plus the replay order of all bars across instruments,
+ * sorted by time and then by instrument. The order is computed once and shared by every run of a sweep.
+ * <p>
+ * Indicator columns requested by strategies are computed once over each full series and memoised up to a
+ * memory budget, so runs over different parameter sets or overlapping windows read the same arrays.
+ */
+public final class BacktestDataset {
+
+    public static final long DEFAULT_INDICATOR_BUDGET = 256L * 1024 * 1024;
+
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+
+    private final long id = SEQUENCE.incrementAndGet();
+    private final String interval;
+    private final List<BarSeries> series;
+    private final int[] eventInstrument;
+    private final int[] eventBar;
+    private final long indicatorBudget;
+    private final Map<String, float[][]> indicators = new ConcurrentHashMap<>();
+    private final AtomicLong indicatorBytes = new AtomicLong();
+
+    private BacktestDataset(String interval, List<BarSeries> series, int[] eventInstrument, int[] eventBar,
+                            long indicatorBudget) {
+        this.interval = interval;
+        this.series = series;
+        this.eventInstrument = eventInstrument;
+        this.eventBar = eventBar;
+        this.indicatorBudget = indicatorBudget;
+    }
+
+    public static BacktestDataset of(String interval, List<BarSeries> series) {
+        return of(interval, series, DEFAULT_INDICATOR_BUDGET);
+    }
+
+    /**
+     * @param indicatorBudget bytes of indicator columns kept for reuse; columns beyond it are computed per request
+     */
+    public static BacktestDataset of(String interval, List<BarSeries> series, long indicatorBudget) {
+        int events = series.stream().mapToInt(BarSeries::size).sum();
+        int[] eventInstrument = new int[events];
+        int[] eventBar = new int[events];
+
+        // k-way merge of the per-instrument series; queue entries are {instrument, bar}
+        PriorityQueue<int[]> heads = new PriorityQueue<>((a, b) -> {
+            int result = Long.compare(series.get(a[0]).time()[a[1]], series.get(b[0]).time()[b[1]]);
+            return result != 0 ? result : Integer.compare(a[0], b[0]);
+        });
+        for (int instrument = 0; instrument < series.size(); instrument++) {
+            if (series.get(instrument).size() > 0) {
+                heads.add(new int[]{instrument, 0});
+            }
+        }
+
+        int event = 0;
+        while (!heads.isEmpty()) {
+            int[] head = heads.poll();
+            eventInstrument[event] = head[0];
+            eventBar[event] = head[1];
+            event++;
+            if (++head[1] < series.get(head[0]).size()) {
+                heads.add(head);
+            }
+        }
+        return new BacktestDataset(interval, List.copyOf(series), eventInstrument, eventBar, indicatorBudget);
+    }
+
+    /**
+     * Identity of this load of the data; a reload of the same request gets a new id
+     */
+    public long id() {
+        return id;
+    }
+
+    public String interval() {
+        return interval;
+    }
+
+    public List<BarSeries> series() {
+        return series;
+    }
+
+    public int instruments() {
+        return series.size();
+    }
+
+    public int events() {
+        return eventInstrument.length;
+    }
+
+    public long eventTime(int event) {
+        return series.get(eventInstrument[event]).time()[eventBar[event]];
+    }
+
+    /**
+     * Index of the first event at or after the epoch second, or {@link #events()} if there is none
+     */
+    public int firstEventAtOrAfter(long time) {
+        int low = 0;
+        int high = eventInstrument.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (eventTime(middle) < time) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Values of the first output of the indicator, aligned with the instrument's series
+     *
+     * @throws IllegalArgumentException for invalid specs
+     */
+    public float[] indicator(int instrument, String spec) {
+        return indicator(instrument, spec, 0);
+    }
+
+    /**
+     * Values of one output of the indicator, aligned with the instrument's series; NaN during warm-up
+     *
+     * @throws IllegalArgumentException for invalid specs or outputs
+     */
+    public float[] indicator(int instrument, String spec, int output) {
+        Indicator prototype = Indicators.create(spec);
+        if (output < 0 || output >= prototype.outputs().size()) {
+            throw new IllegalArgumentException("Indicator " + spec + " has no output " + output);
+        }
+        String canonical = prototype.spec() + "#" + output;
+        float[][] columns = indicators.get(canonical);
+        if (columns != null) {
+            return columns[instrument];
+        }
+
+        long bytes = (long) events() * Float.BYTES;
+        float[][] computed = indicators.computeIfAbsent(canonical, key -> {
+            if (indicatorBytes.addAndGet(bytes) > indicatorBudget) {
+                indicatorBytes.addAndGet(-bytes);
+                return null;
+            }
+            float[][] all = new float[series.size()][];
+            for (int i = 0; i < all.length; i++) {
+                all[i] = computeIndicator(series.get(i), spec, output);
+            }
+            return all;
+        });
+        if (computed == null) {
+            return computeIndicator(series.get(instrument), spec, output);
+        }
+        return computed[instrument];
+    }
+
+    private static float[] computeIndicator(BarSeries bars, String spec, int output) {
+        Indicator indicator = Indicators.create(spec);
+        double[] out = new double[indicator.outputs().size()];
+        float[] values = new float[bars.size()];
+        for (int bar = 0; bar < values.length; bar++) {
+            indicator.update(bars.high()[bar], bars.low()[bar], bars.close()[bar], bars.volume()[bar], out);
+            values[bar] = (float) out[output];
+        }
+        return values;
+    }
+
+    int eventInstrument(int event) {
+        return eventInstrument[event];
+    }
+
+    int eventBar(int event) {
+        return eventBar[event];
+    }
+}
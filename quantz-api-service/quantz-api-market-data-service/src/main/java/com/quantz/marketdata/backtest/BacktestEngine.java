@@ -0,0 +1,235 @@
+package com.quantz.marketdata.backtest;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Event-driven replay of a {@link BacktestDataset} through a {@link Strategy}.
+ * <p>
+ * Bars are delivered in time order across instruments. For each bar, orders placed earlier for that
+ * instrument are filled at its open (plus slippage and commission), the position is marked to the close,
+ * and then the strategy sees the bar. Equity is sampled once per distinct timestamp, after every
+ * instrument trading at that time has been processed. Runs share the dataset read-only and keep
+ * all mutable state in the run itself, so any number of runs can execute concurrently.
+ */
+public final class BacktestEngine {
+
+    private BacktestEngine() {
+    }
+
+    /**
+     * @param curve receives every equity sample when not null; sweeps pass null and keep only the statistics
+     */
+    public static BacktestStats run(BacktestDataset dataset, Strategy strategy, double initialCapital,
+                                    CostModel costs, EquityCurve curve) {
+        return run(dataset, 0, dataset.events(), strategy, initialCapital, costs, curve);
+    }
+
+    /**
+     * Replay only the events in [fromEvent, toEvent), e.g. one walk-forward window. Memoised indicators
+     * still cover the whole series, so the window starts with warmed-up values.
+     */
+    public static BacktestStats run(BacktestDataset dataset, int fromEvent, int toEvent, Strategy strategy,
+                                    double initialCapital, CostModel costs, EquityCurve curve) {
+        Account account = new Account(dataset, initialCapital, costs);
+        BacktestStats.Accumulator stats = new BacktestStats.Accumulator(initialCapital);
+        List<BarSeries> series = dataset.series();
+
+        strategy.onStart(account);
+        long currentTime = Long.MIN_VALUE;
+        for (int event = fromEvent; event < toEvent; event++) {
+            int instrument = dataset.eventInstrument(event);
+            int bar = dataset.eventBar(event);
+            BarSeries bars = series.get(instrument);
+
+            long time = bars.time()[bar];
+            if (time != currentTime) {
+                if (currentTime != Long.MIN_VALUE) {
+                    sample(currentTime, account.equity(), stats, curve);
+                }
+                currentTime = time;
+            }
+
+            account.fillPending(instrument, bars.open()[bar]);
+            account.mark(instrument, bars.close()[bar]);
+            strategy.onBar(instrument, bars, bar, account);
+        }
+        if (currentTime != Long.MIN_VALUE) {
+            sample(currentTime, account.equity(), stats, curve);
+        }
+        return stats.finish(account.trades, account.roundTrips, account.wins, account.costsPaid);
+    }
+
+    private static void sample(long time, double equity, BacktestStats.Accumulator stats, EquityCurve curve) {
+        stats.add(time, equity);
+        if (curve != null) {
+            curve.add(time, equity);
+        }
+    }
+
+    /**
+     * Growable equity samples of a single run
+     */
+    public static final class EquityCurve {
+        private long[] times = new long[1024];
+        private double[] equity = new double[1024];
+        private int size;
+
+        public void add(long time, double value) {
+            if (size == times.length) {
+                times = Arrays.copyOf(times, size * 2);
+                equity = Arrays.copyOf(equity, size * 2);
+            }
+            times[size] = time;
+            equity[size] = value;
+            size++;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public long time(int index) {
+            return times[index];
+        }
+
+        public double equity(int index) {
+            return equity[index];
+        }
+
+        /**
+         * Indexes of at most about {@code maxPoints} evenly spaced samples, always including the last one
+         */
+        public int[] thinned(int maxPoints) {
+            int step = Math.max(1, (size + maxPoints - 1) / Math.max(1, maxPoints));
+            int[] indexes = new int[(size + step - 1) / step + 1];
+            int count = 0;
+            for (int i = 0; i < size; i += step) {
+                indexes[count++] = i;
+            }
+            if (size > 0 && indexes[count - 1] != size - 1) {
+                indexes[count++] = size - 1;
+            }
+            return Arrays.copyOf(indexes, count);
+        }
+    }
+
+    /**
+     * Simulated account of one run. Position value is kept incrementally, so equity is O(1).
+     */
+    private static final class Account implements StrategyContext {
+
+        private final BacktestDataset dataset;
+        private final CostModel costs;
+        private final double[] position;
+        private final double[] lastPrice;
+        private final double[] pendingWeight;
+        private final double[] tradeResult;
+        private double cash;
+        private double positionValue;
+
+        int trades;
+        int roundTrips;
+        int wins;
+        double costsPaid;
+
+        Account(BacktestDataset dataset, double initialCapital, CostModel costs) {
+            int instruments = dataset.instruments();
+            this.dataset = dataset;
+            this.costs = costs;
+            this.position = new double[instruments];
+            this.lastPrice = new double[instruments];
+            this.pendingWeight = new double[instruments];
+            this.tradeResult = new double[instruments];
+            this.cash = initialCapital;
+            Arrays.fill(lastPrice, Double.NaN);
+            Arrays.fill(pendingWeight, Double.NaN);
+        }
+
+        void mark(int instrument, double price) {
+            if (position[instrument] != 0) {
+                positionValue += position[instrument] * (price - lastPrice[instrument]);
+            }
+            lastPrice[instrument] = price;
+        }
+
+        void fillPending(int instrument, double open) {
+            double weight = pendingWeight[instrument];
+            if (Double.isNaN(weight)) {
+                return;
+            }
+            pendingWeight[instrument] = Double.NaN;
+            mark(instrument, open);
+            if (!(open > 0)) {
+                return;
+            }
+
+            double held = position[instrument];
+            double target = weight == 0 ? 0 : (long) (weight * equity() / open);
+            double quantity = target - held;
+            if (quantity == 0) {
+                return;
+            }
+
+            double fillPrice = costs.fillPrice(open, quantity);
+            double commission = costs.commission(quantity * fillPrice);
+            double slippage = quantity * (fillPrice - open);
+            cash -= quantity * fillPrice + commission;
+            positionValue += quantity * open;
+            costsPaid += commission + slippage;
+            trades++;
+
+            // Result of the open trade is measured in cash: entry and exit costs included
+            tradeResult[instrument] -= quantity * fillPrice + commission;
+            position[instrument] = target;
+            boolean closed = target == 0 || Math.signum(target) != Math.signum(held) && held != 0;
+            if (closed && held != 0) {
+                double result = tradeResult[instrument] + target * fillPrice;
+                roundTrips++;
+                if (result > 0) {
+                    wins++;
+                }
+                // a flip carries the new position forward as the opening leg of the next trade
+                tradeResult[instrument] = -target * fillPrice;
+            }
+        }
+
+        @Override
+        public int instruments() {
+            return position.length;
+        }
+
+        @Override
+        public String instrumentKey(int instrument) {
+            return dataset.series().get(instrument).instrumentKey();
+        }
+
+        @Override
+        public float[] indicator(int instrument, String spec) {
+            return dataset.indicator(instrument, spec);
+        }
+
+        @Override
+        public double position(int instrument) {
+            return position[instrument];
+        }
+
+        @Override
+        public double cash() {
+            return cash;
+        }
+
+        @Override
+        public double equity() {
+            return cash + positionValue;
+        }
+
+        @Override
+        public void targetWeight(int instrument, double weight) {
+            if (Double.isNaN(weight) || Double.isInfinite(weight)) {
+                throw new IllegalArgumentException("Target weight must be finite");
+            }
+            pendingWeight[instrument] = weight;
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.quantz.marketdata.backtest;
+
+import java.util.Comparator;
+import java.util.Set;
+
+/**
+ * Summary statistics of one run. Annualised figures use the sampling rate observed in the data,
+ * so they are comparable between daily and intraday runs.
+ *
+ * @param totalReturn   final equity over initial capital, minus one
+ * @param cagr          compound annual growth rate
+ * @param volatility    annualised standard deviation of per-period returns
+ * @param sharpe        annualised mean over standard deviation of per-period returns, risk-free rate zero
+ * @param maxDrawdown   largest peak-to-trough equity decline as a positive fraction
+ * @param trades        fills executed
+ * @param roundTrips    positions opened and closed again
+ * @param winRate       fraction of round trips with a positive result after costs
+ * @param costs         commissions and slippage paid
+ * @param finalEquity   equity after the last bar
+ */
+public record BacktestStats(double totalReturn, double cagr, double volatility, double sharpe, double maxDrawdown,
+                            int trades, int roundTrips, double winRate, double costs, double finalEquity) {
+
+    /**
+     * Statistics accepted by {@link #metric}
+     */
+    public static final Set<String> METRICS = Set.of("totalReturn", "cagr", "volatility", "sharpe", "maxDrawdown",
+            "trades", "winRate", "finalEquity");
+
+    /**
+     * Orders statistics best first by the metric: ascending for drawdown and volatility, descending otherwise
+     *
+     * @throws IllegalArgumentException for unknown metrics
+     */
+    public static Comparator<BacktestStats> bestFirst(String metric) {
+        if (!METRICS.contains(metric)) {
+            throw new IllegalArgumentException("Unknown backtest metric: " + metric + ", expected one of " + METRICS);
+        }
+        Comparator<BacktestStats> ascending = Comparator.comparingDouble(stats -> stats.metric(metric));
+        return metric.equals("maxDrawdown") || metric.equals("volatility") ? ascending : ascending.reversed();
+    }
+
+    /**
+     * Value of a statistic by name, used to rank sweep results
+     *
+     * @throws IllegalArgumentException for unknown names
+     */
+    public double metric(String name) {
+        return switch (name) {
+            case "totalReturn" -> totalReturn;
+            case "cagr" -> cagr;
+            case "volatility" -> volatility;
+            case "sharpe" -> sharpe;
+            case "maxDrawdown" -> maxDrawdown;
+            case "trades" -> trades;
+            case "winRate" -> winRate;
+            case "finalEquity" -> finalEquity;
+            default -> throw new IllegalArgumentException("Unknown backtest metric: " + name);
+        };
+    }
+
+    /**
+     * Statistics of an equity curve assembled outside a single run, e.g. stitched walk-forward windows
+     */
+    public static BacktestStats of(BacktestEngine.EquityCurve curve, double initialCapital, int trades,
+                                   int roundTrips, int wins, double costs) {
+        Accumulator accumulator = new Accumulator(initialCapital);
+        for (int i = 0; i < curve.size(); i++) {
+            accumulator.add(curve.time(i), curve.equity(i));
+        }
+        return accumulator.finish(trades, roundTrips, wins, costs);
+    }
+
+    /**
+     * Streaming accumulator over equity samples; nothing per sample is retained
+     */
+    static final class Accumulator {
+
+        private static final double SECONDS_PER_YEAR = 365.25 * 24 * 3600;
+
+        private final double initialCapital;
+        private long firstTime = Long.MIN_VALUE;
+        private long lastTime;
+        private double previous;
+        private double peak;
+        private double maxDrawdown;
+        private long periods;
+        private double sum;
+        private double sumOfSquares;
+
+        Accumulator(double initialCapital) {
+            this.initialCapital = initialCapital;
+            this.previous = initialCapital;
+            this.peak = initialCapital;
+        }
+
+        void add(long time, double equity) {
+            if (firstTime == Long.MIN_VALUE) {
+                firstTime = time;
+            } else {
+                double periodReturn = previous != 0 ? equity / previous - 1 : 0;
+                periods++;
+                sum += periodReturn;
+                sumOfSquares += periodReturn * periodReturn;
+            }
+            lastTime = time;
+            previous = equity;
+            peak = Math.max(peak, equity);
+            if (peak > 0) {
+                maxDrawdown = Math.max(maxDrawdown, 1 - equity / peak);
+            }
+        }
+
+        BacktestStats finish(int trades, int roundTrips, int wins, double costs) {
+            double finalEquity = previous;
+            double totalReturn = finalEquity / initialCapital - 1;
+            double years = firstTime == Long.MIN_VALUE ? 0 : (lastTime - firstTime) / SECONDS_PER_YEAR;
+
+            double cagr = 0;
+            double volatility = 0;
+            double sharpe = 0;
+            if (years > 0 && periods > 1) {
+                cagr = finalEquity > 0 ? Math.pow(finalEquity / initialCapital, 1 / years) - 1 : -1;
+                double periodsPerYear = periods / years;
+                double mean = sum / periods;
+                double variance = Math.max(0, (sumOfSquares - periods * mean * mean) / (periods - 1));
+                volatility = Math.sqrt(variance * periodsPerYear);
+                sharpe = variance > 0 ? mean / Math.sqrt(variance) * Math.sqrt(periodsPerYear) : 0;
+            }
+            double winRate = roundTrips > 0 ? (double) wins / roundTrips : 0;
+            return new BacktestStats(totalReturn, cagr, volatility, sharpe, maxDrawdown, trades, roundTrips,
+                    winRate, costs, finalEquity);
+        }
+    }
+}
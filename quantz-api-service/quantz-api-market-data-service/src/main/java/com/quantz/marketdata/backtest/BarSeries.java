@@ -0,0 +1,14 @@
+package com.quantz.marketdata.backtest;
+
+/**
+ * Candles of one instrument as primitive columns ordered by time. Times are epoch seconds of the stored
+ * exchange-local timestamp read as UTC; prices and volumes are stored as floats to halve the footprint
+ * of minute-bar datasets.
+ */
+public record BarSeries(String instrumentKey, long[] time, float[] open, float[] high, float[] low,
+                        float[] close, float[] volume) {
+
+    public int size() {
+        return time.length;
+    }
+}
@@ -0,0 +1,21 @@
+package com.quantz.marketdata.backtest;
+
+/**
+ * Transaction costs applied to every fill
+ *
+ * @param commissionBps commission on traded notional, in basis points
+ * @param minCommission lower bound of the commission per fill
+ * @param slippageBps   adverse price move on every fill, in basis points of the fill price
+ */
+public record CostModel(double commissionBps, double minCommission, double slippageBps) {
+
+    public static final CostModel FREE = new CostModel(0, 0, 0);
+
+    public double fillPrice(double price, double quantity) {
+        return price * (1 + Math.signum(quantity) * slippageBps / 10_000);
+    }
+
+    public double commission(double notional) {
+        return Math.max(minCommission, Math.abs(notional) * commissionBps / 10_000);
+    }
+}
@@ -0,0 +1,64 @@
+package com.quantz.marketdata.backtest;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cartesian product of parameter values
+ */
+public final class ParameterGrid {
+
+    private ParameterGrid() {
+    }
+
+    /**
+     * Every combination laid over the base parameters, grid values taking precedence
+     */
+    public static List<Map<String, Double>> expand(Map<String, Double> base, Map<String, List<Double>> grid, int maxSize) {
+        if (base == null || base.isEmpty()) {
+            return expand(grid, maxSize);
+        }
+        return expand(grid, maxSize).stream()
+                .map(combination -> {
+                    Map<String, Double> parameters = new LinkedHashMap<>(base);
+                    parameters.putAll(combination);
+                    return parameters;
+                })
+                .toList();
+    }
+
+    /**
+     * Every combination of the given values, in the order of the map's keys and value lists
+     *
+     * @throws IllegalArgumentException when the grid has more than {@code maxSize} combinations
+     */
+    public static List<Map<String, Double>> expand(Map<String, List<Double>> grid, int maxSize) {
+        long size = 1;
+        for (Map.Entry<String, List<Double>> axis : grid.entrySet()) {
+            if (axis.getValue() == null || axis.getValue().isEmpty()) {
+                throw new IllegalArgumentException("Parameter " + axis.getKey() + " has no values");
+            }
+            size *= axis.getValue().size();
+            if (size > maxSize) {
+                throw new IllegalArgumentException("Parameter grid exceeds " + maxSize + " combinations");
+            }
+        }
+
+        List<Map<String, Double>> combinations = new ArrayList<>((int) size);
+        combinations.add(new LinkedHashMap<>());
+        for (Map.Entry<String, List<Double>> axis : grid.entrySet()) {
+            List<Map<String, Double>> next = new ArrayList<>(combinations.size() * axis.getValue().size());
+            for (Map<String, Double> partial : combinations) {
+                for (Double value : axis.getValue()) {
+                    Map<String, Double> combination = new LinkedHashMap<>(partial);
+                    combination.put(axis.getKey(), value);
+                    next.add(combination);
+                }
+            }
+            combinations = next;
+        }
+        return combinations;
+    }
+}
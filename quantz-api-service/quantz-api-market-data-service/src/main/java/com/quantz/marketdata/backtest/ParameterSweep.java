@@ -0,0 +1,122 @@
+package com.quantz.marketdata.backtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Function;
+
+/**
+ * Runs one backtest per parameter set on a fork/join pool. The set list is split in halves down to
+ * single runs, so idle workers steal the remaining halves and long runs do not hold up a fixed partition.
+ */
+public final class ParameterSweep {
+
+    private ParameterSweep() {
+    }
+
+    /**
+     * One result per parameter set over the whole dataset, in the order of {@code parameterSets}. A set whose
+     * strategy rejects its parameters yields a result with the error and no statistics.
+     */
+    public static List<Result> run(ForkJoinPool pool, BacktestDataset dataset, List<Map<String, Double>> parameterSets,
+                                   Function<Map<String, Double>, Strategy> strategies, double initialCapital,
+                                   CostModel costs) {
+        List<Evaluation> evaluations = parameterSets.stream()
+                .map(parameters -> new Evaluation(0, dataset.events(), parameters))
+                .toList();
+        return evaluate(pool, dataset, evaluations, strategies, initialCapital, costs, Monitor.NONE);
+    }
+
+    /**
+     * One result per evaluation, in order. Evaluations not yet started when the monitor reports
+     * cancellation are skipped and yield an error result.
+     */
+    public static List<Result> evaluate(ForkJoinPool pool, BacktestDataset dataset, List<Evaluation> evaluations,
+                                        Function<Map<String, Double>, Strategy> strategies, double initialCapital,
+                                        CostModel costs, Monitor monitor) {
+        return pool.invoke(new SweepTask(new Sweep(dataset, evaluations, strategies, initialCapital, costs, monitor),
+                0, evaluations.size()));
+    }
+
+    /**
+     * A parameter set replayed over the events in [fromEvent, toEvent)
+     */
+    public record Evaluation(int fromEvent, int toEvent, Map<String, Double> parameters) {
+    }
+
+    public record Result(Map<String, Double> parameters, BacktestStats stats, String error) {
+    }
+
+    /**
+     * Progress and cancellation hook of a running sweep; called from worker threads
+     */
+    public interface Monitor {
+
+        Monitor NONE = new Monitor() {
+        };
+
+        default boolean isCancelled() {
+            return false;
+        }
+
+        default void completed(Result result) {
+        }
+    }
+
+    private record Sweep(BacktestDataset dataset, List<Evaluation> evaluations,
+                         Function<Map<String, Double>, Strategy> strategies, double initialCapital, CostModel costs,
+                         Monitor monitor) {
+
+        Result runOne(Evaluation evaluation) {
+            if (monitor.isCancelled()) {
+                return new Result(evaluation.parameters(), null, "cancelled");
+            }
+            Result result;
+            try {
+                Strategy strategy = strategies.apply(evaluation.parameters());
+                result = new Result(evaluation.parameters(), BacktestEngine.run(dataset, evaluation.fromEvent(),
+                        evaluation.toEvent(), strategy, initialCapital, costs, null), null);
+            } catch (IllegalArgumentException e) {
+                result = new Result(evaluation.parameters(), null, e.getMessage());
+            }
+            monitor.completed(result);
+            return result;
+        }
+    }
+
+    private static final class SweepTask extends RecursiveTask<List<Result>> {
+
+        private final Sweep sweep;
+        private final int from;
+        private final int to;
+
+        SweepTask(Sweep sweep, int from, int to) {
+            this.sweep = sweep;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected List<Result> compute() {
+            if (to - from <= 1) {
+                List<Result> results = new ArrayList<>(1);
+                if (to > from) {
+                    results.add(sweep.runOne(sweep.evaluations().get(from)));
+                }
+                return results;
+            }
+
+            int middle = (from + to) >>> 1;
+            SweepTask left = new SweepTask(sweep, from, middle);
+            SweepTask right = new SweepTask(sweep, middle, to);
+            left.fork();
+            List<Result> results = new ArrayList<>(to - from);
+            List<Result> rightResults = right.compute();
+            results.addAll(left.join());
+            results.addAll(rightResults);
+            return results;
+        }
+    }
+}
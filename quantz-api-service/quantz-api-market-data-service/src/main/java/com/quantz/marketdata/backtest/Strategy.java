@@ -0,0 +1,16 @@
+package com.quantz.marketdata.backtest;
+
+/**
+ * Trading logic replayed bar by bar. Orders placed in {@link #onBar} fill at the instrument's next open,
+ * so a strategy can never trade on the bar it has just seen. A new instance is created for every run.
+ */
+public interface Strategy {
+
+    default void onStart(StrategyContext context) {
+    }
+
+    /**
+     * Called once per bar, in time order across all instruments
+     */
+    void onBar(int instrument, BarSeries series, int bar, StrategyContext context);
+}
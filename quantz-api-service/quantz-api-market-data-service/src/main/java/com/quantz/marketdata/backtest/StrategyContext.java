@@ -0,0 +1,34 @@
+package com.quantz.marketdata.backtest;
+
+/**
+ * What a strategy sees of the simulated account while bars are replayed
+ */
+public interface StrategyContext {
+
+    int instruments();
+
+    String instrumentKey(int instrument);
+
+    /**
+     * First output of an indicator over the instrument's whole series, indexed like its bars; shared
+     * between runs, so it must not be modified
+     */
+    float[] indicator(int instrument, String spec);
+
+    /**
+     * Shares held, negative when short
+     */
+    double position(int instrument);
+
+    double cash();
+
+    /**
+     * Cash plus positions marked at their last close
+     */
+    double equity();
+
+    /**
+     * Rebalance the instrument to this fraction of equity at the next bar's open; 0 closes the position
+     */
+    void targetWeight(int instrument, double weight);
+}
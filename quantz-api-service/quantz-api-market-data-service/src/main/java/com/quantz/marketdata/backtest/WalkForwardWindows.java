@@ -0,0 +1,56 @@
+package com.quantz.marketdata.backtest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splits a period into walk-forward windows: optimise on an in-sample span, test on the span right after it,
+ * then slide forward by the step. Anchored windows keep the first in-sample start and only grow.
+ */
+public final class WalkForwardWindows {
+
+    private WalkForwardWindows() {
+    }
+
+    public record Window(LocalDateTime inSampleStart, LocalDateTime inSampleEnd, LocalDateTime outOfSampleStart,
+                         LocalDateTime outOfSampleEnd) {
+    }
+
+    /**
+     * Windows whose out-of-sample span starts before {@code end}; the last one is cut off at {@code end}
+     *
+     * @throws IllegalArgumentException when the spans are not positive, the step is shorter than the
+     *                                  out-of-sample span, or the period yields no or too many windows
+     */
+    public static List<Window> split(LocalDateTime start, LocalDateTime end, int inSampleDays, int outOfSampleDays,
+                                     int stepDays, boolean anchored, int maxWindows) {
+        if (inSampleDays <= 0 || outOfSampleDays <= 0) {
+            throw new IllegalArgumentException("In-sample and out-of-sample spans must be positive");
+        }
+        if (stepDays < outOfSampleDays) {
+            throw new IllegalArgumentException("Step must not be shorter than the out-of-sample span, "
+                    + "otherwise out-of-sample periods overlap");
+        }
+
+        List<Window> windows = new ArrayList<>();
+        LocalDateTime inSampleStart = start;
+        LocalDateTime inSampleEnd = start.plusDays(inSampleDays);
+        while (inSampleEnd.isBefore(end)) {
+            if (windows.size() == maxWindows) {
+                throw new IllegalArgumentException("Walk-forward study exceeds " + maxWindows + " windows");
+            }
+            LocalDateTime outOfSampleEnd = inSampleEnd.plusDays(outOfSampleDays);
+            windows.add(new Window(inSampleStart, inSampleEnd, inSampleEnd,
+                    outOfSampleEnd.isAfter(end) ? end : outOfSampleEnd));
+            inSampleEnd = inSampleEnd.plusDays(stepDays);
+            if (!anchored) {
+                inSampleStart = inSampleStart.plusDays(stepDays);
+            }
+        }
+        if (windows.isEmpty()) {
+            throw new IllegalArgumentException("Period is shorter than one in-sample span");
+        }
+        return windows;
+    }
+}
@@ -0,0 +1,60 @@
+package com.quantz.marketdata.backtest.strategy;
+
+import com.quantz.marketdata.backtest.BarSeries;
+import com.quantz.marketdata.backtest.Strategy;
+import com.quantz.marketdata.backtest.StrategyContext;
+
+import java.util.Map;
+
+/**
+ * Long while the fast simple moving average of the close is above the slow one, flat otherwise.
+ * Both averages are read from the dataset's memoised indicator columns.
+ * Parameters: {@code fast} (10), {@code slow} (50), {@code weight} (equal weight).
+ */
+public class MovingAverageCrossoverStrategy implements Strategy {
+
+    public static final String NAME = "sma-crossover";
+
+    private final int fastPeriod;
+    private final int slowPeriod;
+    private final StrategyParameters parameters;
+    private float[][] fast;
+    private float[][] slow;
+    private double weight;
+
+    public MovingAverageCrossoverStrategy(Map<String, Double> parameters) {
+        this.parameters = new StrategyParameters(parameters);
+        this.fastPeriod = this.parameters.period("fast", 10);
+        this.slowPeriod = this.parameters.period("slow", 50);
+        if (fastPeriod >= slowPeriod) {
+            throw new IllegalArgumentException("Crossover fast period must be shorter than the slow period");
+        }
+    }
+
+    @Override
+    public void onStart(StrategyContext context) {
+        fast = new float[context.instruments()][];
+        slow = new float[context.instruments()][];
+        for (int instrument = 0; instrument < context.instruments(); instrument++) {
+            fast[instrument] = context.indicator(instrument, "SMA:" + fastPeriod);
+            slow[instrument] = context.indicator(instrument, "SMA:" + slowPeriod);
+        }
+        weight = parameters.weight(context.instruments());
+    }
+
+    @Override
+    public void onBar(int instrument, BarSeries series, int bar, StrategyContext context) {
+        float fastValue = fast[instrument][bar];
+        float slowValue = slow[instrument][bar];
+        if (Float.isNaN(fastValue) || Float.isNaN(slowValue)) {
+            return;
+        }
+
+        double position = context.position(instrument);
+        if (fastValue > slowValue && position <= 0) {
+            context.targetWeight(instrument, weight);
+        } else if (fastValue < slowValue && position > 0) {
+            context.targetWeight(instrument, 0);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.quantz.marketdata.backtest.strategy;
+
+import com.quantz.marketdata.backtest.BarSeries;
+import com.quantz.marketdata.backtest.Strategy;
+import com.quantz.marketdata.backtest.StrategyContext;
+
+import java.util.Map;
+
+/**
+ * Buys when RSI falls below {@code entry} and exits when it recovers above {@code exit}.
+ * Parameters: {@code period} (14), {@code entry} (30), {@code exit} (55), {@code weight} (equal weight).
+ */
+public class RsiReversionStrategy implements Strategy {
+
+    public static final String NAME = "rsi-reversion";
+
+    private final int period;
+    private final double entry;
+    private final double exit;
+    private final StrategyParameters parameters;
+    private float[][] rsi;
+    private double weight;
+
+    public RsiReversionStrategy(Map<String, Double> parameters) {
+        this.parameters = new StrategyParameters(parameters);
+        this.period = this.parameters.period("period", 14);
+        this.entry = this.parameters.number("entry", 30);
+        this.exit = this.parameters.number("exit", 55);
+        if (entry < 0 || exit > 100 || entry >= exit) {
+            throw new IllegalArgumentException("RSI entry level must be below the exit level, both within 0-100");
+        }
+    }
+
+    @Override
+    public void onStart(StrategyContext context) {
+        rsi = new float[context.instruments()][];
+        for (int instrument = 0; instrument < context.instruments(); instrument++) {
+            rsi[instrument] = context.indicator(instrument, "RSI:" + period);
+        }
+        weight = parameters.weight(context.instruments());
+    }
+
+    @Override
+    public void onBar(int instrument, BarSeries series, int bar, StrategyContext context) {
+        float value = rsi[instrument][bar];
+        if (Float.isNaN(value)) {
+            return;
+        }
+
+        double position = context.position(instrument);
+        if (value < entry && position <= 0) {
+            context.targetWeight(instrument, weight);
+        } else if (value > exit && position > 0) {
+            context.targetWeight(instrument, 0);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.quantz.marketdata.backtest.strategy;
+
+import com.quantz.marketdata.backtest.Strategy;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Creates strategy instances by name; every run gets a fresh instance
+ */
+public final class Strategies {
+
+    private Strategies() {
+    }
+
+    public static Set<String> names() {
+        return Set.of(MovingAverageCrossoverStrategy.NAME, RsiReversionStrategy.NAME);
+    }
+
+    /**
+     * @throws IllegalArgumentException for unknown names or invalid parameters
+     */
+    public static Strategy create(String name, Map<String, Double> parameters) {
+        return switch (name) {
+            case MovingAverageCrossoverStrategy.NAME -> new MovingAverageCrossoverStrategy(parameters);
+            case RsiReversionStrategy.NAME -> new RsiReversionStrategy(parameters);
+            default -> throw new IllegalArgumentException("Unknown strategy: " + name + ", expected one of " + names());
+        };
+    }
+}
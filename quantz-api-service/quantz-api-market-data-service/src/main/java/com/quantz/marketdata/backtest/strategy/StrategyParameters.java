@@ -0,0 +1,33 @@
+package com.quantz.marketdata.backtest.strategy;
+
+import java.util.Map;
+
+/**
+ * Typed access to the numeric parameters of a strategy run
+ */
+record StrategyParameters(Map<String, Double> values) {
+
+    StrategyParameters {
+        values = values != null ? values : Map.of();
+    }
+
+    double number(String name, double defaultValue) {
+        Double value = values.get(name);
+        return value != null ? value : defaultValue;
+    }
+
+    int period(String name, int defaultValue) {
+        double value = number(name, defaultValue);
+        if (value < 1 || value > 10_000 || value != Math.rint(value)) {
+            throw new IllegalArgumentException("Strategy parameter " + name + " must be a period between 1 and 10000");
+        }
+        return (int) value;
+    }
+
+    /**
+     * Weight per position; defaults to an equal share of capital across the universe
+     */
+    double weight(int instruments) {
+        return number("weight", 1.0 / Math.max(1, instruments));
+    }
+}
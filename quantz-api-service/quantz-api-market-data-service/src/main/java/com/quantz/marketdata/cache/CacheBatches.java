@@ -0,0 +1,50 @@
+package com.quantz.marketdata.cache;
+
+import org.springframework.cache.Cache;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Multi-key reads over a Spring cache with a bulk loader for the misses
+ */
+public final class CacheBatches {
+
+    private CacheBatches() {
+    }
+
+    /**
+     * Cached values of the keys, loading all misses with one call of the bulk loader. Two-level caches read and write
+     * their shared tier in one round trip each; other caches are read and filled key by key. Keys the loader has no
+     * value for are left out of the result and not cached.
+     */
+    @SuppressWarnings("unchecked")
+    public static <K, V> Map<K, V> getAll(Cache cache, Collection<K> keys, Function<Set<K>, Map<K, V>> bulkLoader) {
+        if (cache instanceof TwoLevelCache twoLevelCache) {
+            return twoLevelCache.getAll(keys, bulkLoader);
+        }
+        if (cache == null) {
+            return bulkLoader.apply(new LinkedHashSet<>(keys));
+        }
+
+        Map<K, V> result = new LinkedHashMap<>(keys.size() * 2);
+        Set<K> missing = new LinkedHashSet<>();
+        for (K key : keys) {
+            Cache.ValueWrapper cached = cache.get(key);
+            if (cached != null && cached.get() != null) {
+                result.put(key, (V) cached.get());
+            } else {
+                missing.add(key);
+            }
+        }
+        if (!missing.isEmpty()) {
+            bulkLoader.apply(missing).forEach((key, value) -> {
+                if (value != null && missing.contains(key)) {
+                    cache.put(key, value);
+                    result.put(key, value);
+                }
+            });
+        }
+        return result;
+    }
+}
@@ -0,0 +1,21 @@
+package com.quantz.marketdata.cache;
+
+/**
+ * Names of the Caffeine caches configured under {@code quantz.cache.caches}
+ */
+public final class CacheNames {
+
+    public static final String INSTRUMENTS = "instruments";
+    public static final String INSTRUMENTS_BY_EXCHANGE = "instrumentsByExchange";
+    public static final String INSTRUMENTS_BY_SEGMENT = "instrumentsBySegment";
+    public static final String INSTRUMENT_BY_KEY = "instrumentByKey";
+    public static final String CANDLE_RANGE = "candleRange";
+    public static final String LATEST_CANDLE = "latestCandle";
+    public static final String INDICATORS = "indicators";
+    public static final String ADJUSTMENT_FACTORS = "adjustmentFactors";
+    public static final String ADJUSTED_CANDLE_RANGE = "adjustedCandleRange";
+    public static final String LATEST_QUOTES = "latestQuotes";
+
+    private CacheNames() {
+    }
+}
@@ -0,0 +1,19 @@
+package com.quantz.marketdata.cache;
+
+/**
+ * Recomputes a cache entry in the background when its refresh-after-write interval has passed.
+ * The reloader must go to the source of truth directly, never through the cached method, or it
+ * would just read back the stale value.
+ */
+public interface CacheReloader {
+
+    /**
+     * Name of the cache this reloader serves
+     */
+    String cacheName();
+
+    /**
+     * Load a fresh value for the key, or null if it no longer exists
+     */
+    Object reload(Object key);
+}
@@ -0,0 +1,59 @@
+package com.quantz.marketdata.cache;
+
+import com.quantz.marketdata.event.CandlesSavedEvent;
+import com.quantz.marketdata.event.CorporateActionsChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Drops every cached candle read and derived series of an instrument once new candles for it have been ingested,
+ * and its adjustment factors and adjusted reads once one of its corporate actions changes.
+ * Runs after commit when the save is part of a transaction, so a background refresh cannot
+ * re-cache the rows from before the write. Shared caches are cleared for every replica.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CandleCacheInvalidator {
+
+    private final CacheManager cacheManager;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCandlesSaved(CandlesSavedEvent event) {
+        evictInstrument(CacheNames.CANDLE_RANGE, event.getInstrumentKey());
+        evictInstrument(CacheNames.LATEST_CANDLE, event.getInstrumentKey());
+        evictInstrument(CacheNames.INDICATORS, event.getInstrumentKey());
+        evictInstrument(CacheNames.ADJUSTED_CANDLE_RANGE, event.getInstrumentKey());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCorporateActionsChanged(CorporateActionsChangedEvent event) {
+        Cache factors = cacheManager.getCache(CacheNames.ADJUSTMENT_FACTORS);
+        if (factors != null) {
+            factors.evict(event.getInstrumentKey());
+        }
+        evictInstrument(CacheNames.ADJUSTED_CANDLE_RANGE, event.getInstrumentKey());
+    }
+
+    private void evictInstrument(String cacheName, String instrumentKey) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache instanceof TwoLevelCache twoLevelCache) {
+            // Also clears Redis and tells the other replicas
+            twoLevelCache.evictInstrument(instrumentKey);
+            return;
+        }
+        if (cache == null || !(cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> nativeCache)) {
+            return;
+        }
+
+        boolean evicted = nativeCache.asMap().keySet().removeIf(key ->
+                key instanceof InstrumentCacheKey cacheKey && instrumentKey.equals(cacheKey.instrumentKey()));
+        if (evicted) {
+            log.debug("Evicted cached candles of {} from cache {}", instrumentKey, cacheName);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.quantz.marketdata.cache;
+
+import java.time.LocalDateTime;
+
+/**
+ * Key of the candle caches. Range reads without bounds and latest-candle reads leave the times null.
+ */
+public record CandleCacheKey(String instrumentKey, String interval, LocalDateTime startTime, LocalDateTime endTime)
+        implements InstrumentCacheKey {
+
+    public static CandleCacheKey latest(String instrumentKey, String interval) {
+        return new CandleCacheKey(instrumentKey, interval, null, null);
+    }
+}
@@ -0,0 +1,31 @@
+package com.quantz.marketdata.cache;
+
+import com.quantz.marketdata.repository.CandleDataRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Refreshes cached candle range reads straight from the repository
+ */
+@Component
+@RequiredArgsConstructor
+public class CandleRangeCacheReloader implements CacheReloader {
+
+    private final CandleDataRepository candleDataRepository;
+
+    @Override
+    public String cacheName() {
+        return CacheNames.CANDLE_RANGE;
+    }
+
+    @Override
+    public Object reload(Object key) {
+        CandleCacheKey cacheKey = (CandleCacheKey) key;
+        if (cacheKey.startTime() != null && cacheKey.endTime() != null) {
+            return candleDataRepository.findByInstrumentKeyAndIntervalAndTimestampBetweenOrderByTimestampAsc(
+                    cacheKey.instrumentKey(), cacheKey.interval(), cacheKey.startTime(), cacheKey.endTime());
+        }
+        return candleDataRepository.findByInstrumentKeyAndIntervalOrderByTimestampAsc(
+                cacheKey.instrumentKey(), cacheKey.interval());
+    }
+}
@@ -0,0 +1,11 @@
+package com.quantz.marketdata.cache;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Key of the indicator series cache
+ */
+public record IndicatorCacheKey(String instrumentKey, String interval, List<String> indicators,
+                                LocalDateTime startTime, LocalDateTime endTime) implements InstrumentCacheKey {
+}
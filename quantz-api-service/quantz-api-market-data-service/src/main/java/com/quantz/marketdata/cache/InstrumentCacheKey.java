@@ -0,0 +1,9 @@
+package com.quantz.marketdata.cache;
+
+/**
+ * Cache key scoped to a single instrument, so all entries of an instrument can be evicted together
+ */
+public interface InstrumentCacheKey {
+
+    String instrumentKey();
+}
@@ -0,0 +1,27 @@
+package com.quantz.marketdata.cache;
+
+import com.quantz.marketdata.repository.CandleDataRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Refreshes cached latest-candle reads straight from the repository
+ */
+@Component
+@RequiredArgsConstructor
+public class LatestCandleCacheReloader implements CacheReloader {
+
+    private final CandleDataRepository candleDataRepository;
+
+    @Override
+    public String cacheName() {
+        return CacheNames.LATEST_CANDLE;
+    }
+
+    @Override
+    public Object reload(Object key) {
+        CandleCacheKey cacheKey = (CandleCacheKey) key;
+        return candleDataRepository.findFirstByInstrumentKeyAndIntervalOrderByTimestampDesc(
+                cacheKey.instrumentKey(), cacheKey.interval()).orElse(null);
+    }
+}
@@ -0,0 +1,102 @@
+package com.quantz.marketdata.cache;
+
+import com.quantz.events.codec.MarketDataSchema;
+import com.quantz.events.codec.QuoteDecoder;
+import com.quantz.events.codec.QuoteEncoder;
+import com.quantz.marketdata.model.LtpQuoteData;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Stores quotes in the shared cache as binary quote messages of {@code quantz-event-lib}, a fixed 128 bytes each.
+ * The price change and its percentage are derived again from last and close price on the way out.
+ */
+public class QuoteRedisSerializer implements RedisSerializer<LtpQuoteData> {
+
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+    @Override
+    public byte[] serialize(LtpQuoteData quote) {
+        if (quote == null) {
+            return null;
+        }
+        byte[] bytes = new byte[QuoteEncoder.ENCODED_LENGTH];
+        try {
+            new QuoteEncoder().wrapAndApplyHeader(new UnsafeBuffer(bytes), 0)
+                    .instrumentKey(quote.getInstrumentToken())
+                    .timestamp(quote.getLastTradeTime() != null
+                            ? quote.getLastTradeTime().toInstant(ZoneOffset.UTC).toEpochMilli()
+                            : MarketDataSchema.NULL_LONG)
+                    .lastPrice(toDouble(quote.getLastPrice()))
+                    .closePrice(toDouble(quote.getClosePrice()))
+                    .averagePrice(toDouble(quote.getAveragePrice()))
+                    .lastQuantity(toLong(quote.getLastQuantity()))
+                    .volume(toLong(quote.getVolume()))
+                    .openInterest(toLong(quote.getOpenInterest()))
+                    .totalBuyQuantity(toLong(quote.getTotalBuyQuantity()))
+                    .totalSellQuantity(toLong(quote.getTotalSellQuantity()));
+        } catch (IllegalArgumentException e) {
+            throw new SerializationException("Cannot encode quote of " + quote.getInstrumentToken(), e);
+        }
+        return bytes;
+    }
+
+    @Override
+    public LtpQuoteData deserialize(byte[] bytes) {
+        if (bytes == null) {
+            return null;
+        }
+        QuoteDecoder decoder = new QuoteDecoder();
+        try {
+            decoder.wrap(new UnsafeBuffer(bytes), 0);
+        } catch (IllegalArgumentException e) {
+            throw new SerializationException("Not a quote message", e);
+        }
+
+        BigDecimal lastPrice = toDecimal(decoder.lastPrice());
+        BigDecimal closePrice = toDecimal(decoder.closePrice());
+        BigDecimal change = lastPrice != null && closePrice != null ? lastPrice.subtract(closePrice) : null;
+        String instrumentKey = decoder.instrumentKey();
+        return LtpQuoteData.builder()
+                .instrumentToken(instrumentKey.isEmpty() ? null : instrumentKey)
+                .lastTradeTime(decoder.timestamp() != MarketDataSchema.NULL_LONG
+                        ? LocalDateTime.ofInstant(Instant.ofEpochMilli(decoder.timestamp()), ZoneOffset.UTC)
+                        : null)
+                .lastPrice(lastPrice)
+                .closePrice(closePrice)
+                .priceChange(change)
+                .priceChangePercent(change != null && closePrice.signum() != 0
+                        ? change.multiply(HUNDRED).divide(closePrice, 4, RoundingMode.HALF_UP)
+                        : null)
+                .averagePrice(toDecimal(decoder.averagePrice()))
+                .lastQuantity(toBoxed(decoder.lastQuantity()))
+                .volume(toBoxed(decoder.volume()))
+                .openInterest(toBoxed(decoder.openInterest()))
+                .totalBuyQuantity(toBoxed(decoder.totalBuyQuantity()))
+                .totalSellQuantity(toBoxed(decoder.totalSellQuantity()))
+                .build();
+    }
+
+    private static double toDouble(BigDecimal value) {
+        return value != null ? value.doubleValue() : MarketDataSchema.NULL_DOUBLE;
+    }
+
+    private static long toLong(Long value) {
+        return value != null ? value : MarketDataSchema.NULL_LONG;
+    }
+
+    private static BigDecimal toDecimal(double value) {
+        return Double.isNaN(value) ? null : BigDecimal.valueOf(value);
+    }
+
+    private static Long toBoxed(long value) {
+        return value != MarketDataSchema.NULL_LONG ? value : null;
+    }
+}
@@ -0,0 +1,280 @@
+package com.quantz.marketdata.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Redis side of the {@link TwoLevelCache}s: raw reads and writes, the loader lock, and invalidation messages.
+ * <p>
+ * Every call fails open: when Redis is unreachable reads miss, writes are skipped and the caches fall back to their
+ * in-process tier and the database, counted in {@code quantz.cache.shared.errors}. Entries of an instrument are
+ * also recorded in a per-instrument set, so ingestion can delete them without scanning the keyspace. Invalidations
+ * are published on a channel that every replica subscribes to, including the sender.
+ */
+@Slf4j
+public class SharedCacheTier implements MessageListener {
+
+    private static final String ALL = "*";
+    private static final String INSTRUMENT_TARGET = "instrument:";
+    private static final String KEY_TARGET = "key:";
+    private static final long POLL_MILLIS = 25;
+
+    /**
+     * Lock token returned when Redis is unavailable; the load then goes ahead without coordination
+     */
+    static final String NO_LOCK = "";
+
+    private static final RedisScript<Long> UNLOCK = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class);
+
+    /**
+     * Value to write, with the per-instrument set it belongs to or null
+     */
+    public record Entry(String key, byte[] value, String indexKey) {
+    }
+
+    private final StringRedisTemplate redisTemplate;
+    private final String keyPrefix;
+    private final String channel;
+    private final Duration lockTimeout;
+    private final Duration lockWait;
+    private final Map<String, RedisSerializer<?>> serializers;
+    private final Map<String, TwoLevelCache> caches = new ConcurrentHashMap<>();
+    private final Counter errors;
+
+    public SharedCacheTier(StringRedisTemplate redisTemplate, String keyPrefix, String channel, Duration lockTimeout,
+                           Duration lockWait, Map<String, RedisSerializer<?>> serializers, MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.keyPrefix = keyPrefix;
+        this.channel = channel;
+        this.lockTimeout = lockTimeout;
+        this.lockWait = lockWait;
+        this.serializers = Map.copyOf(serializers);
+        this.errors = meterRegistry.counter("quantz.cache.shared.errors");
+    }
+
+    /**
+     * Serializer for the values of a cache, or null if the cache cannot be shared
+     */
+    public RedisSerializer<?> serializerFor(String cacheName) {
+        return serializers.get(cacheName);
+    }
+
+    void register(TwoLevelCache cache) {
+        caches.put(cache.getName(), cache);
+    }
+
+    String key(String cacheName, Object key) {
+        return keyPrefix + cacheName + ":" + key;
+    }
+
+    String indexKey(String cacheName, String instrumentKey) {
+        return keyPrefix + cacheName + ":" + INSTRUMENT_TARGET + instrumentKey;
+    }
+
+    byte[] get(String key) {
+        try {
+            return redisTemplate.execute((RedisCallback<byte[]>) connection -> connection.stringCommands().get(bytes(key)));
+        } catch (DataAccessException e) {
+            return failed("read", e, null);
+        }
+    }
+
+    /**
+     * Values of the keys in one round trip, null where missing
+     */
+    List<byte[]> multiGet(List<String> keys) {
+        try {
+            byte[][] raw = keys.stream().map(SharedCacheTier::bytes).toArray(byte[][]::new);
+            List<byte[]> values = redisTemplate.execute(
+                    (RedisCallback<List<byte[]>>) connection -> connection.stringCommands().mGet(raw));
+            return values != null ? values : Collections.nCopies(keys.size(), null);
+        } catch (DataAccessException e) {
+            return failed("multi-get", e, Collections.nCopies(keys.size(), null));
+        }
+    }
+
+    /**
+     * Write the entries with the TTL in a single pipelined round trip
+     */
+    void set(Collection<Entry> entries, Duration ttl) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        try {
+            long ttlMillis = ttl.toMillis();
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (Entry entry : entries) {
+                    byte[] key = bytes(entry.key());
+                    connection.stringCommands().set(key, entry.value(), Expiration.milliseconds(ttlMillis),
+                            RedisStringCommands.SetOption.upsert());
+                    if (entry.indexKey() != null) {
+                        byte[] index = bytes(entry.indexKey());
+                        connection.setCommands().sAdd(index, key);
+                        connection.keyCommands().pExpire(index, ttlMillis);
+                    }
+                }
+                return null;
+            });
+        } catch (DataAccessException e) {
+            failed("write", e, null);
+        }
+    }
+
+    void delete(String key) {
+        try {
+            redisTemplate.delete(key);
+        } catch (DataAccessException e) {
+            failed("delete", e, null);
+        }
+    }
+
+    /**
+     * Delete every entry recorded in the per-instrument set, and the set itself
+     */
+    void deleteIndexed(String indexKey) {
+        try {
+            Set<String> members = redisTemplate.opsForSet().members(indexKey);
+            List<String> keys = new ArrayList<>(members != null ? members : Set.of());
+            keys.add(indexKey);
+            redisTemplate.delete(keys);
+        } catch (DataAccessException e) {
+            failed("delete", e, null);
+        }
+    }
+
+    void deleteCache(String cacheName) {
+        try {
+            List<String> keys = new ArrayList<>();
+            ScanOptions options = ScanOptions.scanOptions().match(keyPrefix + cacheName + ":*").count(1000).build();
+            try (Cursor<String> cursor = redisTemplate.scan(options)) {
+                cursor.forEachRemaining(keys::add);
+            }
+            redisTemplate.delete(keys);
+        } catch (DataAccessException e) {
+            failed("delete", e, null);
+        }
+    }
+
+    /**
+     * Take the loader lock of a key
+     *
+     * @return the token to release it with, null if another replica holds it, or {@link #NO_LOCK} if Redis is
+     * unavailable
+     */
+    String tryLock(String key) {
+        String token = UUID.randomUUID().toString();
+        try {
+            Boolean acquired = redisTemplate.opsForValue().setIfAbsent(key + ":lock", token, lockTimeout);
+            return Boolean.TRUE.equals(acquired) ? token : null;
+        } catch (DataAccessException e) {
+            return failed("lock", e, NO_LOCK);
+        }
+    }
+
+    void unlock(String key, String token) {
+        if (NO_LOCK.equals(token)) {
+            return;
+        }
+        try {
+            redisTemplate.execute(UNLOCK, List.of(key + ":lock"), token);
+        } catch (DataAccessException e) {
+            failed("unlock", e, null);
+        }
+    }
+
+    /**
+     * Poll for the value another replica is loading, for at most the lock wait
+     */
+    byte[] awaitValue(String key) {
+        long deadline = System.nanoTime() + lockWait.toNanos();
+        while (System.nanoTime() < deadline) {
+            try {
+                TimeUnit.MILLISECONDS.sleep(POLL_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+            byte[] value = get(key);
+            if (value != null) {
+                return value;
+            }
+        }
+        return null;
+    }
+
+    void publishInstrumentInvalidation(String cacheName, String instrumentKey) {
+        publish(cacheName, INSTRUMENT_TARGET + instrumentKey);
+    }
+
+    void publishKeyInvalidation(String cacheName, Object key) {
+        publish(cacheName, KEY_TARGET + key);
+    }
+
+    void publishClear(String cacheName) {
+        publish(cacheName, ALL);
+    }
+
+    private void publish(String cacheName, String target) {
+        try {
+            redisTemplate.convertAndSend(channel, cacheName + "\n" + target);
+        } catch (DataAccessException e) {
+            failed("publish", e, null);
+        }
+    }
+
+    /**
+     * Drop the in-process entries named by an invalidation from this or another replica
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separator = body.indexOf('\n');
+        if (separator < 0) {
+            return;
+        }
+        TwoLevelCache cache = caches.get(body.substring(0, separator));
+        if (cache == null) {
+            return;
+        }
+
+        String target = body.substring(separator + 1);
+        if (target.equals(ALL)) {
+            cache.clearNear();
+        } else if (target.startsWith(INSTRUMENT_TARGET)) {
+            cache.evictNearInstrument(target.substring(INSTRUMENT_TARGET.length()));
+        } else if (target.startsWith(KEY_TARGET)) {
+            cache.evictNearKey(target.substring(KEY_TARGET.length()));
+        }
+    }
+
+    private <T> T failed(String operation, DataAccessException e, T fallback) {
+        errors.increment();
+        log.debug("Shared cache {} failed, falling back: {}", operation, e.getMessage());
+        return fallback;
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
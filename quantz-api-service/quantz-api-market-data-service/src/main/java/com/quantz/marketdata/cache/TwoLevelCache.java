@@ -0,0 +1,289 @@
+package com.quantz.marketdata.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+import org.springframework.cache.support.NullValue;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Cache with an in-process Caffeine tier in front of a Redis tier shared by every replica, so a hot series is loaded
+ * from the database once for the whole deployment rather than once per replica.
+ * <p>
+ * Reads go near, then Redis, then the loader. Loads are coalesced twice: one thread per key loads within a replica
+ * while the others wait on its result, and a short Redis lock lets one replica load while the others poll Redis for
+ * its result. A replica that gets no value within the lock wait tries for the lock again, so it takes over once the
+ * lock of a slow or dead holder expires; only with Redis unavailable do replicas load without the lock. No Redis
+ * call or wait happens inside the Caffeine tier, which would block other readers of the key. A load overlapping an
+ * eviction of its key is returned but not cached. Evictions delete the Redis entries and are broadcast so every
+ * replica drops its in-process copy; the near tier's short TTL bounds staleness should a broadcast be missed.
+ * Null results are cached as an empty value in both tiers.
+ */
+@Slf4j
+public class TwoLevelCache extends AbstractValueAdaptingCache {
+
+    private static final byte[] NULL_BYTES = new byte[0];
+
+    private final String name;
+    private final com.github.benmanes.caffeine.cache.Cache<Object, Object> near;
+    private final SharedCacheTier shared;
+    private final RedisSerializer<Object> serializer;
+    private final Duration ttl;
+    // Loads in flight on this replica; evictions remove their key, so a load that raced one is not cached
+    private final Map<Object, CompletableFuture<Object>> loading = new ConcurrentHashMap<>();
+
+    @SuppressWarnings("unchecked")
+    public TwoLevelCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> near,
+                         SharedCacheTier shared, RedisSerializer<?> serializer, Duration ttl) {
+        super(true);
+        this.name = name;
+        this.near = near;
+        this.shared = shared;
+        this.serializer = (RedisSerializer<Object>) serializer;
+        this.ttl = ttl;
+        shared.register(this);
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * The in-process tier, so cache metrics and local evictions work as for a plain Caffeine cache
+     */
+    @Override
+    public com.github.benmanes.caffeine.cache.Cache<Object, Object> getNativeCache() {
+        return near;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        Object value = near.getIfPresent(key);
+        if (value != null) {
+            return value;
+        }
+        value = decode(shared.get(shared.key(name, key)));
+        if (value != null) {
+            near.put(key, value);
+        }
+        return value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        Object value = near.getIfPresent(key);
+        if (value != null) {
+            return (T) fromStoreValue(value);
+        }
+
+        CompletableFuture<Object> load = new CompletableFuture<>();
+        CompletableFuture<Object> inFlight = loading.putIfAbsent(key, load);
+        if (inFlight != null) {
+            return (T) fromStoreValue(join(inFlight));
+        }
+        try {
+            value = load(key, valueLoader, load);
+            near.put(key, value);
+            if (!loading.remove(key, load)) {
+                // Evicted while loading
+                near.invalidate(key);
+            }
+            load.complete(value);
+            return (T) fromStoreValue(value);
+        } catch (RuntimeException e) {
+            loading.remove(key, load);
+            load.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        Object stored = toStoreValue(value);
+        near.put(key, stored);
+        shared.set(List.of(entry(key, stored)), ttl);
+    }
+
+    @Override
+    public void evict(Object key) {
+        near.invalidate(key);
+        loading.remove(key);
+        shared.delete(shared.key(name, key));
+        shared.publishKeyInvalidation(name, key);
+    }
+
+    @Override
+    public void clear() {
+        clearNear();
+        shared.deleteCache(name);
+        shared.publishClear(name);
+    }
+
+    /**
+     * Drop every entry of the instrument from both tiers and from the near tier of the other replicas
+     */
+    public void evictInstrument(String instrumentKey) {
+        evictNearInstrument(instrumentKey);
+        shared.deleteIndexed(shared.indexKey(name, instrumentKey));
+        shared.publishInstrumentInvalidation(name, instrumentKey);
+    }
+
+    /**
+     * Cached values of the keys, loading the ones missing from both tiers with a single call of the bulk loader.
+     * Redis is read and written in one round trip each; the keys the loader has no value for are not cached.
+     */
+    @SuppressWarnings("unchecked")
+    public <K, V> Map<K, V> getAll(Collection<K> keys, Function<Set<K>, Map<K, V>> bulkLoader) {
+        Map<K, V> result = new LinkedHashMap<>(keys.size() * 2);
+        List<K> missing = new ArrayList<>();
+        for (K key : keys) {
+            Object value = near.getIfPresent(key);
+            if (value != null) {
+                result.put(key, (V) fromStoreValue(value));
+            } else {
+                missing.add(key);
+            }
+        }
+        if (missing.isEmpty()) {
+            return result;
+        }
+
+        List<byte[]> sharedValues = shared.multiGet(missing.stream().map(key -> shared.key(name, key)).toList());
+        Set<K> toLoad = new LinkedHashSet<>();
+        for (int i = 0; i < missing.size(); i++) {
+            K key = missing.get(i);
+            Object value = decode(sharedValues.get(i));
+            if (value != null) {
+                near.put(key, value);
+                result.put(key, (V) fromStoreValue(value));
+            } else {
+                toLoad.add(key);
+            }
+        }
+        if (toLoad.isEmpty()) {
+            return result;
+        }
+
+        Map<K, V> loaded = bulkLoader.apply(toLoad);
+        List<SharedCacheTier.Entry> entries = new ArrayList<>(loaded.size());
+        loaded.forEach((key, value) -> {
+            if (value != null && toLoad.contains(key)) {
+                near.put(key, value);
+                entries.add(entry(key, value));
+                result.put(key, value);
+            }
+        });
+        shared.set(entries, ttl);
+        return result;
+    }
+
+    void evictNearInstrument(String instrumentKey) {
+        loading.keySet().removeIf(key ->
+                key instanceof InstrumentCacheKey cacheKey && instrumentKey.equals(cacheKey.instrumentKey()));
+        near.asMap().keySet().removeIf(key ->
+                key instanceof InstrumentCacheKey cacheKey && instrumentKey.equals(cacheKey.instrumentKey()));
+    }
+
+    void evictNearKey(String key) {
+        loading.keySet().removeIf(candidate -> candidate.toString().equals(key));
+        near.asMap().keySet().removeIf(candidate -> candidate.toString().equals(key));
+    }
+
+    void clearNear() {
+        loading.clear();
+        near.invalidateAll();
+    }
+
+    /**
+     * Value from Redis, or from the loader while holding the key's Redis lock
+     *
+     * @param load marker of this load in {@link #loading}; gone once the key is evicted, and then not written back
+     */
+    private Object load(Object key, Callable<?> valueLoader, CompletableFuture<Object> load) {
+        String sharedKey = shared.key(name, key);
+        boolean waited = false;
+        while (true) {
+            Object value = decode(shared.get(sharedKey));
+            if (value != null) {
+                return value;
+            }
+
+            String token = shared.tryLock(sharedKey);
+            if (token != null) {
+                try {
+                    // The previous holder may have written the value just before releasing the lock
+                    value = waited ? decode(shared.get(sharedKey)) : null;
+                    if (value != null) {
+                        return value;
+                    }
+                    Object stored = toStoreValue(valueLoader.call());
+                    if (loading.get(key) == load) {
+                        shared.set(List.of(entry(key, stored)), ttl);
+                    }
+                    return stored;
+                } catch (Exception e) {
+                    throw new ValueRetrievalException(key, valueLoader, e);
+                } finally {
+                    shared.unlock(sharedKey, token);
+                }
+            }
+
+            // Another replica is loading; once its lock expires this one takes over
+            value = decode(shared.awaitValue(sharedKey));
+            if (value != null) {
+                return value;
+            }
+            if (Thread.currentThread().isInterrupted()) {
+                throw new ValueRetrievalException(key, valueLoader, new InterruptedException());
+            }
+            waited = true;
+        }
+    }
+
+    private static Object join(CompletableFuture<Object> load) {
+        try {
+            return load.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private SharedCacheTier.Entry entry(Object key, Object stored) {
+        byte[] bytes = stored == NullValue.INSTANCE ? NULL_BYTES : serializer.serialize(stored);
+        String indexKey = key instanceof InstrumentCacheKey cacheKey
+                ? shared.indexKey(name, cacheKey.instrumentKey())
+                : null;
+        return new SharedCacheTier.Entry(shared.key(name, key), bytes, indexKey);
+    }
+
+    /**
+     * Store value of the Redis bytes, or null for a miss or an entry that no longer deserializes
+     */
+    private Object decode(byte[] bytes) {
+        if (bytes == null) {
+            return null;
+        }
+        if (bytes.length == 0) {
+            return NullValue.INSTANCE;
+        }
+        try {
+            return serializer.deserialize(bytes);
+        } catch (SerializationException e) {
+            log.warn("Ignoring unreadable entry in shared cache {}: {}", name, e.getMessage());
+            return null;
+        }
+    }
+}
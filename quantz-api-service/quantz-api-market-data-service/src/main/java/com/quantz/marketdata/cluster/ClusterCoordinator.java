@@ -0,0 +1,258 @@
+package com.quantz.marketdata.cluster;
+
+import com.quantz.marketdata.config.ClusterProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.security.SecureRandom;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Cluster membership, leadership and shard leases for replicas sharing one Postgres database.
+ * <p>
+ * All state lives in session-level advisory locks held on a dedicated connection, so it disappears with the
+ * session when a node dies or loses the database and needs no cleanup:
+ * <ul>
+ *     <li>every node holds a membership lock on its random node id; the live nodes are read back from
+ *     {@code pg_locks} and placed on a {@link ConsistentHashRing}</li>
+ *     <li>the node holding the leader lock runs the work that must happen once per cluster</li>
+ *     <li>a shard is scraped only by the node holding its lease lock</li>
+ * </ul>
+ * When coordination is disabled the node behaves as a cluster of one. When it is enabled but the database cannot be
+ * reached the node takes no leadership and no leases until the heartbeat reconnects.
+ */
+@Slf4j
+@Component
+public class ClusterCoordinator {
+
+    // First key of the two-key advisory lock form, keeps our locks apart from other users of the database
+    private static final int MEMBER_NAMESPACE = 0x515A0001;
+    private static final int LEADER_NAMESPACE = 0x515A0002;
+    private static final int SHARD_NAMESPACE = 0x515A0003;
+
+    private static final int MAX_JOIN_ATTEMPTS = 5;
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    private static final String TRY_LOCK = "SELECT pg_try_advisory_lock(?, ?)";
+    private static final String UNLOCK = "SELECT pg_advisory_unlock(?, ?)";
+    private static final String LIVE_NODES = "SELECT objid FROM pg_locks "
+            + "WHERE locktype = 'advisory' AND granted AND classid = ? AND objsubid = 2 "
+            + "AND database = (SELECT oid FROM pg_database WHERE datname = current_database())";
+
+    private final DataSource dataSource;
+    private final ClusterProperties properties;
+    private final SecureRandom random = new SecureRandom();
+
+    private final Object sessionLock = new Object();
+    private Connection connection;
+    private final Set<Integer> heldShards = new HashSet<>();
+
+    private volatile int nodeId;
+    private volatile boolean leader;
+    private volatile ConsistentHashRing ring = ConsistentHashRing.of(List.of(), 1);
+
+    public ClusterCoordinator(DataSource dataSource, ClusterProperties properties) {
+        this.dataSource = dataSource;
+        this.properties = properties;
+    }
+
+    @PostConstruct
+    void join() {
+        if (!properties.isEnabled()) {
+            ring = ConsistentHashRing.of(List.of(0), 1);
+            leader = true;
+            log.info("Cluster coordination disabled, this node scrapes every shard");
+            return;
+        }
+        heartbeat();
+    }
+
+    @PreDestroy
+    void leave() {
+        synchronized (sessionLock) {
+            closeSession();
+        }
+    }
+
+    /**
+     * Keep the session alive, rejoin after a lost connection, contend for leadership and refresh the ring
+     */
+    @Scheduled(fixedDelayString = "${quantz.cluster.heartbeat-interval-ms:10000}")
+    public void heartbeat() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        synchronized (sessionLock) {
+            try {
+                if (connection == null || !connection.isValid(VALIDATION_TIMEOUT_SECONDS)) {
+                    openSession();
+                }
+                if (!leader && tryLock(LEADER_NAMESPACE, 0)) {
+                    leader = true;
+                    log.info("Node {} became the scraping leader", nodeId);
+                }
+                refreshRing();
+            } catch (SQLException e) {
+                log.warn("Cluster heartbeat failed, dropping leadership and shard leases: {}", e.getMessage());
+                closeSession();
+            }
+        }
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    public boolean isLeader() {
+        return leader;
+    }
+
+    public int nodeId() {
+        return nodeId;
+    }
+
+    /**
+     * Number of nodes currently sharing the work and the upstream request budget, at least one
+     */
+    public int liveNodeCount() {
+        return Math.max(1, ring.size());
+    }
+
+    public int shardOf(String instrumentKey) {
+        return ConsistentHashRing.shardOf(instrumentKey, properties.getShards());
+    }
+
+    /**
+     * The given shards with the ones this node owns on the ring first, so every node starts on its own share and
+     * only then moves on to shards left behind by slow or dead nodes
+     */
+    public List<Integer> shardOrder(Iterable<Integer> shards) {
+        ConsistentHashRing current = ring;
+        List<Integer> owned = new ArrayList<>();
+        List<Integer> others = new ArrayList<>();
+        for (int shard : shards) {
+            if (current.isEmpty() || current.ownerOf(shard) == nodeId) {
+                owned.add(shard);
+            } else {
+                others.add(shard);
+            }
+        }
+        owned.addAll(others);
+        return owned;
+    }
+
+    /**
+     * Try to take the lease on a shard without waiting
+     *
+     * @return true if this node now holds the lease
+     */
+    public boolean tryLockShard(int shard) {
+        if (!properties.isEnabled()) {
+            return true;
+        }
+        synchronized (sessionLock) {
+            if (connection == null || heldShards.contains(shard)) {
+                return false;
+            }
+            try {
+                if (tryLock(SHARD_NAMESPACE, shard)) {
+                    heldShards.add(shard);
+                    return true;
+                }
+                return false;
+            } catch (SQLException e) {
+                log.warn("Could not lease shard {}: {}", shard, e.getMessage());
+                return false;
+            }
+        }
+    }
+
+    public void unlockShard(int shard) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        synchronized (sessionLock) {
+            if (connection == null || !heldShards.remove(shard)) {
+                return;
+            }
+            try (PreparedStatement statement = connection.prepareStatement(UNLOCK)) {
+                statement.setInt(1, SHARD_NAMESPACE);
+                statement.setInt(2, shard);
+                statement.execute();
+            } catch (SQLException e) {
+                log.warn("Could not release shard {}: {}", shard, e.getMessage());
+            }
+        }
+    }
+
+    private void openSession() throws SQLException {
+        closeSession();
+        connection = dataSource.getConnection();
+        connection.setAutoCommit(true);
+
+        for (int attempt = 0; attempt < MAX_JOIN_ATTEMPTS; attempt++) {
+            int candidate = random.nextInt(Integer.MAX_VALUE);
+            if (tryLock(MEMBER_NAMESPACE, candidate)) {
+                nodeId = candidate;
+                log.info("Joined the scraping cluster as node {}", nodeId);
+                return;
+            }
+        }
+        throw new SQLException("Could not claim a unique node id");
+    }
+
+    private void closeSession() {
+        if (leader && properties.isEnabled()) {
+            log.info("Node {} gave up scraping leadership", nodeId);
+        }
+        leader = !properties.isEnabled();
+        heldShards.clear();
+        ring = ConsistentHashRing.of(List.of(), 1);
+        if (connection != null) {
+            try {
+                connection.close();
+            } catch (SQLException e) {
+                log.debug("Error closing cluster session: {}", e.getMessage());
+            }
+            connection = null;
+        }
+    }
+
+    private void refreshRing() throws SQLException {
+        List<Integer> nodes = new ArrayList<>();
+        try (PreparedStatement statement = connection.prepareStatement(LIVE_NODES)) {
+            statement.setInt(1, MEMBER_NAMESPACE);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    nodes.add((int) resultSet.getLong(1));
+                }
+            }
+        }
+        ConsistentHashRing refreshed = ConsistentHashRing.of(nodes, properties.getVirtualNodes());
+        if (refreshed.size() != ring.size()) {
+            log.info("Scraping cluster now has {} live nodes", refreshed.size());
+        }
+        ring = refreshed;
+    }
+
+    private boolean tryLock(int namespace, int key) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(TRY_LOCK)) {
+            statement.setInt(1, namespace);
+            statement.setInt(2, key);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() && resultSet.getBoolean(1);
+            }
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.quantz.marketdata.cluster;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Immutable consistent hash ring mapping shards to node ids.
+ * <p>
+ * Each node is placed on the ring at a number of virtual points; a shard belongs to the first point at or after
+ * its own hash. When a node joins or leaves only the shards next to its points move, so the other nodes keep
+ * their assignment. Hashes are computed with a fixed function so every JVM builds the same ring.
+ */
+public final class ConsistentHashRing {
+
+    private final long[] points;
+    private final int[] owners;
+    private final int[] nodes;
+
+    private ConsistentHashRing(long[] points, int[] owners, int[] nodes) {
+        this.points = points;
+        this.owners = owners;
+        this.nodes = nodes;
+    }
+
+    public static ConsistentHashRing of(Collection<Integer> nodeIds, int virtualNodes) {
+        int[] nodes = nodeIds.stream().mapToInt(Integer::intValue).distinct().sorted().toArray();
+        int replicas = Math.max(1, virtualNodes);
+
+        long[][] entries = new long[nodes.length * replicas][];
+        int index = 0;
+        for (int node : nodes) {
+            for (int replica = 0; replica < replicas; replica++) {
+                entries[index++] = new long[]{mix(((long) node << 32) | replica), node};
+            }
+        }
+        Arrays.sort(entries, (left, right) -> left[0] != right[0]
+                ? Long.compare(left[0], right[0])
+                : Long.compare(left[1], right[1]));
+
+        long[] points = new long[entries.length];
+        int[] owners = new int[entries.length];
+        for (int i = 0; i < entries.length; i++) {
+            points[i] = entries[i][0];
+            owners[i] = (int) entries[i][1];
+        }
+        return new ConsistentHashRing(points, owners, nodes);
+    }
+
+    public boolean isEmpty() {
+        return nodes.length == 0;
+    }
+
+    public int size() {
+        return nodes.length;
+    }
+
+    public int[] nodes() {
+        return nodes.clone();
+    }
+
+    /**
+     * Node owning the shard
+     *
+     * @throws IllegalStateException if the ring has no nodes
+     */
+    public int ownerOf(int shard) {
+        if (points.length == 0) {
+            throw new IllegalStateException("Hash ring has no nodes");
+        }
+        long hash = mix(0x9E3779B97F4A7C15L ^ shard);
+        int position = Arrays.binarySearch(points, hash);
+        if (position < 0) {
+            position = -position - 1;
+        }
+        return owners[position == points.length ? 0 : position];
+    }
+
+    /**
+     * Shard of an instrument key, stable across processes and restarts
+     */
+    public static int shardOf(String key, int shards) {
+        long hash = 0xCBF29CE484222325L;
+        for (byte value : key.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= value & 0xFF;
+            hash *= 0x100000001B3L;
+        }
+        return (int) Long.remainderUnsigned(mix(hash), shards);
+    }
+
+    /**
+     * Finaliser of MurmurHash3, spreads nearby inputs over the whole 64-bit range
+     */
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xFF51AFD7ED558CCDL;
+        value ^= value >>> 33;
+        value *= 0xC4CEB9FE1A85EC53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
@@ -0,0 +1,33 @@
+package com.quantz.marketdata.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Thread pools of the backtester. Runs use their own fork/join pool so long sweeps do not compete with
+ * the common pool that request handling and the screener use; walk-forward jobs are orchestrated on a
+ * small executor and fan their windows out to that pool.
+ */
+@Configuration
+public class BacktestConfig {
+
+    @Bean(destroyMethod = "shutdownNow")
+    public ForkJoinPool backtestPool(@Value("${quantz.backtest.parallelism:0}") int parallelism) {
+        return new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    @Bean
+    public ThreadPoolTaskExecutor walkForwardExecutor(@Value("${quantz.backtest.max-concurrent-jobs:2}") int concurrentJobs) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(concurrentJobs);
+        executor.setMaxPoolSize(concurrentJobs);
+        executor.setQueueCapacity(100);
+        executor.setThreadNamePrefix("walk-forward-");
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,146 @@
+package com.quantz.marketdata.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.quantz.marketdata.cache.CacheNames;
+import com.quantz.marketdata.cache.CacheReloader;
+import com.quantz.marketdata.cache.SharedCacheTier;
+import com.quantz.marketdata.cache.TwoLevelCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Named, bounded Caffeine caches for instrument lookups and candle reads.
+ * <p>
+ * Every cache records statistics, which Spring Boot binds to Micrometer as {@code cache.gets},
+ * {@code cache.evictions}, {@code cache.load.duration} etc. tagged by cache name. Caches with a
+ * {@code refresh-after-write} and a matching {@link CacheReloader} are reloaded in the background
+ * once an entry gets old, so readers keep getting the current value while the new one loads.
+ * When the Redis tier is enabled, the caches listed under {@code quantz.cache.redis.caches} become
+ * {@link TwoLevelCache}s, shared by all replicas.
+ * Caches not created here (unknown names) are rejected, so a typo in an annotation fails fast.
+ */
+@Slf4j
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    private static final List<String> CACHE_NAMES = List.of(
+            CacheNames.INSTRUMENTS,
+            CacheNames.INSTRUMENTS_BY_EXCHANGE,
+            CacheNames.INSTRUMENTS_BY_SEGMENT,
+            CacheNames.INSTRUMENT_BY_KEY,
+            CacheNames.CANDLE_RANGE,
+            CacheNames.LATEST_CANDLE,
+            CacheNames.INDICATORS,
+            CacheNames.ADJUSTMENT_FACTORS,
+            CacheNames.ADJUSTED_CANDLE_RANGE,
+            CacheNames.LATEST_QUOTES);
+
+    @Bean
+    public ThreadPoolTaskExecutor cacheRefreshExecutor(CacheSpecProperties properties) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(properties.getRefreshThreads());
+        executor.setMaxPoolSize(properties.getRefreshThreads());
+        executor.setThreadNamePrefix("cache-refresh-");
+        executor.initialize();
+        return executor;
+    }
+
+    @Bean
+    public CacheManager cacheManager(CacheSpecProperties properties, List<CacheReloader> reloaders,
+                                     ThreadPoolTaskExecutor cacheRefreshExecutor,
+                                     ObjectProvider<SharedCacheTier> sharedCacheTier) {
+        Map<String, CacheReloader> reloadersByCache = reloaders.stream()
+                .collect(Collectors.toMap(CacheReloader::cacheName, Function.identity()));
+        SharedCacheTier shared = sharedCacheTier.getIfAvailable();
+
+        // Only the caches built here exist
+        List<Cache> caches = new ArrayList<>(CACHE_NAMES.size());
+        for (String cacheName : CACHE_NAMES) {
+            CacheSpecProperties.Spec spec = properties.specFor(cacheName);
+            if (shared != null && properties.getRedis().getCaches().contains(cacheName)) {
+                caches.add(twoLevelCache(cacheName, spec, properties.getRedis(), shared, cacheRefreshExecutor));
+                continue;
+            }
+
+            Caffeine<Object, Object> builder = newBuilder(spec).executor(cacheRefreshExecutor);
+            CacheReloader reloader = reloadersByCache.get(cacheName);
+
+            if (spec.getRefreshAfterWrite() != null && reloader != null) {
+                builder.refreshAfterWrite(spec.getRefreshAfterWrite());
+                caches.add(new CaffeineCache(cacheName, builder.build(reloader::reload)));
+            } else {
+                if (spec.getRefreshAfterWrite() != null) {
+                    log.warn("Cache {} has refresh-after-write but no reloader, entries will only expire", cacheName);
+                }
+                caches.add(new CaffeineCache(cacheName, builder.build()));
+            }
+        }
+
+        SimpleCacheManager cacheManager = new SimpleCacheManager();
+        cacheManager.setCaches(caches);
+        return cacheManager;
+    }
+
+    /**
+     * Near tier of a shared cache: no background refresh, since every replica would reload from the database,
+     * and entries kept no longer than the near TTL; the spec's expire-after-write becomes the Redis TTL
+     */
+    private TwoLevelCache twoLevelCache(String cacheName, CacheSpecProperties.Spec spec, CacheSpecProperties.Redis redis,
+                                        SharedCacheTier shared, ThreadPoolTaskExecutor cacheRefreshExecutor) {
+        RedisSerializer<?> serializer = shared.serializerFor(cacheName);
+        if (serializer == null) {
+            throw new IllegalStateException("Cache " + cacheName + " has no serializer for the shared tier");
+        }
+        Duration ttl = spec.getExpireAfterWrite() != null ? spec.getExpireAfterWrite() : redis.getNearExpireAfterWrite();
+
+        CacheSpecProperties.Spec nearSpec = new CacheSpecProperties.Spec();
+        nearSpec.setMaximumSize(spec.getMaximumSize());
+        nearSpec.setMaximumWeight(spec.getMaximumWeight());
+        nearSpec.setExpireAfterWrite(ttl.compareTo(redis.getNearExpireAfterWrite()) < 0 ? ttl : redis.getNearExpireAfterWrite());
+
+        log.info("Cache {} is shared through Redis with a TTL of {}", cacheName, ttl);
+        return new TwoLevelCache(cacheName, newBuilder(nearSpec).executor(cacheRefreshExecutor).build(),
+                shared, serializer, ttl);
+    }
+
+    private Caffeine<Object, Object> newBuilder(CacheSpecProperties.Spec spec) {
+        Caffeine<Object, Object> builder = Caffeine.newBuilder().recordStats();
+        if (spec.getMaximumWeight() != null) {
+            builder.maximumWeight(spec.getMaximumWeight()).weigher((key, value) -> weigh(value));
+        } else if (spec.getMaximumSize() != null) {
+            builder.maximumSize(spec.getMaximumSize());
+        }
+        if (spec.getExpireAfterWrite() != null) {
+            builder.expireAfterWrite(spec.getExpireAfterWrite());
+        }
+        return builder;
+    }
+
+    private static int weigh(Object value) {
+        if (value instanceof Collection<?> collection) {
+            return Math.max(1, collection.size());
+        }
+        if (value instanceof Map<?, ?> map) {
+            return Math.max(1, map.size());
+        }
+        return 1;
+    }
+}
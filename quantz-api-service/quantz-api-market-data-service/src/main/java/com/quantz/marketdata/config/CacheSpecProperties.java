@@ -0,0 +1,56 @@
+package com.quantz.marketdata.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "quantz.cache")
+public class CacheSpecProperties {
+
+    /**
+     * Applied to every cache without its own entry under {@code caches}
+     */
+    private Spec defaults = new Spec();
+
+    private Map<String, Spec> caches = new LinkedHashMap<>();
+
+    private int refreshThreads = 2;
+
+    private Redis redis = new Redis();
+
+    public Spec specFor(String cacheName) {
+        return caches.getOrDefault(cacheName, defaults);
+    }
+
+    @Data
+    public static class Spec {
+        private Long maximumSize = 10_000L;
+        // When set, entries are weighed by element count (collections) instead of counted
+        private Long maximumWeight;
+        private Duration expireAfterWrite = Duration.ofHours(1);
+        // Reload in the background once an entry is this old; requires a CacheReloader for the cache
+        private Duration refreshAfterWrite;
+    }
+
+    @Data
+    public static class Redis {
+        private boolean enabled = false;
+        // Caches backed by the shared tier; each needs a value serializer in SharedCacheConfig
+        private List<String> caches = new ArrayList<>();
+        private String keyPrefix = "quantz:md:";
+        // Upper bound for the in-process copy, so replicas converge even if an invalidation message is lost
+        private Duration nearExpireAfterWrite = Duration.ofSeconds(30);
+        private String invalidationChannel = "quantz:md:invalidate";
+        // A replica that misses holds this lock while loading, others wait up to lock-wait for its value
+        private Duration lockTimeout = Duration.ofSeconds(5);
+        private Duration lockWait = Duration.ofSeconds(2);
+    }
+}
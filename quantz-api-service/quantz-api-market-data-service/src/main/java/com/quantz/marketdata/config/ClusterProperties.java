@@ -0,0 +1,36 @@
+package com.quantz.marketdata.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "quantz.cluster")
+public class ClusterProperties {
+
+    /**
+     * Coordinate scraping between replicas through Postgres advisory locks; when off every node scrapes everything
+     */
+    private boolean enabled = true;
+
+    /**
+     * Fixed number of instrument shards; a shard is the unit of work that is leased and recorded as done
+     */
+    private int shards = 256;
+
+    // Points per node on the hash ring, more points give a more even split between few nodes
+    private int virtualNodes = 64;
+
+    private long heartbeatIntervalMs = 10_000;
+
+    // How long to wait before looking again at shards leased by other nodes
+    private Duration shardPollInterval = Duration.ofSeconds(5);
+
+    /**
+     * Upper bound of a single scrape run, including waiting for shards held by other nodes
+     */
+    private Duration runTimeout = Duration.ofHours(6);
+}
@@ -0,0 +1,93 @@
+package com.quantz.marketdata.config;
+
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.config.TopicConfig;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.TopicBuilder;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaAdmin;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Kafka producer for market-data events, only created with {@code quantz.events.enabled=true}.
+ * <p>
+ * The producer is idempotent with {@code acks=all}, so retries neither duplicate nor reorder messages within a
+ * partition, and batches are compressed as a whole. Messages are keyed by instrument key, which keeps every
+ * instrument's events in order on one partition.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "quantz.events", name = "enabled", havingValue = "true")
+public class EventPublishingConfig {
+
+    public static Map<String, Object> producerProperties(EventPublishingProperties properties) {
+        Map<String, Object> config = new HashMap<>();
+        config.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, properties.getBootstrapServers());
+        config.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        config.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class);
+        config.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        config.put(ProducerConfig.ACKS_CONFIG, "all");
+        config.put(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, 5);
+        config.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, properties.getCompression());
+        config.put(ProducerConfig.LINGER_MS_CONFIG, properties.getLingerMs());
+        config.put(ProducerConfig.BATCH_SIZE_CONFIG, properties.getBatchSizeBytes());
+        config.put(ProducerConfig.MAX_BLOCK_MS_CONFIG, properties.getMaxBlockMs());
+        return config;
+    }
+
+    @Bean
+    public ProducerFactory<String, byte[]> marketDataProducerFactory(EventPublishingProperties properties) {
+        return new DefaultKafkaProducerFactory<>(producerProperties(properties));
+    }
+
+    @Bean
+    public KafkaTemplate<String, byte[]> marketDataKafkaTemplate(ProducerFactory<String, byte[]> marketDataProducerFactory) {
+        return new KafkaTemplate<>(marketDataProducerFactory);
+    }
+
+    @Bean
+    public KafkaAdmin marketDataKafkaAdmin(EventPublishingProperties properties) {
+        KafkaAdmin admin = new KafkaAdmin(Map.of("bootstrap.servers", properties.getBootstrapServers()));
+        admin.setFatalIfBrokerNotAvailable(false);
+        return admin;
+    }
+
+    @Bean
+    public KafkaAdmin.NewTopics marketDataTopics(EventPublishingProperties properties) {
+        EventPublishingProperties.Topics topics = properties.getTopics();
+        return new KafkaAdmin.NewTopics(
+                TopicBuilder.name(topics.getBars())
+                        .partitions(topics.getPartitions()).replicas(topics.getReplicationFactor()).build(),
+                TopicBuilder.name(topics.getTicks())
+                        .partitions(topics.getPartitions()).replicas(topics.getReplicationFactor()).build(),
+                TopicBuilder.name(topics.getInstruments())
+                        .partitions(topics.getPartitions()).replicas(topics.getReplicationFactor())
+                        .config(TopicConfig.CLEANUP_POLICY_CONFIG, TopicConfig.CLEANUP_POLICY_COMPACT)
+                        .build());
+    }
+
+    /**
+     * Single thread, so events leave in the order they were raised. The queue itself is unbounded: the publisher
+     * bounds the messages it holds by {@code queue-capacity}, which keeps a slow or unreachable broker from growing
+     * memory or blocking the threads that raised them, whatever the size of each event
+     */
+    @Bean
+    public ThreadPoolTaskExecutor marketDataPublisherExecutor(EventPublishingProperties properties) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setThreadNamePrefix("market-data-publisher-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(10);
+        executor.initialize();
+        return executor;
+    }
+}
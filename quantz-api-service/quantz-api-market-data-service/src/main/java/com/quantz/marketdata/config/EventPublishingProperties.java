@@ -0,0 +1,45 @@
+package com.quantz.marketdata.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "quantz.events")
+public class EventPublishingProperties {
+
+    private boolean enabled = false;
+
+    private String bootstrapServers = "localhost:9092";
+
+    /**
+     * Producer batch compression: lz4, zstd, snappy, gzip or none
+     */
+    private String compression = "lz4";
+
+    private int lingerMs = 20;
+
+    private int batchSizeBytes = 256 * 1024;
+
+    // Blocking budget of the publisher thread when the producer buffer is full or metadata is missing
+    private long maxBlockMs = 5_000;
+
+    /**
+     * Messages waiting for the publisher thread, counted per bar, tick or instrument rather than per event; beyond it
+     * new messages are dropped instead of blocking ingestion
+     */
+    private int queueCapacity = 100_000;
+
+    private Topics topics = new Topics();
+
+    @Data
+    public static class Topics {
+        private String bars = "quantz.market-data.bars";
+        private String ticks = "quantz.market-data.ticks";
+        // Compacted, keyed by instrument key; each node publishes its first master in full, so it holds the current one
+        private String instruments = "quantz.market-data.instruments";
+        private int partitions = 12;
+        private short replicationFactor = 1;
+    }
+}
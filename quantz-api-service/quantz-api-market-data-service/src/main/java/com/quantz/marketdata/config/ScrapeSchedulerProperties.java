@@ -0,0 +1,70 @@
+package com.quantz.marketdata.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "quantz.scrape-scheduler")
+public class ScrapeSchedulerProperties {
+
+    /**
+     * Intraday refreshes and the post-close sweep of the most important symbols; the full daily run is not affected
+     */
+    private boolean enabled = true;
+
+    private String zone = "Asia/Kolkata";
+
+    private LocalTime marketOpen = LocalTime.of(9, 15);
+
+    private LocalTime marketClose = LocalTime.of(15, 30);
+
+    // Time given to Upstox to publish the final daily bars after the close
+    private Duration closeSettleDelay = Duration.ofMinutes(5);
+
+    /**
+     * Number of top-priority symbols refreshed intraday and swept right after the close
+     */
+    private int hotSymbols = 200;
+
+    /**
+     * Watchlists of {@code quantz.scrape-universe} polled intraday in addition to the top-priority symbols
+     */
+    private List<String> intradayWatchlists = new ArrayList<>();
+
+    // Every intraday symbol is polled once per interval, the polls spread evenly over it
+    private Duration intradayRefreshInterval = Duration.ofMinutes(5);
+
+    private String intradayCandleInterval = "1minute";
+
+    // The close sweep paces itself to finish within this time of starting
+    private Duration closeSweepDeadline = Duration.ofMinutes(10);
+
+    private long tickMs = 30_000;
+
+    /**
+     * Upper bound of concurrent Upstox calls of one run; the actual level follows latency, budget and deadline
+     */
+    private int maxConcurrency = 8;
+
+    // Share of the request budget a run uses even when its deadline would allow going slower
+    private double minBudgetShare = 0.5;
+
+    private Weights weights = new Weights();
+
+    /**
+     * Priority = liquidity * log10(1 + daily turnover) + staleness * days since the last bar + demand * log2(1 + reads)
+     */
+    @Data
+    public static class Weights {
+        private double liquidity = 1.0;
+        private double staleness = 0.5;
+        private double demand = 1.0;
+    }
+}
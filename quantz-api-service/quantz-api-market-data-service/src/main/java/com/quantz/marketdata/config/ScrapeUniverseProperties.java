@@ -0,0 +1,81 @@
+package com.quantz.marketdata.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "quantz.scrape-universe")
+public class ScrapeUniverseProperties {
+
+    /**
+     * Instruments of a regular run: those accepted by any rule, plus every watchlist
+     */
+    private List<Rule> rules = new ArrayList<>(List.of(
+            new Rule("equities", List.of("NSE_EQ", "BSE_EQ"), List.of(), null, 0)));
+
+    /**
+     * Rules of a run that backfills more than a year, kept narrow so the first load does not exhaust the API
+     */
+    private List<Rule> backfillRules = new ArrayList<>(List.of(
+            new Rule("nse-equities", List.of("NSE_EQ"), List.of("EQ"), null, 0)));
+
+    /**
+     * Named lists of instrument keys that are always scraped, whatever the rules and the backoff say
+     */
+    private Map<String, List<String>> watchlists = new LinkedHashMap<>();
+
+    /**
+     * An instrument below a rule's minimum volume is left out only while its newest daily bar is at most this many
+     * days old; after that it is scraped again, which refreshes the average it was excluded on
+     */
+    private int illiquidRecheckDays = 7;
+
+    private Backoff emptyBackoff = new Backoff();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Rule {
+
+        private String name;
+
+        private List<String> segments = new ArrayList<>();
+
+        // Empty accepts every instrument type of the segments
+        private List<String> instrumentTypes = new ArrayList<>();
+
+        /**
+         * Contracts expiring within this many days are scraped; unset accepts any expiry still ahead.
+         * Expired contracts are never scraped.
+         */
+        private Integer expiryWithinDays;
+
+        /**
+         * Minimum 20-day average traded volume; instruments without daily bars yet are kept
+         */
+        private double minAvgVolume;
+    }
+
+    /**
+     * Instruments for which Upstox keeps returning no candles are skipped for exponentially growing periods
+     */
+    @Data
+    public static class Backoff {
+
+        // Consecutive empty responses before an instrument is skipped at all
+        private int threshold = 3;
+
+        private int baseDays = 1;
+
+        private int maxDays = 30;
+    }
+}
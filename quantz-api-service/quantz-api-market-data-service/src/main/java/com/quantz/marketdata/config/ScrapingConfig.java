@@ -0,0 +1,47 @@
+package com.quantz.marketdata.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Scrape jobs run one at a time on their own thread, never on a servlet or scheduler thread. The intraday and
+ * post-close sweeps get a thread of their own so they are not stuck behind a long daily run; both hand their
+ * Upstox calls to the shared worker pool, whose in-flight level each run sets adaptively.
+ */
+@Configuration
+public class ScrapingConfig {
+
+    @Bean
+    public ThreadPoolTaskExecutor scrapeJobExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(10);
+        executor.setThreadNamePrefix("scrape-job-");
+        executor.initialize();
+        return executor;
+    }
+
+    @Bean
+    public ThreadPoolTaskExecutor scrapeSweepExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(1);
+        executor.setThreadNamePrefix("scrape-sweep-");
+        executor.initialize();
+        return executor;
+    }
+
+    // Room for a daily run and a sweep at their full concurrency at once
+    @Bean
+    public ThreadPoolTaskExecutor scrapeWorkerExecutor(ScrapeSchedulerProperties properties) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2 * properties.getMaxConcurrency());
+        executor.setMaxPoolSize(2 * properties.getMaxConcurrency());
+        executor.setThreadNamePrefix("scrape-worker-");
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,65 @@
+package com.quantz.marketdata.config;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quantz.marketdata.cache.CacheNames;
+import com.quantz.marketdata.cache.QuoteRedisSerializer;
+import com.quantz.marketdata.cache.SharedCacheTier;
+import com.quantz.marketdata.cache.TwoLevelCache;
+import com.quantz.marketdata.entity.CandleData;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.boot.actuate.metrics.cache.CacheMeterBinderProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Redis tier behind the caches listed in {@code quantz.cache.redis.caches}; without it every cache stays
+ * in-process. Candles are stored as JSON, quotes as binary quote messages.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "quantz.cache.redis", name = "enabled", havingValue = "true")
+public class SharedCacheConfig {
+
+    @Bean
+    public SharedCacheTier sharedCacheTier(StringRedisTemplate redisTemplate, CacheSpecProperties properties,
+                                           ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        JavaType candleList = objectMapper.getTypeFactory().constructCollectionType(List.class, CandleData.class);
+        Map<String, RedisSerializer<?>> serializers = Map.of(
+                CacheNames.LATEST_CANDLE, new Jackson2JsonRedisSerializer<>(objectMapper, CandleData.class),
+                CacheNames.CANDLE_RANGE, new Jackson2JsonRedisSerializer<>(objectMapper, candleList),
+                CacheNames.LATEST_QUOTES, new QuoteRedisSerializer());
+
+        CacheSpecProperties.Redis redis = properties.getRedis();
+        return new SharedCacheTier(redisTemplate, redis.getKeyPrefix(), redis.getInvalidationChannel(),
+                redis.getLockTimeout(), redis.getLockWait(), serializers, meterRegistry);
+    }
+
+    @Bean
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                            SharedCacheTier sharedCacheTier,
+                                                                            CacheSpecProperties properties) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(sharedCacheTier, new ChannelTopic(properties.getRedis().getInvalidationChannel()));
+        return container;
+    }
+
+    /**
+     * Binds the statistics of the in-process tier, as Boot does for plain Caffeine caches
+     */
+    @Bean
+    public CacheMeterBinderProvider<TwoLevelCache> twoLevelCacheMeterBinderProvider() {
+        return (cache, tags) -> new CaffeineCacheMetrics<>(cache.getNativeCache(), cache.getName(), tags);
+    }
+}
@@ -32,6 +32,20 @@ public class UpstoxProperties {
         private int maxRetries = 3;
         private long retryDelayMillis = 1000;
         private int maxRequestsPerSecond = 10; // Default API rate limit
+
+        // Adaptive limit on concurrent calls, moved between min and max by latency and 429s
+        private int initialConcurrency = 4;
+        private int minConcurrency = 1;
+        private int maxConcurrency = 16;
+        private double latencyTolerance = 2.0;
+
+        // Longest Retry-After honoured, guards against a bogus header stalling every caller
+        private long maxRetryAfterMillis = 60_000;
+
+        // Consecutive timeouts, connection errors or 5xx after which the API is considered down
+        private int circuitFailureThreshold = 5;
+        private long circuitOpenMillis = 30_000;
+        private long circuitMaxOpenMillis = 300_000;
     }
 
     @Data
@@ -0,0 +1,26 @@
+package com.quantz.marketdata.config;
+
+import com.quantz.marketdata.converter.ColumnarProtobufHttpMessageConverter;
+import com.quantz.marketdata.converter.CsvHttpMessageConverter;
+import com.quantz.marketdata.converter.MessagePackHttpMessageConverter;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Registers the binary and CSV response formats. They are appended after the default converters,
+ * so JSON stays the answer for a wildcard Accept header and the other formats are picked only
+ * when a client asks for them explicitly.
+ */
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(new ColumnarProtobufHttpMessageConverter());
+        converters.add(new MessagePackHttpMessageConverter());
+        converters.add(new CsvHttpMessageConverter());
+    }
+}
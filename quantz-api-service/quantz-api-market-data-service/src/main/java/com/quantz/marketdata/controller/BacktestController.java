@@ -0,0 +1,60 @@
+package com.quantz.marketdata.controller;
+
+import com.quantz.marketdata.model.BacktestReport;
+import com.quantz.marketdata.model.BacktestRequest;
+import com.quantz.marketdata.model.BacktestSweepReport;
+import com.quantz.marketdata.model.BacktestSweepRequest;
+import com.quantz.marketdata.model.WalkForwardJob;
+import com.quantz.marketdata.model.WalkForwardRequest;
+import com.quantz.marketdata.service.BacktestService;
+import com.quantz.marketdata.service.WalkForwardService;
+import jakarta.validation.Valid;
+import lombok.AllArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/market-data/backtest")
+@AllArgsConstructor
+public class BacktestController {
+
+    private final BacktestService backtestService;
+    private final WalkForwardService walkForwardService;
+
+    @PostMapping
+    public ResponseEntity<BacktestReport> run(@Valid @RequestBody BacktestRequest request) {
+        return ResponseEntity.ok(backtestService.run(request));
+    }
+
+    @PostMapping("/sweep")
+    public ResponseEntity<BacktestSweepReport> sweep(@Valid @RequestBody BacktestSweepRequest request) {
+        return ResponseEntity.ok(backtestService.sweep(request));
+    }
+
+    @PostMapping("/walk-forward")
+    public ResponseEntity<WalkForwardJob> submitWalkForward(@Valid @RequestBody WalkForwardRequest request) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(walkForwardService.submit(request));
+    }
+
+    @GetMapping("/walk-forward")
+    public ResponseEntity<List<WalkForwardJob>> getWalkForwardJobs() {
+        return ResponseEntity.ok(walkForwardService.getJobs());
+    }
+
+    @GetMapping("/walk-forward/{id}")
+    public ResponseEntity<WalkForwardJob> getWalkForwardJob(@PathVariable String id) {
+        return walkForwardService.getJob(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @DeleteMapping("/walk-forward/{id}")
+    public ResponseEntity<WalkForwardJob> cancelWalkForwardJob(@PathVariable String id) {
+        return walkForwardService.cancel(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+}
@@ -0,0 +1,36 @@
+package com.quantz.marketdata.controller;
+
+import com.quantz.marketdata.entity.CorporateAction;
+import com.quantz.marketdata.model.CorporateActionRequest;
+import com.quantz.marketdata.service.CorporateActionService;
+import jakarta.validation.Valid;
+import lombok.AllArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/market-data/corporate-actions")
+@AllArgsConstructor
+public class CorporateActionController {
+
+    private final CorporateActionService corporateActionService;
+
+    @GetMapping("/{instrumentKey}")
+    public ResponseEntity<List<CorporateAction>> getActions(@PathVariable String instrumentKey) {
+        return ResponseEntity.ok(corporateActionService.getActions(instrumentKey));
+    }
+
+    @PostMapping
+    public ResponseEntity<CorporateAction> recordAction(@Valid @RequestBody CorporateActionRequest request) {
+        return ResponseEntity.ok(corporateActionService.recordAction(request));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteAction(@PathVariable Long id) {
+        return corporateActionService.deleteAction(id)
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.notFound().build();
+    }
+}
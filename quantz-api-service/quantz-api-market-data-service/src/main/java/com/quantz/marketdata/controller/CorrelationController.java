@@ -0,0 +1,48 @@
+package com.quantz.marketdata.controller;
+
+import com.quantz.marketdata.model.CorrelatedInstruments;
+import com.quantz.marketdata.model.CorrelationMatrix;
+import com.quantz.marketdata.service.CorrelationService;
+import lombok.AllArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/market-data/correlation")
+@AllArgsConstructor
+public class CorrelationController {
+
+    private final CorrelationService correlationService;
+
+    @GetMapping
+    public ResponseEntity<CorrelationMatrix> getMatrix(
+            @RequestParam(required = false) List<String> instrumentKeys,
+            @RequestParam(defaultValue = "correlation") String type,
+            @RequestParam(required = false) Integer windowDays,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate asOf) {
+        if (!type.equals("correlation") && !type.equals("covariance")) {
+            throw new IllegalArgumentException("type must be correlation or covariance");
+        }
+        return ResponseEntity.ok(correlationService.getMatrix(instrumentKeys, type.equals("covariance"), windowDays, asOf));
+    }
+
+    @GetMapping("/{instrumentKey}/peers")
+    public ResponseEntity<CorrelatedInstruments> getPeers(
+            @PathVariable String instrumentKey,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(defaultValue = "false") boolean negative) {
+        return ResponseEntity.ok(correlationService.getPeers(instrumentKey, limit, negative));
+    }
+
+    @GetMapping(value = "/binary", produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<byte[]> getEncodedMatrix(
+            @RequestParam(required = false) Integer windowDays,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate asOf) {
+        return ResponseEntity.ok(correlationService.getEncodedMatrix(windowDays, asOf));
+    }
+}
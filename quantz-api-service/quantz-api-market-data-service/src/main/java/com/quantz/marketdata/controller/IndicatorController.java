@@ -0,0 +1,49 @@
+package com.quantz.marketdata.controller;
+
+import com.quantz.marketdata.model.IndicatorSeries;
+import com.quantz.marketdata.model.IndicatorValues;
+import com.quantz.marketdata.model.UniverseIndicatorValues;
+import com.quantz.marketdata.service.IndicatorService;
+import com.quantz.marketdata.service.UniverseIndicatorService;
+import lombok.AllArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/market-data/indicators")
+@AllArgsConstructor
+public class IndicatorController {
+
+    private final IndicatorService indicatorService;
+    private final UniverseIndicatorService universeIndicatorService;
+
+    @GetMapping("/universe")
+    public ResponseEntity<UniverseIndicatorValues> getUniverseIndicators(
+            @RequestParam(required = false, defaultValue = "1d") String interval,
+            @RequestParam(required = false) List<String> indicators) {
+        return ResponseEntity.ok(universeIndicatorService.computeLatest(interval, indicators));
+    }
+
+    @GetMapping("/{instrumentKey}")
+    public ResponseEntity<IndicatorSeries> getIndicators(
+            @PathVariable String instrumentKey,
+            @RequestParam(required = false, defaultValue = "1d") String interval,
+            @RequestParam(required = false) List<String> indicators,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startTime,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endTime) {
+        return ResponseEntity.ok(indicatorService.computeIndicators(instrumentKey, interval, indicators, startTime, endTime));
+    }
+
+    @GetMapping("/{instrumentKey}/latest")
+    public ResponseEntity<IndicatorValues> getLatestIndicators(
+            @PathVariable String instrumentKey,
+            @RequestParam(required = false) List<String> indicators) {
+        return indicatorService.getLatestValues(instrumentKey, indicators)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+}
@@ -2,15 +2,28 @@ package com.quantz.marketdata.controller;
 
 import com.quantz.marketdata.entity.CandleData;
 import com.quantz.marketdata.entity.Instrument;
+import com.quantz.marketdata.entity.LatestBar;
 import com.quantz.marketdata.entity.ScrapingMetadata;
+import com.quantz.marketdata.model.BatchCandleRequest;
+import com.quantz.marketdata.model.InstrumentQuery;
+import com.quantz.marketdata.model.ScrapeJob;
+import com.quantz.marketdata.scraping.ScrapeDemandTracker;
+import com.quantz.marketdata.service.CorporateActionService;
 import com.quantz.marketdata.service.MarketDataScraperService;
+import com.quantz.marketdata.service.MarketSnapshotService;
+import com.quantz.marketdata.service.ScrapeJobService;
+import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/market-data")
@@ -18,11 +31,54 @@ import java.util.List;
 public class MarketDataController {
 
     private final MarketDataScraperService marketDataScraperService;
+    private final MarketSnapshotService marketSnapshotService;
+    private final CorporateActionService corporateActionService;
+    private final ScrapeJobService scrapeJobService;
+    private final ScrapeDemandTracker scrapeDemandTracker;
 
     @PostMapping("/scrape")
-    public ResponseEntity<String> triggerScraping() {
-        marketDataScraperService.manualScraping();
-        return ResponseEntity.ok("Market data scraping started successfully");
+    public ResponseEntity<ScrapeJob> triggerScraping() {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(scrapeJobService.submit(ScrapeJob.Trigger.MANUAL));
+    }
+
+    @GetMapping("/scrape/jobs")
+    public ResponseEntity<List<ScrapeJob>> getScrapeJobs() {
+        return ResponseEntity.ok(scrapeJobService.getJobs());
+    }
+
+    @GetMapping("/scrape/jobs/{id}")
+    public ResponseEntity<ScrapeJob> getScrapeJob(@PathVariable String id) {
+        return scrapeJobService.getJob(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping(value = "/scrape/jobs/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamScrapeJob(@PathVariable String id) {
+        return scrapeJobService.subscribe(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @PostMapping("/scrape/jobs/{id}/pause")
+    public ResponseEntity<ScrapeJob> pauseScrapeJob(@PathVariable String id) {
+        return scrapeJobService.pause(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @PostMapping("/scrape/jobs/{id}/resume")
+    public ResponseEntity<ScrapeJob> resumeScrapeJob(@PathVariable String id) {
+        return scrapeJobService.resume(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @DeleteMapping("/scrape/jobs/{id}")
+    public ResponseEntity<ScrapeJob> cancelScrapeJob(@PathVariable String id) {
+        return scrapeJobService.cancel(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
     }
 
     @GetMapping("/instruments")
@@ -35,6 +91,11 @@ public class MarketDataController {
         return ResponseEntity.ok(instruments);
     }
 
+    @GetMapping("/instruments/query")
+    public ResponseEntity<List<Instrument>> queryInstruments(@ModelAttribute InstrumentQuery query) {
+        return ResponseEntity.ok(marketDataScraperService.queryInstruments(query));
+    }
+
     @GetMapping("/instruments/{instrumentKey}")
     public ResponseEntity<Instrument> getInstrument(@PathVariable String instrumentKey) {
         return marketDataScraperService.findInstrumentByKey(instrumentKey)
@@ -47,12 +108,51 @@ public class MarketDataController {
             @PathVariable String instrumentKey,
             @RequestParam(required = false, defaultValue = "1d") String interval,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startTime,
-            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endTime) {
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endTime,
+            @RequestParam(defaultValue = "false") boolean adjusted) {
+        scrapeDemandTracker.record(instrumentKey);
+
+        List<CandleData> candleData = adjusted
+                ? corporateActionService.findAdjustedCandleData(instrumentKey, interval, startTime, endTime)
+                : marketDataScraperService.findCandleData(instrumentKey, interval, startTime, endTime);
+        return ResponseEntity.ok(candleData);
+    }
+
+    @GetMapping("/candles/{instrumentKey}/latest")
+    public ResponseEntity<CandleData> getLatestCandle(
+            @PathVariable String instrumentKey,
+            @RequestParam(required = false, defaultValue = "1d") String interval) {
+        scrapeDemandTracker.record(instrumentKey);
+        return marketDataScraperService.findLatestCandle(instrumentKey, interval)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
 
-        List<CandleData> candleData = marketDataScraperService.findCandleData(instrumentKey, interval, startTime, endTime);
+    @PostMapping("/candles/batch")
+    public ResponseEntity<Map<String, List<CandleData>>> getCandleDataBatch(
+            @Valid @RequestBody BatchCandleRequest request) {
+        request.getInstrumentKeys().forEach(scrapeDemandTracker::record);
+        Map<String, List<CandleData>> candleData = marketDataScraperService.findCandleDataBatch(
+                request.getInstrumentKeys(), request.getInterval(), request.getStartTime(), request.getEndTime());
         return ResponseEntity.ok(candleData);
     }
 
+    @GetMapping("/snapshot")
+    public ResponseEntity<List<LatestBar>> getSnapshot(
+            @RequestParam(required = false) List<String> instrumentKeys) {
+        List<LatestBar> snapshot = instrumentKeys == null || instrumentKeys.isEmpty()
+                ? marketSnapshotService.getSnapshot()
+                : marketSnapshotService.getSnapshot(instrumentKeys);
+        return ResponseEntity.ok(snapshot);
+    }
+
+    @GetMapping("/snapshot/{instrumentKey}")
+    public ResponseEntity<LatestBar> getLatestBar(@PathVariable String instrumentKey) {
+        scrapeDemandTracker.record(instrumentKey);
+        return marketSnapshotService.getLatestBar(instrumentKey)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
 
     @GetMapping("/scraping-history")
     public ResponseEntity<List<ScrapingMetadata>> getScrapingHistory() {
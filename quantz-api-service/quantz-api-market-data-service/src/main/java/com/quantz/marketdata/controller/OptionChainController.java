@@ -0,0 +1,38 @@
+package com.quantz.marketdata.controller;
+
+import com.quantz.marketdata.model.OptionChainData;
+import com.quantz.marketdata.service.OptionChainService;
+import lombok.AllArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/market-data/option-chain")
+@AllArgsConstructor
+public class OptionChainController {
+
+    private final OptionChainService optionChainService;
+
+    @GetMapping
+    public ResponseEntity<List<String>> getUnderlyings() {
+        return ResponseEntity.ok(optionChainService.getUnderlyings());
+    }
+
+    @GetMapping("/{underlying}/expiries")
+    public ResponseEntity<List<LocalDate>> getExpiries(@PathVariable String underlying) {
+        return ResponseEntity.ok(optionChainService.getExpiries(underlying));
+    }
+
+    @GetMapping("/{underlying}")
+    public ResponseEntity<OptionChainData> getOptionChain(
+            @PathVariable String underlying,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate expiry,
+            @RequestParam(defaultValue = "false") boolean monthly,
+            @RequestParam(required = false) Integer strikes) {
+        return ResponseEntity.ok(optionChainService.getOptionChain(underlying, expiry, monthly, strikes));
+    }
+}
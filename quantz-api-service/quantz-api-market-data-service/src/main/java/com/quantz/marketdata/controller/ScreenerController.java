@@ -0,0 +1,25 @@
+package com.quantz.marketdata.controller;
+
+import com.quantz.marketdata.model.ScreenerRequest;
+import com.quantz.marketdata.model.ScreenerResult;
+import com.quantz.marketdata.service.ScreenerService;
+import jakarta.validation.Valid;
+import lombok.AllArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/market-data/screener")
+@AllArgsConstructor
+public class ScreenerController {
+
+    private final ScreenerService screenerService;
+
+    @PostMapping
+    public ResponseEntity<ScreenerResult> screen(@Valid @RequestBody ScreenerRequest request) {
+        return ResponseEntity.ok(screenerService.screen(request));
+    }
+}
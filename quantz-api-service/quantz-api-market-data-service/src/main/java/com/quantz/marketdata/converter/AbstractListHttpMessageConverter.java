@@ -0,0 +1,85 @@
+package com.quantz.marketdata.converter;
+
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Base class for write-only converters of {@code List<T>} response bodies.
+ * Only the element types a concrete converter knows how to lay out are accepted, so any other
+ * body falls through to the next converter (usually Jackson JSON) or yields 406.
+ */
+public abstract class AbstractListHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    private final Set<Class<?>> supportedElementTypes;
+
+    protected AbstractListHttpMessageConverter(Set<Class<?>> supportedElementTypes, MediaType... supportedMediaTypes) {
+        super(supportedMediaTypes);
+        this.supportedElementTypes = supportedElementTypes;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return List.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(Type type, @Nullable Class<?> contextClass, @Nullable MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected boolean canRead(@Nullable MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canWrite(@Nullable Type type, Class<?> clazz, @Nullable MediaType mediaType) {
+        return supports(clazz) && canWrite(mediaType) && resolveElementType(type) != null;
+    }
+
+    @Override
+    protected void writeInternal(Object body, @Nullable Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        Class<?> elementType = resolveElementType(type);
+        if (elementType == null) {
+            throw new HttpMessageNotWritableException("Unsupported list element type: " + type);
+        }
+        writeList(elementType, (List<?>) body, outputMessage);
+    }
+
+    @Override
+    public Object read(Type type, @Nullable Class<?> contextClass, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Reading is not supported by " + getClass().getSimpleName(), inputMessage);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Reading is not supported by " + getClass().getSimpleName(), inputMessage);
+    }
+
+    /**
+     * Write a list whose element type has already been checked against the supported types
+     */
+    protected abstract void writeList(Class<?> elementType, List<?> items, HttpOutputMessage outputMessage)
+            throws IOException;
+
+    @Nullable
+    private Class<?> resolveElementType(@Nullable Type type) {
+        if (type == null) {
+            return null;
+        }
+        Class<?> elementType = ResolvableType.forType(type).asCollection().resolveGeneric(0);
+        return elementType != null && supportedElementTypes.contains(elementType) ? elementType : null;
+    }
+}
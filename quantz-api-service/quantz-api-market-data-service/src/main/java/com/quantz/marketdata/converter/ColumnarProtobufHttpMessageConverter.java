@@ -0,0 +1,166 @@
+package com.quantz.marketdata.converter;
+
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.WireFormat;
+import com.quantz.marketdata.entity.CandleData;
+import com.quantz.marketdata.entity.Instrument;
+import org.springframework.http.HttpOutputMessage;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * Writes candle and instrument lists in the columnar protobuf layout described by
+ * {@code proto/market_data.proto}. The wire bytes are produced directly with {@link CodedOutputStream},
+ * so no generated message classes or intermediate objects are needed on the server side.
+ */
+public class ColumnarProtobufHttpMessageConverter extends AbstractListHttpMessageConverter {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    public ColumnarProtobufHttpMessageConverter() {
+        super(Set.of(CandleData.class, Instrument.class), MarketDataMediaTypes.APPLICATION_X_PROTOBUF);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected void writeList(Class<?> elementType, List<?> items, HttpOutputMessage outputMessage) throws IOException {
+        CodedOutputStream output = CodedOutputStream.newInstance(outputMessage.getBody(), BUFFER_SIZE);
+        if (elementType == CandleData.class) {
+            writeCandleColumns((List<CandleData>) items, output);
+        } else {
+            writeInstrumentColumns((List<Instrument>) items, output);
+        }
+        output.flush();
+    }
+
+    private void writeCandleColumns(List<CandleData> candles, CodedOutputStream output) throws IOException {
+        if (candles.isEmpty()) {
+            return;
+        }
+
+        CandleData first = candles.get(0);
+        boolean singleInstrument = candles.stream()
+                .allMatch(candle -> Objects.equals(candle.getInstrumentKey(), first.getInstrumentKey()));
+
+        if (singleInstrument && first.getInstrumentKey() != null) {
+            output.writeString(1, first.getInstrumentKey());
+        }
+        if (first.getInterval() != null) {
+            output.writeString(2, first.getInterval());
+        }
+
+        writeTimestampDeltas(3, candles, output);
+        writePackedDoubles(4, candles, candle -> valueOrZero(candle.getOpen()), output);
+        writePackedDoubles(5, candles, candle -> valueOrZero(candle.getHigh()), output);
+        writePackedDoubles(6, candles, candle -> valueOrZero(candle.getLow()), output);
+        writePackedDoubles(7, candles, candle -> valueOrZero(candle.getClose()), output);
+        writePackedInt64(8, candles, candle -> candle.getVolume() != null ? candle.getVolume() : 0L, output);
+
+        if (!singleInstrument) {
+            writeStrings(9, candles, CandleData::getInstrumentKey, output);
+        }
+    }
+
+    private void writeInstrumentColumns(List<Instrument> instruments, CodedOutputStream output) throws IOException {
+        if (instruments.isEmpty()) {
+            return;
+        }
+
+        writeStrings(1, instruments, Instrument::getInstrumentKey, output);
+        writeStrings(2, instruments, Instrument::getExchange, output);
+        writeStrings(3, instruments, Instrument::getSegment, output);
+        writeStrings(4, instruments, Instrument::getName, output);
+        writeStrings(5, instruments, Instrument::getIsin, output);
+        writeStrings(6, instruments, Instrument::getInstrumentType, output);
+        writeStrings(7, instruments, Instrument::getTradingSymbol, output);
+        writeStrings(8, instruments, Instrument::getExchangeToken, output);
+        writePackedInt32(9, instruments, instrument -> instrument.getLotSize() != null ? instrument.getLotSize() : 0, output);
+        writePackedDoubles(10, instruments, instrument -> valueOrNaN(instrument.getTickSize()), output);
+        writeStrings(11, instruments, Instrument::getExpiry, output);
+        writePackedDoubles(12, instruments, instrument -> valueOrNaN(instrument.getStrike()), output);
+        writeStrings(13, instruments, Instrument::getOptionType, output);
+    }
+
+    private void writeTimestampDeltas(int fieldNumber, List<CandleData> candles, CodedOutputStream output) throws IOException {
+        long[] deltas = new long[candles.size()];
+        long previous = 0;
+        int size = 0;
+        for (int i = 0; i < deltas.length; i++) {
+            long current = toEpochSecond(candles.get(i).getTimestamp());
+            deltas[i] = current - previous;
+            previous = current;
+            size += CodedOutputStream.computeSInt64SizeNoTag(deltas[i]);
+        }
+
+        output.writeTag(fieldNumber, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+        output.writeUInt32NoTag(size);
+        for (long delta : deltas) {
+            output.writeSInt64NoTag(delta);
+        }
+    }
+
+    private <T> void writePackedDoubles(int fieldNumber, List<T> items, ToDoubleFunction<T> column,
+                                        CodedOutputStream output) throws IOException {
+        output.writeTag(fieldNumber, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+        output.writeUInt32NoTag(items.size() * Double.BYTES);
+        for (T item : items) {
+            output.writeDoubleNoTag(column.applyAsDouble(item));
+        }
+    }
+
+    private <T> void writePackedInt64(int fieldNumber, List<T> items, ToLongFunction<T> column,
+                                      CodedOutputStream output) throws IOException {
+        int size = 0;
+        for (T item : items) {
+            size += CodedOutputStream.computeInt64SizeNoTag(column.applyAsLong(item));
+        }
+
+        output.writeTag(fieldNumber, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+        output.writeUInt32NoTag(size);
+        for (T item : items) {
+            output.writeInt64NoTag(column.applyAsLong(item));
+        }
+    }
+
+    private <T> void writePackedInt32(int fieldNumber, List<T> items, ToLongFunction<T> column,
+                                      CodedOutputStream output) throws IOException {
+        int size = 0;
+        for (T item : items) {
+            size += CodedOutputStream.computeInt32SizeNoTag((int) column.applyAsLong(item));
+        }
+
+        output.writeTag(fieldNumber, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+        output.writeUInt32NoTag(size);
+        for (T item : items) {
+            output.writeInt32NoTag((int) column.applyAsLong(item));
+        }
+    }
+
+    private <T> void writeStrings(int fieldNumber, List<T> items, Function<T, String> column,
+                                  CodedOutputStream output) throws IOException {
+        for (T item : items) {
+            String value = column.apply(item);
+            output.writeString(fieldNumber, value != null ? value : "");
+        }
+    }
+
+    private long toEpochSecond(LocalDateTime timestamp) {
+        return timestamp != null ? timestamp.toEpochSecond(ZoneOffset.UTC) : 0L;
+    }
+
+    private double valueOrZero(Double value) {
+        return value != null ? value : 0.0;
+    }
+
+    private double valueOrNaN(Double value) {
+        return value != null ? value : Double.NaN;
+    }
+}
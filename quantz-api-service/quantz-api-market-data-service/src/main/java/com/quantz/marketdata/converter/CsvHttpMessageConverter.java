@@ -0,0 +1,42 @@
+package com.quantz.marketdata.converter;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.quantz.marketdata.entity.CandleData;
+import com.quantz.marketdata.entity.Instrument;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Writes candle and instrument lists as CSV with a header row, one record per element
+ */
+public class CsvHttpMessageConverter extends AbstractListHttpMessageConverter {
+
+    private final CsvMapper csvMapper;
+    private final Map<Class<?>, ObjectWriter> writers = new ConcurrentHashMap<>();
+
+    public CsvHttpMessageConverter() {
+        super(Set.of(CandleData.class, Instrument.class), MarketDataMediaTypes.TEXT_CSV);
+        this.csvMapper = new CsvMapper();
+        this.csvMapper.registerModule(new JavaTimeModule());
+        this.csvMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    @Override
+    protected void writeList(Class<?> elementType, List<?> items, HttpOutputMessage outputMessage) throws IOException {
+        ObjectWriter writer = writers.computeIfAbsent(elementType, type -> {
+            CsvSchema schema = csvMapper.schemaFor(type).withHeader();
+            return csvMapper.writer(schema);
+        });
+        writer.writeValue(StreamUtils.nonClosing(outputMessage.getBody()), items);
+    }
+}
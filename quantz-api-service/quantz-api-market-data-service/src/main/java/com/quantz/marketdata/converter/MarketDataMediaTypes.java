@@ -0,0 +1,24 @@
+package com.quantz.marketdata.converter;
+
+import org.springframework.http.MediaType;
+
+/**
+ * Media types supported by the market data endpoints in addition to JSON
+ */
+public final class MarketDataMediaTypes {
+
+    public static final String APPLICATION_X_PROTOBUF_VALUE = "application/x-protobuf";
+    public static final MediaType APPLICATION_X_PROTOBUF = MediaType.valueOf(APPLICATION_X_PROTOBUF_VALUE);
+
+    public static final String APPLICATION_MSGPACK_VALUE = "application/msgpack";
+    public static final MediaType APPLICATION_MSGPACK = MediaType.valueOf(APPLICATION_MSGPACK_VALUE);
+
+    public static final String APPLICATION_X_MSGPACK_VALUE = "application/x-msgpack";
+    public static final MediaType APPLICATION_X_MSGPACK = MediaType.valueOf(APPLICATION_X_MSGPACK_VALUE);
+
+    public static final String TEXT_CSV_VALUE = "text/csv";
+    public static final MediaType TEXT_CSV = MediaType.valueOf(TEXT_CSV_VALUE);
+
+    private MarketDataMediaTypes() {
+    }
+}
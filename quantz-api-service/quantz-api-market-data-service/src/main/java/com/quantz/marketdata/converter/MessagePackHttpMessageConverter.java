@@ -0,0 +1,27 @@
+package com.quantz.marketdata.converter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.msgpack.jackson.dataformat.MessagePackFactory;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+
+/**
+ * MessagePack converter for any response body Jackson can serialize.
+ * Timestamps are written as ISO strings so the payload mirrors the JSON shape field for field.
+ */
+public class MessagePackHttpMessageConverter extends AbstractJackson2HttpMessageConverter {
+
+    public MessagePackHttpMessageConverter() {
+        super(createObjectMapper(),
+                MarketDataMediaTypes.APPLICATION_MSGPACK,
+                MarketDataMediaTypes.APPLICATION_X_MSGPACK);
+    }
+
+    private static ObjectMapper createObjectMapper() {
+        ObjectMapper objectMapper = new ObjectMapper(new MessagePackFactory());
+        objectMapper.registerModule(new JavaTimeModule());
+        objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        return objectMapper;
+    }
+}
@@ -0,0 +1,87 @@
+package com.quantz.marketdata.correlation;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Immutable covariance matrix of daily returns over a window ending {@code asOf}, stored as a float32 packed
+ * upper triangle. Correlations are derived on read. Coverage is the fraction of window days on which each
+ * instrument actually traded.
+ */
+public final class CovarianceMatrix {
+
+    private final String[] instrumentKeys;
+    private final LocalDate asOf;
+    private final int windowDays;
+    private final float[] covariance;
+    private final float[] coverage;
+    private final Map<String, Integer> ordinals;
+
+    public CovarianceMatrix(String[] instrumentKeys, LocalDate asOf, int windowDays, float[] covariance, float[] coverage) {
+        if (covariance.length != CrossProducts.packedSize(instrumentKeys.length) || coverage.length != instrumentKeys.length) {
+            throw new IllegalArgumentException("Covariance matrix does not match its " + instrumentKeys.length + " instruments");
+        }
+        this.instrumentKeys = instrumentKeys;
+        this.asOf = asOf;
+        this.windowDays = windowDays;
+        this.covariance = covariance;
+        this.coverage = coverage;
+        this.ordinals = new HashMap<>(instrumentKeys.length * 2);
+        for (int i = 0; i < instrumentKeys.length; i++) {
+            ordinals.put(instrumentKeys[i], i);
+        }
+    }
+
+    public String[] instrumentKeys() {
+        return instrumentKeys;
+    }
+
+    public LocalDate asOf() {
+        return asOf;
+    }
+
+    public int windowDays() {
+        return windowDays;
+    }
+
+    public int size() {
+        return instrumentKeys.length;
+    }
+
+    /**
+     * Ordinal of the instrument, or -1 if it is not in the matrix
+     */
+    public int ordinal(String instrumentKey) {
+        return ordinals.getOrDefault(instrumentKey, -1);
+    }
+
+    public double coverage(int i) {
+        return coverage[i];
+    }
+
+    public double covariance(int i, int j) {
+        return i <= j
+                ? covariance[CrossProducts.packedIndex(instrumentKeys.length, i, j)]
+                : covariance[CrossProducts.packedIndex(instrumentKeys.length, j, i)];
+    }
+
+    /**
+     * Pearson correlation, NaN when either instrument did not move over the window
+     */
+    public double correlation(int i, int j) {
+        if (i == j) {
+            return covariance(i, i) > 0 ? 1 : Double.NaN;
+        }
+        double denominator = Math.sqrt(covariance(i, i) * covariance(j, j));
+        return denominator > 0 ? Math.max(-1, Math.min(1, covariance(i, j) / denominator)) : Double.NaN;
+    }
+
+    float[] packedCovariance() {
+        return covariance;
+    }
+
+    float[] coverage() {
+        return coverage;
+    }
+}
@@ -0,0 +1,77 @@
+package com.quantz.marketdata.correlation;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.time.LocalDate;
+
+/**
+ * Compact binary form of a {@link CovarianceMatrix}, used for persistence and the binary endpoint.
+ * <p>
+ * Layout, big-endian: magic {@code QCV1}, as-of epoch day (int64), window days (int32), instrument count n
+ * (int32), n modified-UTF-8 instrument keys, n float32 coverage values, then the n(n+1)/2 float32 covariance
+ * values of the upper triangle row by row. A 2,000-instrument matrix takes about 8 MB.
+ */
+public final class CovarianceMatrixCodec {
+
+    private static final int MAGIC = 0x51435631;
+
+    private CovarianceMatrixCodec() {
+    }
+
+    public static byte[] encode(CovarianceMatrix matrix) {
+        float[] covariance = matrix.packedCovariance();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(covariance.length * Float.BYTES + matrix.size() * 32);
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            output.writeInt(MAGIC);
+            output.writeLong(matrix.asOf().toEpochDay());
+            output.writeInt(matrix.windowDays());
+            output.writeInt(matrix.size());
+            for (String key : matrix.instrumentKeys()) {
+                output.writeUTF(key);
+            }
+            output.write(toBytes(matrix.coverage()));
+            output.write(toBytes(covariance));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * @throws IllegalArgumentException when the bytes are not an encoded matrix
+     */
+    public static CovarianceMatrix decode(byte[] encoded) {
+        try (DataInputStream input = new DataInputStream(new ByteArrayInputStream(encoded))) {
+            if (input.readInt() != MAGIC) {
+                throw new IllegalArgumentException("Not an encoded covariance matrix");
+            }
+            LocalDate asOf = LocalDate.ofEpochDay(input.readLong());
+            int windowDays = input.readInt();
+            int n = input.readInt();
+            String[] keys = new String[n];
+            for (int i = 0; i < n; i++) {
+                keys[i] = input.readUTF();
+            }
+            float[] coverage = readFloats(input, n);
+            float[] covariance = readFloats(input, CrossProducts.packedSize(n));
+            return new CovarianceMatrix(keys, asOf, windowDays, covariance, coverage);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Truncated covariance matrix", e);
+        }
+    }
+
+    private static byte[] toBytes(float[] values) {
+        ByteBuffer buffer = ByteBuffer.allocate(values.length * Float.BYTES).order(ByteOrder.BIG_ENDIAN);
+        buffer.asFloatBuffer().put(values);
+        return buffer.array();
+    }
+
+    private static float[] readFloats(DataInputStream input, int count) throws IOException {
+        byte[] bytes = new byte[count * Float.BYTES];
+        input.readFully(bytes);
+        float[] values = new float[count];
+        ByteBuffer.wrap(bytes).order(ByteOrder.BIG_ENDIAN).asFloatBuffer().get(values);
+        return values;
+    }
+}
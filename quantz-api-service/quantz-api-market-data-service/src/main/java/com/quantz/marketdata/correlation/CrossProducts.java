@@ -0,0 +1,95 @@
+package com.quantz.marketdata.correlation;
+
+import java.util.stream.IntStream;
+
+/**
+ * Cache-blocked, multi-threaded symmetric cross products {@code S = X Xᵀ} of an instrument-major matrix
+ * {@code X} (each instrument's observations contiguous), written to a packed upper triangle.
+ * <p>
+ * The instrument axis is cut into tiles of {@value #TILE} rows and the observation axis into blocks of
+ * {@value #DEPTH}, so the two tiles being multiplied stay resident in L1/L2 while every pair in them is
+ * formed. Tile pairs on and above the diagonal are independent and run in parallel; within a pair four
+ * columns are accumulated at once to reuse each loaded element of the row.
+ */
+public final class CrossProducts {
+
+    static final int TILE = 48;
+    static final int DEPTH = 256;
+
+    private CrossProducts() {
+    }
+
+    /**
+     * Position of (i, j), {@code i <= j}, in a packed upper triangle of an n × n matrix
+     */
+    public static int packedIndex(int n, int i, int j) {
+        return (int) ((long) i * n - (long) i * (i - 1) / 2 + (j - i));
+    }
+
+    public static int packedSize(int n) {
+        return (int) ((long) n * (n + 1) / 2);
+    }
+
+    /**
+     * Add {@code X Xᵀ} over observations [0, length) to {@code packed}
+     *
+     * @param x      instrument-major values, {@code x[i * length + t]}
+     * @param packed upper triangle of size {@link #packedSize(int)}
+     */
+    public static void accumulate(double[] x, int n, int length, double[] packed) {
+        int tiles = (n + TILE - 1) / TILE;
+        int pairs = tiles * (tiles + 1) / 2;
+        IntStream.range(0, pairs).parallel().forEach(pair -> {
+            // decode pair -> (row tile, column tile) with column tile >= row tile
+            int rowTile = 0;
+            int remaining = pair;
+            while (remaining >= tiles - rowTile) {
+                remaining -= tiles - rowTile;
+                rowTile++;
+            }
+            multiplyTile(x, n, length, packed, rowTile * TILE, (rowTile + remaining) * TILE);
+        });
+    }
+
+    private static void multiplyTile(double[] x, int n, int length, double[] packed, int rowStart, int columnStart) {
+        int rowEnd = Math.min(rowStart + TILE, n);
+        int columnEnd = Math.min(columnStart + TILE, n);
+        for (int depthStart = 0; depthStart < length; depthStart += DEPTH) {
+            int depthEnd = Math.min(depthStart + DEPTH, length);
+            for (int i = rowStart; i < rowEnd; i++) {
+                int rowOffset = i * length;
+                int j = Math.max(columnStart, i);
+                for (; j + 3 < columnEnd; j += 4) {
+                    int c0 = j * length;
+                    int c1 = c0 + length;
+                    int c2 = c1 + length;
+                    int c3 = c2 + length;
+                    double s0 = 0;
+                    double s1 = 0;
+                    double s2 = 0;
+                    double s3 = 0;
+                    for (int t = depthStart; t < depthEnd; t++) {
+                        double value = x[rowOffset + t];
+                        s0 += value * x[c0 + t];
+                        s1 += value * x[c1 + t];
+                        s2 += value * x[c2 + t];
+                        s3 += value * x[c3 + t];
+                    }
+                    int index = packedIndex(n, i, j);
+                    packed[index] += s0;
+                    packed[index + 1] += s1;
+                    packed[index + 2] += s2;
+                    packed[index + 3] += s3;
+                }
+                for (; j < columnEnd; j++) {
+                    int column = j * length;
+                    double sum = 0;
+                    for (int t = depthStart; t < depthEnd; t++) {
+                        sum += x[rowOffset + t] * x[column + t];
+                    }
+                    packed[packedIndex(n, i, j)] += sum;
+                }
+            }
+        }
+    }
+}
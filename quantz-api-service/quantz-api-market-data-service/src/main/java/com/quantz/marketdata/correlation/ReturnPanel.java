@@ -0,0 +1,79 @@
+package com.quantz.marketdata.correlation;
+
+import com.quantz.marketdata.indicators.panel.UniversePanel;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Daily close-to-close returns of a universe aligned on one trading calendar, stored day-major: the returns
+ * of all instruments on day {@code t} are at {@code [t * width, (t + 1) * width)}.
+ * <p>
+ * The calendar is every day on which at least one member traded. A member without a bar on a calendar day
+ * keeps its previous close, so its return is zero that day and the move shows up on its next traded day;
+ * such days, and days before listing, are marked as not observed so coverage can be judged per window.
+ */
+public record ReturnPanel(String[] instrumentKeys, LocalDate[] dates, double[] returns, boolean[] observed) {
+
+    public int width() {
+        return instrumentKeys.length;
+    }
+
+    public int length() {
+        return dates.length;
+    }
+
+    /**
+     * Returns of the members of {@code universe} found in the close panel; the first panel day only
+     * serves as the base of the second day's return
+     */
+    public static ReturnPanel of(UniversePanel panel, Set<String> universe) {
+        List<Integer> members = new ArrayList<>();
+        for (int instrument = 0; instrument < panel.width(); instrument++) {
+            if (universe.contains(panel.instrumentKeys()[instrument])) {
+                members.add(instrument);
+            }
+        }
+        int width = members.size();
+        String[] keys = new String[width];
+        for (int i = 0; i < width; i++) {
+            keys[i] = panel.instrumentKeys()[members.get(i)];
+        }
+
+        List<Integer> days = new ArrayList<>();
+        for (int time = 1; time < panel.length(); time++) {
+            for (int member : members) {
+                if (traded(panel, time, member)) {
+                    days.add(time);
+                    break;
+                }
+            }
+        }
+
+        LocalDate[] dates = new LocalDate[days.size()];
+        double[] returns = new double[days.size() * width];
+        boolean[] observed = new boolean[days.size() * width];
+        for (int day = 0; day < days.size(); day++) {
+            int time = days.get(day);
+            dates[day] = panel.timestamps()[time].toLocalDate();
+            for (int i = 0; i < width; i++) {
+                double close = panel.close()[panel.index(time, members.get(i))];
+                // the base is the last close before this calendar day, skipping days the universe did not trade
+                double previous = panel.close()[panel.index(day > 0 ? days.get(day - 1) : time - 1, members.get(i))];
+                int cell = day * width + i;
+                if (close > 0 && previous > 0) {
+                    returns[cell] = close / previous - 1;
+                    observed[cell] = traded(panel, time, members.get(i));
+                }
+            }
+        }
+        return new ReturnPanel(keys, dates, returns, observed);
+    }
+
+    private static boolean traded(UniversePanel panel, int time, int instrument) {
+        double volume = panel.volume()[panel.index(time, instrument)];
+        return !Double.isNaN(volume) && volume > 0;
+    }
+}
@@ -0,0 +1,143 @@
+package com.quantz.marketdata.correlation;
+
+import java.time.LocalDate;
+import java.util.stream.IntStream;
+
+/**
+ * Covariance of a universe over the last {@code windowDays} days of a {@link ReturnPanel}, kept as running
+ * sums so the window can slide one day at a time.
+ * <p>
+ * The initial sums come from {@link CrossProducts}, an O(n² · window) pass. Each later day adds the outer
+ * product of the new returns and subtracts that of the day leaving the window, which is O(n²) and runs
+ * row-parallel. Not thread-safe; callers swap in {@link #snapshot()} results for readers.
+ */
+public final class RollingCovariance {
+
+    private final String[] instrumentKeys;
+    private final int n;
+    private final int windowDays;
+    private final double[] window;
+    private final boolean[] windowObserved;
+    private final LocalDate[] windowDates;
+    private final double[] sumProducts;
+    private final double[] sums;
+    private final int[] observedDays;
+    private int oldest;
+    private int advances;
+
+    private RollingCovariance(String[] instrumentKeys, int windowDays) {
+        this.instrumentKeys = instrumentKeys;
+        this.n = instrumentKeys.length;
+        this.windowDays = windowDays;
+        this.window = new double[windowDays * n];
+        this.windowObserved = new boolean[windowDays * n];
+        this.windowDates = new LocalDate[windowDays];
+        this.sumProducts = new double[CrossProducts.packedSize(n)];
+        this.sums = new double[n];
+        this.observedDays = new int[n];
+    }
+
+    /**
+     * Sums over the {@code windowDays} panel days ending with day {@code endDay} (inclusive)
+     *
+     * @throws IllegalArgumentException when the panel has fewer days before {@code endDay}
+     */
+    public static RollingCovariance build(ReturnPanel panel, int endDay, int windowDays) {
+        if (windowDays < 2 || endDay + 1 < windowDays || endDay >= panel.length()) {
+            throw new IllegalArgumentException("Need " + windowDays + " trading days of returns, have " + (endDay + 1));
+        }
+        int n = panel.width();
+        RollingCovariance rolling = new RollingCovariance(panel.instrumentKeys(), windowDays);
+        int firstDay = endDay - windowDays + 1;
+
+        // Transpose the window to instrument-major so the kernel streams each instrument's returns
+        double[] byInstrument = new double[n * windowDays];
+        for (int day = 0; day < windowDays; day++) {
+            int source = (firstDay + day) * n;
+            System.arraycopy(panel.returns(), source, rolling.window, day * n, n);
+            System.arraycopy(panel.observed(), source, rolling.windowObserved, day * n, n);
+            rolling.windowDates[day] = panel.dates()[firstDay + day];
+            for (int i = 0; i < n; i++) {
+                double value = panel.returns()[source + i];
+                byInstrument[i * windowDays + day] = value;
+                rolling.sums[i] += value;
+                if (panel.observed()[source + i]) {
+                    rolling.observedDays[i]++;
+                }
+            }
+        }
+        CrossProducts.accumulate(byInstrument, n, windowDays, rolling.sumProducts);
+        return rolling;
+    }
+
+    /**
+     * Slide the window by one day
+     *
+     * @param returns  returns of every instrument on {@code date}, in {@link #instrumentKeys()} order
+     * @param observed whether each instrument traded on {@code date}
+     */
+    public void advance(LocalDate date, double[] returns, boolean[] observed) {
+        if (!date.isAfter(asOf())) {
+            throw new IllegalArgumentException("Cannot advance covariance to " + date + ", already at " + asOf());
+        }
+        int leaving = oldest * n;
+        double[] old = new double[n];
+        System.arraycopy(window, leaving, old, 0, n);
+
+        IntStream.range(0, n).parallel().forEach(i -> {
+            double newI = returns[i];
+            double oldI = old[i];
+            int index = CrossProducts.packedIndex(n, i, i);
+            for (int j = i; j < n; j++, index++) {
+                sumProducts[index] += newI * returns[j] - oldI * old[j];
+            }
+        });
+        for (int i = 0; i < n; i++) {
+            sums[i] += returns[i] - old[i];
+            observedDays[i] += (observed[i] ? 1 : 0) - (windowObserved[leaving + i] ? 1 : 0);
+        }
+
+        System.arraycopy(returns, 0, window, leaving, n);
+        System.arraycopy(observed, 0, windowObserved, leaving, n);
+        windowDates[oldest] = date;
+        oldest = (oldest + 1) % windowDays;
+        advances++;
+    }
+
+    public String[] instrumentKeys() {
+        return instrumentKeys;
+    }
+
+    public int windowDays() {
+        return windowDays;
+    }
+
+    public LocalDate asOf() {
+        return windowDates[(oldest + windowDays - 1) % windowDays];
+    }
+
+    /**
+     * Days slid since the full build; running sums pick up rounding error, so owners rebuild periodically
+     */
+    public int advances() {
+        return advances;
+    }
+
+    /**
+     * Sample covariance and coverage as of the last day in the window
+     */
+    public CovarianceMatrix snapshot() {
+        float[] covariance = new float[sumProducts.length];
+        IntStream.range(0, n).parallel().forEach(i -> {
+            int index = CrossProducts.packedIndex(n, i, i);
+            for (int j = i; j < n; j++, index++) {
+                covariance[index] = (float) ((sumProducts[index] - sums[i] * sums[j] / windowDays) / (windowDays - 1));
+            }
+        });
+        float[] coverage = new float[n];
+        for (int i = 0; i < n; i++) {
+            coverage[i] = (float) observedDays[i] / windowDays;
+        }
+        return new CovarianceMatrix(instrumentKeys, asOf(), windowDays, covariance, coverage);
+    }
+}
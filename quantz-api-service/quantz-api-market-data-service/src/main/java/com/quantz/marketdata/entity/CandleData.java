@@ -14,6 +14,8 @@ import java.time.LocalDateTime;
  */
 @Entity
 @Table(name = "candle_data",
+        uniqueConstraints = @UniqueConstraint(name = "uk_candle_instr_interval_date",
+                columnNames = {"instrument_key", "interval", "timestamp"}),
         indexes = {
                 @Index(name = "idx_candle_instr_date", columnList = "instrument_key, timestamp"),
                 @Index(name = "idx_candle_interval", columnList = "interval")
@@ -0,0 +1,58 @@
+package com.quantz.marketdata.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Share split or bonus issue of an instrument. Stored candles stay raw; the actions are applied
+ * to the history before their ex-date when adjusted candles are read.
+ */
+@Entity
+@Table(name = "corporate_action",
+        uniqueConstraints = @UniqueConstraint(name = "uk_corporate_action_instr_date_type",
+                columnNames = {"instrument_key", "ex_date", "action_type"}),
+        indexes = @Index(name = "idx_corporate_action_instr", columnList = "instrument_key"))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CorporateAction {
+
+    public enum Type {
+        /** {@code ratioHeld} shares become {@code ratioNew} shares; a consolidation has ratioNew &lt; ratioHeld */
+        SPLIT,
+        /** {@code ratioNew} additional shares for every {@code ratioHeld} held */
+        BONUS
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "instrument_key", nullable = false)
+    private String instrumentKey;
+
+    @Column(name = "ex_date", nullable = false)
+    private LocalDate exDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "action_type", nullable = false, length = 16)
+    private Type actionType;
+
+    @Column(name = "ratio_held", nullable = false)
+    private Integer ratioHeld;
+
+    @Column(name = "ratio_new", nullable = false)
+    private Integer ratioNew;
+
+    @Column(name = "created_at")
+    @CreationTimestamp
+    private LocalDateTime createdAt;
+}
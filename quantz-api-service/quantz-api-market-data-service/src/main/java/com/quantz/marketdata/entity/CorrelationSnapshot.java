@@ -0,0 +1,43 @@
+package com.quantz.marketdata.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Covariance matrix of the equity universe for one window length and day, in the compact binary form of
+ * {@link com.quantz.marketdata.correlation.CovarianceMatrixCodec}
+ */
+@Entity
+@Table(name = "correlation_snapshot",
+        uniqueConstraints = @UniqueConstraint(name = "uk_correlation_as_of_window", columnNames = {"as_of", "window_days"}))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CorrelationSnapshot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "as_of", nullable = false)
+    private LocalDate asOf;
+
+    @Column(name = "window_days", nullable = false)
+    private Integer windowDays;
+
+    @Column(nullable = false)
+    private Integer instruments;
+
+    @ToString.Exclude
+    @Column(nullable = false)
+    private byte[] payload;
+
+    @Column(name = "created_at")
+    @CreationTimestamp
+    private LocalDateTime createdAt;
+}
@@ -61,6 +61,13 @@ public class Instrument {
     @Column(name = "option_type", length = 10)
     private String optionType;
 
+    // Underlying of a future or option, e.g. NIFTY and NSE_INDEX|Nifty 50
+    @Column(name = "underlying_symbol", length = 50)
+    private String underlyingSymbol;
+
+    @Column(name = "underlying_key", length = 100)
+    private String underlyingKey;
+
     @Column(name = "created_at")
     @CreationTimestamp
     private LocalDateTime createdAt;
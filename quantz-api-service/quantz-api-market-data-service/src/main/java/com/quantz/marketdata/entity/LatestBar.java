@@ -0,0 +1,71 @@
+package com.quantz.marketdata.entity;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Latest daily bar of an instrument together with derived fields, one row per instrument.
+ * Maintained on every candle write so universe-wide "latest" reads never touch candle_data.
+ */
+@Entity
+@Table(name = "latest_bar")
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class LatestBar {
+
+    @Id
+    @Column(name = "instrument_key")
+    private String instrumentKey;
+
+    @Column(name = "bar_timestamp", nullable = false)
+    private LocalDateTime timestamp;
+
+    @Column(nullable = false)
+    private Double open;
+
+    @Column(nullable = false)
+    private Double high;
+
+    @Column(nullable = false)
+    private Double low;
+
+    @Column(nullable = false)
+    private Double close;
+
+    @Column(nullable = false)
+    private Long volume;
+
+    @Column(name = "prev_close")
+    private Double prevClose;
+
+    @Column(name = "high_52w")
+    private Double high52Week;
+
+    @Column(name = "high_52w_at")
+    private LocalDateTime high52WeekAt;
+
+    @Column(name = "low_52w")
+    private Double low52Week;
+
+    @Column(name = "low_52w_at")
+    private LocalDateTime low52WeekAt;
+
+    @Column(name = "avg_volume_20d")
+    private Double averageVolume20Day;
+
+    // Volumes of the last 20 bars, oldest first; kept so the average can roll forward one bar at a time
+    @JsonIgnore
+    @Column(name = "recent_volumes")
+    private long[] recentVolumes;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
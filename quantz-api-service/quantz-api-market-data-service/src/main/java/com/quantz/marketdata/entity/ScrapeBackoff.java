@@ -0,0 +1,35 @@
+package com.quantz.marketdata.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Instrument for which Upstox returned no candles on its latest scrapes, shared by all nodes
+ */
+@Entity
+@Table(name = "scrape_backoff")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScrapeBackoff {
+
+    @Id
+    @Column(name = "instrument_key", length = 100)
+    private String instrumentKey;
+
+    @Column(name = "consecutive_empty", nullable = false)
+    private Integer consecutiveEmpty;
+
+    @Column(name = "last_empty_date", nullable = false)
+    private LocalDate lastEmptyDate;
+
+    // First run date on which the instrument is scraped again
+    @Column(name = "retry_after", nullable = false)
+    private LocalDate retryAfter;
+}
@@ -0,0 +1,35 @@
+package com.quantz.marketdata.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Instrument planned for a scrape run. The leader stores the whole selection once per run date, so every node
+ * derives the same shard contents from it; written and read with JDBC by {@code ScrapeStore}.
+ */
+@Entity
+@Table(name = "scrape_run_instrument",
+        uniqueConstraints = @UniqueConstraint(name = "uk_scrape_run_instrument_run_key",
+                columnNames = {"run_date", "instrument_key"}))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScrapeRunInstrument {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // End date of the run, as in scrape_shard_progress
+    @Column(name = "run_date", nullable = false)
+    private LocalDate runDate;
+
+    @Column(name = "instrument_key", nullable = false)
+    private String instrumentKey;
+}
@@ -0,0 +1,47 @@
+package com.quantz.marketdata.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Completed instrument shard of a scrape run, written by whichever node held the shard's lease
+ */
+@Entity
+@Table(name = "scrape_shard_progress",
+        uniqueConstraints = @UniqueConstraint(name = "uk_scrape_shard_progress_run_shard",
+                columnNames = {"run_date", "shard"}))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScrapeShardProgress {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // End date of the run, all nodes scraping the same day share it
+    @Column(name = "run_date", nullable = false)
+    private LocalDate runDate;
+
+    @Column(name = "shard", nullable = false)
+    private Integer shard;
+
+    @Column(name = "node_id", nullable = false)
+    private Integer nodeId;
+
+    @Column(name = "instruments_scraped")
+    private Integer instrumentsScraped;
+
+    @Column(name = "data_points_scraped")
+    private Integer dataPointsScraped;
+
+    @Column(name = "completed_at", nullable = false)
+    private LocalDateTime completedAt;
+}
@@ -46,6 +46,14 @@ public class ScrapingMetadata {
     @Column(length = 2000)
     private String details;
 
+    // Scrape job that produced the run, absent for runs recorded before jobs existed
+    @Column(name = "job_id", length = 36)
+    private String jobId;
+
+    // Node that ran the job, absent for runs recorded before every node kept its own row
+    @Column(name = "node_id")
+    private Integer nodeId;
+
     @Column(name = "created_at")
     @CreationTimestamp
     private LocalDateTime createdAt;
@@ -0,0 +1,21 @@
+package com.quantz.marketdata.event;
+
+import com.quantz.marketdata.entity.CandleData;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import java.util.List;
+
+/**
+ * Published synchronously after new candles for one instrument and interval have been written,
+ * so caches and derived views can react before the next read
+ */
+@Getter
+@ToString(exclude = "candles")
+@RequiredArgsConstructor
+public class CandlesSavedEvent {
+    private final String instrumentKey;
+    private final String interval;
+    private final List<CandleData> candles;
+}
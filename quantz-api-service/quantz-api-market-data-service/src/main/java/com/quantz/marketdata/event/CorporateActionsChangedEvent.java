@@ -0,0 +1,16 @@
+package com.quantz.marketdata.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+/**
+ * Published when a corporate action of an instrument has been recorded, changed or removed,
+ * so adjusted views of that instrument can be dropped
+ */
+@Getter
+@ToString
+@RequiredArgsConstructor
+public class CorporateActionsChangedEvent {
+    private final String instrumentKey;
+}
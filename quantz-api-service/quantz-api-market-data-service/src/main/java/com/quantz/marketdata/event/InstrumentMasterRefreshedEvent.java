@@ -0,0 +1,18 @@
+package com.quantz.marketdata.event;
+
+import com.quantz.marketdata.entity.Instrument;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import java.util.List;
+
+/**
+ * Published once the in-memory instrument views have been rebuilt, with the instrument master they were built from
+ */
+@Getter
+@ToString(exclude = "instruments")
+@RequiredArgsConstructor
+public class InstrumentMasterRefreshedEvent {
+    private final List<Instrument> instruments;
+}
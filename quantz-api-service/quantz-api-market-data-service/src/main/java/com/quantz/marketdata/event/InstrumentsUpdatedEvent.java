@@ -0,0 +1,16 @@
+package com.quantz.marketdata.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+/**
+ * Published after the instrument master has been written to the database,
+ * so in-memory views built from it can be refreshed
+ */
+@Getter
+@ToString
+@RequiredArgsConstructor
+public class InstrumentsUpdatedEvent {
+    private final int instrumentCount;
+}
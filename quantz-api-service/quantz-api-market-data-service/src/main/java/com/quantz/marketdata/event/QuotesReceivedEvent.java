@@ -0,0 +1,18 @@
+package com.quantz.marketdata.event;
+
+import com.quantz.marketdata.model.LtpQuoteData;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import java.util.Map;
+
+/**
+ * Published after live quotes have been fetched from Upstox, keyed as in the Upstox response
+ */
+@Getter
+@ToString(exclude = "quotes")
+@RequiredArgsConstructor
+public class QuotesReceivedEvent {
+    private final Map<String, LtpQuoteData> quotes;
+}
@@ -0,0 +1,19 @@
+package com.quantz.marketdata.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import java.time.LocalDate;
+
+/**
+ * Published after a scraping run has written all of its candles, so views that need a complete
+ * trading day across the universe can be advanced
+ */
+@Getter
+@ToString
+@RequiredArgsConstructor
+public class ScrapeCompletedEvent {
+    private final LocalDate scrapeDate;
+    private final int dataPoints;
+}
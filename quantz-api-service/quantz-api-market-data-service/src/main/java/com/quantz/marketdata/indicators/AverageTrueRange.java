@@ -0,0 +1,61 @@
+package com.quantz.marketdata.indicators;
+
+import java.util.List;
+
+/**
+ * Wilder's average true range
+ */
+public class AverageTrueRange implements Indicator {
+
+    private final int period;
+    private boolean hasPrevious;
+    private double previousClose;
+    private int count;
+    private double value;
+
+    public AverageTrueRange(int period) {
+        this.period = period;
+    }
+
+    @Override
+    public String spec() {
+        return "ATR:" + period;
+    }
+
+    @Override
+    public List<String> outputs() {
+        return List.of("atr");
+    }
+
+    @Override
+    public void update(double high, double low, double close, double volume, double[] out) {
+        double trueRange = high - low;
+        if (hasPrevious) {
+            trueRange = Math.max(trueRange, Math.max(Math.abs(high - previousClose), Math.abs(low - previousClose)));
+        }
+        hasPrevious = true;
+        previousClose = close;
+
+        if (count < period) {
+            count++;
+            value += trueRange / period;
+            out[0] = count == period ? value : Double.NaN;
+        } else {
+            value = (value * (period - 1) + trueRange) / period;
+            out[0] = value;
+        }
+    }
+
+    @Override
+    public double[] saveState() {
+        return new double[]{hasPrevious ? 1 : 0, previousClose, count, value};
+    }
+
+    @Override
+    public void restoreState(double[] state) {
+        hasPrevious = state[0] != 0;
+        previousClose = state[1];
+        count = (int) state[2];
+        value = state[3];
+    }
+}
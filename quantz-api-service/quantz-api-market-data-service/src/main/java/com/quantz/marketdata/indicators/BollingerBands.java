@@ -0,0 +1,55 @@
+package com.quantz.marketdata.indicators;
+
+import java.util.List;
+
+/**
+ * Simple moving average of closes with bands {@code multiplier} population standard deviations away
+ */
+public class BollingerBands implements Indicator {
+
+    private final int period;
+    private final double multiplier;
+    private final RollingWindow window;
+
+    public BollingerBands(int period, double multiplier) {
+        this.period = period;
+        this.multiplier = multiplier;
+        this.window = new RollingWindow(period);
+    }
+
+    @Override
+    public String spec() {
+        return "BB:" + period + ":" + Indicators.format(multiplier);
+    }
+
+    @Override
+    public List<String> outputs() {
+        return List.of("middle", "upper", "lower");
+    }
+
+    @Override
+    public void update(double high, double low, double close, double volume, double[] out) {
+        window.add(close);
+        if (!window.isFull()) {
+            out[0] = out[1] = out[2] = Double.NaN;
+            return;
+        }
+        double middle = window.mean();
+        double width = multiplier * window.standardDeviation();
+        out[0] = middle;
+        out[1] = middle + width;
+        out[2] = middle - width;
+    }
+
+    @Override
+    public double[] saveState() {
+        double[] state = new double[window.stateSize()];
+        window.saveState(state, 0);
+        return state;
+    }
+
+    @Override
+    public void restoreState(double[] state) {
+        window.restoreState(state, 0);
+    }
+}
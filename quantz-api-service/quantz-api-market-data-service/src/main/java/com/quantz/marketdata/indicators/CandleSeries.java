@@ -0,0 +1,38 @@
+package com.quantz.marketdata.indicators;
+
+import com.quantz.marketdata.entity.CandleData;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Candles of one instrument as parallel primitive arrays, ordered by time
+ */
+public record CandleSeries(LocalDateTime[] timestamps, double[] open, double[] high, double[] low,
+                           double[] close, double[] volume) {
+
+    public static CandleSeries of(List<CandleData> candles) {
+        int size = candles.size();
+        LocalDateTime[] timestamps = new LocalDateTime[size];
+        double[] open = new double[size];
+        double[] high = new double[size];
+        double[] low = new double[size];
+        double[] close = new double[size];
+        double[] volume = new double[size];
+
+        for (int i = 0; i < size; i++) {
+            CandleData candle = candles.get(i);
+            timestamps[i] = candle.getTimestamp();
+            open[i] = candle.getOpen();
+            high[i] = candle.getHigh();
+            low[i] = candle.getLow();
+            close[i] = candle.getClose();
+            volume[i] = candle.getVolume();
+        }
+        return new CandleSeries(timestamps, open, high, low, close, volume);
+    }
+
+    public int size() {
+        return timestamps.length;
+    }
+}
@@ -0,0 +1,82 @@
+package com.quantz.marketdata.indicators;
+
+import java.util.List;
+
+/**
+ * Exponential moving average of closes with smoothing 2 / (period + 1), seeded with the simple
+ * average of the first {@code period} values
+ */
+public class ExponentialMovingAverage implements Indicator {
+
+    static final int STATE_SIZE = 3;
+
+    private final int period;
+    private final double alpha;
+    private int count;
+    private double seedSum;
+    private double value = Double.NaN;
+
+    public ExponentialMovingAverage(int period) {
+        this.period = period;
+        this.alpha = 2.0 / (period + 1);
+    }
+
+    @Override
+    public String spec() {
+        return "EMA:" + period;
+    }
+
+    @Override
+    public List<String> outputs() {
+        return List.of("ema");
+    }
+
+    @Override
+    public void update(double high, double low, double close, double volume, double[] out) {
+        out[0] = next(close);
+    }
+
+    /**
+     * Feed one value and return the average, or NaN during warm-up
+     */
+    double next(double input) {
+        if (count < period) {
+            count++;
+            seedSum += input;
+            if (count == period) {
+                value = seedSum / period;
+            }
+        } else {
+            value += alpha * (input - value);
+        }
+        return value;
+    }
+
+    boolean isReady() {
+        return count == period;
+    }
+
+    @Override
+    public double[] saveState() {
+        double[] state = new double[STATE_SIZE];
+        saveState(state, 0);
+        return state;
+    }
+
+    @Override
+    public void restoreState(double[] state) {
+        restoreState(state, 0);
+    }
+
+    void saveState(double[] state, int offset) {
+        state[offset] = count;
+        state[offset + 1] = seedSum;
+        state[offset + 2] = value;
+    }
+
+    void restoreState(double[] state, int offset) {
+        count = (int) state[offset];
+        seedSum = state[offset + 1];
+        value = state[offset + 2];
+    }
+}
@@ -0,0 +1,27 @@
+package com.quantz.marketdata.indicators;
+
+import java.util.List;
+
+/**
+ * Streaming technical indicator. Each {@link #update} consumes one bar in O(1) and writes one value per
+ * output; values are NaN until the indicator has seen enough bars. The running state can be saved and
+ * restored, so a series can be resumed when new bars arrive instead of being recomputed from scratch.
+ */
+public interface Indicator {
+
+    /**
+     * Canonical spec, e.g. {@code SMA:20} or {@code MACD:12:26:9}
+     */
+    String spec();
+
+    /**
+     * Output names in the order they are written by {@link #update}
+     */
+    List<String> outputs();
+
+    void update(double high, double low, double close, double volume, double[] out);
+
+    double[] saveState();
+
+    void restoreState(double[] state);
+}
@@ -0,0 +1,12 @@
+package com.quantz.marketdata.indicators;
+
+import java.time.LocalDateTime;
+
+/**
+ * Saved state of one indicator after the bar at {@code timestamp}, with the values it produced for that bar
+ *
+ * @param state  output of {@link Indicator#saveState()}
+ * @param values latest output values, aligned with {@link Indicator#outputs()}
+ */
+public record IndicatorState(String spec, LocalDateTime timestamp, double[] state, double[] values) {
+}
@@ -0,0 +1,87 @@
+package com.quantz.marketdata.indicators;
+
+import java.util.Locale;
+
+/**
+ * Creates indicators from specs of the form {@code NAME[:param...]}, e.g. {@code SMA:20}, {@code BB:20:2}
+ * or {@code MACD:12:26:9}. Omitted parameters take the usual defaults.
+ */
+public final class Indicators {
+
+    private Indicators() {
+    }
+
+    /**
+     * @throws IllegalArgumentException for unknown names or invalid parameters
+     */
+    public static Indicator create(String spec) {
+        String[] parts = spec.trim().toUpperCase(Locale.ROOT).split(":");
+        String name = parts[0];
+        return switch (name) {
+            case "SMA" -> new SimpleMovingAverage(period(parts, 1, 20));
+            case "EMA" -> new ExponentialMovingAverage(period(parts, 1, 20));
+            case "RSI" -> new RelativeStrengthIndex(period(parts, 1, 14));
+            case "ATR" -> new AverageTrueRange(period(parts, 1, 14));
+            case "VWAP" -> new VolumeWeightedAveragePrice(parts.length > 1 ? period(parts, 1, 0) : 0);
+            case "BB" -> new BollingerBands(period(parts, 1, 20), number(parts, 2, 2.0));
+            case "MACD" -> macd(period(parts, 1, 12), period(parts, 2, 26), period(parts, 3, 9));
+            case "VOL" -> new VolumeStatistics(period(parts, 1, 20));
+            default -> throw new IllegalArgumentException("Unknown indicator: " + spec);
+        };
+    }
+
+    /**
+     * Run the indicator over the whole series from its current state
+     *
+     * @return one column per output, each aligned with the series
+     */
+    public static double[][] compute(Indicator indicator, CandleSeries series) {
+        int outputs = indicator.outputs().size();
+        double[][] columns = new double[outputs][series.size()];
+        double[] out = new double[outputs];
+        for (int i = 0; i < series.size(); i++) {
+            indicator.update(series.high()[i], series.low()[i], series.close()[i], series.volume()[i], out);
+            for (int output = 0; output < outputs; output++) {
+                columns[output][i] = out[output];
+            }
+        }
+        return columns;
+    }
+
+    static String format(double value) {
+        return value == Math.rint(value) ? Long.toString((long) value) : Double.toString(value);
+    }
+
+    private static Indicator macd(int fast, int slow, int signal) {
+        if (fast >= slow) {
+            throw new IllegalArgumentException("MACD fast period must be shorter than the slow period");
+        }
+        return new MovingAverageConvergenceDivergence(fast, slow, signal);
+    }
+
+    private static int period(String[] parts, int index, int defaultValue) {
+        if (parts.length <= index) {
+            return defaultValue;
+        }
+        try {
+            int period = Integer.parseInt(parts[index]);
+            if (period <= 0 || period > 10_000) {
+                throw new IllegalArgumentException("Indicator period out of range: " + parts[index]);
+            }
+            return period;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid indicator period: " + parts[index]);
+        }
+    }
+
+    private static double number(String[] parts, int index, double defaultValue) {
+        if (parts.length <= index) {
+            return defaultValue;
+        }
+        try {
+            return Double.parseDouble(parts[index]);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid indicator parameter: " + parts[index]);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.quantz.marketdata.indicators;
+
+import java.util.List;
+
+/**
+ * MACD line (fast EMA - slow EMA), its signal EMA and the histogram between them
+ */
+public class MovingAverageConvergenceDivergence implements Indicator {
+
+    private final int fastPeriod;
+    private final int slowPeriod;
+    private final int signalPeriod;
+    private final ExponentialMovingAverage fast;
+    private final ExponentialMovingAverage slow;
+    private final ExponentialMovingAverage signal;
+
+    public MovingAverageConvergenceDivergence(int fastPeriod, int slowPeriod, int signalPeriod) {
+        this.fastPeriod = fastPeriod;
+        this.slowPeriod = slowPeriod;
+        this.signalPeriod = signalPeriod;
+        this.fast = new ExponentialMovingAverage(fastPeriod);
+        this.slow = new ExponentialMovingAverage(slowPeriod);
+        this.signal = new ExponentialMovingAverage(signalPeriod);
+    }
+
+    @Override
+    public String spec() {
+        return "MACD:" + fastPeriod + ":" + slowPeriod + ":" + signalPeriod;
+    }
+
+    @Override
+    public List<String> outputs() {
+        return List.of("macd", "signal", "histogram");
+    }
+
+    @Override
+    public void update(double high, double low, double close, double volume, double[] out) {
+        double fastValue = fast.next(close);
+        double slowValue = slow.next(close);
+        if (!fast.isReady() || !slow.isReady()) {
+            out[0] = out[1] = out[2] = Double.NaN;
+            return;
+        }
+
+        double macd = fastValue - slowValue;
+        double signalValue = signal.next(macd);
+        out[0] = macd;
+        out[1] = signalValue;
+        out[2] = signal.isReady() ? macd - signalValue : Double.NaN;
+    }
+
+    @Override
+    public double[] saveState() {
+        double[] state = new double[ExponentialMovingAverage.STATE_SIZE * 3];
+        fast.saveState(state, 0);
+        slow.saveState(state, ExponentialMovingAverage.STATE_SIZE);
+        signal.saveState(state, ExponentialMovingAverage.STATE_SIZE * 2);
+        return state;
+    }
+
+    @Override
+    public void restoreState(double[] state) {
+        fast.restoreState(state, 0);
+        slow.restoreState(state, ExponentialMovingAverage.STATE_SIZE);
+        signal.restoreState(state, ExponentialMovingAverage.STATE_SIZE * 2);
+    }
+}
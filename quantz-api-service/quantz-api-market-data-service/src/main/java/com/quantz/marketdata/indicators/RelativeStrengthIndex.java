@@ -0,0 +1,79 @@
+package com.quantz.marketdata.indicators;
+
+import java.util.List;
+
+/**
+ * Wilder's RSI over close-to-close changes
+ */
+public class RelativeStrengthIndex implements Indicator {
+
+    private final int period;
+    private boolean hasPrevious;
+    private double previousClose;
+    private int changes;
+    private double averageGain;
+    private double averageLoss;
+
+    public RelativeStrengthIndex(int period) {
+        this.period = period;
+    }
+
+    @Override
+    public String spec() {
+        return "RSI:" + period;
+    }
+
+    @Override
+    public List<String> outputs() {
+        return List.of("rsi");
+    }
+
+    @Override
+    public void update(double high, double low, double close, double volume, double[] out) {
+        if (!hasPrevious) {
+            hasPrevious = true;
+            previousClose = close;
+            out[0] = Double.NaN;
+            return;
+        }
+
+        double change = close - previousClose;
+        previousClose = close;
+        double gain = Math.max(change, 0);
+        double loss = Math.max(-change, 0);
+
+        if (changes < period) {
+            // Seed with the simple average of the first period changes
+            changes++;
+            averageGain += gain / period;
+            averageLoss += loss / period;
+            if (changes < period) {
+                out[0] = Double.NaN;
+                return;
+            }
+        } else {
+            averageGain = (averageGain * (period - 1) + gain) / period;
+            averageLoss = (averageLoss * (period - 1) + loss) / period;
+        }
+
+        if (averageLoss == 0) {
+            out[0] = averageGain == 0 ? 50 : 100;
+        } else {
+            out[0] = 100 - 100 / (1 + averageGain / averageLoss);
+        }
+    }
+
+    @Override
+    public double[] saveState() {
+        return new double[]{hasPrevious ? 1 : 0, previousClose, changes, averageGain, averageLoss};
+    }
+
+    @Override
+    public void restoreState(double[] state) {
+        hasPrevious = state[0] != 0;
+        previousClose = state[1];
+        changes = (int) state[2];
+        averageGain = state[3];
+        averageLoss = state[4];
+    }
+}
@@ -0,0 +1,73 @@
+package com.quantz.marketdata.indicators;
+
+/**
+ * Fixed-size ring of the most recent values with running sum and sum of squares
+ */
+final class RollingWindow {
+
+    private static final int HEADER = 4;
+
+    private final double[] values;
+    private int next;
+    private int count;
+    private double sum;
+    private double sumOfSquares;
+
+    RollingWindow(int size) {
+        this.values = new double[size];
+    }
+
+    void add(double value) {
+        if (count == values.length) {
+            double evicted = values[next];
+            sum -= evicted;
+            sumOfSquares -= evicted * evicted;
+        } else {
+            count++;
+        }
+        values[next] = value;
+        sum += value;
+        sumOfSquares += value * value;
+        next = (next + 1) % values.length;
+    }
+
+    boolean isFull() {
+        return count == values.length;
+    }
+
+    double sum() {
+        return sum;
+    }
+
+    double mean() {
+        return sum / count;
+    }
+
+    /**
+     * Population standard deviation
+     */
+    double standardDeviation() {
+        double mean = mean();
+        return Math.sqrt(Math.max(0, sumOfSquares / count - mean * mean));
+    }
+
+    int stateSize() {
+        return HEADER + values.length;
+    }
+
+    void saveState(double[] state, int offset) {
+        state[offset] = next;
+        state[offset + 1] = count;
+        state[offset + 2] = sum;
+        state[offset + 3] = sumOfSquares;
+        System.arraycopy(values, 0, state, offset + HEADER, values.length);
+    }
+
+    void restoreState(double[] state, int offset) {
+        next = (int) state[offset];
+        count = (int) state[offset + 1];
+        sum = state[offset + 2];
+        sumOfSquares = state[offset + 3];
+        System.arraycopy(state, offset + HEADER, values, 0, values.length);
+    }
+}
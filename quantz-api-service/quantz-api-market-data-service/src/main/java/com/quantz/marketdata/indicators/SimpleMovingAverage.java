@@ -0,0 +1,45 @@
+package com.quantz.marketdata.indicators;
+
+import java.util.List;
+
+/**
+ * Arithmetic mean of the last {@code period} closes
+ */
+public class SimpleMovingAverage implements Indicator {
+
+    private final int period;
+    private final RollingWindow window;
+
+    public SimpleMovingAverage(int period) {
+        this.period = period;
+        this.window = new RollingWindow(period);
+    }
+
+    @Override
+    public String spec() {
+        return "SMA:" + period;
+    }
+
+    @Override
+    public List<String> outputs() {
+        return List.of("sma");
+    }
+
+    @Override
+    public void update(double high, double low, double close, double volume, double[] out) {
+        window.add(close);
+        out[0] = window.isFull() ? window.mean() : Double.NaN;
+    }
+
+    @Override
+    public double[] saveState() {
+        double[] state = new double[window.stateSize()];
+        window.saveState(state, 0);
+        return state;
+    }
+
+    @Override
+    public void restoreState(double[] state) {
+        window.restoreState(state, 0);
+    }
+}
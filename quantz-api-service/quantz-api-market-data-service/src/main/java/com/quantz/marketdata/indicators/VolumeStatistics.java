@@ -0,0 +1,53 @@
+package com.quantz.marketdata.indicators;
+
+import java.util.List;
+
+/**
+ * Rolling mean and standard deviation of volume, and the z-score of the current bar's volume against them
+ */
+public class VolumeStatistics implements Indicator {
+
+    private final int period;
+    private final RollingWindow window;
+
+    public VolumeStatistics(int period) {
+        this.period = period;
+        this.window = new RollingWindow(period);
+    }
+
+    @Override
+    public String spec() {
+        return "VOL:" + period;
+    }
+
+    @Override
+    public List<String> outputs() {
+        return List.of("mean", "stddev", "zscore");
+    }
+
+    @Override
+    public void update(double high, double low, double close, double volume, double[] out) {
+        window.add(volume);
+        if (!window.isFull()) {
+            out[0] = out[1] = out[2] = Double.NaN;
+            return;
+        }
+        double mean = window.mean();
+        double deviation = window.standardDeviation();
+        out[0] = mean;
+        out[1] = deviation;
+        out[2] = deviation > 0 ? (volume - mean) / deviation : Double.NaN;
+    }
+
+    @Override
+    public double[] saveState() {
+        double[] state = new double[window.stateSize()];
+        window.saveState(state, 0);
+        return state;
+    }
+
+    @Override
+    public void restoreState(double[] state) {
+        window.restoreState(state, 0);
+    }
+}
@@ -0,0 +1,69 @@
+package com.quantz.marketdata.indicators;
+
+import java.util.List;
+
+/**
+ * Volume weighted average of the typical price (high + low + close) / 3, either cumulative from the
+ * first bar ({@code VWAP}) or over the last {@code period} bars ({@code VWAP:20})
+ */
+public class VolumeWeightedAveragePrice implements Indicator {
+
+    private final int period;
+    private final RollingWindow priceVolume;
+    private final RollingWindow volumes;
+    private double cumulativePriceVolume;
+    private double cumulativeVolume;
+
+    public VolumeWeightedAveragePrice(int period) {
+        this.period = period;
+        this.priceVolume = period > 0 ? new RollingWindow(period) : null;
+        this.volumes = period > 0 ? new RollingWindow(period) : null;
+    }
+
+    @Override
+    public String spec() {
+        return period > 0 ? "VWAP:" + period : "VWAP";
+    }
+
+    @Override
+    public List<String> outputs() {
+        return List.of("vwap");
+    }
+
+    @Override
+    public void update(double high, double low, double close, double volume, double[] out) {
+        double typicalPrice = (high + low + close) / 3;
+        if (period == 0) {
+            cumulativePriceVolume += typicalPrice * volume;
+            cumulativeVolume += volume;
+            out[0] = cumulativeVolume > 0 ? cumulativePriceVolume / cumulativeVolume : Double.NaN;
+            return;
+        }
+
+        priceVolume.add(typicalPrice * volume);
+        volumes.add(volume);
+        out[0] = volumes.isFull() && volumes.sum() > 0 ? priceVolume.sum() / volumes.sum() : Double.NaN;
+    }
+
+    @Override
+    public double[] saveState() {
+        if (period == 0) {
+            return new double[]{cumulativePriceVolume, cumulativeVolume};
+        }
+        double[] state = new double[priceVolume.stateSize() * 2];
+        priceVolume.saveState(state, 0);
+        volumes.saveState(state, priceVolume.stateSize());
+        return state;
+    }
+
+    @Override
+    public void restoreState(double[] state) {
+        if (period == 0) {
+            cumulativePriceVolume = state[0];
+            cumulativeVolume = state[1];
+            return;
+        }
+        priceVolume.restoreState(state, 0);
+        volumes.restoreState(state, priceVolume.stateSize());
+    }
+}
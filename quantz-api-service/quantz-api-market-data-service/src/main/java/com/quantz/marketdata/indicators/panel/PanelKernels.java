@@ -0,0 +1,43 @@
+package com.quantz.marketdata.indicators.panel;
+
+/**
+ * Cross-sectional kernels over time-major panels ({@code width} instruments by {@code length} timestamps).
+ * Each kernel writes one value per panel cell into {@code out}, NaN where it is not defined yet.
+ */
+public interface PanelKernels {
+
+    String VECTOR_MODULE = "jdk.incubator.vector";
+
+    /**
+     * Mean of the last {@code window} values; NaN until {@code window} non-NaN values have been seen
+     */
+    void rollingMean(double[] in, int width, int length, int window, double[] out);
+
+    /**
+     * Exponential moving average seeded with each instrument's first value; NaN inputs leave it unchanged
+     */
+    void ema(double[] in, int width, int length, double alpha, double[] out);
+
+    /**
+     * Simple return over {@code lag} timestamps, {@code in[t] / in[t - lag] - 1}
+     */
+    void returns(double[] in, int width, int length, int lag, double[] out);
+
+    String name();
+
+    /**
+     * SIMD kernels when the JVM was started with {@code --add-modules jdk.incubator.vector}, scalar otherwise
+     */
+    static PanelKernels best() {
+        if (ModuleLayer.boot().findModule(VECTOR_MODULE).isPresent()) {
+            try {
+                return (PanelKernels) Class.forName("com.quantz.marketdata.indicators.panel.VectorPanelKernels")
+                        .getDeclaredConstructor()
+                        .newInstance();
+            } catch (ReflectiveOperationException | LinkageError e) {
+                // Fall through to the scalar kernels
+            }
+        }
+        return new ScalarPanelKernels();
+    }
+}
@@ -0,0 +1,64 @@
+package com.quantz.marketdata.indicators.panel;
+
+import java.util.Arrays;
+
+/**
+ * Plain loop implementation of the panel kernels, used when the Vector API is not available
+ */
+public class ScalarPanelKernels implements PanelKernels {
+
+    @Override
+    public void rollingMean(double[] in, int width, int length, int window, double[] out) {
+        double[] sum = new double[width];
+        double[] count = new double[width];
+        for (int t = 0; t < length; t++) {
+            int row = t * width;
+            int oldRow = (t - window) * width;
+            for (int i = 0; i < width; i++) {
+                double value = in[row + i];
+                if (!Double.isNaN(value)) {
+                    sum[i] += value;
+                    count[i]++;
+                }
+                if (t >= window) {
+                    double old = in[oldRow + i];
+                    if (!Double.isNaN(old)) {
+                        sum[i] -= old;
+                        count[i]--;
+                    }
+                }
+                out[row + i] = count[i] == window ? sum[i] / window : Double.NaN;
+            }
+        }
+    }
+
+    @Override
+    public void ema(double[] in, int width, int length, double alpha, double[] out) {
+        double[] ema = new double[width];
+        Arrays.fill(ema, Double.NaN);
+        for (int t = 0; t < length; t++) {
+            int row = t * width;
+            for (int i = 0; i < width; i++) {
+                double value = in[row + i];
+                if (!Double.isNaN(value)) {
+                    ema[i] = Double.isNaN(ema[i]) ? value : ema[i] + alpha * (value - ema[i]);
+                }
+                out[row + i] = ema[i];
+            }
+        }
+    }
+
+    @Override
+    public void returns(double[] in, int width, int length, int lag, double[] out) {
+        int lagged = Math.min(lag, length) * width;
+        Arrays.fill(out, 0, lagged, Double.NaN);
+        for (int cell = lagged; cell < length * width; cell++) {
+            out[cell] = in[cell] / in[cell - lag * width] - 1;
+        }
+    }
+
+    @Override
+    public String name() {
+        return "scalar";
+    }
+}
@@ -0,0 +1,27 @@
+package com.quantz.marketdata.indicators.panel;
+
+import java.time.LocalDateTime;
+
+/**
+ * Closes and volumes of many instruments on a shared time axis, stored time-major: the values of all
+ * instruments at time {@code t} are contiguous at {@code [t * width, (t + 1) * width)}. Kernels walk the
+ * recurrence over time while processing a whole row of instruments at once, which keeps memory access
+ * sequential and lets the inner loop run over SIMD lanes.
+ * <p>
+ * Values before an instrument's first candle are NaN. After that, closes are carried forward and volumes
+ * are zero on timestamps where the instrument did not trade.
+ */
+public record UniversePanel(String[] instrumentKeys, LocalDateTime[] timestamps, double[] close, double[] volume) {
+
+    public int width() {
+        return instrumentKeys.length;
+    }
+
+    public int length() {
+        return timestamps.length;
+    }
+
+    public int index(int time, int instrument) {
+        return time * instrumentKeys.length + instrument;
+    }
+}
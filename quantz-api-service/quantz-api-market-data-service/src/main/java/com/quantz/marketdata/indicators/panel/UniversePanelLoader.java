@@ -0,0 +1,135 @@
+package com.quantz.marketdata.indicators.panel;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Reads closes and volumes of every instrument straight into a {@link UniversePanel}. Rows are streamed
+ * through a JDBC cursor into primitive buffers, so no entity is materialised for the hundreds of thousands
+ * of candles a full-universe load touches. Postgres only honours the fetch size inside a transaction,
+ * hence the read-only one around every query.
+ */
+@Component
+public class UniversePanelLoader {
+
+    private static final String SQL = "SELECT c.instrument_key, c.timestamp, c.close, c.volume FROM candle_data c " +
+            "WHERE c.interval = ? AND c.timestamp >= ? AND c.timestamp <= ?";
+    private static final String ORDER = " ORDER BY c.timestamp";
+    private static final int FETCH_SIZE = 10_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readTransaction;
+
+    public UniversePanelLoader(DataSource dataSource, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(FETCH_SIZE);
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+    }
+
+    public UniversePanel load(String interval, LocalDateTime since, LocalDateTime until) {
+        return read(SQL + ORDER, statement -> bindRange(statement, interval, since, until));
+    }
+
+    /**
+     * Panel of the given instruments only; the database filters the rows, so a sub-universe transfers
+     * nothing of the rest of the table
+     */
+    public UniversePanel load(String interval, LocalDateTime since, LocalDateTime until,
+                              Collection<String> instrumentKeys) {
+        if (instrumentKeys.isEmpty()) {
+            return build(new String[0], new LocalDateTime[0], new Rows());
+        }
+        return read(SQL + " AND c.instrument_key = ANY(?)" + ORDER, statement -> {
+            bindRange(statement, interval, since, until);
+            statement.setArray(4, statement.getConnection().createArrayOf("varchar", instrumentKeys.toArray()));
+        });
+    }
+
+    private UniversePanel read(String sql, PreparedStatementSetter parameters) {
+        Map<String, Integer> instruments = new LinkedHashMap<>();
+        List<LocalDateTime> timestamps = new ArrayList<>();
+        Rows rows = new Rows();
+
+        readTransaction.executeWithoutResult(status -> jdbcTemplate.query(sql, parameters, resultSet -> {
+            String instrumentKey = resultSet.getString(1);
+            LocalDateTime timestamp = resultSet.getTimestamp(2).toLocalDateTime();
+            if (timestamps.isEmpty() || !timestamps.get(timestamps.size() - 1).equals(timestamp)) {
+                timestamps.add(timestamp);
+            }
+            int instrument = instruments.computeIfAbsent(instrumentKey, key -> instruments.size());
+            rows.add(instrument, timestamps.size() - 1, resultSet.getDouble(3), resultSet.getDouble(4));
+        }));
+
+        return build(instruments.keySet().toArray(new String[0]), timestamps.toArray(new LocalDateTime[0]), rows);
+    }
+
+    private static void bindRange(PreparedStatement statement, String interval, LocalDateTime since,
+                                  LocalDateTime until) throws SQLException {
+        statement.setString(1, interval);
+        statement.setTimestamp(2, Timestamp.valueOf(since));
+        statement.setTimestamp(3, Timestamp.valueOf(until));
+    }
+
+    static UniversePanel build(String[] instrumentKeys, LocalDateTime[] timestamps, Rows rows) {
+        int width = instrumentKeys.length;
+        int length = timestamps.length;
+        double[] close = new double[width * length];
+        double[] volume = new double[width * length];
+        Arrays.fill(close, Double.NaN);
+        Arrays.fill(volume, Double.NaN);
+
+        for (int row = 0; row < rows.size; row++) {
+            int cell = rows.time[row] * width + rows.instrument[row];
+            close[cell] = rows.close[row];
+            volume[cell] = rows.volume[row];
+        }
+
+        // Carry closes forward over gaps; a missing bar after listing traded nothing
+        for (int cell = width; cell < close.length; cell++) {
+            if (Double.isNaN(close[cell])) {
+                close[cell] = close[cell - width];
+                if (!Double.isNaN(close[cell])) {
+                    volume[cell] = 0;
+                }
+            }
+        }
+        return new UniversePanel(instrumentKeys, timestamps, close, volume);
+    }
+
+    /**
+     * Growable column buffers for the rows read so far
+     */
+    static final class Rows {
+        int[] instrument = new int[1024];
+        int[] time = new int[1024];
+        double[] close = new double[1024];
+        double[] volume = new double[1024];
+        int size;
+
+        void add(int instrumentIndex, int timeIndex, double closeValue, double volumeValue) {
+            if (size == instrument.length) {
+                int capacity = size * 2;
+                instrument = Arrays.copyOf(instrument, capacity);
+                time = Arrays.copyOf(time, capacity);
+                close = Arrays.copyOf(close, capacity);
+                volume = Arrays.copyOf(volume, capacity);
+            }
+            instrument[size] = instrumentIndex;
+            time[size] = timeIndex;
+            close[size] = closeValue;
+            volume[size] = volumeValue;
+            size++;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.quantz.marketdata.indicators.panel;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+import java.util.Arrays;
+
+/**
+ * SIMD implementation of the panel kernels on the incubating Vector API. Every kernel processes a row
+ * of instruments in chunks of the preferred vector width and finishes the row remainder with the scalar
+ * code. Only loaded through {@link PanelKernels#best()}, so the class is never touched on JVMs started
+ * without the incubator module.
+ */
+public class VectorPanelKernels implements PanelKernels {
+
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    private final ScalarPanelKernels scalar = new ScalarPanelKernels();
+
+    @Override
+    public void rollingMean(double[] in, int width, int length, int window, double[] out) {
+        double[] sum = new double[width];
+        double[] count = new double[width];
+        int bound = SPECIES.loopBound(width);
+        DoubleVector windowSize = DoubleVector.broadcast(SPECIES, window);
+        DoubleVector nan = DoubleVector.broadcast(SPECIES, Double.NaN);
+
+        for (int t = 0; t < length; t++) {
+            int row = t * width;
+            int oldRow = (t - window) * width;
+            int i = 0;
+            for (; i < bound; i += SPECIES.length()) {
+                DoubleVector value = DoubleVector.fromArray(SPECIES, in, row + i);
+                VectorMask<Double> valid = value.test(VectorOperators.IS_NAN).not();
+                DoubleVector s = DoubleVector.fromArray(SPECIES, sum, i).add(value, valid);
+                DoubleVector c = DoubleVector.fromArray(SPECIES, count, i).add(1.0, valid);
+
+                if (t >= window) {
+                    DoubleVector old = DoubleVector.fromArray(SPECIES, in, oldRow + i);
+                    VectorMask<Double> oldValid = old.test(VectorOperators.IS_NAN).not();
+                    s = s.sub(old, oldValid);
+                    c = c.sub(1.0, oldValid);
+                }
+
+                s.intoArray(sum, i);
+                c.intoArray(count, i);
+                s.div(windowSize).blend(nan, c.compare(VectorOperators.NE, windowSize)).intoArray(out, row + i);
+            }
+            for (; i < width; i++) {
+                double value = in[row + i];
+                if (!Double.isNaN(value)) {
+                    sum[i] += value;
+                    count[i]++;
+                }
+                if (t >= window) {
+                    double old = in[oldRow + i];
+                    if (!Double.isNaN(old)) {
+                        sum[i] -= old;
+                        count[i]--;
+                    }
+                }
+                out[row + i] = count[i] == window ? sum[i] / window : Double.NaN;
+            }
+        }
+    }
+
+    @Override
+    public void ema(double[] in, int width, int length, double alpha, double[] out) {
+        double[] ema = new double[width];
+        Arrays.fill(ema, Double.NaN);
+        int bound = SPECIES.loopBound(width);
+
+        for (int t = 0; t < length; t++) {
+            int row = t * width;
+            int i = 0;
+            for (; i < bound; i += SPECIES.length()) {
+                DoubleVector value = DoubleVector.fromArray(SPECIES, in, row + i);
+                DoubleVector previous = DoubleVector.fromArray(SPECIES, ema, i);
+                DoubleVector next = value.sub(previous).mul(alpha).add(previous)
+                        .blend(value, previous.test(VectorOperators.IS_NAN))
+                        .blend(previous, value.test(VectorOperators.IS_NAN));
+                next.intoArray(ema, i);
+                next.intoArray(out, row + i);
+            }
+            for (; i < width; i++) {
+                double value = in[row + i];
+                if (!Double.isNaN(value)) {
+                    ema[i] = Double.isNaN(ema[i]) ? value : ema[i] + alpha * (value - ema[i]);
+                }
+                out[row + i] = ema[i];
+            }
+        }
+    }
+
+    @Override
+    public void returns(double[] in, int width, int length, int lag, double[] out) {
+        int lagged = Math.min(lag, length) * width;
+        int total = length * width;
+        int offset = lag * width;
+        Arrays.fill(out, 0, lagged, Double.NaN);
+
+        int cell = lagged;
+        for (int bound = lagged + SPECIES.loopBound(total - lagged); cell < bound; cell += SPECIES.length()) {
+            DoubleVector current = DoubleVector.fromArray(SPECIES, in, cell);
+            DoubleVector previous = DoubleVector.fromArray(SPECIES, in, cell - offset);
+            current.div(previous).sub(1.0).intoArray(out, cell);
+        }
+        for (; cell < total; cell++) {
+            out[cell] = in[cell] / in[cell - offset] - 1;
+        }
+    }
+
+    @Override
+    public String name() {
+        return "vector-" + SPECIES.length() * Double.SIZE + "bit";
+    }
+}
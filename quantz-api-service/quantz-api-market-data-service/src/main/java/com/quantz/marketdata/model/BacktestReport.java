@@ -0,0 +1,30 @@
+package com.quantz.marketdata.model;
+
+import com.quantz.marketdata.backtest.BacktestStats;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BacktestReport {
+    private String strategy;
+    private Map<String, Double> parameters;
+    private int instruments;
+    private int bars;
+    private long tookMillis;
+    private BacktestStats stats;
+
+    /**
+     * Equity curve, thinned to a bounded number of points; the last sample is always included
+     */
+    private List<LocalDateTime> timestamps;
+    private List<Double> equity;
+}
@@ -0,0 +1,63 @@
+package com.quantz.marketdata.model;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Request body for a single backtest over stored candles
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BacktestRequest {
+
+    @NotEmpty
+    @Size(max = 500)
+    private List<String> instrumentKeys;
+
+    @Builder.Default
+    private String interval = "1d";
+
+    @NotNull
+    private LocalDateTime startTime;
+
+    @NotNull
+    private LocalDateTime endTime;
+
+    /**
+     * Strategy name, e.g. {@code sma-crossover} or {@code rsi-reversion}
+     */
+    @NotBlank
+    private String strategy;
+
+    private Map<String, Double> parameters;
+
+    @Positive
+    @Builder.Default
+    private Double initialCapital = 1_000_000.0;
+
+    @DecimalMin("0")
+    @Builder.Default
+    private Double commissionBps = 3.0;
+
+    @DecimalMin("0")
+    @Builder.Default
+    private Double minCommission = 0.0;
+
+    @DecimalMin("0")
+    @Builder.Default
+    private Double slippageBps = 2.0;
+}
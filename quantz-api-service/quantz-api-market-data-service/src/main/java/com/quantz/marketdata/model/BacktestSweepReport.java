@@ -0,0 +1,36 @@
+package com.quantz.marketdata.model;
+
+import com.quantz.marketdata.backtest.BacktestStats;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BacktestSweepReport {
+    private String strategy;
+    private String rankBy;
+    private int instruments;
+    private int bars;
+    private int parameterSets;
+    private int failed;
+    private long loadMillis;
+    private long tookMillis;
+    private List<Run> results;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Run {
+        private Map<String, Double> parameters;
+        private BacktestStats stats;
+        private String error;
+    }
+}
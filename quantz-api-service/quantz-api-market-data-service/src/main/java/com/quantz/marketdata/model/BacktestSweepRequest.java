@@ -0,0 +1,48 @@
+package com.quantz.marketdata.model;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Request body for running one backtest per combination of a parameter grid
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BacktestSweepRequest {
+
+    /**
+     * Universe, period, strategy and costs; its parameters are the base every combination is laid over
+     */
+    @Valid
+    @NotNull
+    private BacktestRequest backtest;
+
+    /**
+     * Values per parameter name, e.g. {@code {"fast": [5, 10, 20], "slow": [50, 100, 200]}}
+     */
+    @NotEmpty
+    private Map<String, List<Double>> grid;
+
+    /**
+     * Statistic results are ordered by, highest first except for maxDrawdown and volatility
+     */
+    @Builder.Default
+    private String rankBy = "sharpe";
+
+    @Min(1)
+    @Max(5000)
+    @Builder.Default
+    private Integer limit = 50;
+}
@@ -0,0 +1,40 @@
+package com.quantz.marketdata.model;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Request for candles of several instruments over the same interval and time range
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchCandleRequest {
+
+    public static final int MAX_INSTRUMENTS = 500;
+
+    @NotEmpty
+    @Size(max = MAX_INSTRUMENTS)
+    private List<String> instrumentKeys;
+
+    @Builder.Default
+    private String interval = "1d";
+
+    @NotNull
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime startTime;
+
+    @NotNull
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime endTime;
+}
@@ -0,0 +1,39 @@
+package com.quantz.marketdata.model;
+
+import com.quantz.marketdata.entity.CorporateAction;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Split or bonus issue to record; a second request for the same instrument, ex-date and type replaces the ratio
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CorporateActionRequest {
+
+    @NotBlank
+    private String instrumentKey;
+
+    @NotNull
+    private LocalDate exDate;
+
+    @NotNull
+    private CorporateAction.Type actionType;
+
+    @NotNull
+    @Positive
+    private Integer ratioHeld;
+
+    @NotNull
+    @Positive
+    private Integer ratioNew;
+}
@@ -0,0 +1,35 @@
+package com.quantz.marketdata.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CorrelatedInstruments {
+    private String instrumentKey;
+    private LocalDate asOf;
+    private int windowDays;
+    private List<Peer> peers;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Peer {
+        private String instrumentKey;
+        private double correlation;
+        private double covariance;
+
+        /**
+         * Units of this peer that offset one unit of the instrument, covariance over the peer's variance
+         */
+        private double hedgeRatio;
+    }
+}
@@ -0,0 +1,39 @@
+package com.quantz.marketdata.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CorrelationMatrix {
+    private LocalDate asOf;
+    private int windowDays;
+
+    /**
+     * correlation or covariance (of daily returns)
+     */
+    private String type;
+    private List<String> instrumentKeys;
+
+    /**
+     * Fraction of window days each instrument traded on
+     */
+    private List<Double> coverage;
+
+    /**
+     * Requested instruments without returns in the window
+     */
+    private List<String> missing;
+
+    /**
+     * Rows and columns in {@link #instrumentKeys} order; null where undefined
+     */
+    private Double[][] values;
+}
@@ -0,0 +1,29 @@
+package com.quantz.marketdata.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Indicator values of one instrument aligned with the candle timestamps.
+ * Values are null while an indicator is still warming up.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class IndicatorSeries {
+    private String instrumentKey;
+    private String interval;
+    private List<LocalDateTime> timestamps;
+
+    /**
+     * Indicator spec -> output name -> one value per timestamp
+     */
+    private Map<String, Map<String, Double[]>> values;
+}
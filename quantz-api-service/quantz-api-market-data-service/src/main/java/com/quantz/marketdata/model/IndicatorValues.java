@@ -0,0 +1,26 @@
+package com.quantz.marketdata.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Latest daily indicator values of one instrument
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class IndicatorValues {
+    private String instrumentKey;
+    private LocalDateTime timestamp;
+
+    /**
+     * Indicator spec -> output name -> value, null while warming up
+     */
+    private Map<String, Map<String, Double>> values;
+}
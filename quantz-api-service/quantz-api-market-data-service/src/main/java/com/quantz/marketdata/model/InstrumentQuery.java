@@ -0,0 +1,41 @@
+package com.quantz.marketdata.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Multi-filter instrument query. Values within one field are OR-ed, fields are AND-ed,
+ * and unset fields do not restrict the result.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class InstrumentQuery {
+    private List<String> exchange;
+    private List<String> segment;
+    private List<String> instrumentType;
+    private List<String> optionType;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate expiryFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate expiryTo;
+
+    private Double strikeMin;
+    private Double strikeMax;
+
+    /**
+     * Optional typeahead term, matched against symbol and name
+     */
+    private String search;
+
+    private Integer limit;
+}
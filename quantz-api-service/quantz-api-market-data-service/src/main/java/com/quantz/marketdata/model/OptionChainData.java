@@ -0,0 +1,80 @@
+package com.quantz.marketdata.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Calls and puts of one underlying and expiry by strike, joined with their latest quotes
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OptionChainData {
+    private String underlying;
+    private String underlyingKey;
+
+    /**
+     * Last price of the underlying, null when it could not be quoted
+     */
+    private Double spot;
+
+    private LocalDate expiry;
+    private boolean monthly;
+    private int lotSize;
+
+    /**
+     * Strike closest to the spot, or to the forward when the spot is unknown
+     */
+    private Double atmStrike;
+
+    /**
+     * Forward implied by put-call parity, the underlying of the Black-76 Greeks
+     */
+    private Double forward;
+
+    private List<LocalDate> expiries;
+    private LocalDateTime quotedAt;
+    private List<Row> rows;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Row {
+        private double strike;
+        private Leg call;
+        private Leg put;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Leg {
+        private String instrumentKey;
+        private Double lastPrice;
+        private Double closePrice;
+        private Long volume;
+        private Long openInterest;
+
+        /**
+         * Annualised Black-76 implied volatility, e.g. 0.14; Greeks are null when it cannot be solved
+         */
+        private Double impliedVolatility;
+
+        /**
+         * Sensitivities to the forward; theta per calendar day, vega per volatility point
+         */
+        private Double delta;
+        private Double gamma;
+        private Double theta;
+        private Double vega;
+    }
+}
@@ -0,0 +1,52 @@
+package com.quantz.marketdata.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * State of a scrape run executed as a background job, live or read back from the scraping history
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScrapeJob {
+
+    public enum Status {
+        QUEUED, RUNNING, PAUSED, COMPLETED, FAILED, CANCELLED
+    }
+
+    public enum Trigger {
+        MANUAL, SCHEDULED
+    }
+
+    private String id;
+    private Status status;
+    private Trigger trigger;
+    private LocalDateTime submittedAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+
+    /**
+     * Instruments of the run not yet scraped when it started, across all nodes
+     */
+    private int totalInstruments;
+
+    /**
+     * Instruments scraped by this node plus those finished by other nodes meanwhile
+     */
+    private int instrumentsDone;
+    private long dataPoints;
+    private double candlesPerSecond;
+
+    /**
+     * Estimated seconds to completion at the current instrument rate, absent until there is a rate
+     */
+    private Long etaSeconds;
+    private double progress;
+    private String error;
+}
@@ -0,0 +1,44 @@
+package com.quantz.marketdata.model;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Request body for a cross-sectional screen over the latest daily bars
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScreenerRequest {
+
+    /**
+     * Filter, e.g. {@code RSI14 < 30 AND volume > 2 * avgVol20 AND close > SMA200}
+     */
+    @NotBlank
+    private String expression;
+
+    /**
+     * Numeric expression matches are ordered by; volume when empty
+     */
+    private String rankBy;
+
+    private boolean ascending;
+
+    @Min(1)
+    @Max(5000)
+    @Builder.Default
+    private Integer limit = 100;
+
+    /**
+     * Restrict the universe to these segments, e.g. NSE_EQ
+     */
+    private List<String> segment;
+}
@@ -0,0 +1,43 @@
+package com.quantz.marketdata.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScreenerResult {
+    private String expression;
+    private int evaluated;
+    private int matched;
+    private long tookMillis;
+    private List<Match> matches;
+
+    /**
+     * Instruments left out because the state of a referenced indicator is still loading; screened once it is
+     */
+    private List<String> warming;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Match {
+        private String instrumentKey;
+        private String tradingSymbol;
+        private LocalDateTime timestamp;
+        private Double rank;
+
+        /**
+         * Every field and indicator output the expression and ranking read, null where missing
+         */
+        private Map<String, Double> values;
+    }
+}
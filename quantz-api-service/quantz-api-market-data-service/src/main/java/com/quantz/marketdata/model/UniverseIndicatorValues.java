@@ -0,0 +1,29 @@
+package com.quantz.marketdata.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Latest value of each indicator for every instrument of the universe
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UniverseIndicatorValues {
+    private String interval;
+    private LocalDateTime timestamp;
+    private int instruments;
+    private String kernels;
+    private long computeMillis;
+
+    /**
+     * Indicator spec -> instrument key -> value, null while warming up
+     */
+    private Map<String, Map<String, Double>> values;
+}
@@ -55,5 +55,11 @@ public class UpstoxInstrument {
 
     @JsonProperty("option_type")
     private String optionType;
+
+    @JsonProperty("underlying_symbol")
+    private String underlyingSymbol;
+
+    @JsonProperty("underlying_key")
+    private String underlyingKey;
 }
 
@@ -0,0 +1,48 @@
+package com.quantz.marketdata.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * State of an asynchronous walk-forward study
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WalkForwardJob {
+
+    public enum Status {
+        QUEUED, RUNNING, COMPLETED, FAILED, CANCELLED
+    }
+
+    private String id;
+    private Status status;
+    private String strategy;
+    private int windows;
+    private LocalDateTime submittedAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+
+    /**
+     * In-sample evaluations plus one out-of-sample run per window
+     */
+    private int totalEvaluations;
+    private int completedEvaluations;
+
+    /**
+     * In-sample evaluations answered from earlier studies
+     */
+    private int cachedEvaluations;
+    private double progress;
+    private String error;
+
+    /**
+     * Present once the study has completed
+     */
+    private WalkForwardReport report;
+}
@@ -0,0 +1,50 @@
+package com.quantz.marketdata.model;
+
+import com.quantz.marketdata.backtest.BacktestStats;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WalkForwardReport {
+    private String strategy;
+    private String rankBy;
+    private int instruments;
+    private int bars;
+    private long loadMillis;
+    private long tookMillis;
+    private List<Window> windows;
+
+    /**
+     * Statistics and equity of the out-of-sample windows compounded one after another
+     */
+    private BacktestStats outOfSample;
+    private List<LocalDateTime> timestamps;
+    private List<Double> equity;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Window {
+        private LocalDateTime inSampleStart;
+        private LocalDateTime inSampleEnd;
+        private LocalDateTime outOfSampleStart;
+        private LocalDateTime outOfSampleEnd;
+
+        /**
+         * In-sample winner; null when every parameter set failed
+         */
+        private Map<String, Double> parameters;
+        private BacktestStats inSample;
+        private BacktestStats outOfSample;
+    }
+}
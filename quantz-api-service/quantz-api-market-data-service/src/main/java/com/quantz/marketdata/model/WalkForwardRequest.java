@@ -0,0 +1,62 @@
+package com.quantz.marketdata.model;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Request body for a walk-forward study: optimise the grid on each in-sample window and
+ * trade the winning parameters on the out-of-sample window that follows
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WalkForwardRequest {
+
+    /**
+     * Universe, full study period, strategy and costs
+     */
+    @Valid
+    @NotNull
+    private BacktestRequest backtest;
+
+    @NotEmpty
+    private Map<String, List<Double>> grid;
+
+    /**
+     * Statistic the in-sample winner is chosen by
+     */
+    @Builder.Default
+    private String rankBy = "sharpe";
+
+    @NotNull
+    @Min(1)
+    @Max(36500)
+    private Integer inSampleDays;
+
+    @NotNull
+    @Min(1)
+    @Max(36500)
+    private Integer outOfSampleDays;
+
+    /**
+     * Days between window starts; the out-of-sample span when empty
+     */
+    @Min(1)
+    private Integer stepDays;
+
+    /**
+     * Keep every in-sample window starting at the beginning of the period
+     */
+    private boolean anchored;
+}
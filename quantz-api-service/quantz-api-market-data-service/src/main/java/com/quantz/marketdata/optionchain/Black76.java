@@ -0,0 +1,64 @@
+package com.quantz.marketdata.optionchain;
+
+/**
+ * Black-76 formulas for European options on a forward, undiscounted: multiply by the discount factor for premiums.
+ * The normal distribution uses a rational approximation (absolute error below 1e-7), so an evaluation costs one
+ * exp and one log and stays cheap enough to run over a whole chain per quote update.
+ */
+final class Black76 {
+
+    private static final double SQRT_2PI = Math.sqrt(2 * Math.PI);
+    private static final double INV_SQRT_2PI = 1 / SQRT_2PI;
+
+    private Black76() {
+    }
+
+    static double d1(double forward, double strike, double sigmaRootTime) {
+        return Math.log(forward / strike) / sigmaRootTime + 0.5 * sigmaRootTime;
+    }
+
+    /**
+     * Undiscounted call or put value
+     */
+    static double value(boolean call, double forward, double strike, double sigmaRootTime) {
+        double d1 = d1(forward, strike, sigmaRootTime);
+        double d2 = d1 - sigmaRootTime;
+        return call
+                ? forward * cdf(d1) - strike * cdf(d2)
+                : strike * cdf(-d2) - forward * cdf(-d1);
+    }
+
+    /**
+     * Undiscounted value lower bound; a price at or below it has no implied volatility
+     */
+    static double intrinsic(boolean call, double forward, double strike) {
+        return Math.max(call ? forward - strike : strike - forward, 0);
+    }
+
+    /**
+     * Closed-form volatility estimate of Corrado and Miller, exact at the money and within a few vol points
+     * near it; used to start Newton iterations. Puts are converted to calls by put-call parity.
+     */
+    static double initialVolatility(boolean call, double forward, double strike, double value, double time) {
+        double callValue = call ? value : value + forward - strike;
+        double moneyness = forward - strike;
+        double half = callValue - moneyness / 2;
+        double radicand = half * half - moneyness * moneyness / Math.PI;
+        double sigmaRootTime = SQRT_2PI / (forward + strike) * (half + Math.sqrt(Math.max(radicand, 0)));
+        return sigmaRootTime / Math.sqrt(time);
+    }
+
+    static double pdf(double x) {
+        return INV_SQRT_2PI * Math.exp(-0.5 * x * x);
+    }
+
+    /**
+     * Standard normal distribution, Abramowitz and Stegun 26.2.17
+     */
+    static double cdf(double x) {
+        double t = 1 / (1 + 0.2316419 * Math.abs(x));
+        double poly = t * (0.319381530 + t * (-0.356563782 + t * (1.781477937 + t * (-1.821255978 + t * 1.330274429))));
+        double tail = pdf(x) * poly;
+        return x >= 0 ? 1 - tail : tail;
+    }
+}
@@ -0,0 +1,77 @@
+package com.quantz.marketdata.optionchain;
+
+/**
+ * Implied volatility and Black-76 Greeks of every option of one expiry, by leg: leg {@code 2i} is the call and
+ * {@code 2i + 1} the put at strike position {@code i} of the {@link ExpiryChain}. Values are NaN where the option
+ * had no usable premium. Delta and gamma are with respect to the forward, theta is per calendar day and vega per
+ * volatility point.
+ */
+public final class ChainGreeks {
+
+    private final double forward;
+    private final double timeToExpiry;
+    private final int solved;
+    private final double[] volatility;
+    private final double[] delta;
+    private final double[] gamma;
+    private final double[] theta;
+    private final double[] vega;
+
+    ChainGreeks(double forward, double timeToExpiry, int solved, double[] volatility, double[] delta,
+                double[] gamma, double[] theta, double[] vega) {
+        this.forward = forward;
+        this.timeToExpiry = timeToExpiry;
+        this.solved = solved;
+        this.volatility = volatility;
+        this.delta = delta;
+        this.gamma = gamma;
+        this.theta = theta;
+        this.vega = vega;
+    }
+
+    public static int callLeg(int strikeIndex) {
+        return strikeIndex * 2;
+    }
+
+    public static int putLeg(int strikeIndex) {
+        return strikeIndex * 2 + 1;
+    }
+
+    public double forward() {
+        return forward;
+    }
+
+    /**
+     * Years to the 15:30 close of the expiry day, to the minute
+     */
+    public double timeToExpiry() {
+        return timeToExpiry;
+    }
+
+    /**
+     * Legs whose implied volatility had to be solved again for this update
+     */
+    public int solved() {
+        return solved;
+    }
+
+    public double volatility(int leg) {
+        return volatility[leg];
+    }
+
+    public double delta(int leg) {
+        return delta[leg];
+    }
+
+    public double gamma(int leg) {
+        return gamma[leg];
+    }
+
+    public double theta(int leg) {
+        return theta[leg];
+    }
+
+    public double vega(int leg) {
+        return vega[leg];
+    }
+}
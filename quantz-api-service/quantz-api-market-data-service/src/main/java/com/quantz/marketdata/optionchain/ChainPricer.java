@@ -0,0 +1,192 @@
+package com.quantz.marketdata.optionchain;
+
+import java.util.Arrays;
+
+/**
+ * Implied volatility solver and Greeks for all options of one expiry, kept between quote updates.
+ * <p>
+ * State is held as parallel primitive arrays by leg. An update re-solves only the legs whose premium changed,
+ * unless the forward, time or rate moved, in which case every quoted leg is re-solved but starts from its previous
+ * volatility and usually converges in one or two steps. Legs without a fresh premium keep their volatility and
+ * only have their Greeks re-evaluated. Newton iterations run in lockstep over the still-unconverged legs, starting
+ * from the Corrado-Miller estimate, and fall back to bisection whenever a step leaves the bracket.
+ */
+final class ChainPricer {
+
+    private static final double MIN_VOLATILITY = 1e-4;
+    private static final double MAX_VOLATILITY = 5.0;
+    private static final double DEFAULT_VOLATILITY = 0.3;
+    private static final int MAX_ITERATIONS = 40;
+    private static final double PRICE_TOLERANCE = 1e-10;
+    private static final double VOLATILITY_TOLERANCE = 1e-10;
+    private static final double DAYS_PER_YEAR = 365.0;
+
+    private final double[] strikes;
+    private final double[] premium;
+    private final double[] volatility;
+    private final double[] delta;
+    private final double[] gamma;
+    private final double[] theta;
+    private final double[] vega;
+
+    private double forward = Double.NaN;
+    private double time = Double.NaN;
+    private double rate = Double.NaN;
+
+    ChainPricer(ExpiryChain chain) {
+        int legs = chain.size() * 2;
+        this.strikes = chain.strikes;
+        this.premium = nanArray(legs);
+        this.volatility = nanArray(legs);
+        this.delta = nanArray(legs);
+        this.gamma = nanArray(legs);
+        this.theta = nanArray(legs);
+        this.vega = nanArray(legs);
+    }
+
+    int legs() {
+        return premium.length;
+    }
+
+    /**
+     * @param premiums market premium by leg, NaN where no quote is known
+     */
+    synchronized ChainGreeks update(double[] premiums, double forward, double time, double rate) {
+        boolean moved = forward != this.forward || time != this.time || rate != this.rate;
+        this.forward = forward;
+        this.time = time;
+        this.rate = rate;
+        double discount = Math.exp(-rate * time);
+        double rootTime = Math.sqrt(time);
+
+        int[] dirty = new int[premium.length];
+        int count = 0;
+        for (int leg = 0; leg < premium.length; leg++) {
+            double quote = premiums[leg];
+            if (!Double.isNaN(quote)) {
+                if (moved || quote != premium[leg]) {
+                    premium[leg] = quote;
+                    dirty[count++] = leg;
+                }
+            } else if (moved && !Double.isNaN(volatility[leg])) {
+                greeks(leg, discount, rootTime);
+            }
+        }
+
+        solve(dirty, count, discount, rootTime);
+        for (int i = 0; i < count; i++) {
+            greeks(dirty[i], discount, rootTime);
+        }
+
+        return new ChainGreeks(forward, time, count, volatility.clone(), delta.clone(), gamma.clone(),
+                theta.clone(), vega.clone());
+    }
+
+    private void solve(int[] dirty, int count, double discount, double rootTime) {
+        int[] legs = new int[count];
+        double[] target = new double[count];
+        double[] sigma = new double[count];
+        double[] low = new double[count];
+        double[] high = new double[count];
+        double tolerance = PRICE_TOLERANCE * forward;
+
+        int active = 0;
+        for (int i = 0; i < count; i++) {
+            int leg = dirty[i];
+            boolean call = (leg & 1) == 0;
+            double strike = strikes[leg >> 1];
+            double value = premium[leg] / discount;
+            double ceiling = call ? forward : strike;
+            if (!(value > Black76.intrinsic(call, forward, strike) && value < ceiling)) {
+                volatility[leg] = Double.NaN;
+                continue;
+            }
+
+            double guess = Double.isNaN(volatility[leg])
+                    ? Black76.initialVolatility(call, forward, strike, value, time)
+                    : volatility[leg];
+            legs[active] = leg;
+            target[active] = value;
+            sigma[active] = Double.isNaN(guess) ? DEFAULT_VOLATILITY : clamp(guess);
+            low[active] = MIN_VOLATILITY;
+            high[active] = MAX_VOLATILITY;
+            active++;
+        }
+
+        for (int iteration = 0; iteration < MAX_ITERATIONS && active > 0; iteration++) {
+            int next = 0;
+            for (int i = 0; i < active; i++) {
+                int leg = legs[i];
+                boolean call = (leg & 1) == 0;
+                double strike = strikes[leg >> 1];
+                double s = sigma[i];
+                double sigmaRootTime = s * rootTime;
+                double d1 = Black76.d1(forward, strike, sigmaRootTime);
+                double d2 = d1 - sigmaRootTime;
+                double value = call
+                        ? forward * Black76.cdf(d1) - strike * Black76.cdf(d2)
+                        : strike * Black76.cdf(-d2) - forward * Black76.cdf(-d1);
+                double error = value - target[i];
+                if (Math.abs(error) <= tolerance) {
+                    volatility[leg] = s;
+                    continue;
+                }
+
+                double lo = error > 0 ? low[i] : s;
+                double hi = error > 0 ? s : high[i];
+                double slope = forward * Black76.pdf(d1) * rootTime;
+                double step = s - error / slope;
+                if (!(step > lo && step < hi)) {
+                    step = 0.5 * (lo + hi);
+                }
+                if (Math.abs(step - s) <= VOLATILITY_TOLERANCE) {
+                    volatility[leg] = step;
+                    continue;
+                }
+
+                legs[next] = leg;
+                target[next] = target[i];
+                sigma[next] = step;
+                low[next] = lo;
+                high[next] = hi;
+                next++;
+            }
+            active = next;
+        }
+
+        // Legs still open after the iteration cap keep their last, bracketed estimate
+        for (int i = 0; i < active; i++) {
+            volatility[legs[i]] = sigma[i];
+        }
+    }
+
+    private void greeks(int leg, double discount, double rootTime) {
+        double s = volatility[leg];
+        if (Double.isNaN(s)) {
+            delta[leg] = gamma[leg] = theta[leg] = vega[leg] = Double.NaN;
+            return;
+        }
+
+        boolean call = (leg & 1) == 0;
+        double strike = strikes[leg >> 1];
+        double sigmaRootTime = s * rootTime;
+        double d1 = Black76.d1(forward, strike, sigmaRootTime);
+        double density = Black76.pdf(d1);
+        double value = discount * Black76.value(call, forward, strike, sigmaRootTime);
+
+        delta[leg] = call ? discount * Black76.cdf(d1) : -discount * Black76.cdf(-d1);
+        gamma[leg] = discount * density / (forward * sigmaRootTime);
+        vega[leg] = discount * forward * density * rootTime / 100;
+        theta[leg] = (-discount * forward * density * s / (2 * rootTime) + rate * value) / DAYS_PER_YEAR;
+    }
+
+    private static double clamp(double sigma) {
+        return Math.min(MAX_VOLATILITY, Math.max(MIN_VOLATILITY, sigma));
+    }
+
+    private static double[] nanArray(int size) {
+        double[] values = new double[size];
+        Arrays.fill(values, Double.NaN);
+        return values;
+    }
+}
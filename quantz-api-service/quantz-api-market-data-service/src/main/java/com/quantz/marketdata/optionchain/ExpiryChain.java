@@ -0,0 +1,80 @@
+package com.quantz.marketdata.optionchain;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * Options of one underlying and expiry: ascending distinct strikes with the call and put instrument keys at
+ * the same position, null where the exchange lists only one side
+ */
+public final class ExpiryChain {
+
+    private final LocalDate expiry;
+    private final boolean monthly;
+    private final int lotSize;
+    final double[] strikes;
+    final String[] callKeys;
+    final String[] putKeys;
+
+    ExpiryChain(LocalDate expiry, boolean monthly, int lotSize, double[] strikes, String[] callKeys, String[] putKeys) {
+        this.expiry = expiry;
+        this.monthly = monthly;
+        this.lotSize = lotSize;
+        this.strikes = strikes;
+        this.callKeys = callKeys;
+        this.putKeys = putKeys;
+    }
+
+    public LocalDate expiry() {
+        return expiry;
+    }
+
+    /**
+     * Whether this is the last expiry of its month for the underlying
+     */
+    public boolean monthly() {
+        return monthly;
+    }
+
+    public int lotSize() {
+        return lotSize;
+    }
+
+    public int size() {
+        return strikes.length;
+    }
+
+    public double strike(int index) {
+        return strikes[index];
+    }
+
+    public String callKey(int index) {
+        return callKeys[index];
+    }
+
+    public String putKey(int index) {
+        return putKeys[index];
+    }
+
+    /**
+     * Position of the strike closest to the price, ties going to the lower strike; -1 for an empty chain
+     */
+    public int atmIndex(double price) {
+        int index = ceilingIndex(price);
+        if (index == strikes.length) {
+            return index - 1;
+        }
+        if (index > 0 && price - strikes[index - 1] <= strikes[index] - price) {
+            return index - 1;
+        }
+        return index;
+    }
+
+    /**
+     * Position of the first strike at or above the value, or {@link #size()} when there is none
+     */
+    public int ceilingIndex(double strike) {
+        int index = Arrays.binarySearch(strikes, strike);
+        return index >= 0 ? index : -index - 1;
+    }
+}
@@ -0,0 +1,141 @@
+package com.quantz.marketdata.optionchain;
+
+import com.quantz.marketdata.entity.Instrument;
+import com.quantz.marketdata.search.InstrumentExpiry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * In-memory option chains of every underlying in the F&amp;O masters.
+ * <p>
+ * Options are grouped by underlying, then by expiry in ascending order, with strikes held in a sorted primitive
+ * array and the CE/PE instrument keys in parallel arrays. Finding an expiry and the at-the-money strike are both
+ * binary searches, so a window such as ATM ±10 of the nearest weekly is O(log n) plus the window itself.
+ * <p>
+ * Expiry strings are parsed once per master refresh, when {@link com.quantz.marketdata.search.InstrumentQueryEngine}
+ * hands over the reloaded instruments; the new index replaces the old one with a single volatile write.
+ */
+@Slf4j
+@Component
+public class OptionChainIndex {
+
+    private static final String CALL = "CE";
+    private static final String PUT = "PE";
+
+    private volatile Map<String, UnderlyingChain> chains = Collections.emptyMap();
+
+    public void rebuild(List<Instrument> instruments) {
+        long start = System.nanoTime();
+        chains = build(instruments);
+        log.info("Option chain index rebuilt with {} underlyings in {} ms",
+                chains.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    public Optional<UnderlyingChain> find(String underlying) {
+        return Optional.ofNullable(chains.get(fold(underlying)));
+    }
+
+    public List<String> underlyings() {
+        return chains.keySet().stream().sorted().toList();
+    }
+
+    public boolean isReady() {
+        return !chains.isEmpty();
+    }
+
+    static Map<String, UnderlyingChain> build(List<Instrument> instruments) {
+        Map<String, TreeMap<LocalDate, Expiry>> expiriesByUnderlying = new HashMap<>();
+        Map<String, String> underlyingKeys = new HashMap<>();
+        int duplicates = 0;
+
+        for (Instrument instrument : instruments) {
+            String side = sideOf(instrument);
+            Double strike = instrument.getStrike();
+            if (side == null || strike == null || strike <= 0) {
+                continue;
+            }
+            LocalDate expiry = InstrumentExpiry.parse(instrument.getExpiry());
+            String underlying = fold(StringUtils.hasText(instrument.getUnderlyingSymbol())
+                    ? instrument.getUnderlyingSymbol() : instrument.getName());
+            if (expiry == null || underlying.isEmpty()) {
+                continue;
+            }
+
+            if (StringUtils.hasText(instrument.getUnderlyingKey())) {
+                underlyingKeys.putIfAbsent(underlying, instrument.getUnderlyingKey());
+            }
+            Expiry chain = expiriesByUnderlying.computeIfAbsent(underlying, key -> new TreeMap<>())
+                    .computeIfAbsent(expiry, key -> new Expiry());
+            if (chain.lotSize == 0 && instrument.getLotSize() != null) {
+                chain.lotSize = instrument.getLotSize();
+            }
+            String[] keys = chain.keysByStrike.computeIfAbsent(strike, key -> new String[2]);
+            int slot = side.equals(CALL) ? 0 : 1;
+            if (keys[slot] == null) {
+                keys[slot] = instrument.getInstrumentKey();
+            } else {
+                duplicates++;
+            }
+        }
+
+        if (duplicates > 0) {
+            log.debug("Skipped {} options listed more than once for the same underlying, expiry and strike", duplicates);
+        }
+
+        Map<String, UnderlyingChain> chains = new HashMap<>(expiriesByUnderlying.size() * 2);
+        expiriesByUnderlying.forEach((underlying, expiries) ->
+                chains.put(underlying, new UnderlyingChain(underlying, underlyingKeys.get(underlying), toChains(expiries))));
+        return chains;
+    }
+
+    private static ExpiryChain[] toChains(TreeMap<LocalDate, Expiry> expiries) {
+        ExpiryChain[] chains = new ExpiryChain[expiries.size()];
+        int index = 0;
+        for (Map.Entry<LocalDate, Expiry> entry : expiries.entrySet()) {
+            LocalDate expiry = entry.getKey();
+            LocalDate next = expiries.higherKey(expiry);
+            boolean monthly = next == null || next.getMonthValue() != expiry.getMonthValue() || next.getYear() != expiry.getYear();
+            chains[index++] = entry.getValue().toChain(expiry, monthly);
+        }
+        return chains;
+    }
+
+    private static String sideOf(Instrument instrument) {
+        String type = StringUtils.hasText(instrument.getOptionType()) ? instrument.getOptionType() : instrument.getInstrumentType();
+        if (type == null) {
+            return null;
+        }
+        String side = type.trim().toUpperCase(Locale.ROOT);
+        return side.equals(CALL) || side.equals(PUT) ? side : null;
+    }
+
+    private static String fold(String value) {
+        return value == null ? "" : value.trim().toUpperCase(Locale.ROOT);
+    }
+
+    /**
+     * Options of one expiry while the index is being built
+     */
+    private static final class Expiry {
+        final TreeMap<Double, String[]> keysByStrike = new TreeMap<>();
+        int lotSize;
+
+        ExpiryChain toChain(LocalDate expiry, boolean monthly) {
+            int size = keysByStrike.size();
+            double[] strikes = new double[size];
+            String[] callKeys = new String[size];
+            String[] putKeys = new String[size];
+            int index = 0;
+            for (Map.Entry<Double, String[]> entry : keysByStrike.entrySet()) {
+                strikes[index] = entry.getKey();
+                callKeys[index] = entry.getValue()[0];
+                putKeys[index++] = entry.getValue()[1];
+            }
+            return new ExpiryChain(expiry, monthly, lotSize, strikes, callKeys, putKeys);
+        }
+    }
+}
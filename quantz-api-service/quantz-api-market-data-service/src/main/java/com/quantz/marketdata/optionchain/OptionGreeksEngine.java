@@ -0,0 +1,90 @@
+package com.quantz.marketdata.optionchain;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.*;
+
+/**
+ * Chain-level implied volatility and Greeks. One {@link ChainPricer} is kept per expiry chain so consecutive
+ * quote updates of the same expiry are solved incrementally; pricers are held by weak reference to their
+ * {@link ExpiryChain}, so they go away with the chains of a replaced option chain index.
+ * <p>
+ * The forward comes from put-call parity at the strike where call and put premiums are closest, which also
+ * prices in dividends and the futures basis; the spot grown at the risk-free rate is the fallback.
+ */
+@Slf4j
+@Component
+public class OptionGreeksEngine {
+
+    private static final ZoneId EXCHANGE_ZONE = ZoneId.of("Asia/Kolkata");
+    private static final LocalTime EXPIRY_TIME = LocalTime.of(15, 30);
+    private static final double MINUTES_PER_YEAR = 365.0 * 24 * 60;
+
+    private final double riskFreeRate;
+    private final Cache<ExpiryChain, ChainPricer> pricers;
+
+    public OptionGreeksEngine(@Value("${quantz.option-chain.risk-free-rate:0.065}") double riskFreeRate,
+                              @Value("${quantz.option-chain.pricer-cache-size:2000}") long pricerCacheSize) {
+        this.riskFreeRate = riskFreeRate;
+        this.pricers = Caffeine.newBuilder()
+                .weakKeys()
+                .maximumSize(pricerCacheSize)
+                .build();
+    }
+
+    /**
+     * Greeks of every leg of the chain at the given premiums
+     *
+     * @param premiums market premium by leg (see {@link ChainGreeks#callLeg}), NaN where not quoted
+     * @param spot     underlying price, used when no strike has both a call and a put premium; may be null
+     * @return null when neither a forward nor a spot is available
+     */
+    public ChainGreeks price(ExpiryChain chain, double[] premiums, Double spot, Instant now) {
+        if (premiums.length != chain.size() * 2) {
+            throw new IllegalArgumentException("Expected " + chain.size() * 2 + " premiums, got " + premiums.length);
+        }
+
+        double time = timeToExpiry(chain.expiry(), now);
+        double discount = Math.exp(-riskFreeRate * time);
+        double forward = parityForward(chain, premiums, discount);
+        if (Double.isNaN(forward) && spot != null && spot > 0) {
+            forward = spot / discount;
+        }
+        if (!(forward > 0)) {
+            return null;
+        }
+
+        long start = System.nanoTime();
+        ChainGreeks greeks = pricers.get(chain, ChainPricer::new).update(premiums, forward, time, riskFreeRate);
+        log.debug("Priced {} of {} legs of the {} chain in {} µs", greeks.solved(), premiums.length,
+                chain.expiry(), (System.nanoTime() - start) / 1_000);
+        return greeks;
+    }
+
+    /**
+     * Years from now to the expiry-day close, in whole minutes so unchanged quotes within a minute are not re-solved;
+     * at least one minute, also for expired chains
+     */
+    static double timeToExpiry(LocalDate expiry, Instant now) {
+        long minutes = Duration.between(now, expiry.atTime(EXPIRY_TIME).atZone(EXCHANGE_ZONE).toInstant()).toMinutes();
+        return Math.max(1, minutes) / MINUTES_PER_YEAR;
+    }
+
+    static double parityForward(ExpiryChain chain, double[] premiums, double discount) {
+        double forward = Double.NaN;
+        double smallest = Double.MAX_VALUE;
+        for (int i = 0; i < chain.size(); i++) {
+            double call = premiums[ChainGreeks.callLeg(i)];
+            double put = premiums[ChainGreeks.putLeg(i)];
+            if (call > 0 && put > 0 && Math.abs(call - put) < smallest) {
+                smallest = Math.abs(call - put);
+                forward = chain.strike(i) + (call - put) / discount;
+            }
+        }
+        return forward;
+    }
+}
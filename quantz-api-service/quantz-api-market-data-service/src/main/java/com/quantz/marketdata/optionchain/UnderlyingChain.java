@@ -0,0 +1,68 @@
+package com.quantz.marketdata.optionchain;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Every listed expiry of one underlying, in ascending order
+ */
+public final class UnderlyingChain {
+
+    private final String underlying;
+    private final String underlyingKey;
+    private final LocalDate[] expiries;
+    private final ExpiryChain[] chains;
+
+    UnderlyingChain(String underlying, String underlyingKey, ExpiryChain[] chains) {
+        this.underlying = underlying;
+        this.underlyingKey = underlyingKey;
+        this.chains = chains;
+        this.expiries = Arrays.stream(chains).map(ExpiryChain::expiry).toArray(LocalDate[]::new);
+    }
+
+    public String underlying() {
+        return underlying;
+    }
+
+    /**
+     * Instrument key of the underlying index or stock, null when the master does not name it
+     */
+    public String underlyingKey() {
+        return underlyingKey;
+    }
+
+    public List<LocalDate> expiries() {
+        return List.of(expiries);
+    }
+
+    public int optionCount() {
+        return Arrays.stream(chains).mapToInt(chain -> chain.size() * 2).sum();
+    }
+
+    /**
+     * Nearest expiry on or after the date
+     */
+    public Optional<ExpiryChain> expiryOnOrAfter(LocalDate date) {
+        int index = ceilingIndex(date);
+        return index < chains.length ? Optional.of(chains[index]) : Optional.empty();
+    }
+
+    /**
+     * Nearest monthly expiry on or after the date; at most the weeklies of one month are skipped
+     */
+    public Optional<ExpiryChain> monthlyOnOrAfter(LocalDate date) {
+        for (int index = ceilingIndex(date); index < chains.length; index++) {
+            if (chains[index].monthly()) {
+                return Optional.of(chains[index]);
+            }
+        }
+        return Optional.empty();
+    }
+
+    private int ceilingIndex(LocalDate date) {
+        int index = Arrays.binarySearch(expiries, date);
+        return index >= 0 ? index : -index - 1;
+    }
+}
@@ -0,0 +1,113 @@
+package com.quantz.marketdata.publishing;
+
+import com.quantz.events.codec.*;
+import com.quantz.marketdata.entity.CandleData;
+import com.quantz.marketdata.model.LtpQuoteData;
+import org.agrona.ExpandableArrayBuffer;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+/**
+ * Encodes published messages with the flyweight codecs of {@code quantz-event-lib} into one reused buffer; the
+ * record value copied out of it is the only allocation. Not thread-safe, it is confined to the publisher thread.
+ * <p>
+ * Timestamps are epoch milliseconds of the stored local time read as UTC, the same convention as the columnar
+ * response format. Absent values are written as the schema's null values.
+ */
+class EventMessageWriter {
+
+    private final ExpandableArrayBuffer buffer = new ExpandableArrayBuffer(1024);
+    private final BarEncoder barEncoder = new BarEncoder();
+    private final TickEncoder tickEncoder = new TickEncoder();
+    private final QuoteEncoder quoteEncoder = new QuoteEncoder();
+    private final InstrumentDeltaEncoder instrumentEncoder = new InstrumentDeltaEncoder();
+
+    byte[] bar(CandleData candle) {
+        barEncoder.wrapAndApplyHeader(buffer, 0)
+                .instrumentKey(candle.getInstrumentKey())
+                .interval(candle.getInterval())
+                .timestamp(toEpochMilli(candle.getTimestamp()))
+                .open(toDouble(candle.getOpen()))
+                .high(toDouble(candle.getHigh()))
+                .low(toDouble(candle.getLow()))
+                .close(toDouble(candle.getClose()))
+                .volume(toLong(candle.getVolume()));
+        return copy(barEncoder.encodedLength());
+    }
+
+    /**
+     * A quote when the order book totals came with the update, otherwise the smaller tick
+     */
+    byte[] tick(String instrumentKey, LtpQuoteData quote, long receivedAt) {
+        long timestamp = quote.getLastTradeTime() != null ? toEpochMilli(quote.getLastTradeTime()) : receivedAt;
+        if (quote.getTotalBuyQuantity() == null && quote.getTotalSellQuantity() == null) {
+            tickEncoder.wrapAndApplyHeader(buffer, 0)
+                    .instrumentKey(instrumentKey)
+                    .timestamp(timestamp)
+                    .lastPrice(toDouble(quote.getLastPrice()))
+                    .lastQuantity(toLong(quote.getLastQuantity()))
+                    .volume(toLong(quote.getVolume()))
+                    .openInterest(toLong(quote.getOpenInterest()));
+            return copy(tickEncoder.encodedLength());
+        }
+
+        quoteEncoder.wrapAndApplyHeader(buffer, 0)
+                .instrumentKey(instrumentKey)
+                .timestamp(timestamp)
+                .lastPrice(toDouble(quote.getLastPrice()))
+                .closePrice(toDouble(quote.getClosePrice()))
+                .averagePrice(toDouble(quote.getAveragePrice()))
+                .lastQuantity(toLong(quote.getLastQuantity()))
+                .volume(toLong(quote.getVolume()))
+                .openInterest(toLong(quote.getOpenInterest()))
+                .totalBuyQuantity(toLong(quote.getTotalBuyQuantity()))
+                .totalSellQuantity(toLong(quote.getTotalSellQuantity()));
+        return copy(quoteEncoder.encodedLength());
+    }
+
+    byte[] instrument(InstrumentMessage message) {
+        int length = instrumentEncoder.wrapAndApplyHeader(buffer, 0)
+                .change(message.change() == InstrumentMessage.Change.ADDED
+                        ? InstrumentChange.ADDED : InstrumentChange.CHANGED)
+                .instrumentKey(message.instrumentKey())
+                .lotSize(message.lotSize() != null ? message.lotSize() : MarketDataSchema.NULL_INT)
+                .tickSize(toDouble(message.tickSize()))
+                .strike(toDouble(message.strike()))
+                .exchange(message.exchange())
+                .segment(message.segment())
+                .name(message.name())
+                .isin(message.isin())
+                .instrumentType(message.instrumentType())
+                .tradingSymbol(message.tradingSymbol())
+                .exchangeToken(message.exchangeToken())
+                .expiry(message.expiry())
+                .optionType(message.optionType())
+                .underlyingSymbol(message.underlyingSymbol())
+                .underlyingKey(message.underlyingKey())
+                .encodedLength();
+        return copy(length);
+    }
+
+    private byte[] copy(int length) {
+        return Arrays.copyOf(buffer.byteArray(), length);
+    }
+
+    private static long toEpochMilli(LocalDateTime timestamp) {
+        return timestamp != null ? timestamp.toInstant(ZoneOffset.UTC).toEpochMilli() : MarketDataSchema.NULL_LONG;
+    }
+
+    private static double toDouble(Double value) {
+        return value != null ? value : MarketDataSchema.NULL_DOUBLE;
+    }
+
+    private static double toDouble(BigDecimal value) {
+        return value != null ? value.doubleValue() : MarketDataSchema.NULL_DOUBLE;
+    }
+
+    private static long toLong(Long value) {
+        return value != null ? value : MarketDataSchema.NULL_LONG;
+    }
+}
@@ -0,0 +1,57 @@
+package com.quantz.marketdata.publishing;
+
+import com.quantz.marketdata.entity.Instrument;
+
+import java.util.*;
+
+/**
+ * Remembers a fingerprint of every instrument of the last master seen, so a reloaded master can be reduced to the
+ * instruments that were added, changed or removed. Audit timestamps are not part of the fingerprint, since every
+ * reload rewrites them. The first master is returned in full as added instruments, so the compacted topic holds the
+ * whole master even if it never received it, or missed changes made while no node was running; re-sending what the
+ * topic already has is harmless under compaction. Instruments removed while no node was running are not detected.
+ */
+public class InstrumentDeltaTracker {
+
+    private Map<String, Integer> fingerprints;
+
+    public record Delta(List<InstrumentMessage> upserts, List<String> removed) {
+
+        public boolean isEmpty() {
+            return upserts.isEmpty() && removed.isEmpty();
+        }
+    }
+
+    public synchronized Delta update(List<Instrument> instruments) {
+        Map<String, Integer> current = new HashMap<>(instruments.size() * 2);
+        for (Instrument instrument : instruments) {
+            current.put(instrument.getInstrumentKey(), fingerprint(instrument));
+        }
+
+        Map<String, Integer> previous = fingerprints != null ? fingerprints : Map.of();
+        fingerprints = current;
+
+        List<InstrumentMessage> upserts = new ArrayList<>();
+        for (Instrument instrument : instruments) {
+            Integer before = previous.get(instrument.getInstrumentKey());
+            if (before == null) {
+                upserts.add(InstrumentMessage.of(InstrumentMessage.Change.ADDED, instrument));
+            } else if (!before.equals(current.get(instrument.getInstrumentKey()))) {
+                upserts.add(InstrumentMessage.of(InstrumentMessage.Change.CHANGED, instrument));
+            }
+        }
+
+        List<String> removed = previous.keySet().stream()
+                .filter(key -> !current.containsKey(key))
+                .sorted()
+                .toList();
+        return new Delta(upserts, removed);
+    }
+
+    private static int fingerprint(Instrument instrument) {
+        return Objects.hash(instrument.getExchange(), instrument.getSegment(), instrument.getName(), instrument.getIsin(),
+                instrument.getInstrumentType(), instrument.getTradingSymbol(), instrument.getExchangeToken(),
+                instrument.getLotSize(), instrument.getTickSize(), instrument.getExpiry(), instrument.getStrike(),
+                instrument.getOptionType(), instrument.getUnderlyingSymbol(), instrument.getUnderlyingKey());
+    }
+}
@@ -0,0 +1,25 @@
+package com.quantz.marketdata.publishing;
+
+import com.quantz.marketdata.entity.Instrument;
+
+/**
+ * Added or changed instrument published to the compacted instruments topic; removals are tombstones
+ */
+public record InstrumentMessage(Change change, String instrumentKey, String exchange, String segment, String name,
+                                String isin, String instrumentType, String tradingSymbol, String exchangeToken,
+                                Integer lotSize, Double tickSize, String expiry, Double strike, String optionType,
+                                String underlyingSymbol, String underlyingKey) {
+
+    public enum Change {
+        ADDED,
+        CHANGED
+    }
+
+    public static InstrumentMessage of(Change change, Instrument instrument) {
+        return new InstrumentMessage(change, instrument.getInstrumentKey(), instrument.getExchange(),
+                instrument.getSegment(), instrument.getName(), instrument.getIsin(), instrument.getInstrumentType(),
+                instrument.getTradingSymbol(), instrument.getExchangeToken(), instrument.getLotSize(),
+                instrument.getTickSize(), instrument.getExpiry(), instrument.getStrike(), instrument.getOptionType(),
+                instrument.getUnderlyingSymbol(), instrument.getUnderlyingKey());
+    }
+}
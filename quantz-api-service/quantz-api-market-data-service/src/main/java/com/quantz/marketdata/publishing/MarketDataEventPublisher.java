@@ -0,0 +1,160 @@
+package com.quantz.marketdata.publishing;
+
+import com.quantz.marketdata.config.EventPublishingProperties;
+import com.quantz.marketdata.entity.CandleData;
+import com.quantz.marketdata.entity.Instrument;
+import com.quantz.marketdata.event.CandlesSavedEvent;
+import com.quantz.marketdata.event.InstrumentMasterRefreshedEvent;
+import com.quantz.marketdata.event.QuotesReceivedEvent;
+import com.quantz.marketdata.model.LtpQuoteData;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Publishes new candles, live quotes and instrument master changes to Kafka, so other services can follow the log
+ * instead of polling the REST API or the database.
+ * <p>
+ * Values use the binary codecs of {@code quantz-event-lib}: bars, ticks or quotes, and instrument deltas, told apart
+ * by the template id in the message header. Listeners only snapshot the event and queue the work on the single
+ * publisher thread; encoding and sending happen there. The queue is bounded by the messages its events hold, so a
+ * backfill of thousands of candles counts as thousands, and once full new events are dropped (counted in
+ * {@code quantz.events.dropped}) rather than stalling ingestion. Candles go out after their transaction commits.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "quantz.events", name = "enabled", havingValue = "true")
+public class MarketDataEventPublisher {
+
+    private final KafkaTemplate<String, byte[]> kafkaTemplate;
+    private final ThreadPoolTaskExecutor executor;
+    private final EventPublishingProperties.Topics topics;
+    private final InstrumentDeltaTracker instrumentDeltaTracker = new InstrumentDeltaTracker();
+    private final EventMessageWriter writer = new EventMessageWriter();
+    private final Counter published;
+    private final Counter failed;
+    private final Counter dropped;
+    private final int queueCapacity;
+    private final AtomicInteger queuedMessages = new AtomicInteger();
+
+    public MarketDataEventPublisher(@Qualifier("marketDataKafkaTemplate") KafkaTemplate<String, byte[]> kafkaTemplate,
+                                    @Qualifier("marketDataPublisherExecutor") ThreadPoolTaskExecutor executor,
+                                    EventPublishingProperties properties, MeterRegistry meterRegistry) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.executor = executor;
+        this.topics = properties.getTopics();
+        this.queueCapacity = properties.getQueueCapacity();
+        this.published = meterRegistry.counter("quantz.events.published");
+        this.failed = meterRegistry.counter("quantz.events.failed");
+        this.dropped = meterRegistry.counter("quantz.events.dropped");
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCandlesSaved(CandlesSavedEvent event) {
+        List<CandleData> candles = event.getCandles();
+        submit(candles.size(), () -> {
+            for (CandleData candle : candles) {
+                send(topics.getBars(), candle.getInstrumentKey(), () -> writer.bar(candle));
+            }
+        });
+    }
+
+    @EventListener
+    public void onQuotesReceived(QuotesReceivedEvent event) {
+        Map<String, LtpQuoteData> quotes = event.getQuotes();
+        long receivedAt = System.currentTimeMillis();
+        submit(quotes.size(), () -> quotes.forEach((responseKey, quote) -> {
+            String instrumentKey = quote.getInstrumentToken() != null ? quote.getInstrumentToken() : responseKey;
+            send(topics.getTicks(), instrumentKey, () -> writer.tick(instrumentKey, quote, receivedAt));
+        }));
+    }
+
+    @EventListener
+    public void onInstrumentMasterRefreshed(InstrumentMasterRefreshedEvent event) {
+        List<Instrument> instruments = event.getInstruments();
+        submit(instruments.size(), () -> {
+            InstrumentDeltaTracker.Delta delta = instrumentDeltaTracker.update(instruments);
+            delta.upserts().forEach(message ->
+                    send(topics.getInstruments(), message.instrumentKey(), () -> writer.instrument(message)));
+            delta.removed().forEach(key -> send(topics.getInstruments(), key, () -> null));
+            if (!delta.isEmpty()) {
+                log.info("Published {} instrument changes and {} removals", delta.upserts().size(), delta.removed().size());
+            }
+        });
+    }
+
+    /**
+     * @param messages upper bound on the messages the task sends, reserved in the queue until it has run
+     */
+    private void submit(int messages, Runnable task) {
+        if (messages == 0) {
+            return;
+        }
+        if (queuedMessages.addAndGet(messages) > queueCapacity) {
+            queuedMessages.addAndGet(-messages);
+            drop(messages);
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    task.run();
+                } finally {
+                    queuedMessages.addAndGet(-messages);
+                }
+            });
+        } catch (TaskRejectedException e) {
+            // Shutting down
+            queuedMessages.addAndGet(-messages);
+            drop(messages);
+        }
+    }
+
+    private void drop(int messages) {
+        dropped.increment(messages);
+        log.warn("Market-data publisher queue is full, dropped {} messages", messages);
+    }
+
+    /**
+     * @param encoder produces the record value on the publisher thread; null sends a tombstone
+     */
+    private void send(String topic, String key, Supplier<byte[]> encoder) {
+        byte[] value;
+        try {
+            value = encoder.get();
+        } catch (IllegalArgumentException e) {
+            // Field wider than the fixed layout allows
+            failed.increment();
+            log.error("Could not encode message to {} for {}: {}", topic, key, e.getMessage());
+            return;
+        }
+
+        try {
+            kafkaTemplate.send(topic, key, value).whenComplete((result, error) -> {
+                if (error != null) {
+                    failed.increment();
+                    log.warn("Failed to publish to {} for {}: {}", topic, key, error.getMessage());
+                } else {
+                    published.increment();
+                }
+            });
+        } catch (Exception e) {
+            // Buffer full or metadata unavailable beyond max-block-ms
+            failed.increment();
+            log.warn("Failed to publish to {} for {}: {}", topic, key, e.getMessage());
+        }
+    }
+}
@@ -7,6 +7,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,11 +21,30 @@ public interface CandleDataRepository extends JpaRepository<CandleData, Long> {
     List<CandleData> findByInstrumentKeyAndIntervalAndTimestampBetweenOrderByTimestampAsc(
             String instrumentKey, String interval, LocalDateTime startTime, LocalDateTime endTime);
 
-    @Query("SELECT c FROM CandleData c WHERE c.instrumentKey = :instrumentKey AND c.interval = :interval " +
-            "AND c.timestamp = (SELECT MAX(c2.timestamp) FROM CandleData c2 WHERE c2.instrumentKey = :instrumentKey AND c2.interval = :interval)")
-    Optional<CandleData> findLatestCandleByInstrumentKeyAndInterval(
-            @Param("instrumentKey") String instrumentKey,
-            @Param("interval") String interval);
+    @Query("SELECT c FROM CandleData c WHERE c.instrumentKey IN :instrumentKeys AND c.interval = :interval " +
+            "AND c.timestamp BETWEEN :startTime AND :endTime ORDER BY c.instrumentKey, c.timestamp")
+    List<CandleData> findByInstrumentKeysAndIntervalAndTimestampBetween(
+            @Param("instrumentKeys") Collection<String> instrumentKeys,
+            @Param("interval") String interval,
+            @Param("startTime") LocalDateTime startTime,
+            @Param("endTime") LocalDateTime endTime);
+
+    List<CandleData> findByInstrumentKeyAndIntervalAndTimestampGreaterThanEqualOrderByTimestampAsc(
+            String instrumentKey, String interval, LocalDateTime since);
+
+    List<CandleData> findByInstrumentKeyAndIntervalAndTimestampLessThanEqualOrderByTimestampAsc(
+            String instrumentKey, String interval, LocalDateTime until);
+
+    Optional<CandleData> findFirstByInstrumentKeyAndIntervalOrderByTimestampDesc(String instrumentKey, String interval);
+
+    @Query("SELECT DISTINCT c.instrumentKey FROM CandleData c WHERE c.interval = :interval")
+    List<String> findDistinctInstrumentKeysByInterval(@Param("interval") String interval);
+
+    @Query("SELECT c.instrumentKey, AVG(c.volume) FROM CandleData c WHERE c.interval = :interval " +
+            "AND c.timestamp >= :since GROUP BY c.instrumentKey")
+    List<Object[]> findAverageVolumeSince(
+            @Param("interval") String interval,
+            @Param("since") LocalDateTime since);
 
     @Query("SELECT COUNT(c) FROM CandleData c WHERE c.instrumentKey = :instrumentKey AND c.interval = :interval")
     Long countByInstrumentKeyAndInterval(
@@ -0,0 +1,18 @@
+package com.quantz.marketdata.repository;
+
+import com.quantz.marketdata.entity.CorporateAction;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface CorporateActionRepository extends JpaRepository<CorporateAction, Long> {
+
+    List<CorporateAction> findByInstrumentKeyOrderByExDateAsc(String instrumentKey);
+
+    Optional<CorporateAction> findByInstrumentKeyAndExDateAndActionType(String instrumentKey, LocalDate exDate,
+                                                                         CorporateAction.Type actionType);
+}
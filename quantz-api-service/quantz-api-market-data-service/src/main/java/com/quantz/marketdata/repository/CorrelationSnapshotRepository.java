@@ -0,0 +1,20 @@
+package com.quantz.marketdata.repository;
+
+import com.quantz.marketdata.entity.CorrelationSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+@Repository
+public interface CorrelationSnapshotRepository extends JpaRepository<CorrelationSnapshot, Long> {
+
+    Optional<CorrelationSnapshot> findByAsOfAndWindowDays(LocalDate asOf, Integer windowDays);
+
+    Optional<CorrelationSnapshot> findFirstByWindowDaysOrderByAsOfDesc(Integer windowDays);
+
+    @Transactional
+    long deleteByAsOfBefore(LocalDate asOf);
+}
@@ -0,0 +1,9 @@
+package com.quantz.marketdata.repository;
+
+import com.quantz.marketdata.entity.LatestBar;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface LatestBarRepository extends JpaRepository<LatestBar, String> {
+}
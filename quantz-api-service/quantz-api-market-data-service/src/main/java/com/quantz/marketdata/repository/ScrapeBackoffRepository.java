@@ -0,0 +1,23 @@
+package com.quantz.marketdata.repository;
+
+import com.quantz.marketdata.entity.ScrapeBackoff;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface ScrapeBackoffRepository extends JpaRepository<ScrapeBackoff, String> {
+
+    /**
+     * Delete the instrument's backoff in one statement, doing nothing when it has none
+     *
+     * @return number of rows deleted
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM ScrapeBackoff b WHERE b.instrumentKey = :instrumentKey")
+    int deleteIfPresent(@Param("instrumentKey") String instrumentKey);
+}
@@ -0,0 +1,22 @@
+package com.quantz.marketdata.repository;
+
+import com.quantz.marketdata.entity.ScrapeShardProgress;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface ScrapeShardProgressRepository extends JpaRepository<ScrapeShardProgress, Long> {
+
+    boolean existsByRunDateAndShard(LocalDate runDate, Integer shard);
+
+    @Query("SELECT p.shard FROM ScrapeShardProgress p WHERE p.runDate = :runDate")
+    List<Integer> findCompletedShards(@Param("runDate") LocalDate runDate);
+
+    @Query("SELECT COALESCE(SUM(p.dataPointsScraped), 0) FROM ScrapeShardProgress p WHERE p.runDate = :runDate")
+    long sumDataPoints(@Param("runDate") LocalDate runDate);
+}
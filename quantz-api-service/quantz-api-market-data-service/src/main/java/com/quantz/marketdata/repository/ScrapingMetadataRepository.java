@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -16,6 +17,15 @@ public interface ScrapingMetadataRepository extends JpaRepository<ScrapingMetada
 
     Optional<ScrapingMetadata> findByScrapeDate(LocalDate scrapeDate);
 
+    /**
+     * Latest run with the given status; incremental scrapes start after the latest completed one
+     */
+    Optional<ScrapingMetadata> findFirstByStatusOrderByScrapeDateDesc(String status);
+
+    Optional<ScrapingMetadata> findFirstByJobId(String jobId);
+
+    List<ScrapingMetadata> findTop50ByOrderByScrapedAtDesc();
+
     @Query("SELECT sm FROM ScrapingMetadata sm WHERE sm.fullScrape = true ORDER BY sm.scrapeDate DESC")
     Optional<ScrapingMetadata> findLatestFullScraping();
 }
@@ -0,0 +1,242 @@
+package com.quantz.marketdata.scraping;
+
+import com.quantz.marketdata.cluster.ClusterCoordinator;
+import com.quantz.marketdata.config.ScrapeSchedulerProperties;
+import com.quantz.marketdata.config.UpstoxProperties;
+import com.quantz.marketdata.upstox.UpstoxCallController;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+/**
+ * Works through prioritised scrape tasks with a concurrency level that follows the request budget and the deadline.
+ * <p>
+ * The level is derived from Little's law: the request rate a run should sustain times the observed call latency.
+ * That rate is what the remaining tasks need to finish by the deadline, but at least a configured share of this node's
+ * slice of the Upstox budget and never more than the whole slice. The HTTP client's rate limiter still enforces the
+ * budget; the level only decides how many calls are waiting on it, so a run neither idles below the budget nor
+ * piles threads up behind the limiter. The level never exceeds the client's own adaptive limit, and dispatching
+ * holds while the Upstox circuit breaker is open, so an outage pauses the run instead of failing its instruments.
+ */
+@Slf4j
+@Component
+public class AdaptiveScrapeRunner {
+
+    private static final double INITIAL_LATENCY_SECONDS = 0.5;
+    private static final double LATENCY_SMOOTHING = 0.2;
+    private static final Duration AVAILABILITY_POLL = Duration.ofSeconds(5);
+
+    private final TaskExecutor workers;
+    private final UpstoxProperties upstoxProperties;
+    private final ClusterCoordinator clusterCoordinator;
+    private final ScrapeSchedulerProperties properties;
+    private final UpstoxCallController callController;
+
+    public AdaptiveScrapeRunner(@Qualifier("scrapeWorkerExecutor") TaskExecutor workers,
+                                UpstoxProperties upstoxProperties,
+                                ClusterCoordinator clusterCoordinator,
+                                ScrapeSchedulerProperties properties,
+                                UpstoxCallController callController) {
+        this.workers = workers;
+        this.upstoxProperties = upstoxProperties;
+        this.clusterCoordinator = clusterCoordinator;
+        this.properties = properties;
+        this.callController = callController;
+    }
+
+    /**
+     * Run the tasks in order, reporting each finished instrument to the monitor. Stops dispatching once the monitor
+     * is cancelled; tasks in flight are waited for.
+     *
+     * @param work scrapes one instrument and returns the data points it stored
+     * @return data points stored by all tasks that ran
+     */
+    public int run(List<ScrapeTask> tasks, LocalDateTime deadline, ScrapeMonitor monitor,
+                   ToIntFunction<ScrapeTask> work) {
+        return dispatch(tasks, deadline, monitor, work, Duration.ZERO);
+    }
+
+    /**
+     * Run the tasks in order with their starts spread evenly over the window, for polling that should not burst:
+     * task {@code i} starts {@code i * window / tasks} after the first. The HTTP client's rate limiter still caps
+     * the request rate should the window be too short for the budget.
+     *
+     * @return data points stored by all tasks that ran
+     */
+    public int runSpread(List<ScrapeTask> tasks, Duration window, ToIntFunction<ScrapeTask> work) {
+        if (tasks.isEmpty()) {
+            return 0;
+        }
+        return dispatch(tasks, LocalDateTime.now().plus(window), ScrapeMonitor.NONE, work,
+                window.dividedBy(tasks.size()));
+    }
+
+    private int dispatch(List<ScrapeTask> tasks, LocalDateTime deadline, ScrapeMonitor monitor,
+                         ToIntFunction<ScrapeTask> work, Duration spacing) {
+        Run run = new Run();
+        boolean warned = false;
+        long startedAt = System.nanoTime();
+
+        for (int i = 0; i < tasks.size(); i++) {
+            try {
+                monitor.awaitIfPaused();
+                long wait = startedAt + i * spacing.toNanos() - System.nanoTime();
+                if (wait > 0) {
+                    Thread.sleep(wait / 1_000_000, (int) (wait % 1_000_000));
+                }
+                if (!awaitUpstox(deadline, monitor)) {
+                    break;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            if (monitor.isCancelled() || Thread.currentThread().isInterrupted()) {
+                break;
+            }
+
+            int remaining = tasks.size() - i;
+            double secondsLeft = Duration.between(LocalDateTime.now(), deadline).toMillis() / 1000.0;
+            double budget = budgetPerSecond();
+            if (!warned && secondsLeft > 0 && remaining / secondsLeft > budget) {
+                log.warn("{} scrape tasks cannot finish within {} s at {} requests/s, lowest priorities will be late",
+                        remaining, Math.round(secondsLeft), budget);
+                warned = true;
+            }
+            int limit = Math.min(callController.concurrencyLimit(), concurrency(budget, remaining, secondsLeft,
+                    run.latencySeconds(), properties.getMaxConcurrency(), properties.getMinBudgetShare()));
+
+            try {
+                run.acquire(limit);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+
+            ScrapeTask task = tasks.get(i);
+            try {
+                submit(task, run, monitor, work);
+            } catch (TaskRejectedException e) {
+                // The worker pool is shutting down; give the slot back so the tasks in flight can still be awaited
+                run.abandon();
+                log.warn("Scrape worker rejected instrument {}, stopping the run: {}", task.instrumentKey(),
+                        e.getMessage());
+                break;
+            }
+        }
+
+        run.awaitIdle();
+        return run.dataPoints;
+    }
+
+    private void submit(ScrapeTask task, Run run, ScrapeMonitor monitor, ToIntFunction<ScrapeTask> work) {
+        workers.execute(() -> {
+            long start = System.nanoTime();
+            int points = 0;
+            try {
+                points = work.applyAsInt(task);
+            } catch (Exception e) {
+                log.error("Error scraping data for instrument {}: {}", task.instrumentKey(), e.getMessage());
+            } finally {
+                run.release(System.nanoTime() - start, points);
+                monitor.instrumentScraped(points);
+            }
+        });
+    }
+
+    /**
+     * Hold the run while the Upstox circuit breaker is open or a Retry-After pause is pending
+     *
+     * @return false if the run was cancelled or ran out of time while waiting
+     */
+    private boolean awaitUpstox(LocalDateTime deadline, ScrapeMonitor monitor) throws InterruptedException {
+        boolean held = false;
+        while (!callController.awaitAvailable(AVAILABILITY_POLL)) {
+            if (!held) {
+                log.warn("Upstox API is unavailable, holding the scrape until it is back");
+                held = true;
+            }
+            if (monitor.isCancelled() || !LocalDateTime.now().isBefore(deadline)) {
+                return false;
+            }
+        }
+        if (held) {
+            log.info("Upstox API is available again, resuming the scrape");
+        }
+        return true;
+    }
+
+    /**
+     * This node's share of the account's request rate
+     */
+    private double budgetPerSecond() {
+        return (double) Math.max(1, upstoxProperties.getApi().getMaxRequestsPerSecond())
+                / clusterCoordinator.liveNodeCount();
+    }
+
+    /**
+     * Concurrent calls needed to sustain the target request rate at the observed latency
+     */
+    static int concurrency(double budgetPerSecond, int remaining, double secondsLeft, double latencySeconds,
+                           int maxConcurrency, double minBudgetShare) {
+        double required = secondsLeft > 0 ? remaining / secondsLeft : budgetPerSecond;
+        double target = Math.min(budgetPerSecond, Math.max(required, budgetPerSecond * minBudgetShare));
+        int level = (int) Math.ceil(target * latencySeconds);
+        return Math.max(1, Math.min(maxConcurrency, level));
+    }
+
+    /**
+     * In-flight accounting of one run
+     */
+    private static final class Run {
+
+        int inFlight;
+        int dataPoints;
+        double latencySeconds = INITIAL_LATENCY_SECONDS;
+
+        synchronized double latencySeconds() {
+            return latencySeconds;
+        }
+
+        synchronized void acquire(int limit) throws InterruptedException {
+            while (inFlight >= limit) {
+                wait();
+            }
+            inFlight++;
+        }
+
+        synchronized void release(long nanos, int points) {
+            inFlight--;
+            dataPoints += points;
+            latencySeconds += LATENCY_SMOOTHING * (nanos / 1e9 - latencySeconds);
+            notifyAll();
+        }
+
+        // Slot acquired for a task that never ran
+        synchronized void abandon() {
+            inFlight--;
+            notifyAll();
+        }
+
+        synchronized void awaitIdle() {
+            boolean interrupted = false;
+            while (inFlight > 0) {
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
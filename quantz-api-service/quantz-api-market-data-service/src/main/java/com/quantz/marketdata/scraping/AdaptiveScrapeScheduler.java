@@ -0,0 +1,155 @@
+package com.quantz.marketdata.scraping;
+
+import com.quantz.marketdata.cluster.ClusterCoordinator;
+import com.quantz.marketdata.config.ScrapeSchedulerProperties;
+import com.quantz.marketdata.service.UpstoxAuthService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Market-hours aware refreshes of the most important symbols, next to the full daily run.
+ * <p>
+ * While the market is open the {@code intraday-watchlists} and the top {@code hot-symbols} by priority are polled for
+ * intraday bars, each once per {@code intraday-refresh-interval} with the polls spread evenly over it; only bars
+ * newer than the in-memory cursor of an instrument are stored, and its in-progress bar is updated in place. Once
+ * the session has closed and settled, the same number of symbols that already have history get their missing daily
+ * bars in a sweep paced to finish within {@code close-sweep-deadline}; the full daily run later skips the bars the
+ * sweep stored. Only the cluster leader runs these, on their own thread.
+ */
+@Slf4j
+@Component
+public class AdaptiveScrapeScheduler {
+
+    private static final String DAILY_INTERVAL = "1d";
+
+    private final ScrapePlanner planner;
+    private final AdaptiveScrapeRunner runner;
+    private final CandleIngestor ingestor;
+    private final ScrapeUniverse scrapeUniverse;
+    private final ClusterCoordinator clusterCoordinator;
+    private final UpstoxAuthService authService;
+    private final ScrapeSchedulerProperties properties;
+    private final TaskExecutor sweepExecutor;
+    private final MarketHours marketHours;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile boolean leading;
+    private volatile ZonedDateTime lastIntradayRefresh;
+    private volatile LocalDate lastCloseSweep;
+
+    public AdaptiveScrapeScheduler(ScrapePlanner planner, AdaptiveScrapeRunner runner, CandleIngestor ingestor,
+                                   ScrapeUniverse scrapeUniverse, ClusterCoordinator clusterCoordinator,
+                                   UpstoxAuthService authService, ScrapeSchedulerProperties properties,
+                                   @Qualifier("scrapeSweepExecutor") TaskExecutor sweepExecutor) {
+        this.planner = planner;
+        this.runner = runner;
+        this.ingestor = ingestor;
+        this.scrapeUniverse = scrapeUniverse;
+        this.clusterCoordinator = clusterCoordinator;
+        this.authService = authService;
+        this.properties = properties;
+        this.sweepExecutor = sweepExecutor;
+        this.marketHours = new MarketHours(ZoneId.of(properties.getZone()), properties.getMarketOpen(),
+                properties.getMarketClose(), properties.getCloseSettleDelay());
+        // Fails startup on an intraday watchlist that is not configured, instead of at the first market open
+        scrapeUniverse.watchlistKeys(properties.getIntradayWatchlists());
+    }
+
+    @Scheduled(fixedDelayString = "${quantz.scrape-scheduler.tick-ms:30000}")
+    public void tick() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        if (!clusterCoordinator.isLeader()) {
+            leading = false;
+            return;
+        }
+        if (!leading) {
+            // Another leader may have stored intraday bars since our cursors were last read
+            ingestor.resetIntradayCursors();
+            leading = true;
+        }
+        if (running.get()) {
+            return;
+        }
+
+        ZonedDateTime now = marketHours.now();
+        LocalDate today = now.toLocalDate();
+        if (marketHours.isOpen(now)) {
+            if (lastIntradayRefresh == null
+                    || !now.isBefore(lastIntradayRefresh.plus(properties.getIntradayRefreshInterval()))) {
+                lastIntradayRefresh = now;
+                submit("intraday refresh", () -> intradayRefresh(today));
+            }
+        } else if (marketHours.isSettledAfterClose(now) && !today.equals(lastCloseSweep)) {
+            lastCloseSweep = today;
+            submit("close sweep", () -> closeSweep(today));
+        }
+    }
+
+    private void submit(String name, Runnable sweep) {
+        if (!authService.isTokenValid()) {
+            log.warn("Skipping {}: no valid authentication token", name);
+            return;
+        }
+        if (!running.compareAndSet(false, true)) {
+            return;
+        }
+        sweepExecutor.execute(() -> {
+            long start = System.nanoTime();
+            try {
+                sweep.run();
+                log.info("Finished {} in {} ms", name, (System.nanoTime() - start) / 1_000_000);
+            } catch (Exception e) {
+                log.error("Error during {}: {}", name, e.getMessage(), e);
+            } finally {
+                running.set(false);
+            }
+        });
+    }
+
+    private void intradayRefresh(LocalDate today) {
+        Set<String> instrumentKeys = new LinkedHashSet<>(
+                scrapeUniverse.watchlistKeys(properties.getIntradayWatchlists()));
+        if (properties.getHotSymbols() > 0) {
+            topTasks(today).forEach(task -> instrumentKeys.add(task.instrumentKey()));
+        }
+        List<ScrapeTask> tasks = planner.rank(instrumentKeys, today);
+        int points = runner.runSpread(tasks, properties.getIntradayRefreshInterval(),
+                task -> ingestor.ingestIntraday(task.instrumentKey(), properties.getIntradayCandleInterval()));
+        log.info("Intraday refresh of {} symbols stored or updated {} bars", tasks.size(), points);
+    }
+
+    private void closeSweep(LocalDate today) {
+        // Instruments without history are left to the full run, which backfills them from the start
+        List<ScrapeTask> stale = new ArrayList<>();
+        for (ScrapeTask task : topTasks(today)) {
+            if (task.lastBarDate() != null && task.lastBarDate().isBefore(today)) {
+                stale.add(task);
+            }
+        }
+        LocalDateTime deadline = LocalDateTime.now().plus(properties.getCloseSweepDeadline());
+        int points = runner.run(stale, deadline, ScrapeMonitor.NONE,
+                task -> ingestor.ingestHistorical(task.instrumentKey(), DAILY_INTERVAL,
+                        task.lastBarDate().plusDays(1), today));
+        log.info("Close sweep refreshed {} top symbols with {} daily bars", stale.size(), points);
+    }
+
+    private List<ScrapeTask> topTasks(LocalDate today) {
+        List<ScrapeTask> ranked = planner.rank(scrapeUniverse.select(today, false), today);
+        return ranked.subList(0, Math.min(properties.getHotSymbols(), ranked.size()));
+    }
+}
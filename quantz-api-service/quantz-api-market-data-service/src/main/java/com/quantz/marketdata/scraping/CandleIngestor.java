@@ -0,0 +1,175 @@
+package com.quantz.marketdata.scraping;
+
+import com.quantz.marketdata.event.CandlesSavedEvent;
+import com.quantz.marketdata.model.CandleData;
+import com.quantz.marketdata.repository.CandleDataRepository;
+import com.quantz.marketdata.service.UpstoxMarketDataService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Fetches candles of one instrument from Upstox, stores them and announces them with a {@link CandlesSavedEvent}
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CandleIngestor {
+
+    private final UpstoxMarketDataService marketDataService;
+    private final CandleDataRepository candleDataRepository;
+    private final ScrapeStore scrapeStore;
+    private final ScrapeUniverse scrapeUniverse;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // Newest stored bar per instrument and interval of the intraday refreshes
+    private final Map<CursorKey, com.quantz.marketdata.entity.CandleData> intradayCursors = new ConcurrentHashMap<>();
+
+    /**
+     * Store the historical candles between the two dates, inclusive
+     *
+     * @return number of candles written
+     */
+    public int ingestHistorical(String instrumentKey, String interval, LocalDate startDate, LocalDate endDate) {
+        log.info("Fetching {} data for instrument {} from {} to {}", interval, instrumentKey, startDate, endDate);
+
+        List<CandleData> candleData = marketDataService.fetchHistoricalCandleData(
+                instrumentKey, interval, startDate, endDate);
+
+        if (candleData == null || candleData.isEmpty()) {
+            log.info("No data available for {} between {} and {}", instrumentKey, startDate, endDate);
+            scrapeUniverse.recordEmpty(instrumentKey, endDate);
+            return 0;
+        }
+
+        int savedCount = save(instrumentKey, interval, candleData);
+        scrapeUniverse.recordCandles(instrumentKey);
+        log.info("Successfully scraped and saved {} data points for {}", savedCount, instrumentKey);
+        return savedCount;
+    }
+
+    /**
+     * Merge today's intraday candles into the stored ones. Only bars newer than the instrument's cursor, its newest
+     * stored bar, are inserted; the cursor bar itself is updated in place when Upstox has revised it, which is the
+     * case while it is still in progress. Cursors are kept in memory, so the database is read once per instrument.
+     *
+     * @return number of candles inserted or updated
+     */
+    public int ingestIntraday(String instrumentKey, String interval) {
+        List<CandleData> candleData = marketDataService.fetchIntradayCandleData(instrumentKey, interval);
+        if (candleData == null || candleData.isEmpty()) {
+            return 0;
+        }
+
+        CursorKey key = new CursorKey(instrumentKey, interval);
+        com.quantz.marketdata.entity.CandleData cursor = intradayCursors.computeIfAbsent(key, ignored ->
+                candleDataRepository.findFirstByInstrumentKeyAndIntervalOrderByTimestampDesc(instrumentKey, interval)
+                        .orElse(null));
+        IntradayMerge merge = merge(cursor, candleData.stream().map(this::convertToEntity).toList());
+
+        int written = 0;
+        if (merge.revised() != null && scrapeStore.updateCandle(merge.revised())) {
+            publish(instrumentKey, interval, List.of(merge.revised()));
+            written++;
+        }
+        if (!merge.inserts().isEmpty()) {
+            written += scrapeStore.insertCandles(merge.inserts(), chunk -> publish(instrumentKey, interval, chunk));
+        }
+        if (merge.cursor() != null) {
+            intradayCursors.put(key, merge.cursor());
+        }
+        return written;
+    }
+
+    /**
+     * Forget all intraday cursors, so that they are read from the database again. Needed when another node may
+     * have stored bars in the meantime, such as after leadership moved away and back.
+     */
+    public void resetIntradayCursors() {
+        intradayCursors.clear();
+    }
+
+    /**
+     * Split fetched bars against the cursor: the cursor bar if its values changed, and the bars after it in time
+     * order. The new cursor is the newest bar seen.
+     */
+    static IntradayMerge merge(com.quantz.marketdata.entity.CandleData cursor,
+                               List<com.quantz.marketdata.entity.CandleData> fetched) {
+        List<com.quantz.marketdata.entity.CandleData> bars = fetched.stream()
+                .filter(candle -> candle.getTimestamp() != null)
+                .sorted(Comparator.comparing(com.quantz.marketdata.entity.CandleData::getTimestamp))
+                .toList();
+
+        com.quantz.marketdata.entity.CandleData revised = null;
+        List<com.quantz.marketdata.entity.CandleData> inserts = new ArrayList<>();
+        for (com.quantz.marketdata.entity.CandleData bar : bars) {
+            if (cursor == null || bar.getTimestamp().isAfter(cursor.getTimestamp())) {
+                inserts.add(bar);
+            } else if (bar.getTimestamp().isEqual(cursor.getTimestamp()) && !sameValues(bar, cursor)) {
+                revised = bar;
+            }
+        }
+
+        com.quantz.marketdata.entity.CandleData next = !inserts.isEmpty() ? inserts.get(inserts.size() - 1)
+                : revised != null ? revised : cursor;
+        return new IntradayMerge(revised, inserts, next);
+    }
+
+    private static boolean sameValues(com.quantz.marketdata.entity.CandleData left,
+                                      com.quantz.marketdata.entity.CandleData right) {
+        return Objects.equals(left.getOpen(), right.getOpen())
+                && Objects.equals(left.getHigh(), right.getHigh())
+                && Objects.equals(left.getLow(), right.getLow())
+                && Objects.equals(left.getClose(), right.getClose())
+                && Objects.equals(left.getVolume(), right.getVolume());
+    }
+
+    private int save(String instrumentKey, String interval, List<CandleData> candleData) {
+        // Convert to entities and save, one short transaction per chunk, each announced once committed
+        List<com.quantz.marketdata.entity.CandleData> entities = candleData.stream()
+                .map(this::convertToEntity)
+                .collect(Collectors.toList());
+
+        return scrapeStore.insertCandles(entities, chunk -> publish(instrumentKey, interval, chunk));
+    }
+
+    private void publish(String instrumentKey, String interval, List<com.quantz.marketdata.entity.CandleData> candles) {
+        eventPublisher.publishEvent(new CandlesSavedEvent(instrumentKey, interval, candles));
+    }
+
+    private com.quantz.marketdata.entity.CandleData convertToEntity(CandleData candleData) {
+        return com.quantz.marketdata.entity.CandleData.builder()
+                .instrumentKey(candleData.getInstrumentKey())
+                .interval(candleData.getInterval())
+                .timestamp(candleData.getTimestamp())
+                .open(candleData.getOpen())
+                .high(candleData.getHigh())
+                .low(candleData.getLow())
+                .close(candleData.getClose())
+                .volume(candleData.getVolume())
+                .build();
+    }
+
+    private record CursorKey(String instrumentKey, String interval) {
+    }
+
+    /**
+     * @param revised the cursor bar with its new values, null when unchanged or not fetched
+     * @param inserts bars newer than the cursor, oldest first
+     * @param cursor  newest bar after the merge, null when nothing is stored yet
+     */
+    record IntradayMerge(com.quantz.marketdata.entity.CandleData revised,
+                         List<com.quantz.marketdata.entity.CandleData> inserts,
+                         com.quantz.marketdata.entity.CandleData cursor) {
+    }
+}
@@ -0,0 +1,58 @@
+package com.quantz.marketdata.scraping;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+
+/**
+ * Regular trading session of the exchange: weekdays between the open and the close in the exchange's time zone.
+ * Exchange holidays are not known here and count as trading days; refreshes on those days simply find no new bars.
+ */
+public final class MarketHours {
+
+    private final ZoneId zone;
+    private final LocalTime open;
+    private final LocalTime close;
+    private final Duration settleDelay;
+
+    public MarketHours(ZoneId zone, LocalTime open, LocalTime close, Duration settleDelay) {
+        if (!open.isBefore(close)) {
+            throw new IllegalArgumentException("Market open " + open + " must be before the close " + close);
+        }
+        this.zone = zone;
+        this.open = open;
+        this.close = close;
+        this.settleDelay = settleDelay;
+    }
+
+    public ZoneId zone() {
+        return zone;
+    }
+
+    public ZonedDateTime now() {
+        return ZonedDateTime.now(zone);
+    }
+
+    public boolean isTradingDay(LocalDate date) {
+        DayOfWeek day = date.getDayOfWeek();
+        return day != DayOfWeek.SATURDAY && day != DayOfWeek.SUNDAY;
+    }
+
+    public boolean isOpen(ZonedDateTime time) {
+        ZonedDateTime local = time.withZoneSameInstant(zone);
+        LocalTime clock = local.toLocalTime();
+        return isTradingDay(local.toLocalDate()) && !clock.isBefore(open) && clock.isBefore(close);
+    }
+
+    /**
+     * True once the day's session has closed and its final bars had time to settle
+     */
+    public boolean isSettledAfterClose(ZonedDateTime time) {
+        ZonedDateTime local = time.withZoneSameInstant(zone);
+        return isTradingDay(local.toLocalDate())
+                && !local.toLocalTime().isBefore(close.plus(settleDelay));
+    }
+}
@@ -0,0 +1,36 @@
+package com.quantz.marketdata.scraping;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Counts reads of each instrument's candles by API consumers. Counts halve every hour, so the demand that feeds
+ * scrape priorities reflects what is being looked at now rather than all-time popularity.
+ */
+@Component
+public class ScrapeDemandTracker {
+
+    private static final double DECAY = 0.5;
+    private static final double FORGET_BELOW = 0.05;
+
+    private final Map<String, Double> reads = new ConcurrentHashMap<>();
+
+    public void record(String instrumentKey) {
+        if (instrumentKey != null) {
+            reads.merge(instrumentKey, 1.0, Double::sum);
+        }
+    }
+
+    public double demand(String instrumentKey) {
+        return reads.getOrDefault(instrumentKey, 0.0);
+    }
+
+    @Scheduled(fixedRate = 3_600_000)
+    public void decay() {
+        reads.replaceAll((key, count) -> count * DECAY);
+        reads.values().removeIf(count -> count < FORGET_BELOW);
+    }
+}
@@ -0,0 +1,36 @@
+package com.quantz.marketdata.scraping;
+
+/**
+ * Progress sink and control handle of a running scrape. The scraper reports to it as instruments finish and
+ * checks it before starting each instrument, so cancelling or pausing lets in-flight instruments finish.
+ */
+public interface ScrapeMonitor {
+
+    ScrapeMonitor NONE = new ScrapeMonitor() {
+    };
+
+    default boolean isCancelled() {
+        return false;
+    }
+
+    /**
+     * Block the calling scrape thread for as long as the run is paused
+     */
+    default void awaitIfPaused() throws InterruptedException {
+    }
+
+    /**
+     * Instruments left to scrape in the run, across the cluster, once the shards are planned
+     */
+    default void planned(int instruments) {
+    }
+
+    default void instrumentScraped(int dataPoints) {
+    }
+
+    /**
+     * Instruments of shards that another node completed while this one was running
+     */
+    default void instrumentsSkipped(int instruments) {
+    }
+}
@@ -0,0 +1,61 @@
+package com.quantz.marketdata.scraping;
+
+import com.quantz.marketdata.config.ScrapeSchedulerProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Ranks instruments for scraping. Liquid names, names whose data is stale and names that API consumers are reading
+ * come first, so the instruments that matter are fresh early in a run and a run cut short by its deadline loses only
+ * the least important ones.
+ */
+@Component
+@RequiredArgsConstructor
+public class ScrapePlanner {
+
+    // Staleness stops adding priority after a month; an instrument without bars counts as that stale
+    private static final int MAX_STALE_DAYS = 30;
+
+    private final ScrapeStore scrapeStore;
+    private final ScrapeDemandTracker demandTracker;
+    private final ScrapeSchedulerProperties properties;
+
+    /**
+     * Tasks for the given instruments, highest priority first
+     */
+    public List<ScrapeTask> rank(Collection<String> instrumentKeys, LocalDate today) {
+        Map<String, ScrapeStore.BarState> states = scrapeStore.loadBarStates();
+        ScrapeSchedulerProperties.Weights weights = properties.getWeights();
+
+        List<ScrapeTask> tasks = new ArrayList<>(instrumentKeys.size());
+        for (String instrumentKey : instrumentKeys) {
+            ScrapeStore.BarState state = states.get(instrumentKey);
+            LocalDate lastBarDate = state != null ? state.lastBarDate() : null;
+            double turnover = state != null ? state.turnover() : 0.0;
+            tasks.add(new ScrapeTask(instrumentKey,
+                    priority(weights, turnover, lastBarDate, today, demandTracker.demand(instrumentKey)),
+                    lastBarDate));
+        }
+        tasks.sort(Comparator.comparingDouble(ScrapeTask::priority).reversed()
+                .thenComparing(ScrapeTask::instrumentKey));
+        return tasks;
+    }
+
+    static double priority(ScrapeSchedulerProperties.Weights weights, double turnover, LocalDate lastBarDate,
+                           LocalDate today, double demand) {
+        long staleDays = lastBarDate == null
+                ? MAX_STALE_DAYS
+                : Math.min(MAX_STALE_DAYS, Math.max(0, ChronoUnit.DAYS.between(lastBarDate, today)));
+        return weights.getLiquidity() * Math.log10(1 + Math.max(0, turnover))
+                + weights.getStaleness() * staleDays
+                + weights.getDemand() * Math.log(1 + demand) / Math.log(2);
+    }
+}
@@ -0,0 +1,269 @@
+package com.quantz.marketdata.scraping;
+
+import com.quantz.marketdata.entity.CandleData;
+import com.quantz.marketdata.snapshot.LatestBarCalculator;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Database access of the scraper, kept out of any long-lived persistence context.
+ * <p>
+ * Instruments are read as a cursor over their keys and expiries only, so no entity is materialised while the run
+ * plans its work. Candles are written with plain JDBC batches, each chunk in its own short transaction: nothing
+ * accumulates in a session across a multi-hour run, heap use stays flat and row locks are held for one chunk at a time.
+ * Writes are upserts on the unique (instrument, interval, timestamp) key, so fetching bars again after a failed run
+ * replaces them instead of duplicating them. Startup checks that key exists and, on a database created before it,
+ * removes duplicate candles and adds it, failing fast if it cannot.
+ */
+@Slf4j
+@Component
+// Hibernate's schema update creates candle_data, and normally its unique key, before the key check runs
+@DependsOn("entityManagerFactory")
+public class ScrapeStore {
+
+    private static final String INSERT_CANDLE = "INSERT INTO candle_data "
+            + "(instrument_key, interval, timestamp, open, high, low, close, volume, created_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?) "
+            + "ON CONFLICT (instrument_key, interval, timestamp) DO UPDATE SET open = EXCLUDED.open, "
+            + "high = EXCLUDED.high, low = EXCLUDED.low, close = EXCLUDED.close, volume = EXCLUDED.volume";
+    private static final String UPDATE_CANDLE = "UPDATE candle_data SET open = ?, high = ?, low = ?, close = ?, "
+            + "volume = ? WHERE instrument_key = ? AND interval = ? AND timestamp = ?";
+    private static final String BAR_STATES = "SELECT b.instrument_key, b.bar_timestamp, b.close, b.avg_volume_20d "
+            + "FROM latest_bar b";
+    private static final String RUN_PLAN = "SELECT instrument_key FROM scrape_run_instrument WHERE run_date = ?";
+    private static final String INSERT_RUN_INSTRUMENT = "INSERT INTO scrape_run_instrument (run_date, instrument_key) "
+            + "VALUES (?, ?)";
+    private static final String DELETE_OLD_RUN_PLANS = "DELETE FROM scrape_run_instrument WHERE run_date < ?";
+    private static final String CANDLE_KEY = "uk_candle_instr_interval_date";
+    private static final String CANDLE_KEY_EXISTS = "SELECT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = ?)";
+    private static final String DELETE_DUPLICATE_CANDLES = "DELETE FROM candle_data a USING candle_data b "
+            + "WHERE a.instrument_key = b.instrument_key AND a.interval = b.interval AND a.timestamp = b.timestamp "
+            + "AND a.id < b.id";
+    private static final String ADD_CANDLE_KEY = "ALTER TABLE candle_data ADD CONSTRAINT " + CANDLE_KEY
+            + " UNIQUE (instrument_key, interval, timestamp)";
+    // Held while adding the key, so replicas starting together do not both rewrite candle_data; the namespace
+    // follows those of ClusterCoordinator
+    private static final int MIGRATION_NAMESPACE = 0x515A0004;
+    private static final String MIGRATION_LOCK = "SELECT pg_advisory_xact_lock(?, 0)";
+    private static final int KEY_FETCH_SIZE = 1_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate writeTransaction;
+    private final TransactionTemplate readTransaction;
+    private final int chunkSize;
+
+    public ScrapeStore(DataSource dataSource,
+                       PlatformTransactionManager transactionManager,
+                       @Value("${data-scraper.batch-size:1000}") int chunkSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(KEY_FETCH_SIZE);
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+
+    /**
+     * Make sure candle_data has the unique key the candle upserts conflict on. Schema update cannot add it while
+     * duplicate candles exist and only logs the failure, after which every insert would fail; the duplicates are
+     * removed here, keeping the newest row of each, and the key added in one transaction.
+     *
+     * @throws IllegalStateException if the key is missing and cannot be added
+     */
+    @PostConstruct
+    public void ensureCandleKey() {
+        if (candleKeyExists()) {
+            return;
+        }
+        log.warn("candle_data has no unique key {}, removing duplicate candles and adding it", CANDLE_KEY);
+        try {
+            writeTransaction.executeWithoutResult(status -> {
+                jdbcTemplate.queryForList(MIGRATION_LOCK, MIGRATION_NAMESPACE);
+                if (!candleKeyExists()) {
+                    int removed = jdbcTemplate.update(DELETE_DUPLICATE_CANDLES);
+                    jdbcTemplate.execute(ADD_CANDLE_KEY);
+                    log.info("Removed {} duplicate candles and added unique key {}", removed, CANDLE_KEY);
+                }
+            });
+        } catch (DataAccessException e) {
+            throw new IllegalStateException("candle_data has no unique key " + CANDLE_KEY
+                    + " and it could not be added, candle writes would fail", e);
+        }
+    }
+
+    private boolean candleKeyExists() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(CANDLE_KEY_EXISTS, Boolean.class, CANDLE_KEY));
+    }
+
+    /**
+     * Stream key and expiry of the instruments in the given segments, optionally restricted to some instrument types.
+     * Postgres only honours the fetch size inside a transaction, hence the read-only one around the cursor.
+     */
+    public void forEachInstrument(Collection<String> segments, Collection<String> instrumentTypes,
+                                  Consumer<InstrumentRow> consumer) {
+        if (segments.isEmpty()) {
+            return;
+        }
+        StringBuilder sql = new StringBuilder("SELECT i.instrument_key, i.expiry FROM instruments i ")
+                .append("WHERE i.segment IN (").append(placeholders(segments.size())).append(')');
+        List<Object> args = new ArrayList<>(segments);
+        if (!instrumentTypes.isEmpty()) {
+            sql.append(" AND i.instrument_type IN (").append(placeholders(instrumentTypes.size())).append(')');
+            args.addAll(instrumentTypes);
+        }
+
+        readTransaction.executeWithoutResult(status -> jdbcTemplate.query(sql.toString(), resultSet -> {
+            consumer.accept(new InstrumentRow(resultSet.getString(1), resultSet.getString(2)));
+        }, args.toArray()));
+    }
+
+    /**
+     * Newest daily bar date and average daily turnover of every instrument that has daily bars, from
+     * {@code latest_bar} so that no candle history is scanned
+     */
+    public Map<String, BarState> loadBarStates() {
+        Map<String, BarState> states = new HashMap<>();
+        jdbcTemplate.query(BAR_STATES, resultSet -> {
+            Timestamp timestamp = resultSet.getTimestamp(2);
+            double close = resultSet.getDouble(3);
+            double averageVolume = resultSet.getDouble(4);
+            states.put(resultSet.getString(1), new BarState(
+                    timestamp != null ? timestamp.toLocalDateTime().toLocalDate() : null,
+                    close * averageVolume, averageVolume));
+        });
+        return states;
+    }
+
+    /**
+     * Insert candles in chunks of the configured size, committing after every chunk; candles already stored are
+     * overwritten with the new values. Candles missing a price or the volume are skipped, so one bad bar from
+     * upstream does not fail its chunk.
+     *
+     * @param committed called with each chunk once it has committed, so a later failing chunk does not keep the
+     *                  earlier ones from being announced
+     * @return number of rows written
+     */
+    public int insertCandles(List<CandleData> all, Consumer<List<CandleData>> committed) {
+        List<CandleData> candles = complete(all);
+        int written = 0;
+        LocalDateTime now = LocalDateTime.now();
+        for (int from = 0; from < candles.size(); from += chunkSize) {
+            List<CandleData> chunk = List.copyOf(candles.subList(from, Math.min(candles.size(), from + chunkSize)));
+            Integer rows = writeTransaction.execute(status -> insertChunk(chunk, now));
+            written += rows != null ? rows : 0;
+            committed.accept(chunk);
+        }
+        return written;
+    }
+
+    /**
+     * Overwrite the values of a stored candle, identified by instrument, interval and timestamp
+     *
+     * @return whether the candle was found; false for a candle missing a price or the volume, which is not written
+     */
+    public boolean updateCandle(CandleData candle) {
+        if (complete(List.of(candle)).isEmpty()) {
+            return false;
+        }
+        Integer rows = writeTransaction.execute(status -> jdbcTemplate.update(UPDATE_CANDLE,
+                candle.getOpen(), candle.getHigh(), candle.getLow(), candle.getClose(), candle.getVolume(),
+                candle.getInstrumentKey(), candle.getInterval(), Timestamp.valueOf(candle.getTimestamp())));
+        return rows != null && rows > 0;
+    }
+
+    /**
+     * Instrument keys planned for the run, empty if no plan has been stored yet
+     */
+    public List<String> loadRunPlan(LocalDate runDate) {
+        return jdbcTemplate.queryForList(RUN_PLAN, String.class, Date.valueOf(runDate));
+    }
+
+    /**
+     * Store the instruments of a run in one transaction, so no node ever reads a partial plan, replacing the plans
+     * of earlier runs
+     *
+     * @return false if another node stored a plan for the run first
+     */
+    public boolean saveRunPlan(LocalDate runDate, Collection<String> instrumentKeys) {
+        Date run = Date.valueOf(runDate);
+        try {
+            writeTransaction.executeWithoutResult(status -> {
+                jdbcTemplate.update(DELETE_OLD_RUN_PLANS, run);
+                jdbcTemplate.batchUpdate(INSERT_RUN_INSTRUMENT, new ArrayList<>(instrumentKeys), chunkSize,
+                        (statement, instrumentKey) -> {
+                            statement.setDate(1, run);
+                            statement.setString(2, instrumentKey);
+                        });
+            });
+            return true;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    private static List<CandleData> complete(List<CandleData> candles) {
+        List<CandleData> complete = candles.stream().filter(LatestBarCalculator::isComplete).toList();
+        if (complete.size() < candles.size()) {
+            log.warn("Skipping {} candles of {} without a price or volume",
+                    candles.size() - complete.size(), candles.get(0).getInstrumentKey());
+        }
+        return complete;
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+
+    private int insertChunk(List<CandleData> chunk, LocalDateTime createdAt) {
+        Timestamp created = Timestamp.valueOf(createdAt);
+        jdbcTemplate.batchUpdate(INSERT_CANDLE, chunk, chunk.size(), (statement, candle) -> {
+            statement.setString(1, candle.getInstrumentKey());
+            statement.setString(2, candle.getInterval());
+            statement.setTimestamp(3, Timestamp.valueOf(candle.getTimestamp()));
+            statement.setDouble(4, candle.getOpen());
+            statement.setDouble(5, candle.getHigh());
+            statement.setDouble(6, candle.getLow());
+            statement.setDouble(7, candle.getClose());
+            statement.setLong(8, candle.getVolume());
+            statement.setTimestamp(9, created);
+        });
+        for (CandleData candle : chunk) {
+            candle.setCreatedAt(createdAt);
+        }
+        return chunk.size();
+    }
+
+    /**
+     * @param turnover      average daily traded value over the last 20 bars, zero when unknown
+     * @param averageVolume average daily traded volume over the same bars
+     */
+    public record BarState(LocalDate lastBarDate, double turnover, double averageVolume) {
+    }
+
+    /**
+     * @param expiry raw expiry of a derivative as stored in the instrument master, null for cash instruments
+     */
+    public record InstrumentRow(String instrumentKey, String expiry) {
+    }
+}
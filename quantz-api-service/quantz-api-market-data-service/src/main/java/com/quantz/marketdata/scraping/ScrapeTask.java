@@ -0,0 +1,11 @@
+package com.quantz.marketdata.scraping;
+
+import java.time.LocalDate;
+
+/**
+ * One instrument to scrape, with the priority it is scheduled by
+ *
+ * @param lastBarDate date of the newest stored daily bar, null if the instrument has none
+ */
+public record ScrapeTask(String instrumentKey, double priority, LocalDate lastBarDate) {
+}
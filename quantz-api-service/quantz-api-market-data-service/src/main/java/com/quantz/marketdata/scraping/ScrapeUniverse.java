@@ -0,0 +1,195 @@
+package com.quantz.marketdata.scraping;
+
+import com.quantz.marketdata.config.ScrapeUniverseProperties;
+import com.quantz.marketdata.entity.ScrapeBackoff;
+import com.quantz.marketdata.repository.ScrapeBackoffRepository;
+import com.quantz.marketdata.search.InstrumentExpiry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Decides the exact set of instruments a scrape run requests from Upstox.
+ * <p>
+ * An instrument is in the universe when any rule accepts it: its segment and instrument type match, a derivative has
+ * not expired and expires within the rule's window, and its 20-day average volume from {@code latest_bar} reaches the
+ * rule's minimum. An illiquid instrument is scraped again once its newest bar is older than the recheck period, so
+ * it returns to the universe when its volume recovers. Instruments that keep coming back without candles, such as
+ * suspended or delisted names, are left out for exponentially growing periods recorded in {@code scrape_backoff}.
+ * Watchlisted instruments are always in.
+ * <p>
+ * Skipping an instrument loses no bars that have history: runs resume every instrument from its newest stored bar.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ScrapeUniverse {
+
+    private final ScrapeStore scrapeStore;
+    private final ScrapeBackoffRepository backoffRepository;
+    private final ScrapeUniverseProperties properties;
+
+    // Backoff rows as of the latest selection, or recorded by this node since
+    private final Map<String, ScrapeBackoff> backoffs = new ConcurrentHashMap<>();
+
+    /**
+     * Instrument keys to scrape on the given day
+     *
+     * @param backfill the run reaches back more than a year and uses the backfill rules
+     */
+    public List<String> select(LocalDate today, boolean backfill) {
+        Map<String, ScrapeStore.BarState> states = scrapeStore.loadBarStates();
+        reloadBackoffs();
+
+        Set<String> selected = new LinkedHashSet<>();
+        Stats stats = new Stats();
+        for (ScrapeUniverseProperties.Rule rule : backfill ? properties.getBackfillRules() : properties.getRules()) {
+            scrapeStore.forEachInstrument(rule.getSegments(), rule.getInstrumentTypes(), row -> {
+                if (!selected.contains(row.instrumentKey())) {
+                    evaluate(rule, row, states.get(row.instrumentKey()), today, selected, stats);
+                }
+            });
+        }
+        int ruled = selected.size();
+        properties.getWatchlists().values().forEach(selected::addAll);
+
+        log.info("Scrape universe for {} has {} instruments from {} rules and {} from watchlists; skipped {} expired "
+                        + "or outside their expiry window, {} illiquid and {} backing off after empty responses",
+                today, selected.size(), ruled, selected.size() - ruled, stats.expired, stats.illiquid,
+                stats.backingOff);
+        return new ArrayList<>(selected);
+    }
+
+    /**
+     * Instrument keys of the named watchlists, in configuration order
+     *
+     * @throws IllegalArgumentException if a watchlist is not configured
+     */
+    public List<String> watchlistKeys(Collection<String> names) {
+        Set<String> keys = new LinkedHashSet<>();
+        for (String name : names) {
+            List<String> watchlist = properties.getWatchlists().get(name);
+            if (watchlist == null) {
+                throw new IllegalArgumentException("Unknown watchlist " + name);
+            }
+            keys.addAll(watchlist);
+        }
+        return new ArrayList<>(keys);
+    }
+
+    /**
+     * Record that Upstox returned no candles for the instrument on the given day; counted once per day
+     */
+    public void recordEmpty(String instrumentKey, LocalDate date) {
+        try {
+            // Read the stored row rather than this node's copy, which another node may have cleared since
+            ScrapeBackoff backoff = backoffRepository.findById(instrumentKey).orElseGet(() -> ScrapeBackoff.builder()
+                    .instrumentKey(instrumentKey)
+                    .consecutiveEmpty(0)
+                    .build());
+            if (date.equals(backoff.getLastEmptyDate())) {
+                return;
+            }
+            int consecutiveEmpty = backoff.getConsecutiveEmpty() + 1;
+            backoff.setConsecutiveEmpty(consecutiveEmpty);
+            backoff.setLastEmptyDate(date);
+            backoff.setRetryAfter(retryAfter(consecutiveEmpty, date, properties.getEmptyBackoff()));
+            backoffs.put(instrumentKey, backoffRepository.save(backoff));
+        } catch (DataAccessException e) {
+            log.warn("Could not record empty response for {}: {}", instrumentKey, e.getMessage());
+        }
+    }
+
+    /**
+     * Record that candles were stored for the instrument, which ends any backoff. The stored row is deleted even
+     * when this node has not loaded it: only the node selecting the universe reloads backoffs, and rows may have
+     * been written by another node or an earlier process.
+     */
+    public void recordCandles(String instrumentKey) {
+        backoffs.remove(instrumentKey);
+        try {
+            backoffRepository.deleteIfPresent(instrumentKey);
+        } catch (DataAccessException e) {
+            log.warn("Could not clear backoff of {}: {}", instrumentKey, e.getMessage());
+        }
+    }
+
+    /**
+     * First day an instrument is scraped again after its latest empty response; below the threshold it is not
+     * skipped at all, after that the pause doubles with every further empty response up to the maximum
+     */
+    static LocalDate retryAfter(int consecutiveEmpty, LocalDate lastEmptyDate,
+                                ScrapeUniverseProperties.Backoff backoff) {
+        if (consecutiveEmpty < backoff.getThreshold()) {
+            return lastEmptyDate;
+        }
+        int doublings = Math.min(30, consecutiveEmpty - backoff.getThreshold());
+        long days = Math.min(backoff.getMaxDays(), (long) backoff.getBaseDays() << doublings);
+        return lastEmptyDate.plusDays(days);
+    }
+
+    /**
+     * Whether a contract with the given expiry is scraped on the given day; instruments without an expiry always are
+     */
+    static boolean withinExpiryWindow(LocalDate expiry, LocalDate today, Integer expiryWithinDays) {
+        if (expiry == null) {
+            return true;
+        }
+        return !expiry.isBefore(today)
+                && (expiryWithinDays == null || !expiry.isAfter(today.plusDays(expiryWithinDays)));
+    }
+
+    /**
+     * Whether the instrument is left out for its volume. The average only changes when bars are stored, so the
+     * exclusion lasts until the newest bar is older than the recheck period; the instrument is then scraped again.
+     * Instruments without daily bars yet are never illiquid.
+     */
+    static boolean isIlliquid(ScrapeStore.BarState state, double minAvgVolume, LocalDate today, int recheckDays) {
+        return minAvgVolume > 0 && state != null && state.averageVolume() < minAvgVolume
+                && state.lastBarDate() != null && !state.lastBarDate().isBefore(today.minusDays(recheckDays));
+    }
+
+    private void evaluate(ScrapeUniverseProperties.Rule rule, ScrapeStore.InstrumentRow row,
+                          ScrapeStore.BarState state, LocalDate today, Set<String> selected, Stats stats) {
+        if (!withinExpiryWindow(InstrumentExpiry.parse(row.expiry()), today, rule.getExpiryWithinDays())) {
+            stats.expired++;
+        } else if (isIlliquid(state, rule.getMinAvgVolume(), today, properties.getIlliquidRecheckDays())) {
+            stats.illiquid++;
+        } else if (isBackingOff(row.instrumentKey(), today)) {
+            stats.backingOff++;
+        } else {
+            selected.add(row.instrumentKey());
+        }
+    }
+
+    private boolean isBackingOff(String instrumentKey, LocalDate today) {
+        ScrapeBackoff backoff = backoffs.get(instrumentKey);
+        return backoff != null && backoff.getRetryAfter().isAfter(today);
+    }
+
+    private void reloadBackoffs() {
+        backoffs.clear();
+        for (ScrapeBackoff backoff : backoffRepository.findAll()) {
+            backoffs.put(backoff.getInstrumentKey(), backoff);
+        }
+    }
+
+    /**
+     * Instruments a rule left out, by reason
+     */
+    private static final class Stats {
+        int expired;
+        int illiquid;
+        int backingOff;
+    }
+}
@@ -0,0 +1,53 @@
+package com.quantz.marketdata.screener;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A screener expression compiled to a class of its own over an evaluation row. The row starts with one
+ * column per {@link ScreenField}, followed by one column per referenced indicator output.
+ *
+ * @param evaluator        instance of the screen's hidden class, see {@link ScreenEvaluatorTemplate}
+ * @param indicatorColumns indicator outputs to load into the row, in column order after the fields
+ * @param referenced       label -> column of everything the expressions read, reported with each match
+ */
+public record CompiledScreen(String expression, Evaluator evaluator,
+                             List<IndicatorColumn> indicatorColumns, Map<String, Integer> referenced) {
+
+    public record IndicatorColumn(String spec, String output, int column) {
+    }
+
+    /**
+     * Filter and rank of one screen
+     */
+    public interface Evaluator {
+
+        boolean test(double[] row) throws Throwable;
+
+        double rank(double[] row) throws Throwable;
+    }
+
+    public int width() {
+        return ScreenField.values().length + indicatorColumns.size();
+    }
+
+    public List<String> indicatorSpecs() {
+        return indicatorColumns.stream().map(IndicatorColumn::spec).distinct().toList();
+    }
+
+    public boolean test(double[] row) {
+        try {
+            return evaluator.test(row);
+        } catch (Throwable e) {
+            throw new IllegalStateException("Error evaluating screen: " + expression, e);
+        }
+    }
+
+    public double rank(double[] row) {
+        try {
+            return evaluator.rank(row);
+        } catch (Throwable e) {
+            throw new IllegalStateException("Error ranking screen: " + expression, e);
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package com.quantz.marketdata.screener;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compiles screener syntax trees into a tree of {@link MethodHandle}s. Every leaf reads a row column or
+ * returns a constant, operators are static methods combined with argument filters, and AND / OR become
+ * {@link MethodHandles#guardWithTest} so they short-circuit.
+ * <p>
+ * A handle tree only inlines where the JIT sees it as a constant; invoked from a field of an ordinary
+ * object it runs through shared lambda forms. Each screen therefore gets a hidden class spun from
+ * {@link ScreenEvaluatorTemplate}, with the tree as class data in a static final, so its evaluation
+ * compiles to straight-line code. Hidden classes are unloaded once their screen is no longer referenced.
+ */
+public final class ScreenCompiler {
+
+    private static final MethodHandle ELEMENT = MethodHandles.arrayElementGetter(double[].class);
+    private static final MethodHandle TRUE = constant(boolean.class, true);
+    private static final MethodHandle FALSE = constant(boolean.class, false);
+    private static final byte[] EVALUATOR_TEMPLATE = evaluatorTemplate();
+
+    private final List<CompiledScreen.IndicatorColumn> indicatorColumns = new ArrayList<>();
+    private final Map<String, Integer> referenced = new LinkedHashMap<>();
+
+    private ScreenCompiler() {
+    }
+
+    /**
+     * @param rankBy numeric expression to rank matches by, or null to rank by volume
+     */
+    public static CompiledScreen compile(String expression, String rankBy) {
+        ScreenCompiler compiler = new ScreenCompiler();
+        MethodHandle filter = compiler.condition(ScreenExpressionParser.parse(expression));
+        MethodHandle rank = rankBy != null && !rankBy.isBlank()
+                ? compiler.number(ScreenExpressionParser.parse(rankBy))
+                : compiler.number(new ScreenNode.Field(ScreenField.VOLUME));
+        return new CompiledScreen(expression, evaluator(filter, rank), List.copyOf(compiler.indicatorColumns),
+                Map.copyOf(compiler.referenced));
+    }
+
+    /**
+     * Spin a hidden class holding the screen's handles as constants and instantiate it
+     */
+    private static CompiledScreen.Evaluator evaluator(MethodHandle filter, MethodHandle rank) {
+        try {
+            MethodHandles.Lookup screenClass = MethodHandles.lookup()
+                    .defineHiddenClassWithClassData(EVALUATOR_TEMPLATE, List.of(filter, rank), true);
+            return (CompiledScreen.Evaluator) screenClass
+                    .findConstructor(screenClass.lookupClass(), MethodType.methodType(void.class))
+                    .invoke();
+        } catch (Throwable e) {
+            throw new IllegalStateException("Error defining screen class", e);
+        }
+    }
+
+    private static byte[] evaluatorTemplate() {
+        String resource = ScreenEvaluatorTemplate.class.getSimpleName() + ".class";
+        try (InputStream in = ScreenCompiler.class.getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new IllegalStateException("Missing screen class template " + resource);
+            }
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private MethodHandle condition(ScreenNode node) {
+        if (node instanceof ScreenNode.Comparison comparison) {
+            return combine(Operators.comparison(comparison.operator()), number(comparison.left()), number(comparison.right()));
+        }
+        if (node instanceof ScreenNode.Logical logical) {
+            MethodHandle left = condition(logical.left());
+            MethodHandle right = condition(logical.right());
+            return logical.and()
+                    ? MethodHandles.guardWithTest(left, right, FALSE)
+                    : MethodHandles.guardWithTest(left, TRUE, right);
+        }
+        if (node instanceof ScreenNode.Not not) {
+            return MethodHandles.filterReturnValue(condition(not.operand()), Operators.NOT);
+        }
+        throw new IllegalArgumentException("Expected a condition but found a value: " + describe(node));
+    }
+
+    private MethodHandle number(ScreenNode node) {
+        if (node instanceof ScreenNode.Constant constant) {
+            return constant(double.class, constant.value());
+        }
+        if (node instanceof ScreenNode.Field field) {
+            referenced.putIfAbsent(field.field().label(), field.field().ordinal());
+            return column(field.field().ordinal());
+        }
+        if (node instanceof ScreenNode.IndicatorRef indicator) {
+            return column(indicatorColumn(indicator));
+        }
+        if (node instanceof ScreenNode.Negate negate) {
+            return MethodHandles.filterReturnValue(number(negate.operand()), Operators.NEGATE);
+        }
+        if (node instanceof ScreenNode.Arithmetic arithmetic) {
+            return combine(Operators.arithmetic(arithmetic.operator()), number(arithmetic.left()), number(arithmetic.right()));
+        }
+        throw new IllegalArgumentException("Expected a value but found a condition: " + describe(node));
+    }
+
+    private int indicatorColumn(ScreenNode.IndicatorRef indicator) {
+        String label = indicator.spec() + "." + indicator.output();
+        Integer existing = referenced.get(label);
+        if (existing != null) {
+            return existing;
+        }
+        int column = ScreenField.values().length + indicatorColumns.size();
+        indicatorColumns.add(new CompiledScreen.IndicatorColumn(indicator.spec(), indicator.output(), column));
+        referenced.put(label, column);
+        return column;
+    }
+
+    /**
+     * (double, double)R applied to two (double[])double handles, as a single (double[])R handle
+     */
+    private static MethodHandle combine(MethodHandle operator, MethodHandle left, MethodHandle right) {
+        MethodHandle both = MethodHandles.filterArguments(operator, 0, left, right);
+        return MethodHandles.permuteArguments(both,
+                MethodType.methodType(operator.type().returnType(), double[].class), 0, 0);
+    }
+
+    private static MethodHandle column(int index) {
+        return MethodHandles.insertArguments(ELEMENT, 1, index);
+    }
+
+    private static MethodHandle constant(Class<?> type, Object value) {
+        return MethodHandles.dropArguments(MethodHandles.constant(type, value), 0, double[].class);
+    }
+
+    private static String describe(ScreenNode node) {
+        return node.getClass().getSimpleName().toLowerCase();
+    }
+
+    /**
+     * Operator implementations; comparisons involving NaN (missing data) are false
+     */
+    static final class Operators {
+
+        static final MethodHandle NOT = find("not", boolean.class, boolean.class);
+        static final MethodHandle NEGATE = find("negate", double.class, double.class);
+
+        private static final Map<Character, MethodHandle> ARITHMETIC = Map.of(
+                '+', binary("add", double.class),
+                '-', binary("subtract", double.class),
+                '*', binary("multiply", double.class),
+                '/', binary("divide", double.class));
+
+        private static final Map<String, MethodHandle> COMPARISONS = Map.of(
+                "<", binary("lt", boolean.class),
+                "<=", binary("le", boolean.class),
+                ">", binary("gt", boolean.class),
+                ">=", binary("ge", boolean.class),
+                "==", binary("eq", boolean.class),
+                "!=", binary("ne", boolean.class));
+
+        private Operators() {
+        }
+
+        static MethodHandle arithmetic(char operator) {
+            return ARITHMETIC.get(operator);
+        }
+
+        static MethodHandle comparison(String operator) {
+            return COMPARISONS.get(operator);
+        }
+
+        static double add(double a, double b) {
+            return a + b;
+        }
+
+        static double subtract(double a, double b) {
+            return a - b;
+        }
+
+        static double multiply(double a, double b) {
+            return a * b;
+        }
+
+        static double divide(double a, double b) {
+            return a / b;
+        }
+
+        static double negate(double a) {
+            return -a;
+        }
+
+        static boolean lt(double a, double b) {
+            return a < b;
+        }
+
+        static boolean le(double a, double b) {
+            return a <= b;
+        }
+
+        static boolean gt(double a, double b) {
+            return a > b;
+        }
+
+        static boolean ge(double a, double b) {
+            return a >= b;
+        }
+
+        static boolean eq(double a, double b) {
+            return a == b;
+        }
+
+        static boolean ne(double a, double b) {
+            return !Double.isNaN(a) && !Double.isNaN(b) && a != b;
+        }
+
+        static boolean not(boolean value) {
+            return !value;
+        }
+
+        private static MethodHandle binary(String name, Class<?> returnType) {
+            return find(name, returnType, double.class, double.class);
+        }
+
+        private static MethodHandle find(String name, Class<?> returnType, Class<?>... parameters) {
+            try {
+                return MethodHandles.lookup().findStatic(Operators.class, name, MethodType.methodType(returnType, parameters));
+            } catch (ReflectiveOperationException e) {
+                throw new ExceptionInInitializerError(e);
+            }
+        }
+    }
+}
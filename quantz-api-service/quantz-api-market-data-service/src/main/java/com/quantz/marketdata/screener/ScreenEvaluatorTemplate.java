@@ -0,0 +1,37 @@
+package com.quantz.marketdata.screener;
+
+import java.lang.constant.ConstantDescs;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+
+/**
+ * Bytecode template of a compiled screen. {@link ScreenCompiler} defines a hidden class from this class's
+ * bytes for every screen, passing the screen's filter and rank handles as class data. Held in static finals
+ * of their own class, the handles are constants to the JIT, which inlines the whole handle tree into
+ * {@link #test} and {@link #rank}. Never loaded as an ordinary class, where it would have no class data.
+ */
+final class ScreenEvaluatorTemplate implements CompiledScreen.Evaluator {
+
+    private static final MethodHandle FILTER;
+    private static final MethodHandle RANK;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            FILTER = MethodHandles.classDataAt(lookup, ConstantDescs.DEFAULT_NAME, MethodHandle.class, 0);
+            RANK = MethodHandles.classDataAt(lookup, ConstantDescs.DEFAULT_NAME, MethodHandle.class, 1);
+        } catch (IllegalAccessException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    @Override
+    public boolean test(double[] row) throws Throwable {
+        return (boolean) FILTER.invokeExact(row);
+    }
+
+    @Override
+    public double rank(double[] row) throws Throwable {
+        return (double) RANK.invokeExact(row);
+    }
+}
@@ -0,0 +1,267 @@
+package com.quantz.marketdata.screener;
+
+import com.quantz.marketdata.indicators.Indicator;
+import com.quantz.marketdata.indicators.Indicators;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Recursive descent parser for screener expressions such as
+ * {@code RSI14 < 30 AND volume > 2 * avgVol20 AND close > SMA200}.
+ * <pre>
+ * or         := and (OR and)*
+ * and        := not (AND not)*
+ * not        := NOT not | comparison
+ * comparison := sum ((&lt; | &lt;= | &gt; | &gt;= | == | !=) sum)?
+ * sum        := product ((+ | -) product)*
+ * product    := unary ((* | /) unary)*
+ * unary      := - unary | primary
+ * primary    := number | ( or ) | reference
+ * reference  := field | NAME digits [. output] | NAME ( number, ... ) [. output]
+ * </pre>
+ * Fields are the {@link ScreenField} labels; any other reference names an indicator, so {@code SMA200}
+ * is {@code SMA:200} and {@code BB(20, 2).lower} is the lower band of {@code BB:20:2}.
+ * {@code &&}, {@code ||}, {@code !}, {@code =} and {@code ×} are accepted as aliases.
+ */
+public final class ScreenExpressionParser {
+
+    private static final Pattern INDICATOR_WITH_PERIOD = Pattern.compile("([A-Za-z]+)(\\d+)");
+
+    private final List<String> tokens;
+    private final String expression;
+    private int position;
+
+    private ScreenExpressionParser(String expression) {
+        this.expression = expression;
+        this.tokens = tokenize(expression);
+    }
+
+    /**
+     * @throws IllegalArgumentException if the expression is malformed or references an unknown indicator
+     */
+    public static ScreenNode parse(String expression) {
+        ScreenExpressionParser parser = new ScreenExpressionParser(expression);
+        ScreenNode node = parser.parseOr();
+        if (parser.position < parser.tokens.size()) {
+            throw parser.error("Unexpected '" + parser.peek() + "'");
+        }
+        return node;
+    }
+
+    private ScreenNode parseOr() {
+        ScreenNode left = parseAnd();
+        while (matchKeyword("OR") || match("||")) {
+            left = new ScreenNode.Logical(false, left, parseAnd());
+        }
+        return left;
+    }
+
+    private ScreenNode parseAnd() {
+        ScreenNode left = parseNot();
+        while (matchKeyword("AND") || match("&&")) {
+            left = new ScreenNode.Logical(true, left, parseNot());
+        }
+        return left;
+    }
+
+    private ScreenNode parseNot() {
+        if (matchKeyword("NOT") || match("!")) {
+            return new ScreenNode.Not(parseNot());
+        }
+        return parseComparison();
+    }
+
+    private ScreenNode parseComparison() {
+        ScreenNode left = parseSum();
+        for (String operator : List.of("<=", ">=", "==", "!=", "<", ">", "=")) {
+            if (match(operator)) {
+                return new ScreenNode.Comparison("=".equals(operator) ? "==" : operator, left, parseSum());
+            }
+        }
+        return left;
+    }
+
+    private ScreenNode parseSum() {
+        ScreenNode left = parseProduct();
+        while (true) {
+            if (match("+")) {
+                left = new ScreenNode.Arithmetic('+', left, parseProduct());
+            } else if (match("-")) {
+                left = new ScreenNode.Arithmetic('-', left, parseProduct());
+            } else {
+                return left;
+            }
+        }
+    }
+
+    private ScreenNode parseProduct() {
+        ScreenNode left = parseUnary();
+        while (true) {
+            if (match("*") || match("×")) {
+                left = new ScreenNode.Arithmetic('*', left, parseUnary());
+            } else if (match("/")) {
+                left = new ScreenNode.Arithmetic('/', left, parseUnary());
+            } else {
+                return left;
+            }
+        }
+    }
+
+    private ScreenNode parseUnary() {
+        if (match("-")) {
+            return new ScreenNode.Negate(parseUnary());
+        }
+        return parsePrimary();
+    }
+
+    private ScreenNode parsePrimary() {
+        String token = peek();
+        if (token == null) {
+            throw error("Unexpected end of expression");
+        }
+        if (match("(")) {
+            ScreenNode inner = parseOr();
+            expect(")");
+            return inner;
+        }
+        if (isNumber(token)) {
+            position++;
+            return new ScreenNode.Constant(Double.parseDouble(token));
+        }
+        if (isIdentifier(token)) {
+            position++;
+            return parseReference(token);
+        }
+        throw error("Unexpected '" + token + "'");
+    }
+
+    private ScreenNode parseReference(String name) {
+        if (!"(".equals(peek()) && !".".equals(peek())) {
+            var field = ScreenField.byLabel(name);
+            if (field.isPresent()) {
+                return new ScreenNode.Field(field.get());
+            }
+        }
+
+        StringBuilder spec = new StringBuilder();
+        if (match("(")) {
+            spec.append(name);
+            do {
+                String argument = peek();
+                if (argument == null || !isNumber(argument)) {
+                    throw error("Expected a number in the arguments of " + name);
+                }
+                position++;
+                spec.append(':').append(argument);
+            } while (match(","));
+            expect(")");
+        } else {
+            Matcher matcher = INDICATOR_WITH_PERIOD.matcher(name);
+            if (matcher.matches()) {
+                spec.append(matcher.group(1)).append(':').append(matcher.group(2));
+            } else {
+                spec.append(name);
+            }
+        }
+
+        Indicator indicator;
+        try {
+            indicator = Indicators.create(spec.toString());
+        } catch (IllegalArgumentException e) {
+            throw error("Unknown field or indicator '" + name + "'");
+        }
+
+        String output = indicator.outputs().get(0);
+        if (match(".")) {
+            String requested = peek();
+            if (requested == null || !isIdentifier(requested)) {
+                throw error("Expected an output name after '.'");
+            }
+            position++;
+            output = indicator.outputs().stream()
+                    .filter(candidate -> candidate.equalsIgnoreCase(requested))
+                    .findFirst()
+                    .orElseThrow(() -> error(indicator.spec() + " has no output '" + requested
+                            + "', expected one of " + indicator.outputs()));
+        }
+        return new ScreenNode.IndicatorRef(indicator.spec(), output);
+    }
+
+    private boolean matchKeyword(String keyword) {
+        String token = peek();
+        if (token != null && token.toUpperCase(Locale.ROOT).equals(keyword)) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+    private boolean match(String symbol) {
+        if (symbol.equals(peek())) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+    private void expect(String symbol) {
+        if (!match(symbol)) {
+            throw error("Expected '" + symbol + "'");
+        }
+    }
+
+    private String peek() {
+        return position < tokens.size() ? tokens.get(position) : null;
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException(message + " in expression: " + expression);
+    }
+
+    private static boolean isNumber(String token) {
+        return Character.isDigit(token.charAt(0)) || token.charAt(0) == '.' && token.length() > 1;
+    }
+
+    private static boolean isIdentifier(String token) {
+        return Character.isLetter(token.charAt(0)) || token.charAt(0) == '_';
+    }
+
+    private static List<String> tokenize(String expression) {
+        List<String> tokens = new ArrayList<>();
+        int i = 0;
+        while (i < expression.length()) {
+            char c = expression.charAt(i);
+            if (Character.isWhitespace(c)) {
+                i++;
+            } else if (Character.isDigit(c) || c == '.' && i + 1 < expression.length()
+                    && Character.isDigit(expression.charAt(i + 1))) {
+                int start = i;
+                while (i < expression.length() && (Character.isDigit(expression.charAt(i)) || expression.charAt(i) == '.')) {
+                    i++;
+                }
+                tokens.add(expression.substring(start, i));
+            } else if (Character.isLetter(c) || c == '_') {
+                int start = i;
+                while (i < expression.length()
+                        && (Character.isLetterOrDigit(expression.charAt(i)) || expression.charAt(i) == '_')) {
+                    i++;
+                }
+                tokens.add(expression.substring(start, i));
+            } else if (i + 1 < expression.length() && List.of("<=", ">=", "==", "!=", "&&", "||")
+                    .contains(expression.substring(i, i + 2))) {
+                tokens.add(expression.substring(i, i + 2));
+                i += 2;
+            } else if ("<>=!+-*/×().,".indexOf(c) >= 0) {
+                tokens.add(String.valueOf(c));
+                i++;
+            } else {
+                throw new IllegalArgumentException("Unexpected character '" + c + "' in expression: " + expression);
+            }
+        }
+        return tokens;
+    }
+}
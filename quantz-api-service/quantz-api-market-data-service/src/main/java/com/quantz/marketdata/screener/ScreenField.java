@@ -0,0 +1,60 @@
+package com.quantz.marketdata.screener;
+
+import com.quantz.marketdata.entity.LatestBar;
+
+import java.util.Locale;
+import java.util.Optional;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Latest-bar fields available to screener expressions; the ordinal is the column in an evaluation row
+ */
+public enum ScreenField {
+
+    OPEN("open", bar -> value(bar.getOpen())),
+    HIGH("high", bar -> value(bar.getHigh())),
+    LOW("low", bar -> value(bar.getLow())),
+    CLOSE("close", bar -> value(bar.getClose())),
+    VOLUME("volume", bar -> bar.getVolume() != null ? bar.getVolume() : Double.NaN),
+    PREV_CLOSE("prevClose", bar -> value(bar.getPrevClose())),
+    CHANGE_PCT("changePct", bar -> bar.getClose() != null && bar.getPrevClose() != null
+            && bar.getPrevClose() != 0 ? (bar.getClose() / bar.getPrevClose() - 1) * 100 : Double.NaN),
+    HIGH_52W("high52w", bar -> value(bar.getHigh52Week())),
+    LOW_52W("low52w", bar -> value(bar.getLow52Week())),
+    AVG_VOL_20("avgVol20", bar -> value(bar.getAverageVolume20Day()));
+
+    private final String label;
+    private final ToDoubleFunction<LatestBar> accessor;
+
+    ScreenField(String label, ToDoubleFunction<LatestBar> accessor) {
+        this.label = label;
+        this.accessor = accessor;
+    }
+
+    public String label() {
+        return label;
+    }
+
+    public static Optional<ScreenField> byLabel(String name) {
+        String folded = name.toLowerCase(Locale.ROOT);
+        for (ScreenField field : values()) {
+            if (field.label.toLowerCase(Locale.ROOT).equals(folded)) {
+                return Optional.of(field);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Write every field of the bar into the first columns of the row
+     */
+    public static void fill(LatestBar bar, double[] row) {
+        for (ScreenField field : values()) {
+            row[field.ordinal()] = field.accessor.applyAsDouble(bar);
+        }
+    }
+
+    private static double value(Double value) {
+        return value != null ? value : Double.NaN;
+    }
+}
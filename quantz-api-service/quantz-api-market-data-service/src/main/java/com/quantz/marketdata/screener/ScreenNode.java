@@ -0,0 +1,37 @@
+package com.quantz.marketdata.screener;
+
+/**
+ * Syntax tree of a screener expression
+ */
+public sealed interface ScreenNode {
+
+    record Constant(double value) implements ScreenNode {
+    }
+
+    /**
+     * A latest-bar field such as {@code close} or {@code avgVol20}
+     */
+    record Field(ScreenField field) implements ScreenNode {
+    }
+
+    /**
+     * One output of an indicator, e.g. spec {@code RSI:14} and output {@code rsi}
+     */
+    record IndicatorRef(String spec, String output) implements ScreenNode {
+    }
+
+    record Negate(ScreenNode operand) implements ScreenNode {
+    }
+
+    record Arithmetic(char operator, ScreenNode left, ScreenNode right) implements ScreenNode {
+    }
+
+    record Comparison(String operator, ScreenNode left, ScreenNode right) implements ScreenNode {
+    }
+
+    record Logical(boolean and, ScreenNode left, ScreenNode right) implements ScreenNode {
+    }
+
+    record Not(ScreenNode operand) implements ScreenNode {
+    }
+}
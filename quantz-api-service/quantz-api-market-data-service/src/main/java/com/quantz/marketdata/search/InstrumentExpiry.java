@@ -0,0 +1,37 @@
+package com.quantz.marketdata.search;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Parses the {@code expiry} column of the instrument master. Upstox publishes it as epoch milliseconds
+ * in the JSON masters and as an ISO date in older CSV dumps, so both forms are accepted.
+ */
+public final class InstrumentExpiry {
+
+    private static final ZoneId EXCHANGE_ZONE = ZoneId.of("Asia/Kolkata");
+
+    private InstrumentExpiry() {
+    }
+
+    /**
+     * @return the expiry date in exchange time, or null when the value is missing or unparseable
+     */
+    public static LocalDate parse(String expiry) {
+        if (expiry == null || expiry.isBlank()) {
+            return null;
+        }
+
+        String value = expiry.trim();
+        try {
+            if (value.chars().allMatch(Character::isDigit)) {
+                return Instant.ofEpochMilli(Long.parseLong(value)).atZone(EXCHANGE_ZONE).toLocalDate();
+            }
+            return LocalDate.parse(value.length() > 10 ? value.substring(0, 10) : value);
+        } catch (NumberFormatException | DateTimeParseException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,302 @@
+package com.quantz.marketdata.search;
+
+import com.quantz.marketdata.entity.Instrument;
+import com.quantz.marketdata.event.InstrumentMasterRefreshedEvent;
+import com.quantz.marketdata.event.InstrumentsUpdatedEvent;
+import com.quantz.marketdata.model.InstrumentQuery;
+import com.quantz.marketdata.optionchain.OptionChainIndex;
+import com.quantz.marketdata.repository.InstrumentRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.IntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * In-memory instrument query engine over the instrument master.
+ * <p>
+ * Every instrument gets a dense ordinal, and each filterable attribute (exchange, segment, instrument type,
+ * option type, expiry date and strike bucket) keeps one compressed Roaring bitmap per distinct value.
+ * A query ORs the bitmaps of the requested values within a field and ANDs the fields together, so
+ * combinations such as "NSE_FO CE options expiring this week with strike 22000-23000" are answered by
+ * bitmap intersection without touching the database.
+ * <p>
+ * The engine owns the refresh of the instrument views: it reloads the master once per change and hands the
+ * same list to {@link InstrumentSearchIndex} and {@link OptionChainIndex}. Snapshots are immutable and swapped
+ * in atomically.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class InstrumentQueryEngine {
+
+    private final InstrumentRepository instrumentRepository;
+    private final InstrumentSearchIndex searchIndex;
+    private final OptionChainIndex optionChainIndex;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${quantz.search.strike-bucket-width:50}")
+    private double strikeBucketWidth = 50;
+
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    @Async
+    @EventListener({ApplicationReadyEvent.class, InstrumentsUpdatedEvent.class})
+    public void onInstrumentsChanged() {
+        rebuild();
+    }
+
+    /**
+     * Reload the instrument master and rebuild the bitmap indexes, the search index and the option chains from it
+     */
+    public synchronized void rebuild() {
+        try {
+            long start = System.nanoTime();
+            List<Instrument> instruments = instrumentRepository.findAll();
+            index(instruments);
+            searchIndex.rebuild(instruments);
+            optionChainIndex.rebuild(instruments);
+            log.info("Instrument query engine rebuilt with {} instruments in {} ms",
+                    instruments.size(), (System.nanoTime() - start) / 1_000_000);
+            eventPublisher.publishEvent(new InstrumentMasterRefreshedEvent(instruments));
+        } catch (Exception e) {
+            log.error("Error rebuilding instrument query engine: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Build the bitmap indexes for the given instruments and swap them in
+     */
+    public void index(List<Instrument> instruments) {
+        snapshot = Snapshot.build(instruments, strikeBucketWidth);
+    }
+
+    public boolean isReady() {
+        return snapshot.size() > 0;
+    }
+
+    public Optional<Instrument> findByKey(String instrumentKey) {
+        Snapshot current = snapshot;
+        Integer ordinal = current.ordinalByKey.get(instrumentKey);
+        return ordinal != null ? Optional.of(current.instruments[ordinal]) : Optional.empty();
+    }
+
+    /**
+     * Instruments matching every populated field of the query, in instrument master order,
+     * or in search rank order when a search term is present
+     */
+    public List<Instrument> query(InstrumentQuery query) {
+        Snapshot current = snapshot;
+        RoaringBitmap matches = current.evaluate(query);
+        int limit = query.getLimit() != null && query.getLimit() > 0 ? query.getLimit() : Integer.MAX_VALUE;
+
+        if (StringUtils.hasText(query.getSearch())) {
+            Predicate<Instrument> inMatches = instrument -> {
+                Integer ordinal = current.ordinalByKey.get(instrument.getInstrumentKey());
+                return ordinal != null && matches.contains(ordinal);
+            };
+            return query.getLimit() != null
+                    ? searchIndex.search(query.getSearch(), Math.min(limit, current.size()), inMatches)
+                    : searchIndex.search(query.getSearch(), inMatches);
+        }
+
+        List<Instrument> results = new ArrayList<>(Math.min(limit, matches.getCardinality()));
+        IntIterator iterator = matches.getIntIterator();
+        while (iterator.hasNext() && results.size() < limit) {
+            results.add(current.instruments[iterator.next()]);
+        }
+        return results;
+    }
+
+    /**
+     * Immutable bitmap index state; bitmaps hold instrument ordinals
+     */
+    private static final class Snapshot {
+
+        static final Snapshot EMPTY = build(Collections.emptyList(), 50);
+
+        final Instrument[] instruments;
+        final Map<String, Integer> ordinalByKey;
+        final Map<String, RoaringBitmap> byExchange;
+        final Map<String, RoaringBitmap> bySegment;
+        final Map<String, RoaringBitmap> byInstrumentType;
+        final Map<String, RoaringBitmap> byOptionType;
+        final NavigableMap<LocalDate, RoaringBitmap> byExpiry;
+        final NavigableMap<Long, RoaringBitmap> byStrikeBucket;
+        final double[] strikes;
+        final double bucketWidth;
+
+        private Snapshot(Instrument[] instruments, Map<String, Integer> ordinalByKey,
+                         Map<String, RoaringBitmap> byExchange, Map<String, RoaringBitmap> bySegment,
+                         Map<String, RoaringBitmap> byInstrumentType, Map<String, RoaringBitmap> byOptionType,
+                         NavigableMap<LocalDate, RoaringBitmap> byExpiry, NavigableMap<Long, RoaringBitmap> byStrikeBucket,
+                         double[] strikes, double bucketWidth) {
+            this.instruments = instruments;
+            this.ordinalByKey = ordinalByKey;
+            this.byExchange = byExchange;
+            this.bySegment = bySegment;
+            this.byInstrumentType = byInstrumentType;
+            this.byOptionType = byOptionType;
+            this.byExpiry = byExpiry;
+            this.byStrikeBucket = byStrikeBucket;
+            this.strikes = strikes;
+            this.bucketWidth = bucketWidth;
+        }
+
+        int size() {
+            return instruments.length;
+        }
+
+        static Snapshot build(List<Instrument> source, double bucketWidth) {
+            int size = source.size();
+            Instrument[] instruments = source.toArray(new Instrument[0]);
+            Map<String, Integer> ordinalByKey = new HashMap<>(size * 2);
+            Map<String, RoaringBitmap> byExchange = new HashMap<>();
+            Map<String, RoaringBitmap> bySegment = new HashMap<>();
+            Map<String, RoaringBitmap> byInstrumentType = new HashMap<>();
+            Map<String, RoaringBitmap> byOptionType = new HashMap<>();
+            NavigableMap<LocalDate, RoaringBitmap> byExpiry = new TreeMap<>();
+            NavigableMap<Long, RoaringBitmap> byStrikeBucket = new TreeMap<>();
+            double[] strikes = new double[size];
+
+            for (int ordinal = 0; ordinal < size; ordinal++) {
+                Instrument instrument = instruments[ordinal];
+                ordinalByKey.put(instrument.getInstrumentKey(), ordinal);
+                addTo(byExchange, instrument.getExchange(), ordinal);
+                addTo(bySegment, instrument.getSegment(), ordinal);
+                addTo(byInstrumentType, instrument.getInstrumentType(), ordinal);
+                addTo(byOptionType, instrument.getOptionType(), ordinal);
+
+                LocalDate expiry = InstrumentExpiry.parse(instrument.getExpiry());
+                if (expiry != null) {
+                    byExpiry.computeIfAbsent(expiry, key -> new RoaringBitmap()).add(ordinal);
+                }
+
+                Double strike = instrument.getStrike();
+                strikes[ordinal] = strike != null ? strike : Double.NaN;
+                if (strike != null && strike > 0) {
+                    byStrikeBucket.computeIfAbsent(bucketOf(strike, bucketWidth), key -> new RoaringBitmap()).add(ordinal);
+                }
+            }
+
+            Stream.of(byExchange, bySegment, byInstrumentType, byOptionType)
+                    .forEach(index -> index.values().forEach(RoaringBitmap::runOptimize));
+            byExpiry.values().forEach(RoaringBitmap::runOptimize);
+            byStrikeBucket.values().forEach(RoaringBitmap::runOptimize);
+
+            return new Snapshot(instruments, ordinalByKey, byExchange, bySegment, byInstrumentType, byOptionType,
+                    byExpiry, byStrikeBucket, strikes, bucketWidth);
+        }
+
+        RoaringBitmap evaluate(InstrumentQuery query) {
+            List<RoaringBitmap> clauses = new ArrayList<>();
+            addValueClause(clauses, byExchange, query.getExchange());
+            addValueClause(clauses, bySegment, query.getSegment());
+            addValueClause(clauses, byInstrumentType, query.getInstrumentType());
+            addValueClause(clauses, byOptionType, query.getOptionType());
+
+            if (query.getExpiryFrom() != null || query.getExpiryTo() != null) {
+                LocalDate from = query.getExpiryFrom() != null ? query.getExpiryFrom() : LocalDate.MIN;
+                LocalDate to = query.getExpiryTo() != null ? query.getExpiryTo() : LocalDate.MAX;
+                clauses.add(from.isAfter(to) ? new RoaringBitmap() : union(byExpiry.subMap(from, true, to, true).values()));
+            }
+
+            if (query.getStrikeMin() != null || query.getStrikeMax() != null) {
+                double min = query.getStrikeMin() != null ? query.getStrikeMin() : 0;
+                double max = query.getStrikeMax() != null ? query.getStrikeMax() : Double.MAX_VALUE;
+                clauses.add(strikeRange(min, max));
+            }
+
+            if (clauses.isEmpty()) {
+                return RoaringBitmap.bitmapOfRange(0, size());
+            }
+
+            // Intersect the most selective clause first so later ANDs work on the smallest bitmaps
+            clauses.sort(Comparator.comparingInt(RoaringBitmap::getCardinality));
+            RoaringBitmap result = clauses.get(0).clone();
+            for (int i = 1; i < clauses.size() && !result.isEmpty(); i++) {
+                result.and(clauses.get(i));
+            }
+            return result;
+        }
+
+        /**
+         * Union of every bucket overlapping [min, max]; only the two edge buckets need exact strike checks
+         */
+        private RoaringBitmap strikeRange(double min, double max) {
+            if (min > max) {
+                return new RoaringBitmap();
+            }
+
+            long firstBucket = bucketOf(min, bucketWidth);
+            long lastBucket = bucketOf(Math.min(max, Long.MAX_VALUE / 2.0), bucketWidth);
+            NavigableMap<Long, RoaringBitmap> overlapping = byStrikeBucket.subMap(firstBucket, true, lastBucket, true);
+
+            List<RoaringBitmap> inner = new ArrayList<>();
+            RoaringBitmap edges = new RoaringBitmap();
+            overlapping.forEach((bucket, ordinals) -> {
+                if (bucket == firstBucket || bucket == lastBucket) {
+                    ordinals.forEach((int ordinal) -> {
+                        if (strikes[ordinal] >= min && strikes[ordinal] <= max) {
+                            edges.add(ordinal);
+                        }
+                    });
+                } else {
+                    inner.add(ordinals);
+                }
+            });
+
+            inner.add(edges);
+            return union(inner);
+        }
+
+        private void addValueClause(List<RoaringBitmap> clauses, Map<String, RoaringBitmap> index, List<String> values) {
+            List<String> requested = normalize(values);
+            if (requested.isEmpty()) {
+                return;
+            }
+            clauses.add(union(requested.stream()
+                    .map(value -> index.getOrDefault(value, new RoaringBitmap()))
+                    .toList()));
+        }
+
+        private static List<String> normalize(List<String> values) {
+            if (values == null) {
+                return Collections.emptyList();
+            }
+            return values.stream()
+                    .filter(StringUtils::hasText)
+                    .flatMap(value -> Arrays.stream(value.split(",")))
+                    .map(String::trim)
+                    .filter(StringUtils::hasText)
+                    .distinct()
+                    .toList();
+        }
+
+        private static RoaringBitmap union(Collection<RoaringBitmap> bitmaps) {
+            return bitmaps.isEmpty() ? new RoaringBitmap() : FastAggregation.or(bitmaps.iterator());
+        }
+
+        private static void addTo(Map<String, RoaringBitmap> index, String value, int ordinal) {
+            if (value != null) {
+                index.computeIfAbsent(value, key -> new RoaringBitmap()).add(ordinal);
+            }
+        }
+
+        private static long bucketOf(double strike, double bucketWidth) {
+            return (long) Math.floor(strike / bucketWidth);
+        }
+    }
+}
@@ -0,0 +1,347 @@
+package com.quantz.marketdata.search;
+
+import com.quantz.marketdata.entity.Instrument;
+import com.quantz.marketdata.repository.CandleDataRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * In-process typeahead index over the instrument master.
+ * <p>
+ * Symbols and names are case-folded and broken into trigrams; a query is answered by intersecting
+ * the posting lists of its trigrams and verifying the survivors, so no database round trip is made.
+ * Queries shorter than a trigram use binary search over symbol and name arrays sorted for prefix lookup.
+ * Matches are ranked exact symbol &gt; symbol prefix &gt; name prefix &gt; substring, then by liquidity.
+ * <p>
+ * The index is rebuilt together with {@link InstrumentQueryEngine} whenever the instrument master changes
+ * and swapped in with a single volatile write, so readers always see a complete snapshot.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class InstrumentSearchIndex {
+
+    private static final int GRAM = 3;
+    private static final int LIQUIDITY_LOOKBACK_DAYS = 30;
+    private static final String LIQUIDITY_INTERVAL = "1d";
+
+    private static final int RANK_EXACT_SYMBOL = 0;
+    private static final int RANK_SYMBOL_PREFIX = 1;
+    private static final int RANK_NAME_PREFIX = 2;
+    private static final int RANK_SUBSTRING = 3;
+
+    private final CandleDataRepository candleDataRepository;
+
+    @Value("${quantz.search.max-results:100}")
+    private int maxResults = 100;
+
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    /**
+     * Index the given instrument master, with liquidity loaded from recent daily candles
+     */
+    public void rebuild(List<Instrument> instruments) {
+        try {
+            long start = System.nanoTime();
+            Map<String, Double> liquidity = loadLiquidity();
+            index(instruments, liquidity);
+            log.info("Instrument search index rebuilt with {} instruments in {} ms",
+                    instruments.size(), (System.nanoTime() - start) / 1_000_000);
+        } catch (Exception e) {
+            log.error("Error rebuilding instrument search index: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Build a new snapshot from the given instruments and swap it in
+     *
+     * @param liquidity average traded volume per instrument key, used to break ties within a rank
+     */
+    public void index(List<Instrument> instruments, Map<String, Double> liquidity) {
+        snapshot = Snapshot.build(instruments, liquidity);
+    }
+
+    public boolean isReady() {
+        return snapshot.size() > 0;
+    }
+
+    public List<Instrument> search(String term) {
+        return search(term, maxResults, instrument -> true);
+    }
+
+    public List<Instrument> search(String term, Predicate<Instrument> filter) {
+        return search(term, maxResults, filter);
+    }
+
+    /**
+     * Ranked instruments whose symbol or name contains the term, case-insensitively,
+     * restricted to those accepted by the filter
+     */
+    public List<Instrument> search(String term, int limit, Predicate<Instrument> filter) {
+        Snapshot current = snapshot;
+        String query = fold(term);
+        if (query.isEmpty() || current.size() == 0 || limit <= 0) {
+            return Collections.emptyList();
+        }
+
+        int[] candidates = query.length() >= GRAM
+                ? current.trigramCandidates(query)
+                : current.prefixCandidates(query);
+
+        PriorityQueue<Match> best = new PriorityQueue<>(Comparator.reverseOrder());
+        for (int ordinal : candidates) {
+            int rank = current.rank(ordinal, query);
+            if (rank < 0 || !filter.test(current.instruments[ordinal])) {
+                continue;
+            }
+            Match match = new Match(ordinal, rank, current.liquidity[ordinal], current.symbols[ordinal]);
+            if (best.size() < limit) {
+                best.add(match);
+            } else if (match.compareTo(best.peek()) < 0) {
+                best.poll();
+                best.add(match);
+            }
+        }
+
+        List<Match> ranked = new ArrayList<>(best);
+        Collections.sort(ranked);
+
+        List<Instrument> results = new ArrayList<>(ranked.size());
+        for (Match match : ranked) {
+            results.add(current.instruments[match.ordinal]);
+        }
+        return results;
+    }
+
+    private Map<String, Double> loadLiquidity() {
+        Map<String, Double> liquidity = new HashMap<>();
+        LocalDateTime since = LocalDateTime.now().minusDays(LIQUIDITY_LOOKBACK_DAYS);
+        for (Object[] row : candleDataRepository.findAverageVolumeSince(LIQUIDITY_INTERVAL, since)) {
+            if (row[0] != null && row[1] != null) {
+                liquidity.put((String) row[0], ((Number) row[1]).doubleValue());
+            }
+        }
+        return liquidity;
+    }
+
+    static String fold(String value) {
+        return value == null ? "" : value.trim().toUpperCase(Locale.ROOT);
+    }
+
+    /**
+     * Candidate ordering: lower rank first, then higher liquidity, then shorter and alphabetical symbol
+     */
+    private record Match(int ordinal, int rank, double liquidity, String symbol) implements Comparable<Match> {
+        @Override
+        public int compareTo(Match other) {
+            int result = Integer.compare(rank, other.rank);
+            if (result == 0) {
+                result = Double.compare(other.liquidity, liquidity);
+            }
+            if (result == 0) {
+                result = Integer.compare(symbol.length(), other.symbol.length());
+            }
+            if (result == 0) {
+                result = symbol.compareTo(other.symbol);
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Immutable index state; all arrays are indexed by instrument ordinal
+     */
+    private static final class Snapshot {
+
+        static final Snapshot EMPTY = new Snapshot(new Instrument[0], new String[0], new String[0],
+                new double[0], Collections.emptyMap(), new int[0], new int[0]);
+
+        final Instrument[] instruments;
+        final String[] symbols;
+        final String[] names;
+        final double[] liquidity;
+        final Map<String, int[]> postings;
+        final int[] bySymbol;
+        final int[] byName;
+
+        private Snapshot(Instrument[] instruments, String[] symbols, String[] names, double[] liquidity,
+                         Map<String, int[]> postings, int[] bySymbol, int[] byName) {
+            this.instruments = instruments;
+            this.symbols = symbols;
+            this.names = names;
+            this.liquidity = liquidity;
+            this.postings = postings;
+            this.bySymbol = bySymbol;
+            this.byName = byName;
+        }
+
+        int size() {
+            return instruments.length;
+        }
+
+        static Snapshot build(List<Instrument> source, Map<String, Double> liquidityByKey) {
+            int size = source.size();
+            Instrument[] instruments = source.toArray(new Instrument[0]);
+            String[] symbols = new String[size];
+            String[] names = new String[size];
+            double[] liquidity = new double[size];
+            Map<String, IntList> postingLists = new HashMap<>();
+
+            Set<String> grams = new HashSet<>();
+            for (int ordinal = 0; ordinal < size; ordinal++) {
+                Instrument instrument = instruments[ordinal];
+                symbols[ordinal] = fold(instrument.getTradingSymbol());
+                names[ordinal] = fold(instrument.getName());
+                liquidity[ordinal] = liquidityByKey.getOrDefault(instrument.getInstrumentKey(), 0.0);
+
+                grams.clear();
+                addTrigrams(symbols[ordinal], grams);
+                addTrigrams(names[ordinal], grams);
+                for (String gram : grams) {
+                    postingLists.computeIfAbsent(gram, key -> new IntList()).add(ordinal);
+                }
+            }
+
+            Map<String, int[]> postings = new HashMap<>(postingLists.size() * 2);
+            postingLists.forEach((gram, list) -> postings.put(gram, list.toArray()));
+
+            return new Snapshot(instruments, symbols, names, liquidity, postings,
+                    sortedOrdinals(symbols), sortedOrdinals(names));
+        }
+
+        /**
+         * Ordinals present in every posting list of the query's trigrams, intersected smallest first
+         */
+        int[] trigramCandidates(String query) {
+            Set<String> grams = new HashSet<>();
+            addTrigrams(query, grams);
+
+            List<int[]> lists = new ArrayList<>(grams.size());
+            for (String gram : grams) {
+                int[] list = postings.get(gram);
+                if (list == null) {
+                    return new int[0];
+                }
+                lists.add(list);
+            }
+            lists.sort(Comparator.comparingInt(list -> list.length));
+
+            int[] result = lists.get(0);
+            for (int i = 1; i < lists.size() && result.length > 0; i++) {
+                result = intersect(result, lists.get(i));
+            }
+            return result;
+        }
+
+        /**
+         * Ordinals whose symbol or name starts with the query
+         */
+        int[] prefixCandidates(String query) {
+            BitSet result = new BitSet(size());
+            collectPrefix(bySymbol, symbols, query, result);
+            collectPrefix(byName, names, query, result);
+            return result.stream().toArray();
+        }
+
+        /**
+         * Rank of a candidate for the query, or -1 if it does not actually match
+         */
+        int rank(int ordinal, String query) {
+            String symbol = symbols[ordinal];
+            String name = names[ordinal];
+            if (symbol.equals(query)) {
+                return RANK_EXACT_SYMBOL;
+            }
+            if (symbol.startsWith(query)) {
+                return RANK_SYMBOL_PREFIX;
+            }
+            if (name.startsWith(query)) {
+                return RANK_NAME_PREFIX;
+            }
+            if (symbol.contains(query) || name.contains(query)) {
+                return RANK_SUBSTRING;
+            }
+            return -1;
+        }
+
+        private static void collectPrefix(int[] sorted, String[] values, String prefix, BitSet out) {
+            int low = 0;
+            int high = sorted.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (values[sorted[mid]].compareTo(prefix) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            for (int i = low; i < sorted.length && values[sorted[i]].startsWith(prefix); i++) {
+                out.set(sorted[i]);
+            }
+        }
+
+        private static int[] sortedOrdinals(String[] values) {
+            Integer[] boxed = new Integer[values.length];
+            for (int i = 0; i < boxed.length; i++) {
+                boxed[i] = i;
+            }
+            Arrays.sort(boxed, Comparator.comparing(ordinal -> values[ordinal]));
+
+            int[] ordinals = new int[boxed.length];
+            for (int i = 0; i < boxed.length; i++) {
+                ordinals[i] = boxed[i];
+            }
+            return ordinals;
+        }
+
+        private static void addTrigrams(String value, Set<String> grams) {
+            for (int i = 0; i + GRAM <= value.length(); i++) {
+                grams.add(value.substring(i, i + GRAM));
+            }
+        }
+
+        private static int[] intersect(int[] left, int[] right) {
+            int[] result = new int[Math.min(left.length, right.length)];
+            int i = 0;
+            int j = 0;
+            int count = 0;
+            while (i < left.length && j < right.length) {
+                if (left[i] < right[j]) {
+                    i++;
+                } else if (left[i] > right[j]) {
+                    j++;
+                } else {
+                    result[count++] = left[i];
+                    i++;
+                    j++;
+                }
+            }
+            return Arrays.copyOf(result, count);
+        }
+    }
+
+    /**
+     * Growable primitive int list, avoids boxing while posting lists are built
+     */
+    private static final class IntList {
+        private int[] values = new int[8];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
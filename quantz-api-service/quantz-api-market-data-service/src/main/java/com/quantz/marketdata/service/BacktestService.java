@@ -0,0 +1,26 @@
+package com.quantz.marketdata.service;
+
+import com.quantz.marketdata.model.BacktestReport;
+import com.quantz.marketdata.model.BacktestRequest;
+import com.quantz.marketdata.model.BacktestSweepReport;
+import com.quantz.marketdata.model.BacktestSweepRequest;
+
+/**
+ * Interface for backtesting strategies over stored candles
+ */
+public interface BacktestService {
+
+    /**
+     * Replay the strategy over the requested universe and period
+     *
+     * @throws IllegalArgumentException for unknown strategies or invalid parameters
+     */
+    BacktestReport run(BacktestRequest request);
+
+    /**
+     * Run one backtest per grid combination in parallel, sharing a single load of the data
+     *
+     * @throws IllegalArgumentException for unknown strategies or ranking metrics, or an oversized grid
+     */
+    BacktestSweepReport sweep(BacktestSweepRequest request);
+}
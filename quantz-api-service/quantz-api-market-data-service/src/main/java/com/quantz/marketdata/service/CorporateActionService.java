@@ -0,0 +1,34 @@
+package com.quantz.marketdata.service;
+
+import com.quantz.marketdata.adjustment.AdjustmentFactors;
+import com.quantz.marketdata.entity.CandleData;
+import com.quantz.marketdata.entity.CorporateAction;
+import com.quantz.marketdata.model.CorporateActionRequest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Interface for corporate actions and split/bonus adjusted candle reads
+ */
+public interface CorporateActionService {
+
+    List<CorporateAction> getActions(String instrumentKey);
+
+    /**
+     * Record an action, replacing the ratio of an existing one with the same instrument, ex-date and type
+     */
+    CorporateAction recordAction(CorporateActionRequest request);
+
+    /**
+     * @return false when no action has the id
+     */
+    boolean deleteAction(Long id);
+
+    AdjustmentFactors getAdjustmentFactors(String instrumentKey);
+
+    /**
+     * Candles with prices and volumes before each ex-date restated in today's share terms
+     */
+    List<CandleData> findAdjustedCandleData(String instrumentKey, String interval, LocalDateTime startTime, LocalDateTime endTime);
+}
@@ -0,0 +1,38 @@
+package com.quantz.marketdata.service;
+
+import com.quantz.marketdata.model.CorrelatedInstruments;
+import com.quantz.marketdata.model.CorrelationMatrix;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Interface for correlation and covariance of daily returns across the equity universe
+ */
+public interface CorrelationService {
+
+    /**
+     * Matrix over the given instruments, or every sufficiently covered instrument when none are given
+     *
+     * @param covariance covariance instead of correlation
+     * @param windowDays trading days in the window; the configured rolling window when null
+     * @param asOf       last day of the window; the latest trading day when null
+     * @throws IllegalArgumentException when too few days of data exist or the matrix is too large for JSON
+     */
+    CorrelationMatrix getMatrix(List<String> instrumentKeys, boolean covariance, Integer windowDays, LocalDate asOf);
+
+    /**
+     * Most (or most negatively) correlated instruments in the latest rolling window
+     */
+    CorrelatedInstruments getPeers(String instrumentKey, int limit, boolean negative);
+
+    /**
+     * Full matrix in the compact binary form of {@link com.quantz.marketdata.correlation.CovarianceMatrixCodec}
+     */
+    byte[] getEncodedMatrix(Integer windowDays, LocalDate asOf);
+
+    /**
+     * Recompute the rolling window from candle history and persist it
+     */
+    void rebuild();
+}
@@ -0,0 +1,40 @@
+package com.quantz.marketdata.service;
+
+import com.quantz.marketdata.model.IndicatorSeries;
+import com.quantz.marketdata.model.IndicatorValues;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Interface for the technical indicator service
+ */
+public interface IndicatorService {
+
+    /**
+     * Indicator series for the candles of an instrument between the given times. Indicators are warmed up
+     * on the history before {@code startTime}, so the first returned values are not truncated.
+     *
+     * @param indicators specs such as {@code SMA:20}; the configured defaults when empty
+     */
+    IndicatorSeries computeIndicators(String instrumentKey, String interval, List<String> indicators,
+                                      LocalDateTime startTime, LocalDateTime endTime);
+
+    /**
+     * Latest daily indicator values, resumed from saved state as new candles arrive
+     */
+    Optional<IndicatorValues> getLatestValues(String instrumentKey, List<String> indicators);
+
+    /**
+     * Latest daily indicator values from state already in memory; empty when any of the indicators has not been
+     * loaded for the instrument yet, in which case nothing is read from the database
+     */
+    Optional<IndicatorValues> getLoadedValues(String instrumentKey, List<String> indicators);
+
+    /**
+     * Load the state of the indicators for the instruments in the background, reading their daily history once
+     */
+    void warmUp(Collection<String> instrumentKeys, List<String> indicators);
+}
@@ -3,10 +3,13 @@ package com.quantz.marketdata.service;
 import com.quantz.marketdata.entity.Instrument;
 import com.quantz.marketdata.entity.CandleData;
 import com.quantz.marketdata.entity.ScrapingMetadata;
+import com.quantz.marketdata.model.InstrumentQuery;
+import com.quantz.marketdata.scraping.ScrapeMonitor;
 
 import java.nio.channels.FileChannel;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -15,22 +18,37 @@ import java.util.Optional;
 public interface MarketDataScraperService {
 
     /**
-     * Scheduled method to scrape data
+     * Run one scrape on the calling thread, reporting to the monitor and stopping early once it is cancelled
+     *
+     * @param jobId recorded with the run in the scraping history
+     * @return true if every instrument shard of the run was completed, by this node or others
      */
-    void scheduledScraping();
-
-    /**
-     * Manually triggered method to scrape data
-     */
-    void manualScraping();
+    boolean scrape(String jobId, ScrapeMonitor monitor);
 
 
     List<Instrument> findInstruments(String exchange, String segment, String instrumentType, String search);
 
+    /**
+     * Find instruments matching every populated field of the query
+     */
+    List<Instrument> queryInstruments(InstrumentQuery query);
+
     Optional<Instrument> findInstrumentByKey(String instrumentKey);
 
     List<CandleData> findCandleData(String instrumentKey, String interval, LocalDateTime startTime, LocalDateTime endTime);
 
+    /**
+     * Most recent candle of an instrument for the given interval
+     */
+    Optional<CandleData> findLatestCandle(String instrumentKey, String interval);
+
+    /**
+     * Fetch candles for several instruments with one set-based query, grouped by instrument key
+     * in request order. Instruments without data map to an empty list.
+     */
+    Map<String, List<CandleData>> findCandleDataBatch(
+            List<String> instrumentKeys, String interval, LocalDateTime startTime, LocalDateTime endTime);
+
     List<ScrapingMetadata> getScrapingHistory();
 
     Optional<ScrapingMetadata> getLatestScrapingMetadata();
@@ -0,0 +1,30 @@
+package com.quantz.marketdata.service;
+
+import com.quantz.marketdata.entity.LatestBar;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Interface for the latest-bar market snapshot, kept current on every daily candle write
+ */
+public interface MarketSnapshotService {
+
+    /**
+     * Latest bar of every instrument with daily candles
+     */
+    List<LatestBar> getSnapshot();
+
+    /**
+     * Latest bars of the given instruments, skipping those without data
+     */
+    List<LatestBar> getSnapshot(Collection<String> instrumentKeys);
+
+    Optional<LatestBar> getLatestBar(String instrumentKey);
+
+    /**
+     * Recompute every bar from candle history and persist it
+     */
+    void rebuild();
+}
@@ -0,0 +1,29 @@
+package com.quantz.marketdata.service;
+
+import com.quantz.marketdata.model.OptionChainData;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Interface for option chains built from the F&O instrument masters
+ */
+public interface OptionChainService {
+
+    /**
+     * Underlyings with listed options, e.g. NIFTY, BANKNIFTY
+     */
+    List<String> getUnderlyings();
+
+    List<LocalDate> getExpiries(String underlying);
+
+    /**
+     * Chain of the nearest expiry on or after the given date with the latest quotes
+     *
+     * @param expiry  first eligible expiry date; today when null
+     * @param monthly only consider the last expiry of each month
+     * @param strikes strikes on each side of the at-the-money strike; the full chain when null
+     * @throws IllegalArgumentException when the underlying has no options or no such expiry
+     */
+    OptionChainData getOptionChain(String underlying, LocalDate expiry, boolean monthly, Integer strikes);
+}
@@ -0,0 +1,45 @@
+package com.quantz.marketdata.service;
+
+import com.quantz.marketdata.model.ScrapeJob;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Interface for running market data scrapes as background jobs
+ */
+public interface ScrapeJobService {
+
+    /**
+     * Queue a scrape run; while one is queued, running or paused that job is returned instead of a second one
+     */
+    ScrapeJob submit(ScrapeJob.Trigger trigger);
+
+    /**
+     * Live job, or a finished one from the scraping history
+     */
+    Optional<ScrapeJob> getJob(String id);
+
+    /**
+     * Live jobs and recorded runs, newest first
+     */
+    List<ScrapeJob> getJobs();
+
+    /**
+     * Stream progress of a job as server-sent events until it finishes
+     */
+    Optional<SseEmitter> subscribe(String id);
+
+    /**
+     * Stop a queued, running or paused job; the instruments in flight finish, the rest are skipped
+     */
+    Optional<ScrapeJob> cancel(String id);
+
+    /**
+     * Hold a running job before its next instrument
+     */
+    Optional<ScrapeJob> pause(String id);
+
+    Optional<ScrapeJob> resume(String id);
+}
@@ -0,0 +1,17 @@
+package com.quantz.marketdata.service;
+
+import com.quantz.marketdata.model.ScreenerRequest;
+import com.quantz.marketdata.model.ScreenerResult;
+
+/**
+ * Interface for the cross-sectional stock screener
+ */
+public interface ScreenerService {
+
+    /**
+     * Evaluate the screen against the latest daily bar and indicator values of every instrument
+     *
+     * @throws IllegalArgumentException if the expression does not compile
+     */
+    ScreenerResult screen(ScreenerRequest request);
+}
@@ -0,0 +1,19 @@
+package com.quantz.marketdata.service;
+
+import com.quantz.marketdata.model.UniverseIndicatorValues;
+
+import java.util.List;
+
+/**
+ * Interface for batch indicator evaluation across the whole instrument universe
+ */
+public interface UniverseIndicatorService {
+
+    /**
+     * Recompute the indicators for every instrument over the configured lookback
+     *
+     * @param indicators specs {@code SMA:n}, {@code EMA:n}, {@code RET:n} (n-bar return) or
+     *                   {@code VOL:n} (mean volume)
+     */
+    UniverseIndicatorValues computeLatest(String interval, List<String> indicators);
+}
@@ -4,6 +4,7 @@ import com.quantz.marketdata.model.CandleData;
 import com.quantz.marketdata.model.LtpQuoteData;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 
@@ -13,7 +14,8 @@ import java.util.Map;
 public interface UpstoxMarketDataService {
 
     /**
-     * Fetch historical candle data for an instrument
+     * Fetch historical candle data for an instrument; empty when Upstox has no candles for the range, a failed
+     * request throws
      */
     List<CandleData> fetchHistoricalCandleData(
             String instrumentKey, String interval, LocalDate fromDate, LocalDate toDate);
@@ -28,6 +30,12 @@ public interface UpstoxMarketDataService {
      */
     Map<String, LtpQuoteData> getLtpQuotes(List<String> instrumentKeys);
 
+    /**
+     * Latest quotes keyed by instrument key, served from the quote cache; only instruments without a cached
+     * quote are requested from Upstox, in one call
+     */
+    Map<String, LtpQuoteData> getLatestQuotes(Collection<String> instrumentKeys);
+
     /**
      * Connect to market data websocket for real-time updates
      */
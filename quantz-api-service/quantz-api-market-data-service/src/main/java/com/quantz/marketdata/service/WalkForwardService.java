@@ -0,0 +1,32 @@
+package com.quantz.marketdata.service;
+
+import com.quantz.marketdata.model.WalkForwardJob;
+import com.quantz.marketdata.model.WalkForwardRequest;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Interface for running walk-forward studies as background jobs
+ */
+public interface WalkForwardService {
+
+    /**
+     * Validate the study and queue it
+     *
+     * @throws IllegalArgumentException for unknown strategies or metrics, or a period or grid that does not fit
+     */
+    WalkForwardJob submit(WalkForwardRequest request);
+
+    Optional<WalkForwardJob> getJob(String id);
+
+    /**
+     * Recent jobs, newest first
+     */
+    List<WalkForwardJob> getJobs();
+
+    /**
+     * Stop a queued or running job; evaluations already in flight finish, the rest are skipped
+     */
+    Optional<WalkForwardJob> cancel(String id);
+}
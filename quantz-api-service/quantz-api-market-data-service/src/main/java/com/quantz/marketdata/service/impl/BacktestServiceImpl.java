@@ -0,0 +1,134 @@
+package com.quantz.marketdata.service.impl;
+
+import com.quantz.marketdata.backtest.*;
+import com.quantz.marketdata.backtest.strategy.Strategies;
+import com.quantz.marketdata.model.BacktestReport;
+import com.quantz.marketdata.model.BacktestRequest;
+import com.quantz.marketdata.model.BacktestSweepReport;
+import com.quantz.marketdata.model.BacktestSweepRequest;
+import com.quantz.marketdata.service.BacktestService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Backtests on the dedicated backtest fork/join pool, see {@link com.quantz.marketdata.config.BacktestConfig}
+ */
+@Slf4j
+@Service
+public class BacktestServiceImpl implements BacktestService {
+
+    private final BacktestDataLoader dataLoader;
+    private final ForkJoinPool pool;
+    private final int maxParameterSets;
+    private final int curvePoints;
+
+    public BacktestServiceImpl(BacktestDataLoader dataLoader, ForkJoinPool backtestPool,
+                               @Value("${quantz.backtest.max-parameter-sets:5000}") int maxParameterSets,
+                               @Value("${quantz.backtest.curve-points:2000}") int curvePoints) {
+        this.dataLoader = dataLoader;
+        this.pool = backtestPool;
+        this.maxParameterSets = maxParameterSets;
+        this.curvePoints = curvePoints;
+    }
+
+    @Override
+    public BacktestReport run(BacktestRequest request) {
+        Strategy strategy = Strategies.create(request.getStrategy(), request.getParameters());
+        BacktestDataset dataset = load(request);
+
+        long start = System.nanoTime();
+        BacktestEngine.EquityCurve curve = new BacktestEngine.EquityCurve();
+        BacktestStats stats = BacktestEngine.run(dataset, strategy, request.getInitialCapital(), costModel(request), curve);
+        long tookMillis = (System.nanoTime() - start) / 1_000_000;
+        log.info("Backtest of {} over {} instruments and {} bars took {} ms",
+                request.getStrategy(), dataset.instruments(), dataset.events(), tookMillis);
+
+        List<LocalDateTime> timestamps = new ArrayList<>();
+        List<Double> equity = new ArrayList<>();
+        for (int index : curve.thinned(curvePoints)) {
+            timestamps.add(LocalDateTime.ofEpochSecond(curve.time(index), 0, ZoneOffset.UTC));
+            equity.add(curve.equity(index));
+        }
+
+        return BacktestReport.builder()
+                .strategy(request.getStrategy())
+                .parameters(request.getParameters())
+                .instruments(dataset.instruments())
+                .bars(dataset.events())
+                .tookMillis(tookMillis)
+                .stats(stats)
+                .timestamps(timestamps)
+                .equity(equity)
+                .build();
+    }
+
+    @Override
+    public BacktestSweepReport sweep(BacktestSweepRequest request) {
+        BacktestRequest backtest = request.getBacktest();
+        String rankBy = request.getRankBy() != null ? request.getRankBy() : "sharpe";
+        Comparator<BacktestStats> bestFirst = BacktestStats.bestFirst(rankBy);
+        Strategies.create(backtest.getStrategy(), backtest.getParameters());
+
+        List<Map<String, Double>> parameterSets = ParameterGrid.expand(backtest.getParameters(), request.getGrid(),
+                maxParameterSets);
+
+        long loadStart = System.nanoTime();
+        BacktestDataset dataset = load(backtest);
+        long loadMillis = (System.nanoTime() - loadStart) / 1_000_000;
+
+        long start = System.nanoTime();
+        List<ParameterSweep.Result> results = ParameterSweep.run(pool, dataset, parameterSets,
+                parameters -> Strategies.create(backtest.getStrategy(), parameters),
+                backtest.getInitialCapital(), costModel(backtest));
+        long tookMillis = (System.nanoTime() - start) / 1_000_000;
+        log.info("Sweep of {} over {} parameter sets, {} instruments and {} bars took {} ms on {} workers",
+                backtest.getStrategy(), parameterSets.size(), dataset.instruments(), dataset.events(),
+                tookMillis, pool.getParallelism());
+
+        List<ParameterSweep.Result> ranked = new ArrayList<>(results.stream().filter(result -> result.stats() != null).toList());
+        ranked.sort(Comparator.comparing(ParameterSweep.Result::stats, bestFirst));
+        ranked.addAll(results.stream().filter(result -> result.stats() == null).toList());
+
+        int limit = request.getLimit() != null ? request.getLimit() : 50;
+        return BacktestSweepReport.builder()
+                .strategy(backtest.getStrategy())
+                .rankBy(rankBy)
+                .instruments(dataset.instruments())
+                .bars(dataset.events())
+                .parameterSets(parameterSets.size())
+                .failed((int) results.stream().filter(result -> result.stats() == null).count())
+                .loadMillis(loadMillis)
+                .tookMillis(tookMillis)
+                .results(ranked.stream()
+                        .limit(limit)
+                        .map(result -> BacktestSweepReport.Run.builder()
+                                .parameters(result.parameters())
+                                .stats(result.stats())
+                                .error(result.error())
+                                .build())
+                        .toList())
+                .build();
+    }
+
+    private BacktestDataset load(BacktestRequest request) {
+        if (!request.getStartTime().isBefore(request.getEndTime())) {
+            throw new IllegalArgumentException("startTime must be before endTime");
+        }
+        long start = System.nanoTime();
+        BacktestDataset dataset = dataLoader.load(request.getInstrumentKeys(), request.getInterval(),
+                request.getStartTime(), request.getEndTime());
+        log.debug("Loaded {} bars of {} instruments for backtesting in {} ms",
+                dataset.events(), dataset.instruments(), (System.nanoTime() - start) / 1_000_000);
+        return dataset;
+    }
+
+    private CostModel costModel(BacktestRequest request) {
+        return new CostModel(request.getCommissionBps(), request.getMinCommission(), request.getSlippageBps());
+    }
+}
@@ -0,0 +1,98 @@
+package com.quantz.marketdata.service.impl;
+
+import com.quantz.marketdata.adjustment.AdjustmentFactors;
+import com.quantz.marketdata.cache.CacheNames;
+import com.quantz.marketdata.entity.CandleData;
+import com.quantz.marketdata.entity.CorporateAction;
+import com.quantz.marketdata.event.CorporateActionsChangedEvent;
+import com.quantz.marketdata.model.CorporateActionRequest;
+import com.quantz.marketdata.repository.CorporateActionRepository;
+import com.quantz.marketdata.service.CorporateActionService;
+import com.quantz.marketdata.service.MarketDataScraperService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Corporate actions are applied at read time on top of the cached raw candle reads, so recording an action
+ * never rewrites candle history. The cumulative factors and the adjusted ranges are cached per instrument
+ * and dropped for that instrument alone when one of its actions changes.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CorporateActionServiceImpl implements CorporateActionService {
+
+    private final CorporateActionRepository corporateActionRepository;
+    private final MarketDataScraperService marketDataScraperService;
+    private final CacheManager cacheManager;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    public List<CorporateAction> getActions(String instrumentKey) {
+        return corporateActionRepository.findByInstrumentKeyOrderByExDateAsc(instrumentKey);
+    }
+
+    @Override
+    @Transactional
+    public CorporateAction recordAction(CorporateActionRequest request) {
+        CorporateAction action = corporateActionRepository.findByInstrumentKeyAndExDateAndActionType(
+                        request.getInstrumentKey(), request.getExDate(), request.getActionType())
+                .orElseGet(() -> CorporateAction.builder()
+                        .instrumentKey(request.getInstrumentKey())
+                        .exDate(request.getExDate())
+                        .actionType(request.getActionType())
+                        .build());
+        action.setRatioHeld(request.getRatioHeld());
+        action.setRatioNew(request.getRatioNew());
+        AdjustmentFactors.priceFactor(action);
+
+        CorporateAction saved = corporateActionRepository.save(action);
+        log.info("Recorded {} {}:{} for {} with ex-date {}", saved.getActionType(), saved.getRatioHeld(),
+                saved.getRatioNew(), saved.getInstrumentKey(), saved.getExDate());
+        eventPublisher.publishEvent(new CorporateActionsChangedEvent(saved.getInstrumentKey()));
+        return saved;
+    }
+
+    @Override
+    @Transactional
+    public boolean deleteAction(Long id) {
+        return corporateActionRepository.findById(id)
+                .map(action -> {
+                    corporateActionRepository.delete(action);
+                    eventPublisher.publishEvent(new CorporateActionsChangedEvent(action.getInstrumentKey()));
+                    return true;
+                })
+                .orElse(false);
+    }
+
+    @Override
+    public AdjustmentFactors getAdjustmentFactors(String instrumentKey) {
+        Cache cache = cacheManager.getCache(CacheNames.ADJUSTMENT_FACTORS);
+        if (cache == null) {
+            return loadAdjustmentFactors(instrumentKey);
+        }
+        return cache.get(instrumentKey, () -> loadAdjustmentFactors(instrumentKey));
+    }
+
+    @Override
+    @Cacheable(value = CacheNames.ADJUSTED_CANDLE_RANGE,
+            key = "new com.quantz.marketdata.cache.CandleCacheKey(#instrumentKey, #interval, #startTime, #endTime)")
+    public List<CandleData> findAdjustedCandleData(String instrumentKey, String interval,
+                                                   LocalDateTime startTime, LocalDateTime endTime) {
+        List<CandleData> candles = marketDataScraperService.findCandleData(instrumentKey, interval, startTime, endTime);
+        return getAdjustmentFactors(instrumentKey).apply(candles);
+    }
+
+    private AdjustmentFactors loadAdjustmentFactors(String instrumentKey) {
+        return AdjustmentFactors.of(corporateActionRepository.findByInstrumentKeyOrderByExDateAsc(instrumentKey));
+    }
+}
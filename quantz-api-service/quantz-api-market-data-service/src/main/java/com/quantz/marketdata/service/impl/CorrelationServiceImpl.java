@@ -0,0 +1,325 @@
+package com.quantz.marketdata.service.impl;
+
+import com.quantz.marketdata.correlation.CovarianceMatrix;
+import com.quantz.marketdata.correlation.CovarianceMatrixCodec;
+import com.quantz.marketdata.correlation.ReturnPanel;
+import com.quantz.marketdata.correlation.RollingCovariance;
+import com.quantz.marketdata.entity.CorrelationSnapshot;
+import com.quantz.marketdata.entity.Instrument;
+import com.quantz.marketdata.event.ScrapeCompletedEvent;
+import com.quantz.marketdata.indicators.panel.UniversePanelLoader;
+import com.quantz.marketdata.model.CorrelatedInstruments;
+import com.quantz.marketdata.model.CorrelationMatrix;
+import com.quantz.marketdata.repository.CorrelationSnapshotRepository;
+import com.quantz.marketdata.repository.InstrumentRepository;
+import com.quantz.marketdata.service.CorrelationService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Correlation of daily returns across the equity universe.
+ * <p>
+ * The configured rolling window is built once from candle history with the blocked kernel, then slid
+ * forward by one O(n²) update per new trading day when a scrape completes, and rebuilt in full every few
+ * weeks to shed accumulated rounding. Each published matrix is persisted in its compact binary form, so
+ * a restart serves the last matrix immediately and historical days are looked up instead of recomputed.
+ * Other window lengths and days are computed on demand.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CorrelationServiceImpl implements CorrelationService {
+
+    private static final String DAILY = "1d";
+
+    private final InstrumentRepository instrumentRepository;
+    private final UniversePanelLoader panelLoader;
+    private final CorrelationSnapshotRepository snapshotRepository;
+
+    @Value("${quantz.correlation.window-days:250}")
+    private int windowDays = 250;
+
+    @Value("${quantz.correlation.segment:NSE_EQ}")
+    private String segment = "NSE_EQ";
+
+    @Value("${quantz.correlation.instrument-type:EQ}")
+    private String instrumentType = "EQ";
+
+    @Value("${quantz.correlation.min-coverage:0.8}")
+    private double minCoverage = 0.8;
+
+    @Value("${quantz.correlation.rebuild-after-days:20}")
+    private int rebuildAfterDays = 20;
+
+    @Value("${quantz.correlation.retention-days:30}")
+    private int retentionDays = 30;
+
+    @Value("${quantz.correlation.max-json-instruments:500}")
+    private int maxJsonInstruments = 500;
+
+    private RollingCovariance rolling;
+    private volatile CovarianceMatrix latest;
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        try {
+            snapshotRepository.findFirstByWindowDaysOrderByAsOfDesc(windowDays)
+                    .ifPresent(snapshot -> latest = CovarianceMatrixCodec.decode(snapshot.getPayload()));
+        } catch (Exception e) {
+            log.warn("Could not restore the persisted correlation matrix: {}", e.getMessage());
+        }
+        rebuild();
+    }
+
+    @Async
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onScrapeCompleted(ScrapeCompletedEvent event) {
+        advance();
+    }
+
+    @Override
+    public synchronized void rebuild() {
+        try {
+            long start = System.nanoTime();
+            ReturnPanel panel = loadReturns(universe(), LocalDate.now(), windowDays);
+            if (panel.length() < windowDays) {
+                log.warn("Only {} trading days of returns, correlation needs {}", panel.length(), windowDays);
+                return;
+            }
+            rolling = RollingCovariance.build(panel, panel.length() - 1, windowDays);
+            publish(rolling.snapshot());
+            log.info("Correlation matrix of {} instruments over {} days built in {} ms",
+                    panel.width(), windowDays, (System.nanoTime() - start) / 1_000_000);
+        } catch (Exception e) {
+            log.error("Error building correlation matrix: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Slide the rolling window over the trading days completed since it was last published
+     */
+    synchronized void advance() {
+        if (rolling == null || rolling.advances() >= rebuildAfterDays) {
+            rebuild();
+            return;
+        }
+        try {
+            long start = System.nanoTime();
+            LocalDate asOf = rolling.asOf();
+            Set<String> universe = universe();
+            ReturnPanel panel = ReturnPanel.of(panelLoader.load(DAILY, asOf.minusDays(10).atStartOfDay(),
+                    LocalDateTime.now(), universe), universe);
+
+            String[] keys = rolling.instrumentKeys();
+            Map<String, Integer> ordinals = new HashMap<>(keys.length * 2);
+            for (int i = 0; i < keys.length; i++) {
+                ordinals.put(keys[i], i);
+            }
+            if (!ordinals.keySet().containsAll(Arrays.asList(panel.instrumentKeys()))) {
+                log.info("Equity universe gained members, rebuilding the correlation matrix");
+                rebuild();
+                return;
+            }
+
+            int advanced = 0;
+            for (int day = 0; day < panel.length(); day++) {
+                if (!panel.dates()[day].isAfter(asOf)) {
+                    continue;
+                }
+                double[] returns = new double[keys.length];
+                boolean[] observed = new boolean[keys.length];
+                for (int i = 0; i < panel.width(); i++) {
+                    int ordinal = ordinals.get(panel.instrumentKeys()[i]);
+                    returns[ordinal] = panel.returns()[day * panel.width() + i];
+                    observed[ordinal] = panel.observed()[day * panel.width() + i];
+                }
+                rolling.advance(panel.dates()[day], returns, observed);
+                advanced++;
+            }
+            if (advanced > 0) {
+                publish(rolling.snapshot());
+                log.info("Correlation matrix advanced by {} days to {} in {} ms",
+                        advanced, rolling.asOf(), (System.nanoTime() - start) / 1_000_000);
+            }
+        } catch (Exception e) {
+            log.error("Error advancing correlation matrix: {}", e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public CorrelationMatrix getMatrix(List<String> instrumentKeys, boolean covariance, Integer windowDays, LocalDate asOf) {
+        List<String> requested = instrumentKeys == null ? List.of() : instrumentKeys.stream()
+                .filter(Objects::nonNull).map(String::trim).filter(key -> !key.isEmpty()).distinct().toList();
+        CovarianceMatrix matrix = resolve(requested, windowDays, asOf);
+
+        List<Integer> ordinals = new ArrayList<>();
+        List<String> missing = new ArrayList<>();
+        if (requested.isEmpty()) {
+            for (int i = 0; i < matrix.size(); i++) {
+                if (matrix.coverage(i) >= minCoverage) {
+                    ordinals.add(i);
+                }
+            }
+        } else {
+            for (String key : requested) {
+                int ordinal = matrix.ordinal(key);
+                if (ordinal >= 0) {
+                    ordinals.add(ordinal);
+                } else {
+                    missing.add(key);
+                }
+            }
+        }
+        if (ordinals.size() > maxJsonInstruments) {
+            throw new IllegalArgumentException("Matrix of " + ordinals.size() + " instruments exceeds "
+                    + maxJsonInstruments + "; request instrumentKeys or use the binary endpoint");
+        }
+
+        int size = ordinals.size();
+        Double[][] values = new Double[size][size];
+        for (int row = 0; row < size; row++) {
+            for (int column = 0; column < size; column++) {
+                int i = ordinals.get(row);
+                int j = ordinals.get(column);
+                double value = covariance ? matrix.covariance(i, j) : matrix.correlation(i, j);
+                values[row][column] = Double.isNaN(value) ? null : value;
+            }
+        }
+
+        return CorrelationMatrix.builder()
+                .asOf(matrix.asOf())
+                .windowDays(matrix.windowDays())
+                .type(covariance ? "covariance" : "correlation")
+                .instrumentKeys(ordinals.stream().map(i -> matrix.instrumentKeys()[i]).toList())
+                .coverage(ordinals.stream().map(matrix::coverage).toList())
+                .missing(missing)
+                .values(values)
+                .build();
+    }
+
+    @Override
+    public CorrelatedInstruments getPeers(String instrumentKey, int limit, boolean negative) {
+        CovarianceMatrix matrix = resolve(List.of(), null, null);
+        int target = matrix.ordinal(instrumentKey);
+        if (target < 0) {
+            throw new IllegalArgumentException("No returns for " + instrumentKey + " in the correlation window");
+        }
+
+        Comparator<CorrelatedInstruments.Peer> order = Comparator.comparingDouble(CorrelatedInstruments.Peer::getCorrelation);
+        List<CorrelatedInstruments.Peer> peers = new ArrayList<>();
+        for (int j = 0; j < matrix.size(); j++) {
+            double correlation = matrix.correlation(target, j);
+            if (j == target || Double.isNaN(correlation) || matrix.coverage(j) < minCoverage) {
+                continue;
+            }
+            double covariance = matrix.covariance(target, j);
+            peers.add(CorrelatedInstruments.Peer.builder()
+                    .instrumentKey(matrix.instrumentKeys()[j])
+                    .correlation(correlation)
+                    .covariance(covariance)
+                    .hedgeRatio(covariance / matrix.covariance(j, j))
+                    .build());
+        }
+        peers.sort(negative ? order : order.reversed());
+
+        return CorrelatedInstruments.builder()
+                .instrumentKey(instrumentKey)
+                .asOf(matrix.asOf())
+                .windowDays(matrix.windowDays())
+                .peers(peers.subList(0, Math.min(Math.max(limit, 0), peers.size())))
+                .build();
+    }
+
+    @Override
+    public byte[] getEncodedMatrix(Integer windowDays, LocalDate asOf) {
+        return CovarianceMatrixCodec.encode(resolve(List.of(), windowDays, asOf));
+    }
+
+    /**
+     * The rolling matrix when it answers the request, else a persisted one, else a fresh computation
+     * (restricted to the requested instruments, in which case it is not persisted)
+     */
+    private CovarianceMatrix resolve(List<String> instrumentKeys, Integer requestedWindow, LocalDate asOf) {
+        int window = requestedWindow != null ? requestedWindow : windowDays;
+        if (window < 2 || window > 2500) {
+            throw new IllegalArgumentException("windowDays must be between 2 and 2500");
+        }
+
+        CovarianceMatrix current = latest;
+        if (current == null && window == windowDays && asOf == null) {
+            rebuild();
+            current = latest;
+        }
+        if (current != null && current.windowDays() == window && (asOf == null || asOf.equals(current.asOf()))) {
+            return current;
+        }
+        if (asOf != null) {
+            Optional<CorrelationSnapshot> stored = snapshotRepository.findByAsOfAndWindowDays(asOf, window);
+            if (stored.isPresent()) {
+                return CovarianceMatrixCodec.decode(stored.get().getPayload());
+            }
+        }
+
+        long start = System.nanoTime();
+        Set<String> universe = instrumentKeys.isEmpty() ? universe() : new HashSet<>(instrumentKeys);
+        LocalDate until = asOf != null ? asOf : LocalDate.now();
+        ReturnPanel panel = loadReturns(universe, until, window);
+        if (panel.length() < window) {
+            throw new IllegalArgumentException("Only " + panel.length() + " trading days of returns up to " + until
+                    + ", window needs " + window);
+        }
+        CovarianceMatrix matrix = RollingCovariance.build(panel, panel.length() - 1, window).snapshot();
+        log.info("Computed {}-day correlation of {} instruments as of {} in {} ms",
+                window, panel.width(), matrix.asOf(), (System.nanoTime() - start) / 1_000_000);
+        if (instrumentKeys.isEmpty()) {
+            persist(matrix);
+        }
+        return matrix;
+    }
+
+    private void publish(CovarianceMatrix matrix) {
+        latest = matrix;
+        persist(matrix);
+    }
+
+    private void persist(CovarianceMatrix matrix) {
+        try {
+            CorrelationSnapshot snapshot = snapshotRepository.findByAsOfAndWindowDays(matrix.asOf(), matrix.windowDays())
+                    .orElseGet(() -> CorrelationSnapshot.builder().asOf(matrix.asOf()).windowDays(matrix.windowDays()).build());
+            snapshot.setInstruments(matrix.size());
+            snapshot.setPayload(CovarianceMatrixCodec.encode(matrix));
+            snapshotRepository.save(snapshot);
+            long removed = snapshotRepository.deleteByAsOfBefore(LocalDate.now().minusDays(retentionDays));
+            log.debug("Persisted correlation matrix as of {}, removed {} expired", matrix.asOf(), removed);
+        } catch (Exception e) {
+            log.error("Error persisting correlation matrix: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Returns covering at least {@code window} trading days up to {@code until}; the calendar span read
+     * allows for weekends and exchange holidays
+     */
+    private ReturnPanel loadReturns(Set<String> universe, LocalDate until, int window) {
+        LocalDateTime since = until.minusDays(window * 7L / 5 + 30).atStartOfDay();
+        return ReturnPanel.of(panelLoader.load(DAILY, since, until.atTime(23, 59, 59), universe), universe);
+    }
+
+    private Set<String> universe() {
+        return instrumentRepository.findBySegmentAndInstrumentType(segment, instrumentType).stream()
+                .map(Instrument::getInstrumentKey)
+                .collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,226 @@
+package com.quantz.marketdata.service.impl;
+
+import com.quantz.marketdata.cache.CacheNames;
+import com.quantz.marketdata.entity.CandleData;
+import com.quantz.marketdata.event.CandlesSavedEvent;
+import com.quantz.marketdata.indicators.CandleSeries;
+import com.quantz.marketdata.indicators.Indicator;
+import com.quantz.marketdata.indicators.IndicatorState;
+import com.quantz.marketdata.indicators.Indicators;
+import com.quantz.marketdata.model.IndicatorSeries;
+import com.quantz.marketdata.model.IndicatorValues;
+import com.quantz.marketdata.repository.CandleDataRepository;
+import com.quantz.marketdata.service.IndicatorService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Computes indicator series on request and keeps the latest daily values of every requested indicator
+ * as saved state per instrument. When the scraper stores new daily candles, each saved state is restored
+ * and advanced by just the new bars, so refreshing the whole universe costs O(1) per indicator and bar.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class IndicatorServiceImpl implements IndicatorService {
+
+    private static final String DAILY_INTERVAL = "1d";
+
+    private final CandleDataRepository candleDataRepository;
+
+    @Value("${quantz.indicators.defaults:SMA:20,EMA:20,RSI:14,ATR:14,BB:20:2,MACD:12:26:9}")
+    private List<String> defaultIndicators = List.of("SMA:20", "EMA:20", "RSI:14", "ATR:14", "BB:20:2", "MACD:12:26:9");
+
+    // Instrument key -> indicator spec -> state after the latest daily candle
+    private final Map<String, Map<String, IndicatorState>> dailyStates = new ConcurrentHashMap<>();
+
+    // Instruments whose state a warm-up is loading right now
+    private final Set<String> warming = ConcurrentHashMap.newKeySet();
+
+    @Override
+    @Cacheable(value = CacheNames.INDICATORS,
+            key = "new com.quantz.marketdata.cache.IndicatorCacheKey(#instrumentKey, #interval, #indicators, #startTime, #endTime)")
+    public IndicatorSeries computeIndicators(String instrumentKey, String interval, List<String> indicators,
+                                             LocalDateTime startTime, LocalDateTime endTime) {
+        List<Indicator> resolved = resolve(indicators);
+        List<CandleData> candles = endTime != null
+                ? candleDataRepository.findByInstrumentKeyAndIntervalAndTimestampLessThanEqualOrderByTimestampAsc(
+                        instrumentKey, interval, endTime)
+                : candleDataRepository.findByInstrumentKeyAndIntervalOrderByTimestampAsc(instrumentKey, interval);
+        CandleSeries series = CandleSeries.of(candles);
+
+        int from = 0;
+        while (startTime != null && from < series.size() && series.timestamps()[from].isBefore(startTime)) {
+            from++;
+        }
+
+        Map<String, Map<String, Double[]>> values = new LinkedHashMap<>();
+        for (Indicator indicator : resolved) {
+            double[][] columns = Indicators.compute(indicator, series);
+            Map<String, Double[]> outputs = new LinkedHashMap<>();
+            for (int output = 0; output < columns.length; output++) {
+                outputs.put(indicator.outputs().get(output), boxed(columns[output], from));
+            }
+            values.put(indicator.spec(), outputs);
+        }
+
+        return IndicatorSeries.builder()
+                .instrumentKey(instrumentKey)
+                .interval(interval)
+                .timestamps(Arrays.asList(series.timestamps()).subList(from, series.size()))
+                .values(values)
+                .build();
+    }
+
+    @Override
+    public Optional<IndicatorValues> getLatestValues(String instrumentKey, List<String> indicators) {
+        List<Indicator> resolved = resolve(indicators);
+        Map<String, IndicatorState> states = dailyStates.computeIfAbsent(instrumentKey, key -> new ConcurrentHashMap<>());
+
+        List<Indicator> missing = resolved.stream()
+                .filter(indicator -> !states.containsKey(indicator.spec()))
+                .toList();
+        if (!missing.isEmpty()) {
+            CandleSeries series = CandleSeries.of(
+                    candleDataRepository.findByInstrumentKeyAndIntervalOrderByTimestampAsc(instrumentKey, DAILY_INTERVAL));
+            if (series.size() == 0) {
+                dailyStates.remove(instrumentKey, states);
+                return Optional.empty();
+            }
+            LocalDateTime last = series.timestamps()[series.size() - 1];
+            for (Indicator indicator : missing) {
+                double[][] columns = Indicators.compute(indicator, series);
+                double[] latest = new double[columns.length];
+                for (int output = 0; output < columns.length; output++) {
+                    latest[output] = columns[output][series.size() - 1];
+                }
+                states.put(indicator.spec(), new IndicatorState(indicator.spec(), last, indicator.saveState(), latest));
+            }
+        }
+
+        return Optional.of(values(instrumentKey, resolved, states));
+    }
+
+    @Override
+    public Optional<IndicatorValues> getLoadedValues(String instrumentKey, List<String> indicators) {
+        List<Indicator> resolved = resolve(indicators);
+        Map<String, IndicatorState> states = dailyStates.get(instrumentKey);
+        if (states == null || !resolved.stream().allMatch(indicator -> states.containsKey(indicator.spec()))) {
+            return Optional.empty();
+        }
+        return Optional.of(values(instrumentKey, resolved, states));
+    }
+
+    @Override
+    @Async
+    public void warmUp(Collection<String> instrumentKeys, List<String> indicators) {
+        long start = System.nanoTime();
+        int warmed = 0;
+        for (String instrumentKey : instrumentKeys) {
+            // Another screen may have queued the same instrument; the one that runs first loads it
+            if (warming.add(instrumentKey)) {
+                try {
+                    getLatestValues(instrumentKey, indicators);
+                    warmed++;
+                } catch (Exception e) {
+                    log.warn("Could not load indicator state of {}: {}", instrumentKey, e.getMessage());
+                } finally {
+                    warming.remove(instrumentKey);
+                }
+            }
+        }
+        log.info("Loaded indicator state of {} instruments in {} ms", warmed, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private IndicatorValues values(String instrumentKey, List<Indicator> resolved, Map<String, IndicatorState> states) {
+        Map<String, Map<String, Double>> values = new LinkedHashMap<>();
+        LocalDateTime timestamp = null;
+        for (Indicator indicator : resolved) {
+            IndicatorState state = states.get(indicator.spec());
+            if (state == null) {
+                continue;
+            }
+            Map<String, Double> outputs = new LinkedHashMap<>();
+            for (int output = 0; output < state.values().length; output++) {
+                outputs.put(indicator.outputs().get(output), boxed(state.values()[output]));
+            }
+            values.put(indicator.spec(), outputs);
+            timestamp = state.timestamp();
+        }
+
+        return IndicatorValues.builder()
+                .instrumentKey(instrumentKey)
+                .timestamp(timestamp)
+                .values(values)
+                .build();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCandlesSaved(CandlesSavedEvent event) {
+        Map<String, IndicatorState> states = dailyStates.get(event.getInstrumentKey());
+        if (!DAILY_INTERVAL.equals(event.getInterval()) || states == null || event.getCandles().isEmpty()) {
+            return;
+        }
+
+        List<CandleData> candles = new ArrayList<>(event.getCandles());
+        candles.sort(Comparator.comparing(CandleData::getTimestamp));
+
+        for (IndicatorState state : List.copyOf(states.values())) {
+            IndicatorState advanced = advance(state, candles);
+            if (advanced != null) {
+                states.put(state.spec(), advanced);
+            } else {
+                // Revised or backfilled bars cannot be applied on top of the saved state; recompute on next read
+                states.remove(state.spec());
+            }
+        }
+    }
+
+    private IndicatorState advance(IndicatorState state, List<CandleData> candles) {
+        if (!candles.get(0).getTimestamp().isAfter(state.timestamp())) {
+            return null;
+        }
+
+        Indicator indicator = Indicators.create(state.spec());
+        indicator.restoreState(state.state());
+        double[] out = new double[indicator.outputs().size()];
+        for (CandleData candle : candles) {
+            indicator.update(candle.getHigh(), candle.getLow(), candle.getClose(), candle.getVolume(), out);
+        }
+        return new IndicatorState(state.spec(), candles.get(candles.size() - 1).getTimestamp(),
+                indicator.saveState(), out);
+    }
+
+    private List<Indicator> resolve(List<String> indicators) {
+        List<String> specs = indicators == null || indicators.isEmpty() ? defaultIndicators : indicators;
+        Map<String, Indicator> unique = new LinkedHashMap<>();
+        for (String spec : specs) {
+            if (!spec.isBlank()) {
+                Indicator indicator = Indicators.create(spec);
+                unique.putIfAbsent(indicator.spec(), indicator);
+            }
+        }
+        return new ArrayList<>(unique.values());
+    }
+
+    private static Double[] boxed(double[] values, int from) {
+        Double[] result = new Double[values.length - from];
+        for (int i = from; i < values.length; i++) {
+            result[i - from] = boxed(values[i]);
+        }
+        return result;
+    }
+
+    private static Double boxed(double value) {
+        return Double.isNaN(value) ? null : value;
+    }
+}
@@ -1,28 +1,48 @@
 package com.quantz.marketdata.service.impl;
 
+import com.quantz.marketdata.cache.CacheNames;
+import com.quantz.marketdata.cluster.ClusterCoordinator;
+import com.quantz.marketdata.config.ClusterProperties;
 import com.quantz.marketdata.entity.Instrument;
+import com.quantz.marketdata.entity.ScrapeShardProgress;
 import com.quantz.marketdata.entity.ScrapingMetadata;
-import com.quantz.marketdata.model.CandleData;
+import com.quantz.marketdata.event.InstrumentsUpdatedEvent;
+import com.quantz.marketdata.event.ScrapeCompletedEvent;
+import com.quantz.marketdata.model.InstrumentQuery;
 import com.quantz.marketdata.model.UpstoxInstrument;
 import com.quantz.marketdata.repository.CandleDataRepository;
 import com.quantz.marketdata.repository.InstrumentRepository;
+import com.quantz.marketdata.repository.ScrapeShardProgressRepository;
 import com.quantz.marketdata.repository.ScrapingMetadataRepository;
+import com.quantz.marketdata.scraping.AdaptiveScrapeRunner;
+import com.quantz.marketdata.scraping.CandleIngestor;
+import com.quantz.marketdata.scraping.ScrapeMonitor;
+import com.quantz.marketdata.scraping.ScrapePlanner;
+import com.quantz.marketdata.scraping.ScrapeStore;
+import com.quantz.marketdata.scraping.ScrapeUniverse;
+import com.quantz.marketdata.scraping.ScrapeTask;
+import com.quantz.marketdata.search.InstrumentQueryEngine;
 import com.quantz.marketdata.service.MarketDataScraperService;
 import com.quantz.marketdata.service.UpstoxAuthService;
 import com.quantz.marketdata.service.UpstoxInstrumentService;
-import com.quantz.marketdata.service.UpstoxMarketDataService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
@@ -33,32 +53,44 @@ public class MarketDataScraperServiceImpl implements MarketDataScraperService {
 
     private final UpstoxAuthService authService;
     private final UpstoxInstrumentService instrumentService;
-    private final UpstoxMarketDataService marketDataService;
 
     private final InstrumentRepository instrumentRepository;
     private final CandleDataRepository candleDataRepository;
     private final ScrapingMetadataRepository metadataRepository;
+    private final ScrapeShardProgressRepository shardProgressRepository;
+    private final ScrapeUniverse scrapeUniverse;
+    private final ScrapePlanner scrapePlanner;
+    private final ScrapeStore scrapeStore;
+    private final AdaptiveScrapeRunner scrapeRunner;
+    private final CandleIngestor candleIngestor;
 
-    private static final String DEFAULT_INTERVAL = "1d"; // Daily candles
-    private static final List<String> EQUITY_SEGMENTS = List.of("NSE_EQ", "BSE_EQ");
+    private final InstrumentQueryEngine instrumentQueryEngine;
+    private final ApplicationEventPublisher eventPublisher;
 
-    // Run at 4:00 PM on weekdays (Monday to Friday)
-    @Scheduled(cron = "${data-scraper.cron:0 0 16 * * MON-FRI}")
-    @Override
-    public void scheduledScraping() {
-        log.info("Starting scheduled market data scraping at {}", LocalDateTime.now());
-        scrapeData();
-    }
+    private final ClusterCoordinator clusterCoordinator;
+    private final ClusterProperties clusterProperties;
+
+    private static final String DEFAULT_INTERVAL = "1d"; // Daily candles
+    private static final String STATUS_COMPLETED = "COMPLETED";
 
     @Override
-    @Transactional
-    public void manualScraping() {
-        log.info("Starting manual market data scraping at {}", LocalDateTime.now());
-        scrapeData();
+    public boolean scrape(String jobId, ScrapeMonitor monitor) {
+        log.info("Starting market data scraping job {} at {}", jobId, LocalDateTime.now());
+        return scrapeData(jobId, monitor);
     }
 
     @Override
     public List<Instrument> findInstruments(String exchange, String segment, String instrumentType, String search) {
+        if (instrumentQueryEngine.isReady()) {
+            return instrumentQueryEngine.query(InstrumentQuery.builder()
+                    .exchange(listOf(exchange))
+                    .segment(listOf(segment))
+                    .instrumentType(listOf(instrumentType))
+                    .search(search)
+                    .build());
+        }
+
+        // The in-memory indexes are still loading, fall back to a single-filter database lookup
         if (StringUtils.hasText(exchange)) {
             return instrumentRepository.findByExchange(exchange);
         } else if (StringUtils.hasText(segment)) {
@@ -72,12 +104,28 @@ public class MarketDataScraperServiceImpl implements MarketDataScraperService {
         }
     }
 
+    @Override
+    public List<Instrument> queryInstruments(InstrumentQuery query) {
+        if (!instrumentQueryEngine.isReady()) {
+            log.warn("Instrument query engine is not ready yet, falling back to basic filters");
+            return findInstruments(first(query.getExchange()), first(query.getSegment()),
+                    first(query.getInstrumentType()), query.getSearch());
+        }
+        return instrumentQueryEngine.query(query);
+    }
+
     @Override
     public Optional<Instrument> findInstrumentByKey(String instrumentKey) {
+        if (instrumentQueryEngine.isReady()) {
+            return instrumentQueryEngine.findByKey(instrumentKey);
+        }
         return instrumentRepository.findById(instrumentKey);
     }
 
     @Override
+    @Cacheable(value = CacheNames.CANDLE_RANGE,
+            key = "new com.quantz.marketdata.cache.CandleCacheKey(#instrumentKey, #interval, #startTime, #endTime)",
+            sync = true)
     public List<com.quantz.marketdata.entity.CandleData> findCandleData(String instrumentKey, String interval, LocalDateTime startTime, LocalDateTime endTime) {
         if (startTime != null && endTime != null) {
             return candleDataRepository.findByInstrumentKeyAndIntervalAndTimestampBetweenOrderByTimestampAsc(
@@ -88,6 +136,32 @@ public class MarketDataScraperServiceImpl implements MarketDataScraperService {
         }
     }
 
+    @Override
+    @Cacheable(value = CacheNames.LATEST_CANDLE,
+            key = "T(com.quantz.marketdata.cache.CandleCacheKey).latest(#instrumentKey, #interval)",
+            sync = true)
+    public Optional<com.quantz.marketdata.entity.CandleData> findLatestCandle(String instrumentKey, String interval) {
+        return candleDataRepository.findFirstByInstrumentKeyAndIntervalOrderByTimestampDesc(instrumentKey, interval);
+    }
+
+    @Override
+    public Map<String, List<com.quantz.marketdata.entity.CandleData>> findCandleDataBatch(
+            List<String> instrumentKeys, String interval, LocalDateTime startTime, LocalDateTime endTime) {
+        Map<String, List<com.quantz.marketdata.entity.CandleData>> candlesByInstrument = new LinkedHashMap<>();
+        instrumentKeys.forEach(key -> candlesByInstrument.putIfAbsent(key, new ArrayList<>()));
+
+        if (candlesByInstrument.isEmpty()) {
+            return candlesByInstrument;
+        }
+
+        // Rows come back ordered by instrument and timestamp, so appending keeps each series sorted
+        candleDataRepository.findByInstrumentKeysAndIntervalAndTimestampBetween(
+                        candlesByInstrument.keySet(), interval, startTime, endTime)
+                .forEach(candle -> candlesByInstrument.get(candle.getInstrumentKey()).add(candle));
+
+        return candlesByInstrument;
+    }
+
     @Override
     public List<com.quantz.marketdata.entity.ScrapingMetadata> getScrapingHistory() {
         return metadataRepository.findAll();
@@ -98,22 +172,37 @@ public class MarketDataScraperServiceImpl implements MarketDataScraperService {
         return metadataRepository.findLatestScraping();
     }
 
-    @Transactional
-    private void scrapeData() {
+    /**
+     * Every replica runs this on the same schedule. The leader alone refreshes the instrument master; the historical
+     * backfill is split into shards that all live nodes lease and work through together. Each node records the job
+     * it ran, so a job started on any node has its metadata row.
+     * <p>
+     * No transaction spans the run: each batch of instruments or candles commits on its own, so progress is
+     * visible to the other nodes as it happens and nothing piles up in a persistence context.
+     */
+    private boolean scrapeData(String jobId, ScrapeMonitor monitor) {
+        boolean leader = clusterCoordinator.isLeader();
+
+        // Ensure we have a valid token
+        if (!authService.isTokenValid()) {
+            log.error("No valid authentication token available. Aborting scraping.");
+            saveFailedMetadata("AUTH_FAILED", "No valid authentication token available", jobId);
+            throw new IllegalStateException("No valid authentication token available");
+        }
+
         try {
-            // Ensure we have a valid token
-            if (!authService.isTokenValid()) {
-                log.error("No valid authentication token available. Aborting scraping.");
-                saveFailedMetadata("AUTH_FAILED", "No valid authentication token available");
-                return;
+            // Step 1: Fetch and update instruments, once per cluster
+            int instrumentCount = 0;
+            if (leader) {
+                instrumentCount = scrapeInstruments();
+                log.info("Fetched and updated {} instruments", instrumentCount);
+            } else {
+                log.info("Node {} is not the scraping leader, using the stored instrument master",
+                        clusterCoordinator.nodeId());
             }
 
-            // Step 1: Fetch and update instruments
-            int instrumentCount = scrapeInstruments();
-            log.info("Fetched and updated {} instruments", instrumentCount);
-
-            // Step 2: Determine date range for historical data
-            ScrapingMetadata lastScrape = metadataRepository.findLatestScraping()
+            // Step 2: Determine date range for historical data, failed or cancelled runs do not count
+            ScrapingMetadata lastScrape = metadataRepository.findFirstByStatusOrderByScrapeDateDesc(STATUS_COMPLETED)
                     .orElse(null);
 
             LocalDate startDate;
@@ -135,20 +224,29 @@ public class MarketDataScraperServiceImpl implements MarketDataScraperService {
             // Don't proceed if we're already up to date
             if (startDate.isAfter(endDate)) {
                 log.info("Data is already up to date. No scraping needed.");
-                saveSuccessMetadata(endDate, instrumentCount, 0, isFirstRun);
-                return;
+                saveSuccessMetadata(endDate, instrumentCount, 0, isFirstRun, jobId);
+                return true;
             }
 
-            // Step 3: Scrape historical data
-            int dataPoints = scrapeHistoricalData(startDate, endDate);
-            log.info("Scraped a total of {} data points", dataPoints);
+            // Step 3: Scrape historical data, shard by shard until the whole cluster is done
+            boolean complete = scrapeHistoricalData(startDate, endDate, monitor);
 
-            // Step 4: Save metadata
-            saveSuccessMetadata(endDate, instrumentCount, dataPoints, isFirstRun);
+            // Step 4: Record the job on this node, with the data points of the cluster-wide run
+            int dataPoints = (int) shardProgressRepository.sumDataPoints(endDate);
+            log.info("Cluster scraped a total of {} data points", dataPoints);
+            if (complete) {
+                saveSuccessMetadata(endDate, instrumentCount, dataPoints, isFirstRun, jobId);
+            } else if (monitor.isCancelled()) {
+                saveFailedMetadata("CANCELLED", "Cancelled after " + dataPoints + " data points", jobId);
+            } else {
+                saveFailedMetadata("INCOMPLETE", "Not all instrument shards finished within "
+                        + clusterProperties.getRunTimeout(), jobId);
+            }
+            return complete;
 
         } catch (Exception e) {
             log.error("Error during data scraping: {}", e.getMessage(), e);
-            saveFailedMetadata("ERROR", e.getMessage());
+            saveFailedMetadata("ERROR", e.getMessage(), jobId);
             throw new RuntimeException("Failed to scrape market data", e);
         }
     }
@@ -180,100 +278,167 @@ public class MarketDataScraperServiceImpl implements MarketDataScraperService {
             log.info("Saved batch of {} instruments", savedInstruments.size());
         }
 
+        eventPublisher.publishEvent(new InstrumentsUpdatedEvent(count.get()));
         return count.get();
     }
 
-    private int scrapeHistoricalData(LocalDate startDate, LocalDate endDate) {
-        AtomicInteger totalDataPoints = new AtomicInteger(0);
-
-        // For initial run, we'll prioritize NSE equities to avoid overwhelming the API
-        List<Instrument> instruments;
-
-        if (startDate.isBefore(LocalDate.now().minusYears(1))) {
-            // If we're doing a long historical scrape, only get equities
-            instruments = instrumentRepository.findBySegmentAndInstrumentType("NSE_EQ", "EQ");
-            log.info("Long-term historical scrape: focusing on {} NSE equities", instruments.size());
-        } else {
-            // For recent data, get all segments
-            instruments = instrumentRepository.findAll();
-            log.info("Short-term historical scrape: fetching data for all {} instruments", instruments.size());
+    /**
+     * Scrape the shards of the equity universe until every shard of the run is recorded as done or the run
+     * times out. This node starts with the shards it owns on the hash ring, then takes over any shard whose
+     * lease is free but which is still not done, such as the share of a node that died. Within that order shards
+     * and their instruments go by scrape priority, so liquid, stale and in-demand names are refreshed first.
+     * Shard contents come from the run's stored plan; only the order within them is computed on each node.
+     *
+     * @return true if all shards were completed, by this node or others
+     */
+    private boolean scrapeHistoricalData(LocalDate startDate, LocalDate endDate, ScrapeMonitor monitor) {
+        LocalDateTime deadline = LocalDateTime.now().plus(clusterProperties.getRunTimeout());
+        // A long backfill uses the narrower backfill rules to avoid overwhelming the API
+        boolean backfill = startDate.isBefore(LocalDate.now().minusYears(1));
+        List<String> instrumentKeys = runPlan(endDate, backfill, deadline, monitor);
+        if (instrumentKeys == null) {
+            log.warn("No instrument plan for the run of {} was stored before the deadline", endDate);
+            return false;
+        }
+        log.info("{} historical scrape of {} instruments", backfill ? "Long-term" : "Short-term",
+                instrumentKeys.size());
+
+        // Ranked tasks into their shards; each shard keeps the ranking and shards go by their best task
+        Map<Integer, List<ScrapeTask>> shards = new HashMap<>();
+        List<Integer> shardsByPriority = new ArrayList<>();
+        for (ScrapeTask task : scrapePlanner.rank(instrumentKeys, endDate)) {
+            shards.computeIfAbsent(clusterCoordinator.shardOf(task.instrumentKey()), shard -> {
+                shardsByPriority.add(shard);
+                return new ArrayList<>();
+            }).add(task);
         }
 
-        // Process equity instruments first, then others
-        List<Instrument> equityInstruments = instruments.stream()
-                .filter(i -> EQUITY_SEGMENTS.contains(i.getSegment()))
-                .collect(Collectors.toList());
+        Set<Integer> pending = new LinkedHashSet<>(shardsByPriority);
+        pending.removeAll(shardProgressRepository.findCompletedShards(endDate));
+        monitor.planned(pending.stream().mapToInt(shard -> shards.get(shard).size()).sum());
+        log.info("Processing {} of {} equity shards on node {} ({} live nodes)", pending.size(), shards.size(),
+                clusterCoordinator.nodeId(), clusterCoordinator.liveNodeCount());
 
-        log.info("Processing {} equity instruments", equityInstruments.size());
+        int dataPoints = 0;
+        int shardsScraped = 0;
 
-        // Process instruments in batches for better performance and resource management
-        List<List<Instrument>> batches = splitIntoBatches(equityInstruments, 50);
+        while (!pending.isEmpty() && LocalDateTime.now().isBefore(deadline) && !monitor.isCancelled()) {
+            boolean progressed = false;
 
-        for (List<Instrument> batch : batches) {
-            // Process batch in parallel
-            AtomicInteger batchPoints = new AtomicInteger(0);
+            for (int shard : clusterCoordinator.shardOrder(pending)) {
+                if (!LocalDateTime.now().isBefore(deadline) || monitor.isCancelled()
+                        || Thread.currentThread().isInterrupted()) {
+                    break;
+                }
+                if (!clusterCoordinator.tryLockShard(shard)) {
+                    continue; // Leased by another node
+                }
+                try {
+                    // The previous holder may have finished it between our last look and the lease
+                    if (!shardProgressRepository.existsByRunDateAndShard(endDate, shard)) {
+                        List<ScrapeTask> shardTasks = shards.get(shard);
+                        int points = scrapeRunner.run(shardTasks, deadline, monitor,
+                                task -> scrapeInstrumentData(task, startDate, endDate));
+                        if (monitor.isCancelled()) {
+                            break; // Partly scraped, left for the next run
+                        }
+                        recordShardCompleted(endDate, shard, shardTasks.size(), points);
+                        dataPoints += points;
+                        shardsScraped++;
+                    }
+                    pending.remove(shard);
+                    progressed = true;
+                } finally {
+                    clusterCoordinator.unlockShard(shard);
+                }
+            }
 
-            batch.parallelStream().forEach(instrument -> {
+            for (int shard : shardProgressRepository.findCompletedShards(endDate)) {
+                if (pending.remove(shard)) {
+                    monitor.instrumentsSkipped(shards.get(shard).size());
+                }
+            }
+            if (!pending.isEmpty() && !progressed && !monitor.isCancelled()) {
+                // Everything left is leased by other nodes; wait in case one of them dies
                 try {
-                    int points = scrapeInstrumentData(instrument, DEFAULT_INTERVAL, startDate, endDate);
-                    batchPoints.addAndGet(points);
-
-                    // Small delay to avoid overwhelming the API
-                    Thread.sleep(200);
-                } catch (Exception e) {
-                    log.error("Error scraping data for instrument {}: {}",
-                            instrument.getTradingSymbol(), e.getMessage());
+                    Thread.sleep(clusterProperties.getShardPollInterval().toMillis());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
                 }
-            });
+            }
+        }
 
-            totalDataPoints.addAndGet(batchPoints.get());
-            log.info("Completed batch of {} instruments, added {} data points",
-                    batch.size(), batchPoints.get());
+        log.info("Node {} scraped {} shards with {} data points, {} shards left unfinished",
+                clusterCoordinator.nodeId(), shardsScraped, dataPoints, pending.size());
+
+        return pending.isEmpty();
+    }
 
-            // Add a delay between batches to be respectful of API limits
+    /**
+     * Instrument keys of the run, the same on every node. Selecting them on each node could give the nodes different
+     * shard contents, since selection and ranking read {@code latest_bar} and {@code scrape_backoff}, which the run
+     * itself changes, and completion is recorded per shard. The leader selects the instruments and stores them for
+     * the run date; the other nodes wait for that plan. Should the leader die first, the next one stores it.
+     *
+     * @return the planned keys, or null if the run was cancelled or timed out before a plan was stored
+     */
+    private List<String> runPlan(LocalDate endDate, boolean backfill, LocalDateTime deadline, ScrapeMonitor monitor) {
+        while (true) {
+            List<String> planned = scrapeStore.loadRunPlan(endDate);
+            if (!planned.isEmpty()) {
+                return planned;
+            }
+            if (clusterCoordinator.isLeader()) {
+                List<String> selected = scrapeUniverse.select(endDate, backfill);
+                if (selected.isEmpty() || scrapeStore.saveRunPlan(endDate, selected)) {
+                    return selected;
+                }
+                continue; // Stored by a node that was leader at the same time
+            }
+            if (!LocalDateTime.now().isBefore(deadline) || monitor.isCancelled()) {
+                return null;
+            }
+            log.info("Waiting for the leader to store the instrument plan of the run of {}", endDate);
             try {
-                Thread.sleep(1000);
+                Thread.sleep(clusterProperties.getShardPollInterval().toMillis());
             } catch (InterruptedException e) {
                 Thread.currentThread().interrupt();
+                return null;
             }
         }
-
-        log.info("Completed scraping equity data, total data points: {}", totalDataPoints.get());
-
-        return totalDataPoints.get();
     }
 
-    private int scrapeInstrumentData(Instrument instrument, String interval, LocalDate startDate, LocalDate endDate) {
-        log.info("Fetching {} data for instrument: {} ({}) from {} to {}",
-                interval, instrument.getTradingSymbol(), instrument.getInstrumentKey(), startDate, endDate);
-
-        List<CandleData> candleData = marketDataService.fetchHistoricalCandleData(
-                instrument.getInstrumentKey(), interval, startDate, endDate);
-
-        if (candleData == null || candleData.isEmpty()) {
-            log.info("No data available for {} between {} and {}",
-                    instrument.getTradingSymbol(), startDate, endDate);
+    /**
+     * Daily candles of one instrument for the run, starting after its newest stored bar so that bars already
+     * stored by the post-close sweep are not fetched again
+     */
+    private int scrapeInstrumentData(ScrapeTask task, LocalDate startDate, LocalDate endDate) {
+        LocalDate from = startDate;
+        if (task.lastBarDate() != null && task.lastBarDate().isAfter(startDate.minusDays(1))) {
+            from = task.lastBarDate().plusDays(1);
+        }
+        if (from.isAfter(endDate)) {
+            log.debug("Instrument {} is already up to date", task.instrumentKey());
             return 0;
         }
+        return candleIngestor.ingestHistorical(task.instrumentKey(), DEFAULT_INTERVAL, from, endDate);
+    }
 
-        // Convert to entities and save
-        List<com.quantz.marketdata.entity.CandleData> entities = candleData.stream()
-                .map(this::convertToEntity)
-                .collect(Collectors.toList());
-
-        // Save in batches
-        List<List<com.quantz.marketdata.entity.CandleData>> batches = splitIntoBatches(entities, 200);
-
-        int savedCount = 0;
-        for (List<com.quantz.marketdata.entity.CandleData> batch : batches) {
-            List<com.quantz.marketdata.entity.CandleData> saved = candleDataRepository.saveAll(batch);
-            savedCount += saved.size();
+    private void recordShardCompleted(LocalDate runDate, int shard, int instrumentCount, int dataPoints) {
+        try {
+            shardProgressRepository.save(ScrapeShardProgress.builder()
+                    .runDate(runDate)
+                    .shard(shard)
+                    .nodeId(clusterCoordinator.nodeId())
+                    .instrumentsScraped(instrumentCount)
+                    .dataPointsScraped(dataPoints)
+                    .completedAt(LocalDateTime.now())
+                    .build());
+        } catch (DataIntegrityViolationException e) {
+            // Another node recorded it after our lease was lost with the database session
+            log.warn("Shard {} of run {} was already recorded by another node", shard, runDate);
         }
-
-        log.info("Successfully scraped and saved {} data points for {} ({})",
-                savedCount, instrument.getTradingSymbol(), instrument.getInstrumentKey());
-
-        return savedCount;
     }
 
     private Instrument convertToEntity(UpstoxInstrument upstoxInstrument) {
@@ -291,20 +456,17 @@ public class MarketDataScraperServiceImpl implements MarketDataScraperService {
                 .expiry(upstoxInstrument.getExpiry())
                 .strike(upstoxInstrument.getStrike())
                 .optionType(upstoxInstrument.getOptionType())
+                .underlyingSymbol(upstoxInstrument.getUnderlyingSymbol())
+                .underlyingKey(upstoxInstrument.getUnderlyingKey())
                 .build();
     }
 
-    private com.quantz.marketdata.entity.CandleData convertToEntity(CandleData candleData) {
-        return com.quantz.marketdata.entity.CandleData.builder()
-                .instrumentKey(candleData.getInstrumentKey())
-                .interval(candleData.getInterval())
-                .timestamp(candleData.getTimestamp())
-                .open(candleData.getOpen())
-                .high(candleData.getHigh())
-                .low(candleData.getLow())
-                .close(candleData.getClose())
-                .volume(candleData.getVolume())
-                .build();
+    private List<String> listOf(String value) {
+        return StringUtils.hasText(value) ? List.of(value) : null;
+    }
+
+    private String first(List<String> values) {
+        return values == null || values.isEmpty() ? null : values.get(0);
     }
 
     private <T> List<List<T>> splitIntoBatches(List<T> items, int batchSize) {
@@ -316,21 +478,25 @@ public class MarketDataScraperServiceImpl implements MarketDataScraperService {
         return batches;
     }
 
-    private void saveSuccessMetadata(LocalDate scrapeDate, int instrumentCount, int dataPoints, boolean isFullScrape) {
+    private void saveSuccessMetadata(LocalDate scrapeDate, int instrumentCount, int dataPoints, boolean isFullScrape,
+                                     String jobId) {
         ScrapingMetadata metadata = ScrapingMetadata.builder()
                 .scrapeDate(scrapeDate)
                 .scrapedAt(LocalDateTime.now())
                 .instrumentsScraped(instrumentCount)
                 .dataPointsScraped(dataPoints)
                 .fullScrape(isFullScrape)
-                .status("COMPLETED")
+                .status(STATUS_COMPLETED)
+                .jobId(jobId)
+                .nodeId(clusterCoordinator.nodeId())
                 .build();
 
         metadataRepository.save(metadata);
+        eventPublisher.publishEvent(new ScrapeCompletedEvent(scrapeDate, dataPoints));
         log.info("Scraping operation completed successfully");
     }
 
-    private void saveFailedMetadata(String status, String details) {
+    private void saveFailedMetadata(String status, String details, String jobId) {
         ScrapingMetadata metadata = ScrapingMetadata.builder()
                 .scrapeDate(LocalDate.now())
                 .scrapedAt(LocalDateTime.now())
@@ -339,6 +505,8 @@ public class MarketDataScraperServiceImpl implements MarketDataScraperService {
                 .fullScrape(false)
                 .status(status)
                 .details(details)
+                .jobId(jobId)
+                .nodeId(clusterCoordinator.nodeId())
                 .build();
 
         metadataRepository.save(metadata);
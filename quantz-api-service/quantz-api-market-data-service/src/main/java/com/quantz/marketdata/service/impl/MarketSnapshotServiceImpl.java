@@ -0,0 +1,165 @@
+package com.quantz.marketdata.service.impl;
+
+import com.quantz.marketdata.entity.CandleData;
+import com.quantz.marketdata.entity.LatestBar;
+import com.quantz.marketdata.event.CandlesSavedEvent;
+import com.quantz.marketdata.repository.CandleDataRepository;
+import com.quantz.marketdata.repository.LatestBarRepository;
+import com.quantz.marketdata.service.MarketSnapshotService;
+import com.quantz.marketdata.snapshot.LatestBarCalculator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Write-through latest-bar snapshot. Bars live in a map keyed by instrument for in-process lookups
+ * and in the latest_bar table so a restart does not have to rescan candle_data. Each daily candle
+ * write rolls the affected bar forward; only backfills and expiring 52-week extremes reload history.
+ * The roll-forward and its write happen under a lock striped by instrument, so concurrent writes for
+ * one instrument (a close sweep and a scrape job) apply in turn and the table never gets an older bar,
+ * while the map itself is only touched to swap the finished bar in.
+ */
+@Slf4j
+@Service
+public class MarketSnapshotServiceImpl implements MarketSnapshotService {
+
+    private static final String SNAPSHOT_INTERVAL = "1d";
+    private static final int SAVE_BATCH_SIZE = 500;
+    private static final int LOCK_STRIPES = 64;
+
+    private final LatestBarRepository latestBarRepository;
+    private final CandleDataRepository candleDataRepository;
+    private final TransactionTemplate writeTransaction;
+
+    private final Map<String, LatestBar> bars = new ConcurrentHashMap<>();
+    private final Object[] locks = new Object[LOCK_STRIPES];
+
+    public MarketSnapshotServiceImpl(LatestBarRepository latestBarRepository,
+                                     CandleDataRepository candleDataRepository,
+                                     PlatformTransactionManager transactionManager) {
+        this.latestBarRepository = latestBarRepository;
+        this.candleDataRepository = candleDataRepository;
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.writeTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        Arrays.setAll(locks, i -> new Object());
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        try {
+            List<LatestBar> stored = latestBarRepository.findAll();
+            // Bars rolled forward while loading are newer than the stored ones
+            stored.forEach(bar -> bars.putIfAbsent(bar.getInstrumentKey(), bar));
+            log.info("Loaded {} latest bars", stored.size());
+
+            if (stored.isEmpty()) {
+                rebuild();
+            }
+        } catch (Exception e) {
+            log.error("Error loading latest bar snapshot: {}", e.getMessage(), e);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCandlesSaved(CandlesSavedEvent event) {
+        if (!SNAPSHOT_INTERVAL.equals(event.getInterval()) || event.getCandles().isEmpty()) {
+            return;
+        }
+
+        String instrumentKey = event.getInstrumentKey();
+        List<CandleData> candles = new ArrayList<>(event.getCandles());
+        candles.sort(Comparator.comparing(CandleData::getTimestamp));
+
+        synchronized (lock(instrumentKey)) {
+            LatestBar bar = bars.get(instrumentKey);
+            for (int i = 0; bar != null && i < candles.size(); i++) {
+                bar = LatestBarCalculator.advance(bar, candles.get(i)).orElse(null);
+            }
+            if (bar == null) {
+                bar = fromHistory(instrumentKey);
+            }
+            if (bar == null) {
+                return;
+            }
+
+            // Committed before the lock is released, so the next write for the instrument persists after this one
+            LatestBar rolled = bar;
+            writeTransaction.executeWithoutResult(status -> latestBarRepository.save(rolled));
+            bars.put(instrumentKey, rolled);
+        }
+    }
+
+    @Override
+    public List<LatestBar> getSnapshot() {
+        return new ArrayList<>(bars.values());
+    }
+
+    @Override
+    public List<LatestBar> getSnapshot(Collection<String> instrumentKeys) {
+        return instrumentKeys.stream()
+                .map(bars::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    @Override
+    public Optional<LatestBar> getLatestBar(String instrumentKey) {
+        return Optional.ofNullable(bars.get(instrumentKey));
+    }
+
+    @Override
+    public synchronized void rebuild() {
+        long start = System.nanoTime();
+        List<String> instrumentKeys = candleDataRepository.findDistinctInstrumentKeysByInterval(SNAPSHOT_INTERVAL);
+        List<LatestBar> batch = new ArrayList<>(SAVE_BATCH_SIZE);
+
+        for (String instrumentKey : instrumentKeys) {
+            LatestBar bar;
+            synchronized (lock(instrumentKey)) {
+                bar = fromHistory(instrumentKey);
+                if (bar == null) {
+                    continue;
+                }
+                bars.put(instrumentKey, bar);
+            }
+            batch.add(bar);
+            if (batch.size() == SAVE_BATCH_SIZE) {
+                latestBarRepository.saveAll(batch);
+                batch.clear();
+            }
+        }
+        latestBarRepository.saveAll(batch);
+
+        log.info("Rebuilt {} latest bars in {} ms", instrumentKeys.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private LatestBar fromHistory(String instrumentKey) {
+        return candleDataRepository.findFirstByInstrumentKeyAndIntervalOrderByTimestampDesc(instrumentKey, SNAPSHOT_INTERVAL)
+                .map(latest -> candleDataRepository.findByInstrumentKeyAndIntervalAndTimestampGreaterThanEqualOrderByTimestampAsc(
+                        instrumentKey, SNAPSHOT_INTERVAL, LatestBarCalculator.windowStart(latest.getTimestamp())))
+                .filter(window -> !window.isEmpty())
+                .flatMap(window -> LatestBarCalculator.fromHistory(instrumentKey, window))
+                .orElse(null);
+    }
+
+    private Object lock(String instrumentKey) {
+        return locks[Math.floorMod(instrumentKey.hashCode(), LOCK_STRIPES)];
+    }
+}
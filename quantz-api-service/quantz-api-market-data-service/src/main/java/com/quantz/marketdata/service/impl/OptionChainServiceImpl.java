@@ -0,0 +1,211 @@
+package com.quantz.marketdata.service.impl;
+
+import com.quantz.marketdata.entity.LatestBar;
+import com.quantz.marketdata.model.LtpQuoteData;
+import com.quantz.marketdata.model.OptionChainData;
+import com.quantz.marketdata.optionchain.ChainGreeks;
+import com.quantz.marketdata.optionchain.ExpiryChain;
+import com.quantz.marketdata.optionchain.OptionChainIndex;
+import com.quantz.marketdata.optionchain.OptionGreeksEngine;
+import com.quantz.marketdata.optionchain.UnderlyingChain;
+import com.quantz.marketdata.service.MarketSnapshotService;
+import com.quantz.marketdata.service.OptionChainService;
+import com.quantz.marketdata.service.UpstoxMarketDataService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Serves option chains from {@link OptionChainIndex} joined with live LTP quotes. When a strike window is asked
+ * for, the underlying is quoted first so only the options around the money are fetched; options without a live
+ * quote fall back to their latest stored daily bar. Implied volatility and Greeks of the quoted legs come from
+ * {@link OptionGreeksEngine}, which re-solves only what changed since the previous request for the same expiry.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OptionChainServiceImpl implements OptionChainService {
+
+    private static final ZoneId EXCHANGE_ZONE = ZoneId.of("Asia/Kolkata");
+    // Upstox accepts at most 500 instrument keys per quote request
+    private static final int QUOTE_BATCH_SIZE = 500;
+
+    private final OptionChainIndex optionChainIndex;
+    private final OptionGreeksEngine optionGreeksEngine;
+    private final UpstoxMarketDataService upstoxMarketDataService;
+    private final MarketSnapshotService marketSnapshotService;
+
+    @Override
+    public List<String> getUnderlyings() {
+        return optionChainIndex.underlyings();
+    }
+
+    @Override
+    public List<LocalDate> getExpiries(String underlying) {
+        return findChain(underlying).expiries();
+    }
+
+    @Override
+    public OptionChainData getOptionChain(String underlying, LocalDate expiry, boolean monthly, Integer strikes) {
+        if (strikes != null && strikes < 0) {
+            throw new IllegalArgumentException("strikes must not be negative");
+        }
+
+        UnderlyingChain chain = findChain(underlying);
+        LocalDate from = expiry != null ? expiry : LocalDate.now(EXCHANGE_ZONE);
+        ExpiryChain options = (monthly ? chain.monthlyOnOrAfter(from) : chain.expiryOnOrAfter(from))
+                .orElseThrow(() -> new IllegalArgumentException("No " + (monthly ? "monthly " : "")
+                        + "expiry of " + chain.underlying() + " on or after " + from));
+
+        Double spot = chain.underlyingKey() != null
+                ? lastPrice(chain.underlyingKey(), fetchQuotes(List.of(chain.underlyingKey())))
+                : null;
+
+        int first = 0;
+        int last = options.size() - 1;
+        if (strikes != null && spot != null) {
+            int atm = options.atmIndex(spot);
+            first = Math.max(0, atm - strikes);
+            last = Math.min(options.size() - 1, atm + strikes);
+        }
+
+        Map<String, OptionChainData.Leg> legs = fetchLegs(options, first, last);
+        ChainGreeks greeks = optionGreeksEngine.price(options, premiums(options, legs, first, last), spot, Instant.now());
+        Double reference = spot != null ? spot : greeks != null ? Double.valueOf(greeks.forward()) : null;
+        int atm = reference != null ? options.atmIndex(reference) : -1;
+        if (strikes != null && spot == null && atm >= 0) {
+            first = Math.max(0, atm - strikes);
+            last = Math.min(options.size() - 1, atm + strikes);
+        }
+
+        List<OptionChainData.Row> rows = new ArrayList<>(last - first + 1);
+        for (int i = first; i <= last; i++) {
+            rows.add(OptionChainData.Row.builder()
+                    .strike(options.strike(i))
+                    .call(withGreeks(legs.get(options.callKey(i)), greeks, ChainGreeks.callLeg(i)))
+                    .put(withGreeks(legs.get(options.putKey(i)), greeks, ChainGreeks.putLeg(i)))
+                    .build());
+        }
+
+        return OptionChainData.builder()
+                .underlying(chain.underlying())
+                .underlyingKey(chain.underlyingKey())
+                .spot(spot)
+                .expiry(options.expiry())
+                .monthly(options.monthly())
+                .lotSize(options.lotSize())
+                .atmStrike(atm >= 0 ? options.strike(atm) : null)
+                .forward(greeks != null ? greeks.forward() : null)
+                .expiries(chain.expiries())
+                .quotedAt(LocalDateTime.now(EXCHANGE_ZONE))
+                .rows(rows)
+                .build();
+    }
+
+    private UnderlyingChain findChain(String underlying) {
+        if (!optionChainIndex.isReady()) {
+            throw new IllegalStateException("Option chain index is not loaded yet");
+        }
+        return optionChainIndex.find(underlying)
+                .orElseThrow(() -> new IllegalArgumentException("No options listed for underlying " + underlying));
+    }
+
+    private Map<String, OptionChainData.Leg> fetchLegs(ExpiryChain options, int first, int last) {
+        List<String> keys = new ArrayList<>((last - first + 1) * 2);
+        for (int i = first; i <= last; i++) {
+            addIfPresent(keys, options.callKey(i));
+            addIfPresent(keys, options.putKey(i));
+        }
+
+        Map<String, LtpQuoteData> quotes = fetchQuotes(keys);
+        List<String> unquoted = keys.stream().filter(key -> !quotes.containsKey(key)).toList();
+        Map<String, LatestBar> bars = unquoted.isEmpty() ? Collections.emptyMap()
+                : marketSnapshotService.getSnapshot(unquoted).stream()
+                .collect(Collectors.toMap(LatestBar::getInstrumentKey, Function.identity()));
+
+        Map<String, OptionChainData.Leg> legs = new HashMap<>(keys.size() * 2);
+        for (String key : keys) {
+            LtpQuoteData quote = quotes.get(key);
+            LatestBar bar = bars.get(key);
+            OptionChainData.Leg.LegBuilder leg = OptionChainData.Leg.builder().instrumentKey(key);
+            if (quote != null) {
+                leg.lastPrice(toDouble(quote.getLastPrice()))
+                        .closePrice(toDouble(quote.getClosePrice()))
+                        .volume(quote.getVolume())
+                        .openInterest(quote.getOpenInterest());
+            } else if (bar != null) {
+                leg.lastPrice(bar.getClose())
+                        .closePrice(bar.getPrevClose())
+                        .volume(bar.getVolume());
+            }
+            legs.put(key, leg.build());
+        }
+        return legs;
+    }
+
+    /**
+     * Quotes by instrument key, through the quote cache so replicas serving the same chain share one fetch
+     */
+    private Map<String, LtpQuoteData> fetchQuotes(List<String> instrumentKeys) {
+        Map<String, LtpQuoteData> quotes = new HashMap<>(instrumentKeys.size() * 2);
+        for (int from = 0; from < instrumentKeys.size(); from += QUOTE_BATCH_SIZE) {
+            List<String> batch = instrumentKeys.subList(from, Math.min(instrumentKeys.size(), from + QUOTE_BATCH_SIZE));
+            quotes.putAll(upstoxMarketDataService.getLatestQuotes(batch));
+        }
+        return quotes;
+    }
+
+    private Double lastPrice(String instrumentKey, Map<String, LtpQuoteData> quotes) {
+        LtpQuoteData quote = quotes.get(instrumentKey);
+        if (quote != null && quote.getLastPrice() != null) {
+            return quote.getLastPrice().doubleValue();
+        }
+        return marketSnapshotService.getLatestBar(instrumentKey).map(LatestBar::getClose).orElse(null);
+    }
+
+    private static double[] premiums(ExpiryChain options, Map<String, OptionChainData.Leg> legs, int first, int last) {
+        double[] premiums = new double[options.size() * 2];
+        Arrays.fill(premiums, Double.NaN);
+        for (int i = first; i <= last; i++) {
+            premiums[ChainGreeks.callLeg(i)] = priceOf(legs, options.callKey(i));
+            premiums[ChainGreeks.putLeg(i)] = priceOf(legs, options.putKey(i));
+        }
+        return premiums;
+    }
+
+    private static double priceOf(Map<String, OptionChainData.Leg> legs, String key) {
+        OptionChainData.Leg leg = key != null ? legs.get(key) : null;
+        return leg != null && leg.getLastPrice() != null ? leg.getLastPrice() : Double.NaN;
+    }
+
+    private static OptionChainData.Leg withGreeks(OptionChainData.Leg leg, ChainGreeks greeks, int index) {
+        if (leg == null || greeks == null || Double.isNaN(greeks.volatility(index))) {
+            return leg;
+        }
+        leg.setImpliedVolatility(greeks.volatility(index));
+        leg.setDelta(greeks.delta(index));
+        leg.setGamma(greeks.gamma(index));
+        leg.setTheta(greeks.theta(index));
+        leg.setVega(greeks.vega(index));
+        return leg;
+    }
+
+    private static void addIfPresent(List<String> keys, String key) {
+        if (key != null) {
+            keys.add(key);
+        }
+    }
+
+    private static Double toDouble(BigDecimal value) {
+        return value != null ? value.doubleValue() : null;
+    }
+}
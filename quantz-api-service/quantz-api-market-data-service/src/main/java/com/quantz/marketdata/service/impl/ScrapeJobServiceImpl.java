@@ -0,0 +1,389 @@
+package com.quantz.marketdata.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.quantz.marketdata.entity.ScrapingMetadata;
+import com.quantz.marketdata.model.ScrapeJob;
+import com.quantz.marketdata.repository.ScrapingMetadataRepository;
+import com.quantz.marketdata.scraping.ScrapeMonitor;
+import com.quantz.marketdata.service.MarketDataScraperService;
+import com.quantz.marketdata.service.ScrapeJobService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs scrapes as background jobs on a dedicated single-thread executor.
+ * <p>
+ * Only one job is active per node: submitting while a job is queued, running or paused returns that job. Live jobs
+ * are kept in memory for a day; finished runs stay available afterwards through {@code scraping_metadata}, where
+ * every node records the jobs it ran with their job id. Subscribers of a job get its progress pushed as server-sent
+ * events at a fixed interval, on async requests that hold no servlet thread.
+ */
+@Slf4j
+@Service
+public class ScrapeJobServiceImpl implements ScrapeJobService {
+
+    private static final String PROGRESS_EVENT = "progress";
+    private static final int HISTORY_SIZE = 50;
+
+    private final MarketDataScraperService scraperService;
+    private final ScrapingMetadataRepository metadataRepository;
+    private final ThreadPoolTaskExecutor executor;
+    private final long streamTimeoutMillis;
+
+    private final Cache<String, Job> jobs = Caffeine.newBuilder()
+            .maximumSize(200)
+            .expireAfterWrite(Duration.ofHours(24))
+            .build();
+    private final Map<String, List<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+    private final Object submitLock = new Object();
+    private volatile Job active;
+
+    public ScrapeJobServiceImpl(MarketDataScraperService scraperService,
+                                ScrapingMetadataRepository metadataRepository,
+                                @Qualifier("scrapeJobExecutor") ThreadPoolTaskExecutor executor,
+                                @Value("${data-scraper.stream-timeout-minutes:60}") long streamTimeoutMinutes) {
+        this.scraperService = scraperService;
+        this.metadataRepository = metadataRepository;
+        this.executor = executor;
+        this.streamTimeoutMillis = Duration.ofMinutes(streamTimeoutMinutes).toMillis();
+    }
+
+    // Run at 4:00 PM on weekdays (Monday to Friday)
+    @Scheduled(cron = "${data-scraper.cron:0 0 16 * * MON-FRI}")
+    public void scheduledScraping() {
+        log.info("Starting scheduled market data scraping at {}", LocalDateTime.now());
+        submit(ScrapeJob.Trigger.SCHEDULED);
+    }
+
+    @Override
+    public ScrapeJob submit(ScrapeJob.Trigger trigger) {
+        synchronized (submitLock) {
+            Job current = active;
+            if (current != null && !current.isFinished()) {
+                log.info("Scrape job {} is still {}, not starting another", current.id, current.status);
+                return current.view();
+            }
+            Job job = new Job(UUID.randomUUID().toString(), trigger);
+            jobs.put(job.id, job);
+            active = job;
+            job.future = executor.submit(() -> execute(job));
+            log.info("Queued {} scrape job {}", trigger, job.id);
+            return job.view();
+        }
+    }
+
+    @Override
+    public Optional<ScrapeJob> getJob(String id) {
+        Job job = jobs.getIfPresent(id);
+        if (job != null) {
+            return Optional.of(job.view());
+        }
+        return metadataRepository.findFirstByJobId(id).map(this::fromMetadata);
+    }
+
+    @Override
+    public List<ScrapeJob> getJobs() {
+        Map<String, ScrapeJob> views = new LinkedHashMap<>();
+        jobs.asMap().values().forEach(job -> views.put(job.id, job.view()));
+
+        List<ScrapeJob> result = new ArrayList<>(views.values());
+        for (ScrapingMetadata metadata : metadataRepository.findTop50ByOrderByScrapedAtDesc()) {
+            if (metadata.getJobId() == null || !views.containsKey(metadata.getJobId())) {
+                result.add(fromMetadata(metadata));
+            }
+        }
+        result.sort(Comparator.comparing(ScrapeJob::getSubmittedAt,
+                Comparator.nullsLast(Comparator.reverseOrder())));
+        return result.size() > HISTORY_SIZE ? result.subList(0, HISTORY_SIZE) : result;
+    }
+
+    @Override
+    public Optional<SseEmitter> subscribe(String id) {
+        Job job = jobs.getIfPresent(id);
+        if (job == null) {
+            return Optional.empty();
+        }
+
+        SseEmitter emitter = new SseEmitter(streamTimeoutMillis);
+        List<SseEmitter> emitters = subscribers.computeIfAbsent(id, key -> new CopyOnWriteArrayList<>());
+        emitters.add(emitter);
+        emitter.onCompletion(() -> emitters.remove(emitter));
+        emitter.onTimeout(() -> emitters.remove(emitter));
+        emitter.onError(error -> emitters.remove(emitter));
+
+        send(emitter, job.view());
+        if (job.isFinished()) {
+            emitter.complete();
+        }
+        return Optional.of(emitter);
+    }
+
+    @Override
+    public Optional<ScrapeJob> cancel(String id) {
+        Job job = jobs.getIfPresent(id);
+        if (job == null) {
+            return Optional.empty();
+        }
+        job.cancel();
+        if (job.status == ScrapeJob.Status.QUEUED && job.future != null && job.future.cancel(false)) {
+            job.finish(ScrapeJob.Status.CANCELLED, null);
+        }
+        log.info("Cancellation requested for scrape job {}", id);
+        return Optional.of(job.view());
+    }
+
+    @Override
+    public Optional<ScrapeJob> pause(String id) {
+        Job job = jobs.getIfPresent(id);
+        if (job == null) {
+            return Optional.empty();
+        }
+        if (job.pause()) {
+            log.info("Scrape job {} paused", id);
+        }
+        return Optional.of(job.view());
+    }
+
+    @Override
+    public Optional<ScrapeJob> resume(String id) {
+        Job job = jobs.getIfPresent(id);
+        if (job == null) {
+            return Optional.empty();
+        }
+        if (job.resume()) {
+            log.info("Scrape job {} resumed", id);
+        }
+        return Optional.of(job.view());
+    }
+
+    /**
+     * Push the state of every watched job to its subscribers, closing the streams of finished jobs
+     */
+    @Scheduled(fixedDelayString = "${data-scraper.progress-interval-ms:1000}")
+    public void broadcastProgress() {
+        subscribers.forEach((id, emitters) -> {
+            Job job = jobs.getIfPresent(id);
+            if (job == null || emitters.isEmpty()) {
+                subscribers.remove(id);
+                emitters.forEach(SseEmitter::complete);
+                return;
+            }
+            ScrapeJob view = job.view();
+            for (SseEmitter emitter : emitters) {
+                send(emitter, view);
+                if (job.isFinished()) {
+                    emitter.complete();
+                }
+            }
+        });
+    }
+
+    private void execute(Job job) {
+        if (job.cancelled) {
+            job.finish(ScrapeJob.Status.CANCELLED, null);
+            return;
+        }
+        job.start();
+        try {
+            boolean complete = scraperService.scrape(job.id, job);
+            if (job.cancelled) {
+                job.finish(ScrapeJob.Status.CANCELLED, null);
+            } else if (complete) {
+                job.finish(ScrapeJob.Status.COMPLETED, null);
+            } else {
+                job.finish(ScrapeJob.Status.FAILED, "Not all instrument shards finished within the run timeout");
+            }
+            log.info("Scrape job {} finished as {}", job.id, job.status);
+        } catch (Exception e) {
+            log.error("Scrape job {} failed: {}", job.id, e.getMessage(), e);
+            job.finish(ScrapeJob.Status.FAILED, e.getMessage());
+        }
+    }
+
+    private void send(SseEmitter emitter, ScrapeJob view) {
+        try {
+            emitter.send(SseEmitter.event().name(PROGRESS_EVENT).id(view.getId()).data(view));
+        } catch (IOException | IllegalStateException e) {
+            // The client went away; the error callback unregisters the emitter
+            emitter.completeWithError(e);
+        }
+    }
+
+    private ScrapeJob fromMetadata(ScrapingMetadata metadata) {
+        ScrapeJob.Status status = switch (String.valueOf(metadata.getStatus())) {
+            case "COMPLETED" -> ScrapeJob.Status.COMPLETED;
+            case "CANCELLED" -> ScrapeJob.Status.CANCELLED;
+            default -> ScrapeJob.Status.FAILED;
+        };
+        return ScrapeJob.builder()
+                .id(metadata.getJobId())
+                .status(status)
+                .submittedAt(metadata.getScrapedAt())
+                .finishedAt(metadata.getScrapedAt())
+                .totalInstruments(metadata.getInstrumentsScraped() != null ? metadata.getInstrumentsScraped() : 0)
+                .dataPoints(metadata.getDataPointsScraped() != null ? metadata.getDataPointsScraped() : 0)
+                .progress(status == ScrapeJob.Status.COMPLETED ? 1.0 : 0.0)
+                .error(status == ScrapeJob.Status.COMPLETED ? null : metadata.getDetails())
+                .build();
+    }
+
+    /**
+     * Mutable job state, read by status requests and the broadcaster while the scrape thread updates it
+     */
+    private static final class Job implements ScrapeMonitor {
+
+        final String id;
+        final ScrapeJob.Trigger trigger;
+        final LocalDateTime submittedAt = LocalDateTime.now();
+        final AtomicInteger total = new AtomicInteger();
+        final AtomicInteger scraped = new AtomicInteger();
+        final AtomicInteger skipped = new AtomicInteger();
+        final AtomicLong dataPoints = new AtomicLong();
+
+        volatile ScrapeJob.Status status = ScrapeJob.Status.QUEUED;
+        volatile LocalDateTime startedAt;
+        volatile LocalDateTime finishedAt;
+        volatile boolean cancelled;
+        volatile boolean paused;
+        volatile String error;
+        volatile Future<?> future;
+
+        // Running time excludes pauses, so rates and the ETA reflect actual scraping
+        long startedNanos;
+        long finishedNanos;
+        long pausedNanos;
+        long pausedSince;
+
+        Job(String id, ScrapeJob.Trigger trigger) {
+            this.id = id;
+            this.trigger = trigger;
+        }
+
+        synchronized void start() {
+            startedAt = LocalDateTime.now();
+            startedNanos = System.nanoTime();
+            status = ScrapeJob.Status.RUNNING;
+        }
+
+        synchronized boolean pause() {
+            if (status != ScrapeJob.Status.RUNNING) {
+                return false;
+            }
+            paused = true;
+            pausedSince = System.nanoTime();
+            status = ScrapeJob.Status.PAUSED;
+            return true;
+        }
+
+        synchronized boolean resume() {
+            if (status != ScrapeJob.Status.PAUSED) {
+                return false;
+            }
+            paused = false;
+            pausedNanos += System.nanoTime() - pausedSince;
+            status = ScrapeJob.Status.RUNNING;
+            notifyAll();
+            return true;
+        }
+
+        synchronized void cancel() {
+            cancelled = true;
+            notifyAll();
+        }
+
+        synchronized void finish(ScrapeJob.Status finalStatus, String message) {
+            if (paused) {
+                paused = false;
+                pausedNanos += System.nanoTime() - pausedSince;
+            }
+            error = message;
+            finishedNanos = System.nanoTime();
+            finishedAt = LocalDateTime.now();
+            status = finalStatus;
+        }
+
+        boolean isFinished() {
+            return status == ScrapeJob.Status.COMPLETED || status == ScrapeJob.Status.FAILED
+                    || status == ScrapeJob.Status.CANCELLED;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        @Override
+        public synchronized void awaitIfPaused() throws InterruptedException {
+            while (paused && !cancelled) {
+                wait();
+            }
+        }
+
+        @Override
+        public void planned(int instruments) {
+            total.set(instruments);
+        }
+
+        @Override
+        public void instrumentScraped(int points) {
+            scraped.incrementAndGet();
+            dataPoints.addAndGet(points);
+        }
+
+        @Override
+        public void instrumentsSkipped(int instruments) {
+            skipped.addAndGet(instruments);
+        }
+
+        synchronized ScrapeJob view() {
+            int done = Math.min(scraped.get() + skipped.get(), total.get());
+            double seconds = runningNanos() / 1e9;
+            double instrumentRate = seconds > 0 ? scraped.get() / seconds : 0;
+            Long eta = instrumentRate > 0 && !isFinished()
+                    ? Math.round((total.get() - done) / instrumentRate)
+                    : null;
+
+            return ScrapeJob.builder()
+                    .id(id)
+                    .status(status)
+                    .trigger(trigger)
+                    .submittedAt(submittedAt)
+                    .startedAt(startedAt)
+                    .finishedAt(finishedAt)
+                    .totalInstruments(total.get())
+                    .instrumentsDone(done)
+                    .dataPoints(dataPoints.get())
+                    .candlesPerSecond(seconds > 0 ? dataPoints.get() / seconds : 0)
+                    .etaSeconds(eta)
+                    .progress(status == ScrapeJob.Status.COMPLETED ? 1.0
+                            : total.get() > 0 ? (double) done / total.get() : 0.0)
+                    .error(error)
+                    .build();
+        }
+
+        private long runningNanos() {
+            if (startedAt == null) {
+                return 0;
+            }
+            long now = finishedAt != null ? finishedNanos : System.nanoTime();
+            long pausedTotal = pausedNanos + (paused ? now - pausedSince : 0);
+            return Math.max(0, now - startedNanos - pausedTotal);
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.quantz.marketdata.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.quantz.marketdata.entity.Instrument;
+import com.quantz.marketdata.entity.LatestBar;
+import com.quantz.marketdata.model.IndicatorValues;
+import com.quantz.marketdata.model.ScreenerRequest;
+import com.quantz.marketdata.model.ScreenerResult;
+import com.quantz.marketdata.screener.CompiledScreen;
+import com.quantz.marketdata.screener.ScreenCompiler;
+import com.quantz.marketdata.screener.ScreenField;
+import com.quantz.marketdata.search.InstrumentQueryEngine;
+import com.quantz.marketdata.service.IndicatorService;
+import com.quantz.marketdata.service.MarketSnapshotService;
+import com.quantz.marketdata.service.ScreenerService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Screens the universe on the in-memory latest-bar snapshot and saved indicator state. Rows are built
+ * and tested in parallel on the fork/join common pool, which never waits on the database: instruments
+ * whose state for a referenced indicator is not loaded yet are left out, reported as warming, and loaded
+ * in the background. After that the scraper keeps the indicator state current.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ScreenerServiceImpl implements ScreenerService {
+
+    private final MarketSnapshotService snapshotService;
+    private final IndicatorService indicatorService;
+    private final InstrumentQueryEngine instrumentQueryEngine;
+
+    private final Cache<List<String>, CompiledScreen> compiledScreens = Caffeine.newBuilder()
+            .maximumSize(256)
+            .build();
+
+    @Override
+    public ScreenerResult screen(ScreenerRequest request) {
+        long start = System.nanoTime();
+        CompiledScreen screen = compiledScreens.get(Arrays.asList(request.getExpression(), request.getRankBy()),
+                key -> ScreenCompiler.compile(request.getExpression(), request.getRankBy()));
+
+        Set<String> segments = request.getSegment() == null || request.getSegment().isEmpty()
+                ? null : new HashSet<>(request.getSegment());
+        List<LatestBar> universe = snapshotService.getSnapshot().stream()
+                .filter(bar -> segments == null || segments.contains(segmentOf(bar.getInstrumentKey())))
+                .toList();
+
+        Set<String> cold = ConcurrentHashMap.newKeySet();
+        List<ScreenerResult.Match> matches = universe.parallelStream()
+                .map(bar -> evaluate(screen, bar, cold))
+                .filter(Objects::nonNull)
+                .sorted(rankOrder(request.isAscending()))
+                .toList();
+        List<String> warming = cold.stream().sorted().toList();
+        warmUp(warming, screen.indicatorSpecs());
+
+        int limit = request.getLimit() != null ? request.getLimit() : 100;
+        long tookMillis = (System.nanoTime() - start) / 1_000_000;
+        log.info("Screen '{}' matched {} of {} instruments in {} ms, {} left out while their indicators load",
+                request.getExpression(), matches.size(), universe.size() - warming.size(), tookMillis, warming.size());
+
+        return ScreenerResult.builder()
+                .expression(request.getExpression())
+                .evaluated(universe.size() - warming.size())
+                .matched(matches.size())
+                .warming(warming)
+                .tookMillis(tookMillis)
+                .matches(matches.subList(0, Math.min(limit, matches.size())))
+                .build();
+    }
+
+    private ScreenerResult.Match evaluate(CompiledScreen screen, LatestBar bar, Set<String> cold) {
+        double[] row = new double[screen.width()];
+        ScreenField.fill(bar, row);
+
+        if (!screen.indicatorColumns().isEmpty()) {
+            Optional<IndicatorValues> indicators = indicatorService.getLoadedValues(
+                    bar.getInstrumentKey(), screen.indicatorSpecs());
+            if (indicators.isEmpty()) {
+                cold.add(bar.getInstrumentKey());
+                return null;
+            }
+            for (CompiledScreen.IndicatorColumn column : screen.indicatorColumns()) {
+                Double value = indicators
+                        .map(values -> values.getValues().get(column.spec()))
+                        .map(outputs -> outputs.get(column.output()))
+                        .orElse(null);
+                row[column.column()] = value != null ? value : Double.NaN;
+            }
+        }
+
+        if (!screen.test(row)) {
+            return null;
+        }
+
+        Map<String, Double> values = new TreeMap<>();
+        screen.referenced().forEach((label, column) -> values.put(label, Double.isNaN(row[column]) ? null : row[column]));
+        double rank = screen.rank(row);
+
+        return ScreenerResult.Match.builder()
+                .instrumentKey(bar.getInstrumentKey())
+                .tradingSymbol(instrumentQueryEngine.findByKey(bar.getInstrumentKey())
+                        .map(Instrument::getTradingSymbol)
+                        .orElse(null))
+                .timestamp(bar.getTimestamp())
+                .rank(Double.isNaN(rank) ? null : rank)
+                .values(values)
+                .build();
+    }
+
+    private void warmUp(List<String> instrumentKeys, List<String> indicatorSpecs) {
+        if (instrumentKeys.isEmpty()) {
+            return;
+        }
+        try {
+            indicatorService.warmUp(instrumentKeys, indicatorSpecs);
+        } catch (TaskRejectedException e) {
+            log.warn("Could not queue indicator warm-up of {} instruments: {}", instrumentKeys.size(), e.getMessage());
+        }
+    }
+
+    private Comparator<ScreenerResult.Match> rankOrder(boolean ascending) {
+        Comparator<Double> byValue = ascending ? Comparator.naturalOrder() : Comparator.reverseOrder();
+        return Comparator.comparing(ScreenerResult.Match::getRank, Comparator.nullsLast(byValue))
+                .thenComparing(ScreenerResult.Match::getInstrumentKey);
+    }
+
+    private String segmentOf(String instrumentKey) {
+        return instrumentQueryEngine.findByKey(instrumentKey)
+                .map(Instrument::getSegment)
+                .orElseGet(() -> {
+                    // Instrument keys are "<segment>|<token>"
+                    int separator = instrumentKey.indexOf('|');
+                    return separator > 0 ? instrumentKey.substring(0, separator) : null;
+                });
+    }
+}
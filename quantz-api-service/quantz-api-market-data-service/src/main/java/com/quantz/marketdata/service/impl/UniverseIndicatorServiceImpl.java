@@ -0,0 +1,106 @@
+package com.quantz.marketdata.service.impl;
+
+import com.quantz.marketdata.indicators.panel.PanelKernels;
+import com.quantz.marketdata.indicators.panel.ScalarPanelKernels;
+import com.quantz.marketdata.indicators.panel.UniversePanel;
+import com.quantz.marketdata.indicators.panel.UniversePanelLoader;
+import com.quantz.marketdata.model.UniverseIndicatorValues;
+import com.quantz.marketdata.service.UniverseIndicatorService;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UniverseIndicatorServiceImpl implements UniverseIndicatorService {
+
+    private static final List<String> DEFAULT_INDICATORS = List.of("SMA:20", "SMA:50", "EMA:20", "RET:1", "VOL:20");
+
+    private final UniversePanelLoader panelLoader;
+
+    @Value("${quantz.indicators.vectorized:true}")
+    private boolean vectorized = true;
+
+    @Value("${quantz.indicators.panel-lookback-days:400}")
+    private int lookbackDays = 400;
+
+    private PanelKernels kernels;
+
+    @PostConstruct
+    void selectKernels() {
+        kernels = vectorized ? PanelKernels.best() : new ScalarPanelKernels();
+        log.info("Universe indicators use {} kernels", kernels.name());
+    }
+
+    @Override
+    public UniverseIndicatorValues computeLatest(String interval, List<String> indicators) {
+        List<String> specs = indicators == null || indicators.isEmpty() ? DEFAULT_INDICATORS : indicators;
+        LocalDateTime until = LocalDateTime.now();
+        UniversePanel panel = panelLoader.load(interval, until.minusDays(lookbackDays), until);
+
+        long start = System.nanoTime();
+        int width = panel.width();
+        int length = panel.length();
+        double[] out = new double[width * length];
+        Map<String, Map<String, Double>> values = new LinkedHashMap<>();
+
+        for (String spec : specs) {
+            String[] parts = spec.trim().toUpperCase(Locale.ROOT).split(":");
+            int period = parsePeriod(spec, parts);
+            switch (parts[0]) {
+                case "SMA" -> kernels.rollingMean(panel.close(), width, length, period, out);
+                case "EMA" -> kernels.ema(panel.close(), width, length, 2.0 / (period + 1), out);
+                case "RET" -> kernels.returns(panel.close(), width, length, period, out);
+                case "VOL" -> kernels.rollingMean(panel.volume(), width, length, period, out);
+                default -> throw new IllegalArgumentException("Unsupported universe indicator: " + spec);
+            }
+            values.put(parts[0] + ":" + period, latestRow(panel, out));
+        }
+
+        long computeMillis = (System.nanoTime() - start) / 1_000_000;
+        log.info("Computed {} indicators for {} instruments x {} bars in {} ms",
+                specs.size(), width, length, computeMillis);
+
+        return UniverseIndicatorValues.builder()
+                .interval(interval)
+                .timestamp(length > 0 ? panel.timestamps()[length - 1] : null)
+                .instruments(width)
+                .kernels(kernels.name())
+                .computeMillis(computeMillis)
+                .values(values)
+                .build();
+    }
+
+    private Map<String, Double> latestRow(UniversePanel panel, double[] out) {
+        Map<String, Double> latest = new LinkedHashMap<>(panel.width() * 2);
+        if (panel.length() == 0) {
+            return latest;
+        }
+        for (int i = 0; i < panel.width(); i++) {
+            double value = out[panel.index(panel.length() - 1, i)];
+            latest.put(panel.instrumentKeys()[i], Double.isNaN(value) ? null : value);
+        }
+        return latest;
+    }
+
+    private int parsePeriod(String spec, String[] parts) {
+        try {
+            int period = parts.length > 1 ? Integer.parseInt(parts[1]) : 20;
+            if (period <= 0 || period > lookbackDays) {
+                throw new IllegalArgumentException("Indicator period out of range: " + spec);
+            }
+            return period;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid indicator period: " + spec);
+        }
+    }
+}
@@ -4,6 +4,7 @@ import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.quantz.marketdata.config.UpstoxProperties;
 import com.quantz.marketdata.entity.Instrument;
+import com.quantz.marketdata.event.InstrumentsUpdatedEvent;
 import com.quantz.marketdata.model.UpstoxInstrument;
 import com.quantz.marketdata.repository.InstrumentRepository;
 import com.quantz.marketdata.service.UpstoxHttpClient;
@@ -11,6 +12,7 @@ import com.quantz.marketdata.service.UpstoxInstrumentService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.ResponseEntity;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
@@ -32,13 +34,15 @@ public class UpstoxInstrumentServiceImpl implements UpstoxInstrumentService {
     private final UpstoxHttpClient upstoxHttpClient;
     private final ObjectMapper objectMapper;
     private final RestTemplate restTemplate;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public UpstoxInstrumentServiceImpl(UpstoxProperties upstoxProperties, InstrumentRepository instrumentRepository, UpstoxHttpClient upstoxHttpClient, ObjectMapper objectMapper, RestTemplate restTemplate) {
+    public UpstoxInstrumentServiceImpl(UpstoxProperties upstoxProperties, InstrumentRepository instrumentRepository, UpstoxHttpClient upstoxHttpClient, ObjectMapper objectMapper, RestTemplate restTemplate, ApplicationEventPublisher eventPublisher) {
         this.upstoxProperties = upstoxProperties;
         this.instrumentRepository = instrumentRepository;
         this.upstoxHttpClient = upstoxHttpClient;
         this.objectMapper = objectMapper;
         this.restTemplate = restTemplate;
+        this.eventPublisher = eventPublisher;
     }
 
     // In-memory cache for instruments
@@ -117,6 +121,7 @@ public class UpstoxInstrumentServiceImpl implements UpstoxInstrumentService {
         int totalSaved = saveBatches(entityInstruments, 500);
 
         log.info("Saved {} instruments to database", totalSaved);
+        eventPublisher.publishEvent(new InstrumentsUpdatedEvent(totalSaved));
         return totalSaved;
     }
 
@@ -1,7 +1,10 @@
 package com.quantz.marketdata.service.impl;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quantz.marketdata.cache.CacheBatches;
+import com.quantz.marketdata.cache.CacheNames;
 import com.quantz.marketdata.config.UpstoxProperties;
+import com.quantz.marketdata.event.QuotesReceivedEvent;
 import com.quantz.marketdata.model.CandleData;
 import com.quantz.marketdata.model.CandleDataResponse;
 import com.quantz.marketdata.model.LtpQuoteData;
@@ -11,6 +14,8 @@ import com.quantz.marketdata.service.UpstoxHttpClient;
 import com.quantz.marketdata.service.UpstoxMarketDataService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 
@@ -29,6 +34,8 @@ public class UpstoxMarketDataServiceImpl implements UpstoxMarketDataService {
     private final UpstoxAuthService authService;
     private final UpstoxProperties upstoxProperties;
     private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CacheManager cacheManager;
 
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ISO_DATE;
     private static final String HISTORICAL_CANDLE_PATH = "/historical-candle/{instrumentKey}/{interval}/{toDate}/{fromDate}";
@@ -39,33 +46,28 @@ public class UpstoxMarketDataServiceImpl implements UpstoxMarketDataService {
     public List<CandleData> fetchHistoricalCandleData(
             String instrumentKey, String interval, LocalDate fromDate, LocalDate toDate) {
 
-        try {
-            String path = HISTORICAL_CANDLE_PATH
-                    .replace("{instrumentKey}", instrumentKey)
-                    .replace("{interval}", interval)
-                    .replace("{toDate}", toDate.format(DATE_FORMATTER))
-                    .replace("{fromDate}", fromDate.format(DATE_FORMATTER));
+        String path = HISTORICAL_CANDLE_PATH
+                .replace("{instrumentKey}", instrumentKey)
+                .replace("{interval}", interval)
+                .replace("{toDate}", toDate.format(DATE_FORMATTER))
+                .replace("{fromDate}", fromDate.format(DATE_FORMATTER));
 
-            ResponseEntity<UpstoxResponse> response =
-                    upstoxHttpClient.get(path, UpstoxResponse.class);
+        ResponseEntity<UpstoxResponse> response =
+                upstoxHttpClient.get(path, UpstoxResponse.class);
 
-            if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
-                UpstoxResponse<CandleDataResponse> upstoxResponse = response.getBody();
+        if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
+            UpstoxResponse<CandleDataResponse> upstoxResponse = response.getBody();
 
-                if ("success".equals(upstoxResponse.getStatus()) && upstoxResponse.getData() != null) {
-                    CandleDataResponse candleDataResponse = upstoxResponse.getData();
+            if ("success".equals(upstoxResponse.getStatus()) && upstoxResponse.getData() != null) {
+                CandleDataResponse candleDataResponse = upstoxResponse.getData();
 
-                    return processCandleData(candleDataResponse.getCandles(), instrumentKey, interval);
-                }
+                return processCandleData(candleDataResponse.getCandles(), instrumentKey, interval);
             }
-
-            log.warn("Failed to fetch historical candle data for instrument: {}", instrumentKey);
-            return Collections.emptyList();
-
-        } catch (Exception e) {
-            log.error("Error fetching historical candle data for {}: {}", instrumentKey, e.getMessage(), e);
-            return Collections.emptyList();
         }
+
+        // Failures must not look like an instrument without candles, which the scrape universe backs off from
+        throw new IllegalStateException("Failed to fetch historical candle data for instrument " + instrumentKey
+                + ": status " + response.getStatusCode());
     }
 
     @Override
@@ -118,7 +120,9 @@ public class UpstoxMarketDataServiceImpl implements UpstoxMarketDataService {
                 UpstoxResponse<Map<String, LtpQuoteData>> upstoxResponse = response.getBody();
 
                 if ("success".equals(upstoxResponse.getStatus()) && upstoxResponse.getData() != null) {
-                    return upstoxResponse.getData();
+                    Map<String, LtpQuoteData> quotes = upstoxResponse.getData();
+                    eventPublisher.publishEvent(new QuotesReceivedEvent(quotes));
+                    return quotes;
                 }
             }
 
@@ -131,6 +135,20 @@ public class UpstoxMarketDataServiceImpl implements UpstoxMarketDataService {
         }
     }
 
+    @Override
+    public Map<String, LtpQuoteData> getLatestQuotes(Collection<String> instrumentKeys) {
+        if (instrumentKeys == null || instrumentKeys.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        return CacheBatches.getAll(cacheManager.getCache(CacheNames.LATEST_QUOTES), instrumentKeys, missing -> {
+            // The response is keyed by trading symbol, so the instrument token is used when present
+            Map<String, LtpQuoteData> quotes = new HashMap<>(missing.size() * 2);
+            getLtpQuotes(new ArrayList<>(missing)).forEach((responseKey, quote) ->
+                    quotes.put(quote.getInstrumentToken() != null ? quote.getInstrumentToken() : responseKey, quote));
+            return quotes;
+        });
+    }
+
     @Override
     public void connectToMarketDataStream(List<String> instrumentKeys) {
         // Implementation for WebSocket connection would go here
@@ -0,0 +1,371 @@
+package com.quantz.marketdata.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.quantz.marketdata.backtest.*;
+import com.quantz.marketdata.backtest.strategy.Strategies;
+import com.quantz.marketdata.model.BacktestRequest;
+import com.quantz.marketdata.model.WalkForwardJob;
+import com.quantz.marketdata.model.WalkForwardReport;
+import com.quantz.marketdata.model.WalkForwardRequest;
+import com.quantz.marketdata.service.WalkForwardService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+/**
+ * Runs walk-forward studies in the background.
+ * <p>
+ * A study loads its dataset once (shared through the loader's cache) and schedules the in-sample sweeps
+ * of all windows as one flat batch on the backtest pool, so windows run in parallel and no worker waits
+ * for a slow window to finish. In-sample results are memoised by dataset, window and parameters, which
+ * lets re-runs with another ranking metric, out-of-sample span or a widened grid skip work already done;
+ * indicator columns are memoised by the dataset across all windows. The winners' out-of-sample runs then
+ * execute in parallel and are compounded into one equity curve.
+ */
+@Slf4j
+@Service
+public class WalkForwardServiceImpl implements WalkForwardService {
+
+    private static final int MAX_WINDOWS = 1000;
+
+    private final BacktestDataLoader dataLoader;
+    private final ForkJoinPool pool;
+    private final ThreadPoolTaskExecutor executor;
+    private final int maxEvaluations;
+    private final int curvePoints;
+
+    private final Cache<EvaluationKey, BacktestStats> inSampleResults;
+    private final Cache<String, Job> jobs = Caffeine.newBuilder()
+            .maximumSize(200)
+            .expireAfterAccess(Duration.ofHours(12))
+            .build();
+
+    public WalkForwardServiceImpl(BacktestDataLoader dataLoader, ForkJoinPool backtestPool,
+                                  @Qualifier("walkForwardExecutor") ThreadPoolTaskExecutor executor,
+                                  @Value("${quantz.backtest.max-walk-forward-evaluations:200000}") int maxEvaluations,
+                                  @Value("${quantz.backtest.evaluation-cache-size:500000}") long evaluationCacheSize,
+                                  @Value("${quantz.backtest.curve-points:2000}") int curvePoints) {
+        this.dataLoader = dataLoader;
+        this.pool = backtestPool;
+        this.executor = executor;
+        this.maxEvaluations = maxEvaluations;
+        this.curvePoints = curvePoints;
+        this.inSampleResults = Caffeine.newBuilder()
+                .maximumSize(evaluationCacheSize)
+                .expireAfterAccess(Duration.ofHours(2))
+                .build();
+    }
+
+    @Override
+    public WalkForwardJob submit(WalkForwardRequest request) {
+        BacktestRequest backtest = request.getBacktest();
+        if (!backtest.getStartTime().isBefore(backtest.getEndTime())) {
+            throw new IllegalArgumentException("startTime must be before endTime");
+        }
+        String rankBy = request.getRankBy() != null ? request.getRankBy() : "sharpe";
+        BacktestStats.bestFirst(rankBy);
+        Strategies.create(backtest.getStrategy(), backtest.getParameters());
+
+        int stepDays = request.getStepDays() != null ? request.getStepDays() : request.getOutOfSampleDays();
+        List<WalkForwardWindows.Window> windows = WalkForwardWindows.split(backtest.getStartTime(),
+                backtest.getEndTime(), request.getInSampleDays(), request.getOutOfSampleDays(), stepDays,
+                request.isAnchored(), MAX_WINDOWS);
+        List<Map<String, Double>> parameterSets = ParameterGrid.expand(backtest.getParameters(), request.getGrid(),
+                Math.max(1, maxEvaluations / windows.size()));
+
+        Job job = new Job(UUID.randomUUID().toString(), request, rankBy, windows, parameterSets);
+        jobs.put(job.id, job);
+        job.future = executor.submit(() -> execute(job));
+        log.info("Queued walk-forward study {} of {} with {} windows and {} parameter sets",
+                job.id, backtest.getStrategy(), windows.size(), parameterSets.size());
+        return job.view();
+    }
+
+    @Override
+    public Optional<WalkForwardJob> getJob(String id) {
+        return Optional.ofNullable(jobs.getIfPresent(id)).map(Job::view);
+    }
+
+    @Override
+    public List<WalkForwardJob> getJobs() {
+        return jobs.asMap().values().stream()
+                .sorted(Comparator.comparing((Job job) -> job.submittedAt).reversed())
+                .map(Job::view)
+                .toList();
+    }
+
+    @Override
+    public Optional<WalkForwardJob> cancel(String id) {
+        Job job = jobs.getIfPresent(id);
+        if (job == null) {
+            return Optional.empty();
+        }
+        job.cancelled = true;
+        if (job.status == WalkForwardJob.Status.QUEUED && job.future != null && job.future.cancel(false)) {
+            job.finish(WalkForwardJob.Status.CANCELLED, null);
+        }
+        log.info("Cancellation requested for walk-forward study {}", id);
+        return Optional.of(job.view());
+    }
+
+    private void execute(Job job) {
+        if (job.cancelled) {
+            job.finish(WalkForwardJob.Status.CANCELLED, null);
+            return;
+        }
+        job.status = WalkForwardJob.Status.RUNNING;
+        job.startedAt = LocalDateTime.now();
+        try {
+            job.report = study(job);
+            job.finish(job.cancelled ? WalkForwardJob.Status.CANCELLED : WalkForwardJob.Status.COMPLETED, null);
+            log.info("Walk-forward study {} finished as {}", job.id, job.status);
+        } catch (Exception e) {
+            log.error("Walk-forward study {} failed: {}", job.id, e.getMessage(), e);
+            job.finish(WalkForwardJob.Status.FAILED, e.getMessage());
+        }
+    }
+
+    private WalkForwardReport study(Job job) throws Exception {
+        BacktestRequest backtest = job.request.getBacktest();
+        CostModel costs = new CostModel(backtest.getCommissionBps(), backtest.getMinCommission(), backtest.getSlippageBps());
+        double capital = backtest.getInitialCapital();
+
+        long loadStart = System.nanoTime();
+        BacktestDataset dataset = dataLoader.load(backtest.getInstrumentKeys(), backtest.getInterval(),
+                backtest.getStartTime(), backtest.getEndTime());
+        long loadMillis = (System.nanoTime() - loadStart) / 1_000_000;
+
+        long start = System.nanoTime();
+        List<WalkForwardWindows.Window> windows = job.windows;
+        int[][] ranges = new int[windows.size()][];
+        for (int w = 0; w < windows.size(); w++) {
+            WalkForwardWindows.Window window = windows.get(w);
+            int outOfSampleEnd = window.outOfSampleEnd().equals(backtest.getEndTime())
+                    ? dataset.events() : dataset.firstEventAtOrAfter(epochSecond(window.outOfSampleEnd()));
+            ranges[w] = new int[]{dataset.firstEventAtOrAfter(epochSecond(window.inSampleStart())),
+                    dataset.firstEventAtOrAfter(epochSecond(window.outOfSampleStart())), outOfSampleEnd};
+        }
+
+        // In-sample: answer what earlier studies already evaluated, run the rest as one batch
+        int sets = job.parameterSets.size();
+        BacktestStats[][] inSample = new BacktestStats[windows.size()][sets];
+        List<ParameterSweep.Evaluation> pending = new ArrayList<>();
+        List<EvaluationKey> pendingKeys = new ArrayList<>();
+        for (int w = 0; w < windows.size(); w++) {
+            for (int p = 0; p < sets; p++) {
+                Map<String, Double> parameters = job.parameterSets.get(p);
+                EvaluationKey key = new EvaluationKey(dataset.id(), backtest.getStrategy(), parameters,
+                        ranges[w][0], ranges[w][1], capital, costs);
+                BacktestStats cached = inSampleResults.getIfPresent(key);
+                if (cached != null) {
+                    inSample[w][p] = cached;
+                    job.cached.incrementAndGet();
+                    job.completed.incrementAndGet();
+                } else {
+                    pending.add(new ParameterSweep.Evaluation(ranges[w][0], ranges[w][1], parameters));
+                    pendingKeys.add(key);
+                }
+            }
+        }
+
+        List<ParameterSweep.Result> results = ParameterSweep.evaluate(pool, dataset, pending,
+                parameters -> Strategies.create(backtest.getStrategy(), parameters), capital, costs, job);
+        int index = 0;
+        for (int w = 0; w < windows.size(); w++) {
+            for (int p = 0; p < sets; p++) {
+                if (inSample[w][p] == null) {
+                    BacktestStats stats = results.get(index).stats();
+                    if (stats != null) {
+                        inSample[w][p] = stats;
+                        inSampleResults.put(pendingKeys.get(index), stats);
+                    }
+                    index++;
+                }
+            }
+        }
+        if (job.cancelled) {
+            return null;
+        }
+
+        // Out-of-sample: trade each window's winner, all windows in parallel
+        Comparator<BacktestStats> bestFirst = BacktestStats.bestFirst(job.rankBy);
+        int[] winners = new int[windows.size()];
+        for (int w = 0; w < windows.size(); w++) {
+            winners[w] = -1;
+            for (int p = 0; p < sets; p++) {
+                if (inSample[w][p] != null && (winners[w] < 0 || bestFirst.compare(inSample[w][p], inSample[w][winners[w]]) < 0)) {
+                    winners[w] = p;
+                }
+            }
+        }
+
+        BacktestEngine.EquityCurve[] curves = new BacktestEngine.EquityCurve[windows.size()];
+        BacktestStats[] outOfSample = pool.submit(() -> IntStream.range(0, windows.size()).parallel()
+                .mapToObj(w -> {
+                    BacktestStats stats = null;
+                    if (winners[w] >= 0 && !job.cancelled) {
+                        curves[w] = new BacktestEngine.EquityCurve();
+                        stats = BacktestEngine.run(dataset, ranges[w][1], ranges[w][2],
+                                Strategies.create(backtest.getStrategy(), job.parameterSets.get(winners[w])),
+                                capital, costs, curves[w]);
+                    }
+                    job.completed.incrementAndGet();
+                    return stats;
+                })
+                .toArray(BacktestStats[]::new)).get();
+        if (job.cancelled) {
+            return null;
+        }
+
+        // Compound the out-of-sample windows: each starts with the equity the previous one ended with
+        BacktestEngine.EquityCurve combined = new BacktestEngine.EquityCurve();
+        double equity = capital;
+        int trades = 0;
+        int roundTrips = 0;
+        int wins = 0;
+        double costsPaid = 0;
+        List<WalkForwardReport.Window> windowReports = new ArrayList<>(windows.size());
+        for (int w = 0; w < windows.size(); w++) {
+            BacktestStats stats = outOfSample[w];
+            if (stats != null) {
+                double scale = equity / capital;
+                for (int i = 0; i < curves[w].size(); i++) {
+                    combined.add(curves[w].time(i), curves[w].equity(i) * scale);
+                }
+                equity = stats.finalEquity() * scale;
+                trades += stats.trades();
+                roundTrips += stats.roundTrips();
+                wins += (int) Math.round(stats.winRate() * stats.roundTrips());
+                costsPaid += stats.costs() * scale;
+            }
+
+            WalkForwardWindows.Window window = windows.get(w);
+            windowReports.add(WalkForwardReport.Window.builder()
+                    .inSampleStart(window.inSampleStart())
+                    .inSampleEnd(window.inSampleEnd())
+                    .outOfSampleStart(window.outOfSampleStart())
+                    .outOfSampleEnd(window.outOfSampleEnd())
+                    .parameters(winners[w] >= 0 ? job.parameterSets.get(winners[w]) : null)
+                    .inSample(winners[w] >= 0 ? inSample[w][winners[w]] : null)
+                    .outOfSample(stats)
+                    .build());
+        }
+
+        List<LocalDateTime> timestamps = new ArrayList<>();
+        List<Double> values = new ArrayList<>();
+        for (int i : combined.thinned(curvePoints)) {
+            timestamps.add(LocalDateTime.ofEpochSecond(combined.time(i), 0, ZoneOffset.UTC));
+            values.add(combined.equity(i));
+        }
+
+        long tookMillis = (System.nanoTime() - start) / 1_000_000;
+        log.info("Walk-forward study {} evaluated {} windows, {} of {} in-sample runs from cache, in {} ms",
+                job.id, windows.size(), job.cached.get(), windows.size() * sets, tookMillis);
+        return WalkForwardReport.builder()
+                .strategy(backtest.getStrategy())
+                .rankBy(job.rankBy)
+                .instruments(dataset.instruments())
+                .bars(dataset.events())
+                .loadMillis(loadMillis)
+                .tookMillis(tookMillis)
+                .windows(windowReports)
+                .outOfSample(BacktestStats.of(combined, capital, trades, roundTrips, wins, costsPaid))
+                .timestamps(timestamps)
+                .equity(values)
+                .build();
+    }
+
+    private static long epochSecond(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    /**
+     * In-sample evaluation identity; the dataset id changes whenever the candles are reloaded
+     */
+    private record EvaluationKey(long datasetId, String strategy, Map<String, Double> parameters, int fromEvent,
+                                 int toEvent, double initialCapital, CostModel costs) {
+    }
+
+    /**
+     * Mutable job state, read by status requests while worker threads update it
+     */
+    private static final class Job implements ParameterSweep.Monitor {
+
+        final String id;
+        final WalkForwardRequest request;
+        final String rankBy;
+        final List<WalkForwardWindows.Window> windows;
+        final List<Map<String, Double>> parameterSets;
+        final LocalDateTime submittedAt = LocalDateTime.now();
+        final AtomicInteger completed = new AtomicInteger();
+        final AtomicInteger cached = new AtomicInteger();
+
+        volatile WalkForwardJob.Status status = WalkForwardJob.Status.QUEUED;
+        volatile LocalDateTime startedAt;
+        volatile LocalDateTime finishedAt;
+        volatile boolean cancelled;
+        volatile String error;
+        volatile WalkForwardReport report;
+        volatile Future<?> future;
+
+        Job(String id, WalkForwardRequest request, String rankBy, List<WalkForwardWindows.Window> windows,
+            List<Map<String, Double>> parameterSets) {
+            this.id = id;
+            this.request = request;
+            this.rankBy = rankBy;
+            this.windows = windows;
+            this.parameterSets = parameterSets;
+        }
+
+        int total() {
+            return windows.size() * parameterSets.size() + windows.size();
+        }
+
+        void finish(WalkForwardJob.Status finalStatus, String message) {
+            error = message;
+            finishedAt = LocalDateTime.now();
+            status = finalStatus;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        @Override
+        public void completed(ParameterSweep.Result result) {
+            completed.incrementAndGet();
+        }
+
+        WalkForwardJob view() {
+            int done = Math.min(completed.get(), total());
+            return WalkForwardJob.builder()
+                    .id(id)
+                    .status(status)
+                    .strategy(request.getBacktest().getStrategy())
+                    .windows(windows.size())
+                    .submittedAt(submittedAt)
+                    .startedAt(startedAt)
+                    .finishedAt(finishedAt)
+                    .totalEvaluations(total())
+                    .completedEvaluations(done)
+                    .cachedEvaluations(cached.get())
+                    .progress(status == WalkForwardJob.Status.COMPLETED ? 1.0 : (double) done / total())
+                    .error(error)
+                    .report(report)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.quantz.marketdata.snapshot;
+
+import com.quantz.marketdata.entity.CandleData;
+import com.quantz.marketdata.entity.LatestBar;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Derives {@link LatestBar} rows from daily candles, either from a full 52-week window or by rolling
+ * an existing bar forward one candle at a time.
+ */
+public final class LatestBarCalculator {
+
+    public static final int WEEKS_52 = 52;
+    public static final int AVERAGE_VOLUME_BARS = 20;
+
+    private LatestBarCalculator() {
+    }
+
+    /**
+     * Earliest timestamp that still counts towards the 52-week range of a bar at the given time
+     */
+    public static LocalDateTime windowStart(LocalDateTime barTimestamp) {
+        return barTimestamp.minusWeeks(WEEKS_52);
+    }
+
+    /**
+     * Whether the candle has every price and the volume; incomplete candles from upstream are left out of bars
+     */
+    public static boolean isComplete(CandleData candle) {
+        return candle.getTimestamp() != null && candle.getOpen() != null && candle.getHigh() != null
+                && candle.getLow() != null && candle.getClose() != null && candle.getVolume() != null;
+    }
+
+    /**
+     * Build a bar from candles sorted by timestamp whose last complete entry is the latest bar.
+     * Candles older than the 52-week window of the last one and incomplete candles are ignored.
+     *
+     * @return empty if no candle is complete
+     */
+    public static Optional<LatestBar> fromHistory(String instrumentKey, List<CandleData> history) {
+        List<CandleData> candles = history.stream().filter(LatestBarCalculator::isComplete).toList();
+        if (candles.isEmpty()) {
+            return Optional.empty();
+        }
+        CandleData last = candles.get(candles.size() - 1);
+        LocalDateTime windowStart = windowStart(last.getTimestamp());
+
+        LatestBar.LatestBarBuilder bar = LatestBar.builder()
+                .instrumentKey(instrumentKey)
+                .prevClose(candles.size() > 1 ? candles.get(candles.size() - 2).getClose() : null);
+        withCandle(bar, last);
+
+        CandleData highest = null;
+        CandleData lowest = null;
+        for (CandleData candle : candles) {
+            if (candle.getTimestamp().isBefore(windowStart)) {
+                continue;
+            }
+            // Ties go to the most recent candle, it stays in the window longest
+            if (highest == null || candle.getHigh() >= highest.getHigh()) {
+                highest = candle;
+            }
+            if (lowest == null || candle.getLow() <= lowest.getLow()) {
+                lowest = candle;
+            }
+        }
+        bar.high52Week(highest.getHigh()).high52WeekAt(highest.getTimestamp())
+                .low52Week(lowest.getLow()).low52WeekAt(lowest.getTimestamp());
+
+        int count = Math.min(AVERAGE_VOLUME_BARS, candles.size());
+        long[] volumes = new long[count];
+        for (int i = 0; i < count; i++) {
+            volumes[i] = candles.get(candles.size() - count + i).getVolume();
+        }
+        return Optional.of(withVolumes(bar, volumes).build());
+    }
+
+    /**
+     * Roll the bar forward by one candle. Empty when the candle cannot be applied incrementally,
+     * i.e. it is older than the bar or a 52-week extreme left the window or was revised away;
+     * the caller then rebuilds from history. An incomplete candle leaves the bar as it is.
+     */
+    public static Optional<LatestBar> advance(LatestBar bar, CandleData candle) {
+        if (!isComplete(candle)) {
+            return Optional.of(bar);
+        }
+        int order = candle.getTimestamp().compareTo(bar.getTimestamp());
+        if (order < 0) {
+            return Optional.empty();
+        }
+
+        LatestBar.LatestBarBuilder next = bar.toBuilder();
+        long[] volumes = bar.getRecentVolumes() != null ? bar.getRecentVolumes() : new long[0];
+
+        if (order == 0) {
+            // Same bar revised, e.g. a re-scrape of today's candle
+            if (revisedAway(bar, candle)) {
+                return Optional.empty();
+            }
+            volumes = volumes.length > 0 ? volumes.clone() : new long[1];
+            volumes[volumes.length - 1] = candle.getVolume();
+        } else {
+            LocalDateTime windowStart = windowStart(candle.getTimestamp());
+            if (expired(bar.getHigh52WeekAt(), windowStart) && candle.getHigh() < bar.getHigh52Week()
+                    || expired(bar.getLow52WeekAt(), windowStart) && candle.getLow() > bar.getLow52Week()) {
+                return Optional.empty();
+            }
+            next.prevClose(bar.getClose());
+            volumes = append(volumes, candle.getVolume());
+        }
+
+        withCandle(next, candle);
+        if (bar.getHigh52Week() == null || candle.getHigh() >= bar.getHigh52Week()) {
+            next.high52Week(candle.getHigh()).high52WeekAt(candle.getTimestamp());
+        }
+        if (bar.getLow52Week() == null || candle.getLow() <= bar.getLow52Week()) {
+            next.low52Week(candle.getLow()).low52WeekAt(candle.getTimestamp());
+        }
+        return Optional.of(withVolumes(next, volumes).build());
+    }
+
+    private static boolean revisedAway(LatestBar bar, CandleData candle) {
+        return candle.getTimestamp().equals(bar.getHigh52WeekAt()) && candle.getHigh() < bar.getHigh52Week()
+                || candle.getTimestamp().equals(bar.getLow52WeekAt()) && candle.getLow() > bar.getLow52Week();
+    }
+
+    private static boolean expired(LocalDateTime extremeAt, LocalDateTime windowStart) {
+        return extremeAt == null || extremeAt.isBefore(windowStart);
+    }
+
+    private static long[] append(long[] volumes, long volume) {
+        if (volumes.length < AVERAGE_VOLUME_BARS) {
+            long[] grown = Arrays.copyOf(volumes, volumes.length + 1);
+            grown[volumes.length] = volume;
+            return grown;
+        }
+        long[] shifted = new long[AVERAGE_VOLUME_BARS];
+        System.arraycopy(volumes, volumes.length - AVERAGE_VOLUME_BARS + 1, shifted, 0, AVERAGE_VOLUME_BARS - 1);
+        shifted[AVERAGE_VOLUME_BARS - 1] = volume;
+        return shifted;
+    }
+
+    private static void withCandle(LatestBar.LatestBarBuilder bar, CandleData candle) {
+        bar.timestamp(candle.getTimestamp())
+                .open(candle.getOpen())
+                .high(candle.getHigh())
+                .low(candle.getLow())
+                .close(candle.getClose())
+                .volume(candle.getVolume())
+                .updatedAt(LocalDateTime.now());
+    }
+
+    private static LatestBar.LatestBarBuilder withVolumes(LatestBar.LatestBarBuilder bar, long[] volumes) {
+        return bar.recentVolumes(volumes)
+                .averageVolume20Day(volumes.length > 0 ? Arrays.stream(volumes).average().orElse(0) : null);
+    }
+}
@@ -0,0 +1,69 @@
+package com.quantz.marketdata.upstox;
+
+/**
+ * Additive-increase, multiplicative-decrease limit on concurrent Upstox calls.
+ * <p>
+ * Every successful call raises the limit by {@code 1 / limit}, about one per round of calls. A 429 halves it, and
+ * latency rising above {@code tolerance} times its long-run average, the sign of a queue building up on the server,
+ * cuts it by a tenth. Decreases happen at most once per cooldown, so a burst of failures from calls that were all in
+ * flight together counts as one signal. Not thread-safe; guarded by {@link UpstoxCallController}.
+ */
+final class AimdLimit {
+
+    private static final double THROTTLE_BACKOFF = 0.5;
+    private static final double LATENCY_BACKOFF = 0.9;
+    private static final double SHORT_SMOOTHING = 0.2;
+    private static final double LONG_SMOOTHING = 0.01;
+
+    private final int min;
+    private final int max;
+    private final double tolerance;
+    private final long cooldownNanos;
+
+    private double limit;
+    private double shortLatency = -1;
+    private double longLatency = -1;
+    private long lastDecrease;
+    private boolean decreased;
+
+    AimdLimit(int initial, int min, int max, double tolerance, long cooldownNanos) {
+        this.min = Math.max(1, min);
+        this.max = Math.max(this.min, max);
+        this.tolerance = tolerance;
+        this.cooldownNanos = cooldownNanos;
+        this.limit = Math.max(this.min, Math.min(this.max, initial));
+    }
+
+    int limit() {
+        return (int) limit;
+    }
+
+    void onSuccess(double latencySeconds, long now) {
+        if (shortLatency < 0) {
+            shortLatency = latencySeconds;
+            longLatency = latencySeconds;
+        } else {
+            shortLatency += SHORT_SMOOTHING * (latencySeconds - shortLatency);
+            longLatency += LONG_SMOOTHING * (latencySeconds - longLatency);
+        }
+
+        if (shortLatency > tolerance * longLatency) {
+            decrease(LATENCY_BACKOFF, now);
+        } else {
+            limit = Math.min(max, limit + 1 / limit);
+        }
+    }
+
+    void onThrottle(long now) {
+        decrease(THROTTLE_BACKOFF, now);
+    }
+
+    private void decrease(double factor, long now) {
+        if (decreased && now - lastDecrease < cooldownNanos) {
+            return;
+        }
+        limit = Math.max(min, limit * factor);
+        lastDecrease = now;
+        decreased = true;
+    }
+}
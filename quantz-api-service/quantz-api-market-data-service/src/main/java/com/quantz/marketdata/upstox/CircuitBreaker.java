@@ -0,0 +1,104 @@
+package com.quantz.marketdata.upstox;
+
+import java.time.Duration;
+
+/**
+ * Circuit breaker over Upstox calls. A run of consecutive failures that point at the API being down (timeouts,
+ * connection errors, 5xx) opens it; while open no call is sent. Once the open period has passed a single probe call
+ * is let through: its success closes the breaker, its failure opens it again for twice as long, up to a maximum.
+ * Answers such as 429 or 404 show the API is up and count as successes here. Not thread-safe; guarded by
+ * {@link UpstoxCallController}.
+ */
+final class CircuitBreaker {
+
+    enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final int failureThreshold;
+    private final long baseOpenNanos;
+    private final long maxOpenNanos;
+
+    private State state = State.CLOSED;
+    private int failures;
+    private long openNanos;
+    private long openUntil;
+    private boolean probing;
+
+    CircuitBreaker(int failureThreshold, Duration openDuration, Duration maxOpenDuration) {
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.baseOpenNanos = openDuration.toNanos();
+        this.maxOpenNanos = Math.max(baseOpenNanos, maxOpenDuration.toNanos());
+        this.openNanos = baseOpenNanos;
+    }
+
+    State state() {
+        return state;
+    }
+
+    long openUntil() {
+        return openUntil;
+    }
+
+    /**
+     * Whether a call could be let through now, without reserving it
+     */
+    boolean isAvailable(long now) {
+        return switch (state) {
+            case CLOSED -> true;
+            case OPEN -> now >= openUntil;
+            case HALF_OPEN -> !probing;
+        };
+    }
+
+    /**
+     * Let a call through if the breaker allows it; past the open period the first caller becomes the probe
+     */
+    boolean tryAcquire(long now) {
+        if (!isAvailable(now)) {
+            return false;
+        }
+        if (state != State.CLOSED) {
+            state = State.HALF_OPEN;
+            probing = true;
+        }
+        return true;
+    }
+
+    void onSuccess() {
+        state = State.CLOSED;
+        failures = 0;
+        probing = false;
+        openNanos = baseOpenNanos;
+    }
+
+    /**
+     * A call ended without telling whether the API is up; a probe that ends this way frees the way for another
+     */
+    void onInconclusive() {
+        probing = false;
+    }
+
+    /**
+     * @return whether this failure opened the breaker
+     */
+    boolean onFailure(long now) {
+        if (state == State.HALF_OPEN) {
+            probing = false;
+            openNanos = Math.min(maxOpenNanos, openNanos * 2);
+            open(now);
+            return true;
+        }
+        if (state == State.CLOSED && ++failures >= failureThreshold) {
+            open(now);
+            return true;
+        }
+        return false;
+    }
+
+    private void open(long now) {
+        state = State.OPEN;
+        openUntil = now + openNanos;
+        failures = 0;
+    }
+}
@@ -0,0 +1,77 @@
+package com.quantz.marketdata.upstox;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientResponseException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+/**
+ * What a failed Upstox call says about retrying it
+ */
+public enum ErrorClass {
+
+    /**
+     * 429: the request was not processed and may be sent again once the quota allows
+     */
+    THROTTLED,
+
+    /**
+     * Timeouts, connection failures, 408 and 5xx other than 501 and 505: the API may answer on a later attempt
+     */
+    RETRYABLE,
+
+    /**
+     * Every other failure, such as 400, 401, 403 and 404: the same request fails again however often it is sent
+     */
+    TERMINAL;
+
+    private static final int TOO_MANY_REQUESTS = 429;
+    private static final int REQUEST_TIMEOUT = 408;
+    private static final int NOT_IMPLEMENTED = 501;
+    private static final int VERSION_NOT_SUPPORTED = 505;
+
+    public static ErrorClass of(Exception exception) {
+        if (exception instanceof UpstoxUnavailableException) {
+            return TERMINAL;
+        }
+        if (exception instanceof RestClientResponseException response) {
+            int status = response.getStatusCode().value();
+            if (status == TOO_MANY_REQUESTS) {
+                return THROTTLED;
+            }
+            if (status == REQUEST_TIMEOUT
+                    || (status >= 500 && status != NOT_IMPLEMENTED && status != VERSION_NOT_SUPPORTED)) {
+                return RETRYABLE;
+            }
+            return TERMINAL;
+        }
+        return exception instanceof ResourceAccessException ? RETRYABLE : TERMINAL;
+    }
+
+    /**
+     * Wait asked for by a {@code Retry-After} header, given either in seconds or as an HTTP date
+     *
+     * @return the wait, or null when the header is missing or unreadable
+     */
+    public static Duration retryAfter(HttpHeaders headers, Instant now) {
+        String value = headers != null ? headers.getFirst(HttpHeaders.RETRY_AFTER) : null;
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        String trimmed = value.trim();
+        try {
+            if (trimmed.chars().allMatch(Character::isDigit)) {
+                return Duration.ofSeconds(Long.parseLong(trimmed));
+            }
+            Instant until = ZonedDateTime.parse(trimmed, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant();
+            return until.isAfter(now) ? Duration.between(now, until) : Duration.ZERO;
+        } catch (NumberFormatException | DateTimeParseException e) {
+            return null;
+        }
+    }
+}
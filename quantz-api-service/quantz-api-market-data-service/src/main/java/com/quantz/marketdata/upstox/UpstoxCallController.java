@@ -0,0 +1,238 @@
+package com.quantz.marketdata.upstox;
+
+import com.quantz.marketdata.cluster.ClusterCoordinator;
+import com.quantz.marketdata.config.UpstoxProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestClientResponseException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Admission, pacing and retry of every Upstox call made by this node.
+ * <p>
+ * A call first waits out any {@code Retry-After} pause, then for a slot under the {@link AimdLimit adaptive
+ * concurrency limit}, then for its turn in the request budget: the account's requests per second split over the live
+ * nodes, reserved as evenly spaced send times. Failures are classified with {@link ErrorClass}: terminal ones are
+ * thrown at once, throttled ones wait for the shared pause the 429 set, and retryable ones back off exponentially
+ * with jitter, for idempotent requests only. The {@link CircuitBreaker} fails calls fast while the API is down, and
+ * {@link #awaitAvailable} lets a scrape hold until it is back.
+ */
+@Slf4j
+@Component
+public class UpstoxCallController {
+
+    private static final Duration DEFAULT_THROTTLE_PAUSE = Duration.ofSeconds(1);
+    private static final long DECREASE_COOLDOWN_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final UpstoxProperties.Api api;
+    private final ClusterCoordinator clusterCoordinator;
+
+    private final Object lock = new Object();
+    private final AimdLimit limit;
+    private final CircuitBreaker breaker;
+    private int inFlight;
+    private long pausedUntil;
+    private long nextSendTime;
+
+    public UpstoxCallController(UpstoxProperties upstoxProperties, ClusterCoordinator clusterCoordinator) {
+        this.api = upstoxProperties.getApi();
+        this.clusterCoordinator = clusterCoordinator;
+        this.limit = new AimdLimit(api.getInitialConcurrency(), api.getMinConcurrency(), api.getMaxConcurrency(),
+                api.getLatencyTolerance(), DECREASE_COOLDOWN_NANOS);
+        this.breaker = new CircuitBreaker(api.getCircuitFailureThreshold(),
+                Duration.ofMillis(api.getCircuitOpenMillis()), Duration.ofMillis(api.getCircuitMaxOpenMillis()));
+        long now = System.nanoTime();
+        this.pausedUntil = now;
+        this.nextSendTime = now;
+    }
+
+    /**
+     * Send a request under admission control, retrying it while that can succeed
+     *
+     * @param idempotent whether the request may be repeated after a timeout or server error; a 429 is always
+     *                   retried as Upstox did not process the request
+     */
+    public <T> T call(String description, boolean idempotent, Supplier<T> request) {
+        int maxAttempts = Math.max(1, api.getMaxRetries());
+        for (int attempt = 1; ; attempt++) {
+            long sendTime = acquire();
+            ErrorClass errorClass;
+            RuntimeException failure;
+            try {
+                sleepUntil(sendTime);
+                long start = System.nanoTime();
+                T result = request.get();
+                onSuccess(System.nanoTime() - start);
+                return result;
+            } catch (RuntimeException e) {
+                errorClass = ErrorClass.of(e);
+                failure = e;
+                onFailure(errorClass, e);
+            } finally {
+                release();
+            }
+
+            boolean retry = errorClass == ErrorClass.THROTTLED
+                    || (errorClass == ErrorClass.RETRYABLE && idempotent);
+            if (!retry || attempt >= maxAttempts) {
+                throw failure;
+            }
+            log.warn("Retrying {} after {} failure (attempt {} of {}): {}",
+                    description, errorClass, attempt, maxAttempts, failure.getMessage());
+            if (errorClass == ErrorClass.RETRYABLE) {
+                sleep(backoff(attempt));
+            }
+        }
+    }
+
+    /**
+     * Wait until calls can be sent again: no open circuit and no pending {@code Retry-After}
+     *
+     * @return false if still unavailable after the given wait
+     */
+    public boolean awaitAvailable(Duration maxWait) throws InterruptedException {
+        long deadline = System.nanoTime() + maxWait.toNanos();
+        synchronized (lock) {
+            while (true) {
+                long now = System.nanoTime();
+                if (breaker.isAvailable(now) && now - pausedUntil >= 0) {
+                    return true;
+                }
+                long wait = deadline - now;
+                if (wait <= 0) {
+                    return false;
+                }
+                TimeUnit.NANOSECONDS.timedWait(lock, wait);
+            }
+        }
+    }
+
+    /**
+     * Current adaptive limit on concurrent calls
+     */
+    public int concurrencyLimit() {
+        synchronized (lock) {
+            return limit.limit();
+        }
+    }
+
+    /**
+     * Take a slot under the concurrency limit and reserve a send time within the request budget
+     */
+    private long acquire() {
+        synchronized (lock) {
+            while (true) {
+                long now = System.nanoTime();
+                try {
+                    if (now - pausedUntil < 0) {
+                        TimeUnit.NANOSECONDS.timedWait(lock, pausedUntil - now);
+                        continue;
+                    }
+                    if (inFlight >= limit.limit()) {
+                        lock.wait();
+                        continue;
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new RestClientException("Interrupted while waiting to call Upstox", e);
+                }
+                if (!breaker.tryAcquire(now)) {
+                    throw new UpstoxUnavailableException("Upstox API is unavailable, circuit breaker is open");
+                }
+                inFlight++;
+                long sendTime = Math.max(now, nextSendTime);
+                nextSendTime = sendTime + sendIntervalNanos();
+                return sendTime;
+            }
+        }
+    }
+
+    private void release() {
+        synchronized (lock) {
+            inFlight--;
+            lock.notifyAll();
+        }
+    }
+
+    private void onSuccess(long latencyNanos) {
+        synchronized (lock) {
+            limit.onSuccess(latencyNanos / 1e9, System.nanoTime());
+            breaker.onSuccess();
+        }
+    }
+
+    private void onFailure(ErrorClass errorClass, RuntimeException failure) {
+        synchronized (lock) {
+            long now = System.nanoTime();
+            if (errorClass == ErrorClass.RETRYABLE) {
+                if (breaker.onFailure(now)) {
+                    log.error("Upstox API looks down, pausing calls for {} s",
+                            TimeUnit.NANOSECONDS.toSeconds(breaker.openUntil() - now));
+                }
+                return;
+            }
+            if (errorClass == ErrorClass.THROTTLED) {
+                limit.onThrottle(now);
+                Duration pause = throttlePause(failure);
+                if (now + pause.toNanos() - pausedUntil > 0) {
+                    pausedUntil = now + pause.toNanos();
+                }
+                log.warn("Upstox rate limit hit, pausing calls for {} ms, concurrency limit now {}",
+                        pause.toMillis(), limit.limit());
+            }
+            if (failure instanceof RestClientResponseException) {
+                // Upstox answered, so it is up
+                breaker.onSuccess();
+            } else {
+                // Nothing learnt about the API, such as an interrupted wait; let another call probe it
+                breaker.onInconclusive();
+            }
+        }
+    }
+
+    private Duration throttlePause(RuntimeException failure) {
+        Duration retryAfter = failure instanceof RestClientResponseException response
+                ? ErrorClass.retryAfter(response.getResponseHeaders(), Instant.now())
+                : null;
+        Duration max = Duration.ofMillis(api.getMaxRetryAfterMillis());
+        if (retryAfter == null) {
+            return DEFAULT_THROTTLE_PAUSE;
+        }
+        return retryAfter.compareTo(max) > 0 ? max : retryAfter;
+    }
+
+    /**
+     * The account's quota belongs to all nodes, so each live node gets an equal share of it
+     */
+    private long sendIntervalNanos() {
+        return TimeUnit.SECONDS.toNanos(1) * clusterCoordinator.liveNodeCount()
+                / Math.max(1, api.getMaxRequestsPerSecond());
+    }
+
+    private Duration backoff(int attempt) {
+        long base = api.getRetryDelayMillis() << Math.min(10, attempt - 1);
+        return Duration.ofMillis(ThreadLocalRandom.current().nextLong(base / 2, base + 1));
+    }
+
+    private static void sleepUntil(long nanoTime) {
+        long wait = nanoTime - System.nanoTime();
+        if (wait > 0) {
+            sleep(Duration.ofNanos(wait));
+        }
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            TimeUnit.NANOSECONDS.sleep(duration.toNanos());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RestClientException("Interrupted while waiting to call Upstox", e);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.quantz.marketdata.upstox;
+
+import org.springframework.web.client.RestClientException;
+
+/**
+ * Thrown without calling Upstox while the circuit breaker is open, i.e. the API is considered down
+ */
+public class UpstoxUnavailableException extends RestClientException {
+
+    public UpstoxUnavailableException(String message) {
+        super(message);
+    }
+}
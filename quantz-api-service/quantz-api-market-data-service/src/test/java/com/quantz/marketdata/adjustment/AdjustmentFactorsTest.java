@@ -0,0 +1,81 @@
+package com.quantz.marketdata.adjustment;
+
+import com.quantz.marketdata.entity.CandleData;
+import com.quantz.marketdata.entity.CorporateAction;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class AdjustmentFactorsTest {
+
+    private static final String KEY = "NSE_EQ|INE000000001";
+
+    @Test
+    @DisplayName("Factors compound backwards from each ex-date and leave bars on or after it untouched")
+    void cumulativeFactors() {
+        AdjustmentFactors factors = AdjustmentFactors.of(List.of(
+                action(LocalDate.of(2024, 3, 1), CorporateAction.Type.SPLIT, 1, 5),
+                action(LocalDate.of(2024, 6, 3), CorporateAction.Type.BONUS, 1, 1)));
+
+        assertThat(factors.size()).isEqualTo(2);
+        assertThat(factors.priceFactor(LocalDate.of(2024, 2, 29))).isCloseTo(0.1, within(1e-12));
+        assertThat(factors.priceFactor(LocalDate.of(2024, 3, 1))).isCloseTo(0.5, within(1e-12));
+        assertThat(factors.priceFactor(LocalDate.of(2024, 6, 2))).isCloseTo(0.5, within(1e-12));
+        assertThat(factors.priceFactor(LocalDate.of(2024, 6, 3))).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Adjusted candles are copies with scaled prices and volume; raw candles are not modified")
+    void applyCopiesAdjustedCandles() {
+        AdjustmentFactors factors = AdjustmentFactors.of(List.of(
+                action(LocalDate.of(2024, 3, 1), CorporateAction.Type.SPLIT, 1, 2)));
+        CandleData before = candle(LocalDateTime.of(2024, 2, 29, 0, 0), 200.0, 1000L);
+        CandleData after = candle(LocalDateTime.of(2024, 3, 1, 0, 0), 101.0, 3000L);
+
+        List<CandleData> adjusted = factors.apply(List.of(before, after));
+
+        assertThat(adjusted.get(0)).isNotSameAs(before);
+        assertThat(adjusted.get(0).getClose()).isEqualTo(100.0);
+        assertThat(adjusted.get(0).getVolume()).isEqualTo(2000L);
+        assertThat(before.getClose()).isEqualTo(200.0);
+        assertThat(adjusted.get(1)).isSameAs(after);
+    }
+
+    @Test
+    @DisplayName("Non-positive ratios are rejected")
+    void rejectsInvalidRatio() {
+        assertThatThrownBy(() -> AdjustmentFactors.of(List.of(
+                action(LocalDate.of(2024, 3, 1), CorporateAction.Type.SPLIT, 0, 2))))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static CorporateAction action(LocalDate exDate, CorporateAction.Type type, int held, int added) {
+        return CorporateAction.builder()
+                .instrumentKey(KEY)
+                .exDate(exDate)
+                .actionType(type)
+                .ratioHeld(held)
+                .ratioNew(added)
+                .build();
+    }
+
+    private static CandleData candle(LocalDateTime timestamp, double price, long volume) {
+        return CandleData.builder()
+                .instrumentKey(KEY)
+                .interval("1d")
+                .timestamp(timestamp)
+                .open(price)
+                .high(price)
+                .low(price)
+                .close(price)
+                .volume(volume)
+                .build();
+    }
+}
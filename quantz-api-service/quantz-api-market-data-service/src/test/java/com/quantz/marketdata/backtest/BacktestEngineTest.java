@@ -0,0 +1,141 @@
+package com.quantz.marketdata.backtest;
+
+import com.quantz.marketdata.backtest.strategy.Strategies;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+@DisplayName("Backtest Engine Tests")
+class BacktestEngineTest {
+
+    private static final long DAY = 86_400;
+
+    @Test
+    @DisplayName("Bars should replay in time order across instruments and fill at the next open with costs")
+    void shouldReplayInTimeOrderAndFillAtNextOpen() {
+        BarSeries first = series("A", new long[]{0, 2 * DAY, 3 * DAY}, new float[]{100, 110, 121});
+        BarSeries second = series("B", new long[]{DAY, 2 * DAY}, new float[]{50, 50});
+        BacktestDataset dataset = BacktestDataset.of("1d", List.of(first, second));
+
+        List<String> seen = new ArrayList<>();
+        Strategy buyFirstOnce = new Strategy() {
+            @Override
+            public void onBar(int instrument, BarSeries series, int bar, StrategyContext context) {
+                seen.add(context.instrumentKey(instrument) + bar);
+                if (instrument == 0 && bar == 0) {
+                    context.targetWeight(0, 0.5);
+                }
+            }
+        };
+
+        BacktestEngine.EquityCurve curve = new BacktestEngine.EquityCurve();
+        BacktestStats stats = BacktestEngine.run(dataset, buyFirstOnce, 10_000, new CostModel(10, 0, 100), curve);
+
+        assertThat(seen).containsExactly("A0", "B0", "A1", "B1", "A2");
+        assertThat(curve.size()).isEqualTo(4);
+
+        // half of equity at the day-2 open of 110 is 45 whole shares, filled 1% higher, 10 bps commission
+        double fill = 110 * 1.01;
+        double commission = 45 * fill * 0.001;
+        double cash = 10_000 - 45 * fill - commission;
+        assertThat(curve.equity(1)).isEqualTo(10_000);
+        assertThat(curve.equity(2)).isCloseTo(cash + 45 * 110, within(1e-6));
+        assertThat(stats.finalEquity()).isCloseTo(cash + 45 * 121, within(1e-6));
+        assertThat(stats.trades()).isEqualTo(1);
+        assertThat(stats.costs()).isCloseTo(commission + 45 * 110 * 0.01, within(1e-6));
+    }
+
+    @Test
+    @DisplayName("Round trips should count wins after costs and drawdown should track the equity peak")
+    void shouldTrackRoundTripsAndDrawdown() {
+        BarSeries prices = series("A", new long[]{0, DAY, 2 * DAY, 3 * DAY, 4 * DAY},
+                new float[]{100, 100, 120, 90, 90});
+        BacktestDataset dataset = BacktestDataset.of("1d", List.of(prices));
+
+        Strategy enterThenExit = (instrument, series, bar, context) -> {
+            if (bar == 0) {
+                context.targetWeight(0, 1);
+            } else if (bar == 2) {
+                context.targetWeight(0, 0);
+            }
+        };
+
+        BacktestStats stats = BacktestEngine.run(dataset, enterThenExit, 1_000, CostModel.FREE, null);
+
+        // 10 shares from 100 to the exit open of 90
+        assertThat(stats.finalEquity()).isCloseTo(900, within(1e-9));
+        assertThat(stats.roundTrips()).isEqualTo(1);
+        assertThat(stats.winRate()).isZero();
+        assertThat(stats.maxDrawdown()).isCloseTo(1 - 900.0 / 1_200, within(1e-9));
+    }
+
+    @Test
+    @DisplayName("A parallel sweep should match sequential runs and report invalid parameter sets")
+    void shouldSweepGridInParallel() {
+        int bars = 400;
+        long[] times = new long[bars];
+        float[] closes = new float[bars];
+        for (int i = 0; i < bars; i++) {
+            times[i] = i * DAY;
+            closes[i] = (float) (100 + 20 * Math.sin(i / 15.0) + i * 0.05);
+        }
+        BacktestDataset dataset = BacktestDataset.of("1d", List.of(series("A", times, closes),
+                series("B", times, closes.clone())));
+
+        List<Map<String, Double>> grid = ParameterGrid.expand(
+                Map.of("fast", List.of(5.0, 10.0, 60.0), "slow", List.of(20.0, 50.0)), 100);
+        assertThat(grid).hasSize(6);
+
+        CostModel costs = new CostModel(3, 0, 2);
+        List<ParameterSweep.Result> results = ParameterSweep.run(new ForkJoinPool(4), dataset, grid,
+                parameters -> Strategies.create("sma-crossover", parameters), 100_000, costs);
+
+        assertThat(results).hasSize(6);
+        for (int i = 0; i < grid.size(); i++) {
+            ParameterSweep.Result result = results.get(i);
+            assertThat(result.parameters()).isEqualTo(grid.get(i));
+            if (grid.get(i).get("fast") >= grid.get(i).get("slow")) {
+                assertThat(result.stats()).isNull();
+                assertThat(result.error()).contains("shorter");
+            } else {
+                BacktestStats sequential = BacktestEngine.run(dataset,
+                        Strategies.create("sma-crossover", grid.get(i)), 100_000, costs, null);
+                assertThat(result.stats()).isEqualTo(sequential);
+                assertThat(result.stats().trades()).isPositive();
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Indicator columns should be shared within the memory budget and replays should honour event ranges")
+    void shouldMemoiseIndicatorsAndReplayRanges() {
+        long[] times = {0, DAY, 2 * DAY, 3 * DAY};
+        BarSeries prices = series("A", times, new float[]{10, 11, 12, 13});
+
+        BacktestDataset memoised = BacktestDataset.of("1d", List.of(prices));
+        assertThat(memoised.indicator(0, "sma:2")).isSameAs(memoised.indicator(0, "SMA:2"));
+        assertThat(memoised.indicator(0, "SMA:2")).containsExactly(Float.NaN, 10.5f, 11.5f, 12.5f);
+
+        BacktestDataset unbudgeted = BacktestDataset.of("1d", List.of(prices), 0);
+        assertThat(unbudgeted.indicator(0, "SMA:2")).isNotSameAs(unbudgeted.indicator(0, "SMA:2"));
+
+        assertThat(memoised.firstEventAtOrAfter(DAY + 1)).isEqualTo(2);
+        List<Integer> bars = new ArrayList<>();
+        BacktestStats stats = BacktestEngine.run(memoised, 1, 3, (instrument, series, bar, context) -> bars.add(bar),
+                1_000, CostModel.FREE, null);
+        assertThat(bars).containsExactly(1, 2);
+        assertThat(stats.finalEquity()).isEqualTo(1_000);
+    }
+
+    private static BarSeries series(String key, long[] times, float[] prices) {
+        return new BarSeries(key, times, prices.clone(), prices.clone(), prices.clone(), prices.clone(),
+                new float[prices.length]);
+    }
+}
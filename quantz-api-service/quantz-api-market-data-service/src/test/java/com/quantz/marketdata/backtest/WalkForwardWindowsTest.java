@@ -0,0 +1,47 @@
+package com.quantz.marketdata.backtest;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Walk-Forward Window Tests")
+class WalkForwardWindowsTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2022, 1, 1, 0, 0);
+
+    @Test
+    @DisplayName("Rolling windows should slide both spans and cut the last one off at the end")
+    void shouldSplitRollingWindows() {
+        List<WalkForwardWindows.Window> windows = WalkForwardWindows.split(START, START.plusDays(100),
+                60, 15, 15, false, 100);
+
+        assertThat(windows).hasSize(3);
+        assertThat(windows.get(1).inSampleStart()).isEqualTo(START.plusDays(15));
+        assertThat(windows.get(1).outOfSampleStart()).isEqualTo(START.plusDays(75));
+        assertThat(windows.get(2).outOfSampleEnd()).isEqualTo(START.plusDays(100));
+    }
+
+    @Test
+    @DisplayName("Anchored windows should keep the first in-sample start")
+    void shouldSplitAnchoredWindows() {
+        List<WalkForwardWindows.Window> windows = WalkForwardWindows.split(START, START.plusDays(100),
+                60, 20, 20, true, 100);
+
+        assertThat(windows).extracting(WalkForwardWindows.Window::inSampleStart).containsOnly(START);
+        assertThat(windows.get(1).inSampleEnd()).isEqualTo(START.plusDays(80));
+    }
+
+    @Test
+    @DisplayName("Overlapping out-of-sample spans and periods without a window should be rejected")
+    void shouldRejectInvalidStudies() {
+        assertThatThrownBy(() -> WalkForwardWindows.split(START, START.plusDays(100), 60, 20, 10, false, 100))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> WalkForwardWindows.split(START, START.plusDays(30), 60, 20, 20, false, 100))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,198 @@
+package com.quantz.marketdata.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.quantz.marketdata.entity.CandleData;
+import com.quantz.marketdata.model.LtpQuoteData;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Two replicas, each with its own near tier, sharing a containerized Redis; skipped without Docker
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class TwoLevelCacheRedisTest {
+
+    private static final String CHANNEL = "test:invalidate";
+    private static final String RELIANCE = "NSE_EQ|INE002A01018";
+
+    @Container
+    static final GenericContainer<?> REDIS = new GenericContainer<>("redis:7.4-alpine").withExposedPorts(6379);
+
+    private static LettuceConnectionFactory connectionFactory;
+    private static StringRedisTemplate redisTemplate;
+    private static final List<RedisMessageListenerContainer> listeners = new ArrayList<>();
+
+    @BeforeAll
+    static void connect() {
+        connectionFactory = new LettuceConnectionFactory(REDIS.getHost(), REDIS.getMappedPort(6379));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+    }
+
+    @AfterAll
+    static void disconnect() {
+        listeners.forEach(RedisMessageListenerContainer::stop);
+        connectionFactory.destroy();
+    }
+
+    @Test
+    @DisplayName("Concurrent misses on two replicas load once, and ingestion on one drops the near copy on both")
+    void loadsOnceAndInvalidatesEverywhere() throws Exception {
+        TwoLevelCache first = replica(CacheNames.LATEST_CANDLE);
+        TwoLevelCache second = replica(CacheNames.LATEST_CANDLE);
+        CandleCacheKey key = CandleCacheKey.latest(RELIANCE, "1d");
+        AtomicInteger loads = new AtomicInteger();
+        Callable<CandleData> loader = () -> {
+            loads.incrementAndGet();
+            Thread.sleep(200);
+            return candle(2950.0);
+        };
+
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        List<Future<CandleData>> reads = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            TwoLevelCache replica = i % 2 == 0 ? first : second;
+            reads.add(pool.submit(() -> replica.get(key, loader)));
+        }
+        for (Future<CandleData> read : reads) {
+            assertThat(read.get(10, TimeUnit.SECONDS).getClose()).isEqualTo(2950.0);
+        }
+        pool.shutdown();
+        assertThat(loads).hasValue(1);
+
+        first.evictInstrument(RELIANCE);
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!second.getNativeCache().asMap().isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(second.getNativeCache().asMap()).isEmpty();
+        assertThat(redisTemplate.keys("test:" + CacheNames.LATEST_CANDLE + ":*")).isEmpty();
+        assertThat(second.get(key, () -> candle(2961.5)).getClose()).isEqualTo(2961.5);
+    }
+
+    @Test
+    @DisplayName("A replica waiting on a stale lock loads only once the lock has expired, and only once")
+    void takesOverExpiredLock() {
+        TwoLevelCache replica = replica(CacheNames.LATEST_CANDLE);
+        CandleCacheKey key = CandleCacheKey.latest("NSE_EQ|INE009A01021", "1d");
+        // A holder that died while loading: its lock outlives the 2 s lock wait
+        redisTemplate.opsForValue().set("test:" + CacheNames.LATEST_CANDLE + ":" + key + ":lock", "dead",
+                Duration.ofSeconds(3));
+        AtomicInteger loads = new AtomicInteger();
+
+        long start = System.nanoTime();
+        CandleData loaded = replica.get(key, () -> {
+            loads.incrementAndGet();
+            return candle(1510.0);
+        });
+
+        assertThat(loaded.getClose()).isEqualTo(1510.0);
+        assertThat(loads).hasValue(1);
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isGreaterThanOrEqualTo(3_000);
+    }
+
+    @Test
+    @DisplayName("A value loaded while its key was evicted is returned but not cached")
+    void doesNotCacheLoadRacingEviction() {
+        TwoLevelCache replica = replica(CacheNames.LATEST_CANDLE);
+        CandleCacheKey key = CandleCacheKey.latest("NSE_EQ|INE467B01029", "1d");
+
+        CandleData loaded = replica.get(key, () -> {
+            replica.evict(key);
+            return candle(3900.0);
+        });
+
+        assertThat(loaded.getClose()).isEqualTo(3900.0);
+        assertThat(replica.getNativeCache().getIfPresent(key)).isNull();
+        assertThat(redisTemplate.hasKey("test:" + CacheNames.LATEST_CANDLE + ":" + key)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Quotes missing from both tiers are loaded in one bulk call and shared with the other replica")
+    void sharesBulkLoadedQuotes() {
+        TwoLevelCache first = replica(CacheNames.LATEST_QUOTES);
+        TwoLevelCache second = replica(CacheNames.LATEST_QUOTES);
+        List<Set<String>> bulkCalls = new ArrayList<>();
+
+        Map<String, LtpQuoteData> loaded = first.getAll(List.of("NSE_EQ|A", "NSE_EQ|B"), missing -> {
+            bulkCalls.add(missing);
+            Map<String, LtpQuoteData> quotes = new HashMap<>();
+            missing.forEach(key -> quotes.put(key, quote(key)));
+            return quotes;
+        });
+        Map<String, LtpQuoteData> shared = second.getAll(List.of("NSE_EQ|A", "NSE_EQ|B", "NSE_EQ|C"), missing -> {
+            bulkCalls.add(missing);
+            return Map.of();
+        });
+
+        assertThat(loaded).containsOnlyKeys("NSE_EQ|A", "NSE_EQ|B");
+        assertThat(bulkCalls).containsExactly(Set.of("NSE_EQ|A", "NSE_EQ|B"), Set.of("NSE_EQ|C"));
+        assertThat(shared).containsOnlyKeys("NSE_EQ|A", "NSE_EQ|B");
+        LtpQuoteData quote = shared.get("NSE_EQ|A");
+        assertThat(quote.getInstrumentToken()).isEqualTo("NSE_EQ|A");
+        assertThat(quote.getLastPrice()).isEqualByComparingTo("101.5");
+        assertThat(quote.getPriceChange()).isEqualByComparingTo("1.5");
+        assertThat(quote.getOpenInterest()).isNull();
+    }
+
+    private static TwoLevelCache replica(String cacheName) {
+        Map<String, RedisSerializer<?>> serializers = Map.of(
+                CacheNames.LATEST_CANDLE,
+                new Jackson2JsonRedisSerializer<>(new ObjectMapper().findAndRegisterModules(), CandleData.class),
+                CacheNames.LATEST_QUOTES, new QuoteRedisSerializer());
+        SharedCacheTier tier = new SharedCacheTier(redisTemplate, "test:", CHANNEL, Duration.ofSeconds(5),
+                Duration.ofSeconds(2), serializers, new SimpleMeterRegistry());
+
+        RedisMessageListenerContainer listener = new RedisMessageListenerContainer();
+        listener.setConnectionFactory(connectionFactory);
+        listener.addMessageListener(tier, new ChannelTopic(CHANNEL));
+        listener.afterPropertiesSet();
+        listener.start();
+        listeners.add(listener);
+
+        return new TwoLevelCache(cacheName, Caffeine.newBuilder().build(), tier,
+                tier.serializerFor(cacheName), Duration.ofMinutes(1));
+    }
+
+    private static CandleData candle(double close) {
+        return CandleData.builder()
+                .instrumentKey(RELIANCE)
+                .interval("1d")
+                .timestamp(LocalDateTime.of(2025, 1, 2, 0, 0))
+                .open(close).high(close).low(close).close(close)
+                .volume(1000L)
+                .build();
+    }
+
+    private static LtpQuoteData quote(String instrumentKey) {
+        return LtpQuoteData.builder()
+                .instrumentToken(instrumentKey)
+                .lastPrice(new BigDecimal("101.5"))
+                .closePrice(new BigDecimal("100"))
+                .volume(5000L)
+                .build();
+    }
+}
@@ -0,0 +1,71 @@
+package com.quantz.marketdata.cluster;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Consistent Hash Ring Tests")
+class ConsistentHashRingTest {
+
+    private static final int SHARDS = 256;
+    private static final int VIRTUAL_NODES = 64;
+
+    @Test
+    @DisplayName("Shards should be spread roughly evenly over the nodes")
+    void shouldSpreadShardsEvenly() {
+        // Given: A ring of four nodes
+        ConsistentHashRing ring = ConsistentHashRing.of(List.of(11, 22, 33, 44), VIRTUAL_NODES);
+
+        // When: Assigning every shard
+        Map<Integer, Integer> counts = new HashMap<>();
+        for (int shard = 0; shard < SHARDS; shard++) {
+            counts.merge(ring.ownerOf(shard), 1, Integer::sum);
+        }
+
+        // Then: Every node gets a share within a reasonable band around a quarter
+        assertThat(counts).containsOnlyKeys(11, 22, 33, 44);
+        assertThat(counts.values()).allSatisfy(count -> assertThat(count).isBetween(32, 96));
+    }
+
+    @Test
+    @DisplayName("Removing a node should only move the shards that node owned")
+    void shouldOnlyMoveShardsOfTheRemovedNode() {
+        // Given: The same ring before and after node 33 leaves
+        ConsistentHashRing before = ConsistentHashRing.of(List.of(11, 22, 33, 44), VIRTUAL_NODES);
+        ConsistentHashRing after = ConsistentHashRing.of(List.of(44, 22, 11), VIRTUAL_NODES);
+
+        // Then: Shards of the remaining nodes stay where they were, node 33's shards go elsewhere
+        for (int shard = 0; shard < SHARDS; shard++) {
+            int owner = before.ownerOf(shard);
+            if (owner == 33) {
+                assertThat(after.ownerOf(shard)).isNotEqualTo(33);
+            } else {
+                assertThat(after.ownerOf(shard)).isEqualTo(owner);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Instrument shards should be stable and within range")
+    void shouldMapInstrumentKeysToStableShards() {
+        int shard = ConsistentHashRing.shardOf("NSE_EQ|INE002A01018", SHARDS);
+
+        assertThat(shard).isBetween(0, SHARDS - 1);
+        assertThat(ConsistentHashRing.shardOf("NSE_EQ|INE002A01018", SHARDS)).isEqualTo(shard);
+    }
+
+    @Test
+    @DisplayName("An empty ring should refuse to assign shards")
+    void shouldRejectLookupOnEmptyRing() {
+        ConsistentHashRing ring = ConsistentHashRing.of(List.of(), VIRTUAL_NODES);
+
+        assertThat(ring.isEmpty()).isTrue();
+        assertThatThrownBy(() -> ring.ownerOf(0)).isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -0,0 +1,127 @@
+package com.quantz.marketdata.config;
+
+import com.github.benmanes.caffeine.cache.Policy;
+import com.quantz.marketdata.cache.CacheNames;
+import com.quantz.marketdata.cache.CacheReloader;
+import com.quantz.marketdata.cache.CandleCacheKey;
+import com.quantz.marketdata.cache.CandleRangeCacheReloader;
+import com.quantz.marketdata.cache.SharedCacheTier;
+import com.quantz.marketdata.entity.CandleData;
+import com.quantz.marketdata.repository.CandleDataRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("Cache Config Tests")
+class CacheConfigTest {
+
+    private static final String RELIANCE = "NSE_EQ|INE002A01018";
+
+    private final CacheConfig cacheConfig = new CacheConfig();
+    private final CacheSpecProperties properties = new CacheSpecProperties();
+    private ThreadPoolTaskExecutor refreshExecutor;
+
+    @BeforeEach
+    void setUp() {
+        refreshExecutor = cacheConfig.cacheRefreshExecutor(properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        refreshExecutor.shutdown();
+    }
+
+    @Test
+    @DisplayName("Each cache should get its own spec, and the defaults when it has none")
+    void shouldApplyPerCacheSpecs() {
+        // Given: A size-bounded cache, a weight-bounded cache and defaults for the rest
+        CacheSpecProperties.Spec instruments = new CacheSpecProperties.Spec();
+        instruments.setMaximumSize(4L);
+        instruments.setExpireAfterWrite(Duration.ofHours(12));
+        CacheSpecProperties.Spec candleRange = new CacheSpecProperties.Spec();
+        candleRange.setMaximumWeight(2_000L);
+        candleRange.setExpireAfterWrite(Duration.ofHours(2));
+        properties.getCaches().put(CacheNames.INSTRUMENTS, instruments);
+        properties.getCaches().put(CacheNames.CANDLE_RANGE, candleRange);
+
+        // When
+        CacheManager cacheManager = cacheManager(List.of());
+
+        // Then: Bounds and expiry follow the spec of each cache
+        Policy<Object, Object> instrumentsPolicy = policy(cacheManager, CacheNames.INSTRUMENTS);
+        assertThat(instrumentsPolicy.eviction().orElseThrow().isWeighted()).isFalse();
+        assertThat(instrumentsPolicy.eviction().orElseThrow().getMaximum()).isEqualTo(4L);
+        assertThat(instrumentsPolicy.expireAfterWrite().orElseThrow().getExpiresAfter())
+                .isEqualTo(Duration.ofHours(12));
+
+        Policy<Object, Object> candleRangePolicy = policy(cacheManager, CacheNames.CANDLE_RANGE);
+        assertThat(candleRangePolicy.eviction().orElseThrow().isWeighted()).isTrue();
+        assertThat(candleRangePolicy.eviction().orElseThrow().getMaximum()).isEqualTo(2_000L);
+
+        Policy<Object, Object> indicatorsPolicy = policy(cacheManager, CacheNames.INDICATORS);
+        assertThat(indicatorsPolicy.eviction().orElseThrow().getMaximum()).isEqualTo(10_000L);
+        assertThat(indicatorsPolicy.expireAfterWrite().orElseThrow().getExpiresAfter())
+                .isEqualTo(Duration.ofHours(1));
+
+        // Then: No refresh without a refresh-after-write, and unknown cache names are rejected
+        assertThat(indicatorsPolicy.refreshAfterWrite()).isEmpty();
+        assertThat(cacheManager.getCache("candelRange")).isNull();
+    }
+
+    @Test
+    @DisplayName("Entries past refresh-after-write should be reloaded through the cache's reloader")
+    void shouldRefreshThroughReloader() throws InterruptedException {
+        // Given: A candle range cache refreshed after 50 ms, backed by a repository that now has a newer candle
+        CacheSpecProperties.Spec candleRange = new CacheSpecProperties.Spec();
+        candleRange.setRefreshAfterWrite(Duration.ofMillis(50));
+        properties.getCaches().put(CacheNames.CANDLE_RANGE, candleRange);
+        CandleDataRepository repository = mock(CandleDataRepository.class);
+        List<CandleData> fresh = List.of(CandleData.builder().instrumentKey(RELIANCE).close(2961.5).build());
+        when(repository.findByInstrumentKeyAndIntervalOrderByTimestampAsc(RELIANCE, "1d")).thenReturn(fresh);
+
+        CacheManager cacheManager = cacheManager(List.of(new CandleRangeCacheReloader(repository)));
+        CaffeineCache cache = (CaffeineCache) cacheManager.getCache(CacheNames.CANDLE_RANGE);
+        CandleCacheKey key = new CandleCacheKey(RELIANCE, "1d", null, null);
+        List<CandleData> stale = List.of(CandleData.builder().instrumentKey(RELIANCE).close(2950.0).build());
+        cache.put(key, stale);
+
+        // When: The entry is read after it got old
+        Thread.sleep(100);
+        Object firstRead = cache.get(key).get();
+
+        // Then: That read still gets the stale value, and the reloaded one replaces it in the background
+        assertThat(firstRead).isSameAs(stale);
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (cache.get(key).get() != fresh && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(cache.get(key).get()).isSameAs(fresh);
+        assertThat(policy(cacheManager, CacheNames.CANDLE_RANGE).refreshAfterWrite().orElseThrow()
+                .getRefreshesAfter()).isEqualTo(Duration.ofMillis(50));
+    }
+
+    @SuppressWarnings("unchecked")
+    private CacheManager cacheManager(List<CacheReloader> reloaders) {
+        ObjectProvider<SharedCacheTier> noSharedTier = mock(ObjectProvider.class);
+        CacheManager cacheManager = cacheConfig.cacheManager(properties, reloaders, refreshExecutor, noSharedTier);
+        ((SimpleCacheManager) cacheManager).afterPropertiesSet();
+        return cacheManager;
+    }
+
+    private static Policy<Object, Object> policy(CacheManager cacheManager, String cacheName) {
+        return ((CaffeineCache) cacheManager.getCache(cacheName)).getNativeCache().policy();
+    }
+}
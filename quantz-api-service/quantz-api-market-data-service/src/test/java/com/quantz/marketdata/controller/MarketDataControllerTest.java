@@ -2,7 +2,16 @@ package com.quantz.marketdata.controller;
 
 
 
+import com.google.protobuf.CodedInputStream;
+import com.quantz.marketdata.converter.MarketDataMediaTypes;
+import com.quantz.marketdata.entity.CandleData;
+import com.quantz.marketdata.model.ScrapeJob;
+import com.quantz.marketdata.scraping.ScrapeDemandTracker;
+import com.quantz.marketdata.service.CorporateActionService;
 import com.quantz.marketdata.service.MarketDataScraperService;
+import com.quantz.marketdata.service.MarketSnapshotService;
+import com.quantz.marketdata.service.ScrapeJobService;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
@@ -17,14 +26,22 @@ import org.springframework.test.web.servlet.MockMvc;
 import com.quantz.marketdata.entity.Instrument;
 
 
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.isNull;
-import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -32,6 +49,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 
@@ -46,6 +64,9 @@ class MarketDataControllerTest {
     @Autowired
     private MarketDataScraperService marketDataScraperService;
 
+    @Autowired
+    private ScrapeJobService scrapeJobService;
+
     @TestConfiguration
     static class MarketDataControllerTestConfiguration {
 
@@ -54,23 +75,64 @@ class MarketDataControllerTest {
             // Manually create and return the mock
             return mock(MarketDataScraperService.class);
         }
+
+        @Bean
+        public MarketSnapshotService marketSnapshotService() {
+            return mock(MarketSnapshotService.class);
+        }
+
+        @Bean
+        public CorporateActionService corporateActionService() {
+            return mock(CorporateActionService.class);
+        }
+
+        @Bean
+        public ScrapeJobService scrapeJobService() {
+            return mock(ScrapeJobService.class);
+        }
+
+        @Bean
+        public ScrapeDemandTracker scrapeDemandTracker() {
+            return new ScrapeDemandTracker();
+        }
     }
 
 
+    @BeforeEach
+    void resetServiceMock() {
+        // The mock is a singleton bean shared by every test, so interactions must not leak between them
+        reset(marketDataScraperService, scrapeJobService);
+    }
+
     @Test
-    @DisplayName("Triggering data scraping should start the process successfully")
+    @DisplayName("Triggering data scraping should queue a job and return its id without waiting for the run")
     void shouldSuccessfullyStartDataScrapingProcessWhenTriggered() throws Exception {
-        // Given: The scraping service is ready to start manual scraping
-        doNothing().when(marketDataScraperService).manualScraping();
+        // Given: The job service queues a manual scrape
+        when(scrapeJobService.submit(ScrapeJob.Trigger.MANUAL)).thenReturn(ScrapeJob.builder()
+                .id("job-1")
+                .status(ScrapeJob.Status.QUEUED)
+                .trigger(ScrapeJob.Trigger.MANUAL)
+                .build());
 
         // When: A request is made to trigger the scraping process
         mockMvc.perform(post("/api/market-data/scrape")
                         .contentType(MediaType.APPLICATION_JSON))
-                // Then: The response should indicate success and the service method should be called
-                .andExpect(status().isOk())
-                .andExpect(content().string("Market data scraping started successfully"));
+                // Then: The request is accepted with the job to follow, the scrape itself is not run inline
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.id", is("job-1")))
+                .andExpect(jsonPath("$.status", is("QUEUED")));
 
-        verify(marketDataScraperService).manualScraping();
+        verify(scrapeJobService).submit(ScrapeJob.Trigger.MANUAL);
+        verify(marketDataScraperService, never()).scrape(any(), any());
+    }
+
+    @Test
+    @DisplayName("Unknown scrape jobs should return 404")
+    void shouldReturnNotFoundForUnknownScrapeJob() throws Exception {
+        when(scrapeJobService.getJob("missing")).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/api/market-data/scrape/jobs/missing"))
+                .andExpect(status().isNotFound());
     }
 
     // --- Tests for getInstruments ---
@@ -274,4 +336,136 @@ class MarketDataControllerTest {
         // And: The service method for finding instruments should be called
         verify(marketDataScraperService).findInstruments(isNull(), isNull(), isNull(), isNull());
     }
-}
\ No newline at end of file
+
+    // --- Tests for getCandleDataBatch ---
+
+    @Test
+    @DisplayName("Fetching candles for several instruments should return them grouped per instrument")
+    void shouldReturnCandlesGroupedPerInstrumentForBatchRequest() throws Exception {
+        // Given: Two instruments, only one of which has candles in the requested range
+        String reliance = "NSE_EQ|INE002A01018";
+        String tcs = "NSE_EQ|INE467B01029";
+        Map<String, List<CandleData>> grouped = new LinkedHashMap<>();
+        grouped.put(reliance, sampleCandles(reliance));
+        grouped.put(tcs, Collections.emptyList());
+        when(marketDataScraperService.findCandleDataBatch(eq(List.of(reliance, tcs)), eq("1d"),
+                eq(LocalDateTime.of(2024, 1, 1, 0, 0)), eq(LocalDateTime.of(2024, 1, 31, 0, 0))))
+                .thenReturn(grouped);
+
+        // When: A batch request is made for both instruments
+        mockMvc.perform(post("/api/market-data/candles/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"instrumentKeys": ["NSE_EQ|INE002A01018", "NSE_EQ|INE467B01029"],
+                                 "interval": "1d",
+                                 "startTime": "2024-01-01T00:00:00",
+                                 "endTime": "2024-01-31T00:00:00"}
+                                """))
+                // Then: Each instrument key maps to its own candle list
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$['NSE_EQ|INE002A01018']", hasSize(2)))
+                .andExpect(jsonPath("$['NSE_EQ|INE467B01029']", hasSize(0)));
+    }
+
+    @Test
+    @DisplayName("A batch candle request without instrument keys should be rejected as a bad request")
+    void shouldRejectBatchRequestWithoutInstrumentKeys() throws Exception {
+        // When: A batch request is made with an empty instrument list
+        mockMvc.perform(post("/api/market-data/candles/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"instrumentKeys": [],
+                                 "startTime": "2024-01-01T00:00:00",
+                                 "endTime": "2024-01-31T00:00:00"}
+                                """))
+                // Then: The request is rejected before reaching the service
+                .andExpect(status().isBadRequest());
+
+        verify(marketDataScraperService, never()).findCandleDataBatch(any(), any(), any(), any());
+    }
+
+    // --- Tests for content negotiation ---
+
+    @Test
+    @DisplayName("Fetching candles with Accept text/csv should return a header row and one line per candle")
+    void shouldReturnCandlesAsCsvWhenRequested() throws Exception {
+        // Given: The service returns two daily candles for an instrument
+        String instrumentKey = "NSE_EQ|INE002A01018";
+        when(marketDataScraperService.findCandleData(eq(instrumentKey), eq("1d"), isNull(), isNull()))
+                .thenReturn(sampleCandles(instrumentKey));
+
+        // When: The candles are requested as CSV
+        mockMvc.perform(get("/api/market-data/candles/{instrumentKey}", instrumentKey)
+                        .accept(MarketDataMediaTypes.TEXT_CSV))
+                // Then: The body should be CSV with a header and the candle values
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MarketDataMediaTypes.TEXT_CSV))
+                .andExpect(content().string(containsString("instrumentKey")))
+                .andExpect(content().string(containsString("2501.5")));
+    }
+
+    @Test
+    @DisplayName("Fetching candles with Accept application/x-protobuf should return the columnar candle message")
+    void shouldReturnCandlesAsColumnarProtobufWhenRequested() throws Exception {
+        // Given: The service returns two daily candles for an instrument
+        String instrumentKey = "NSE_EQ|INE002A01018";
+        when(marketDataScraperService.findCandleData(eq(instrumentKey), eq("1d"), isNull(), isNull()))
+                .thenReturn(sampleCandles(instrumentKey));
+
+        // When: The candles are requested as protobuf
+        byte[] body = mockMvc.perform(get("/api/market-data/candles/{instrumentKey}", instrumentKey)
+                        .accept(MarketDataMediaTypes.APPLICATION_X_PROTOBUF))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MarketDataMediaTypes.APPLICATION_X_PROTOBUF))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // Then: The instrument key is written once and the close column holds both closes in order
+        CodedInputStream input = CodedInputStream.newInstance(body);
+        String decodedKey = null;
+        double[] closes = new double[2];
+        int tag;
+        while ((tag = input.readTag()) != 0) {
+            int field = tag >>> 3;
+            if (field == 1) {
+                decodedKey = input.readString();
+            } else if (field == 7) {
+                int limit = input.pushLimit(input.readRawVarint32());
+                closes[0] = input.readDouble();
+                closes[1] = input.readDouble();
+                input.popLimit(limit);
+            } else {
+                input.skipField(tag);
+            }
+        }
+        assertThat(decodedKey).isEqualTo(instrumentKey);
+        assertThat(closes).containsExactly(2501.5, 2510.0);
+    }
+
+    @Test
+    @DisplayName("Fetching instruments with Accept application/msgpack should return a MessagePack body")
+    void shouldReturnInstrumentsAsMessagePackWhenRequested() throws Exception {
+        // Given: The service has a single instrument to return
+        Instrument instrument = new Instrument();
+        instrument.setInstrumentKey(UUID.randomUUID().toString());
+        instrument.setName("Instrument A");
+        when(marketDataScraperService.findInstruments(isNull(), isNull(), isNull(), isNull()))
+                .thenReturn(Collections.singletonList(instrument));
+
+        // When: The instruments are requested as MessagePack
+        mockMvc.perform(get("/api/market-data/instruments")
+                        .accept(MarketDataMediaTypes.APPLICATION_MSGPACK))
+                // Then: The response is served in the requested binary format
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MarketDataMediaTypes.APPLICATION_MSGPACK));
+    }
+
+    private List<CandleData> sampleCandles(String instrumentKey) {
+        return List.of(
+                CandleData.builder().instrumentKey(instrumentKey).interval("1d")
+                        .timestamp(LocalDateTime.of(2024, 1, 1, 0, 0))
+                        .open(2490.0).high(2505.0).low(2480.0).close(2501.5).volume(1_000_000L).build(),
+                CandleData.builder().instrumentKey(instrumentKey).interval("1d")
+                        .timestamp(LocalDateTime.of(2024, 1, 2, 0, 0))
+                        .open(2501.5).high(2515.0).low(2495.0).close(2510.0).volume(1_200_000L).build());
+    }
+}
@@ -0,0 +1,113 @@
+package com.quantz.marketdata.correlation;
+
+import com.quantz.marketdata.indicators.panel.UniversePanel;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+@DisplayName("Rolling Covariance Tests")
+class RollingCovarianceTest {
+
+    private static final LocalDate START = LocalDate.of(2024, 1, 1);
+
+    @Test
+    @DisplayName("Blocked cross products should match a naive product across tile and depth edges")
+    void shouldMatchNaiveCrossProducts() {
+        int n = CrossProducts.TILE * 2 + 5;
+        int length = CrossProducts.DEPTH + 37;
+        double[] x = new Random(7).doubles((long) n * length, -0.05, 0.05).toArray();
+
+        double[] packed = new double[CrossProducts.packedSize(n)];
+        CrossProducts.accumulate(x, n, length, packed);
+
+        for (int i = 0; i < n; i += 13) {
+            for (int j = i; j < n; j += 7) {
+                double expected = 0;
+                for (int t = 0; t < length; t++) {
+                    expected += x[i * length + t] * x[j * length + t];
+                }
+                assertThat(packed[CrossProducts.packedIndex(n, i, j)]).isCloseTo(expected, within(1e-12));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Advancing the window day by day should match a rebuild over the shifted window")
+    void shouldAdvanceLikeRebuild() {
+        ReturnPanel panel = randomPanel(9, 80, 11);
+        int window = 40;
+
+        RollingCovariance rolling = RollingCovariance.build(panel, window - 1, window);
+        for (int day = window; day < panel.length(); day++) {
+            double[] returns = new double[panel.width()];
+            boolean[] observed = new boolean[panel.width()];
+            System.arraycopy(panel.returns(), day * panel.width(), returns, 0, panel.width());
+            System.arraycopy(panel.observed(), day * panel.width(), observed, 0, panel.width());
+            rolling.advance(panel.dates()[day], returns, observed);
+        }
+
+        CovarianceMatrix advanced = rolling.snapshot();
+        CovarianceMatrix rebuilt = RollingCovariance.build(panel, panel.length() - 1, window).snapshot();
+        assertThat(advanced.asOf()).isEqualTo(rebuilt.asOf());
+        for (int i = 0; i < panel.width(); i++) {
+            assertThat(advanced.coverage(i)).isEqualTo(rebuilt.coverage(i));
+            for (int j = 0; j < panel.width(); j++) {
+                assertThat(advanced.correlation(i, j)).isCloseTo(rebuilt.correlation(i, j), within(1e-5));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Returns should align on the trading calendar and survive a binary round trip")
+    void shouldAlignReturnsAndRoundTrip() {
+        String[] keys = {"A", "B", "C"};
+        LocalDateTime[] timestamps = new LocalDateTime[4];
+        for (int t = 0; t < 4; t++) {
+            timestamps[t] = START.plusDays(t).atTime(9, 15);
+        }
+        // B misses day 2 (close carried, volume 0); C is not part of the universe
+        double[] close = {100, 50, 10, 101, 51, 10, 102, 51, 10, 103, 52.53, 10};
+        double[] volume = {1, 1, 1, 1, 1, 1, 1, 0, 1, 1, 1, 1};
+        ReturnPanel panel = ReturnPanel.of(new UniversePanel(keys, timestamps, close, volume), Set.of("A", "B"));
+
+        assertThat(panel.instrumentKeys()).containsExactly("A", "B");
+        assertThat(panel.dates()).hasSize(3);
+        assertThat(panel.returns()[2 * 2 + 1]).isCloseTo(52.53 / 51 - 1, within(1e-12));
+        assertThat(panel.observed()[1 * 2 + 1]).isFalse();
+
+        CovarianceMatrix matrix = RollingCovariance.build(panel, 2, 3).snapshot();
+        CovarianceMatrix decoded = CovarianceMatrixCodec.decode(CovarianceMatrixCodec.encode(matrix));
+        assertThat(decoded.instrumentKeys()).containsExactly("A", "B");
+        assertThat(decoded.asOf()).isEqualTo(START.plusDays(3));
+        assertThat(decoded.coverage(1)).isCloseTo(2.0 / 3, within(1e-6));
+        assertThat(decoded.covariance(0, 1)).isEqualTo(matrix.covariance(1, 0));
+        assertThat(decoded.correlation(0, 0)).isEqualTo(1.0);
+    }
+
+    private static ReturnPanel randomPanel(int width, int length, long seed) {
+        Random random = new Random(seed);
+        String[] keys = new String[width];
+        for (int i = 0; i < width; i++) {
+            keys[i] = "I" + i;
+        }
+        LocalDate[] dates = new LocalDate[length];
+        double[] returns = new double[width * length];
+        boolean[] observed = new boolean[width * length];
+        for (int day = 0; day < length; day++) {
+            dates[day] = START.plusDays(day);
+            double market = random.nextGaussian() * 0.01;
+            for (int i = 0; i < width; i++) {
+                observed[day * width + i] = random.nextInt(10) > 0;
+                returns[day * width + i] = observed[day * width + i] ? market + random.nextGaussian() * 0.01 : 0;
+            }
+        }
+        return new ReturnPanel(keys, dates, returns, observed);
+    }
+}
@@ -0,0 +1,101 @@
+package com.quantz.marketdata.indicators;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+@DisplayName("Technical Indicator Tests")
+class IndicatorsTest {
+
+    private static final List<String> SPECS = List.of(
+            "SMA:5", "EMA:5", "RSI:14", "ATR:14", "VWAP", "VWAP:10", "BB:20:2", "MACD:12:26:9", "VOL:20");
+
+    @Test
+    @DisplayName("Moving averages should match hand-computed values and stay NaN during warm-up")
+    void shouldComputeMovingAverages() {
+        CandleSeries series = series(1, 2, 3, 4, 5, 6);
+
+        double[] sma = Indicators.compute(Indicators.create("SMA:3"), series)[0];
+        double[] ema = Indicators.compute(Indicators.create("EMA:3"), series)[0];
+
+        assertThat(sma[1]).isNaN();
+        assertThat(sma[2]).isEqualTo(2.0);
+        assertThat(sma[5]).isEqualTo(5.0);
+        // Seeded with SMA 2.0, then alpha 0.5: 3.0, 4.0, 5.0
+        assertThat(ema[2]).isEqualTo(2.0);
+        assertThat(ema[5]).isEqualTo(5.0);
+    }
+
+    @Test
+    @DisplayName("RSI should be 100 for a series that only rises")
+    void shouldReportMaximumRsiForRisingSeries() {
+        double[] rsi = Indicators.compute(Indicators.create("RSI:3"), series(1, 2, 3, 4, 5))[0];
+
+        assertThat(rsi[2]).isNaN();
+        assertThat(rsi[3]).isEqualTo(100.0);
+        assertThat(rsi[4]).isEqualTo(100.0);
+    }
+
+    @Test
+    @DisplayName("Resuming from saved state should give the same values as computing the full series")
+    void shouldResumeFromSavedState() {
+        double[] closes = new double[120];
+        for (int i = 0; i < closes.length; i++) {
+            closes[i] = 100 + 10 * Math.sin(i / 5.0) + i * 0.1;
+        }
+        CandleSeries full = series(closes);
+        CandleSeries head = series(Arrays.copyOf(closes, 100));
+        CandleSeries tail = series(Arrays.copyOfRange(closes, 100, closes.length));
+
+        for (String spec : SPECS) {
+            double[][] expected = Indicators.compute(Indicators.create(spec), full);
+
+            Indicator first = Indicators.create(spec);
+            Indicators.compute(first, head);
+            Indicator resumed = Indicators.create(spec);
+            resumed.restoreState(first.saveState());
+            double[][] actual = Indicators.compute(resumed, tail);
+
+            for (int output = 0; output < expected.length; output++) {
+                for (int i = 0; i < tail.size(); i++) {
+                    assertThat(actual[output][i]).as(spec + " output " + output + " bar " + i)
+                            .isCloseTo(expected[output][100 + i], within(1e-9));
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Specs should be normalised and invalid ones rejected")
+    void shouldParseSpecs() {
+        assertThat(Indicators.create("bb").spec()).isEqualTo("BB:20:2");
+        assertThat(Indicators.create("macd").spec()).isEqualTo("MACD:12:26:9");
+        assertThat(Indicators.create("vwap").spec()).isEqualTo("VWAP");
+
+        assertThatThrownBy(() -> Indicators.create("FOO:3")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Indicators.create("SMA:0")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Indicators.create("MACD:26:12:9")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private CandleSeries series(double... closes) {
+        int size = closes.length;
+        LocalDateTime[] timestamps = new LocalDateTime[size];
+        double[] high = new double[size];
+        double[] low = new double[size];
+        double[] volume = new double[size];
+        for (int i = 0; i < size; i++) {
+            timestamps[i] = LocalDateTime.of(2024, 1, 1, 0, 0).plusDays(i);
+            high[i] = closes[i] + 1;
+            low[i] = closes[i] - 1;
+            volume[i] = 1_000 + Math.floorMod((long) (closes[i] * 37), 500);
+        }
+        return new CandleSeries(timestamps, closes.clone(), high, low, closes, volume);
+    }
+}
@@ -0,0 +1,87 @@
+package com.quantz.marketdata.indicators.panel;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scalar vs SIMD panel kernels on a universe-sized panel (2,000 instruments x 400 daily bars).
+ * Run after {@code mvn test-compile} with {@code java -cp <test classpath> ...PanelKernelsBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class PanelKernelsBenchmark {
+
+    @Param({"2000"})
+    private int width;
+
+    @Param({"400"})
+    private int length;
+
+    private final PanelKernels scalar = new ScalarPanelKernels();
+    private PanelKernels vector;
+    private double[] in;
+    private double[] out;
+
+    @Setup
+    public void setUp() {
+        vector = new VectorPanelKernels();
+        Random random = new Random(7);
+        in = new double[width * length];
+        for (int cell = 0; cell < in.length; cell++) {
+            in[cell] = 100 + random.nextGaussian();
+        }
+        out = new double[in.length];
+    }
+
+    @Benchmark
+    public double[] rollingMeanScalar() {
+        scalar.rollingMean(in, width, length, 20, out);
+        return out;
+    }
+
+    @Benchmark
+    public double[] rollingMeanVector() {
+        vector.rollingMean(in, width, length, 20, out);
+        return out;
+    }
+
+    @Benchmark
+    public double[] emaScalar() {
+        scalar.ema(in, width, length, 2.0 / 21, out);
+        return out;
+    }
+
+    @Benchmark
+    public double[] emaVector() {
+        vector.ema(in, width, length, 2.0 / 21, out);
+        return out;
+    }
+
+    @Benchmark
+    public double[] returnsScalar() {
+        scalar.returns(in, width, length, 1, out);
+        return out;
+    }
+
+    @Benchmark
+    public double[] returnsVector() {
+        vector.returns(in, width, length, 1, out);
+        return out;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(PanelKernelsBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
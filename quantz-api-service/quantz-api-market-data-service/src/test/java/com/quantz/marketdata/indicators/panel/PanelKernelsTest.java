@@ -0,0 +1,84 @@
+package com.quantz.marketdata.indicators.panel;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+@DisplayName("Universe Panel Kernel Tests")
+class PanelKernelsTest {
+
+    // Not a multiple of any vector width, so the scalar tail of every row is exercised too
+    private static final int WIDTH = 37;
+    private static final int LENGTH = 60;
+
+    @Test
+    @DisplayName("Vector kernels should be selected when the incubator module is present")
+    void shouldPickVectorKernelsWhenModuleIsPresent() {
+        assertThat(PanelKernels.best()).isInstanceOf(VectorPanelKernels.class);
+    }
+
+    @Test
+    @DisplayName("Vector and scalar kernels should produce the same values, including NaN warm-up cells")
+    void shouldMatchScalarKernels() {
+        double[] in = randomPanel();
+        PanelKernels scalar = new ScalarPanelKernels();
+        PanelKernels vector = new VectorPanelKernels();
+
+        double[] expected = new double[in.length];
+        double[] actual = new double[in.length];
+
+        scalar.rollingMean(in, WIDTH, LENGTH, 10, expected);
+        vector.rollingMean(in, WIDTH, LENGTH, 10, actual);
+        assertSame(expected, actual);
+
+        scalar.ema(in, WIDTH, LENGTH, 2.0 / 21, expected);
+        vector.ema(in, WIDTH, LENGTH, 2.0 / 21, actual);
+        assertSame(expected, actual);
+
+        scalar.returns(in, WIDTH, LENGTH, 5, expected);
+        vector.returns(in, WIDTH, LENGTH, 5, actual);
+        assertSame(expected, actual);
+    }
+
+    @Test
+    @DisplayName("Building a panel should carry closes over gaps and leave cells before listing empty")
+    void shouldForwardFillGaps() {
+        UniversePanelLoader.Rows rows = new UniversePanelLoader.Rows();
+        rows.add(0, 0, 100, 10);
+        rows.add(0, 2, 102, 12);
+        rows.add(1, 1, 50, 5);
+
+        UniversePanel panel = UniversePanelLoader.build(new String[]{"A", "B"},
+                new LocalDateTime[]{LocalDateTime.MIN, LocalDateTime.MIN, LocalDateTime.MIN}, rows);
+
+        assertThat(panel.close()).containsExactly(100, Double.NaN, 100, 50, 102, 50);
+        assertThat(panel.volume()).containsExactly(10, Double.NaN, 0, 5, 12, 0);
+    }
+
+    private double[] randomPanel() {
+        Random random = new Random(42);
+        double[] in = new double[WIDTH * LENGTH];
+        for (int t = 0; t < LENGTH; t++) {
+            for (int i = 0; i < WIDTH; i++) {
+                // Instrument i lists at time i so every lane has its own warm-up
+                in[t * WIDTH + i] = t < i ? Double.NaN : 100 + random.nextGaussian();
+            }
+        }
+        return in;
+    }
+
+    private void assertSame(double[] expected, double[] actual) {
+        for (int cell = 0; cell < expected.length; cell++) {
+            if (Double.isNaN(expected[cell])) {
+                assertThat(actual[cell]).as("cell " + cell).isNaN();
+            } else {
+                assertThat(actual[cell]).as("cell " + cell).isCloseTo(expected[cell], within(1e-9));
+            }
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.quantz.marketdata.optionchain;
+
+import com.quantz.marketdata.entity.Instrument;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OptionChainIndexTest {
+
+    private static final LocalDate WEEKLY = LocalDate.of(2025, 3, 20);
+    private static final LocalDate MONTHLY = LocalDate.of(2025, 3, 27);
+    private static final LocalDate NEXT_MONTHLY = LocalDate.of(2025, 4, 24);
+
+    private OptionChainIndex index;
+
+    @BeforeEach
+    void setUp() {
+        List<Instrument> instruments = new ArrayList<>();
+        for (LocalDate expiry : List.of(NEXT_MONTHLY, WEEKLY, MONTHLY)) {
+            for (int strike = 22000; strike <= 23000; strike += 50) {
+                instruments.add(option("NIFTY", expiry, strike, "CE"));
+                instruments.add(option("NIFTY", expiry, strike, "PE"));
+            }
+        }
+        instruments.add(option("BANKNIFTY", WEEKLY, 48000, "CE"));
+        instruments.add(Instrument.builder().instrumentKey("NSE_EQ|INE002A01018").name("RELIANCE")
+                .instrumentType("EQ").build());
+
+        index = new OptionChainIndex();
+        index.rebuild(instruments);
+    }
+
+    @Test
+    @DisplayName("Expiries are sorted and the last one of each month is flagged monthly")
+    void expiriesSortedWithMonthlyFlag() {
+        UnderlyingChain nifty = index.find("nifty").orElseThrow();
+
+        assertThat(nifty.expiries()).containsExactly(WEEKLY, MONTHLY, NEXT_MONTHLY);
+        assertThat(nifty.underlyingKey()).isEqualTo("NSE_INDEX|Nifty 50");
+        assertThat(nifty.expiryOnOrAfter(LocalDate.of(2025, 3, 18)).orElseThrow().expiry()).isEqualTo(WEEKLY);
+        assertThat(nifty.monthlyOnOrAfter(LocalDate.of(2025, 3, 18)).orElseThrow().expiry()).isEqualTo(MONTHLY);
+        assertThat(nifty.expiryOnOrAfter(LocalDate.of(2025, 5, 1))).isEmpty();
+        assertThat(index.underlyings()).containsExactly("BANKNIFTY", "NIFTY");
+    }
+
+    @Test
+    @DisplayName("Strikes are sorted with call and put keys aligned, and ATM is the nearest strike")
+    void strikesAlignedAndAtmLookup() {
+        ExpiryChain chain = index.find("NIFTY").orElseThrow().expiryOnOrAfter(WEEKLY).orElseThrow();
+
+        assertThat(chain.size()).isEqualTo(21);
+        assertThat(chain.strike(0)).isEqualTo(22000);
+        assertThat(chain.callKey(4)).isEqualTo(key("NIFTY", WEEKLY, 22200, "CE"));
+        assertThat(chain.putKey(4)).isEqualTo(key("NIFTY", WEEKLY, 22200, "PE"));
+        assertThat(chain.strike(chain.atmIndex(22512.4))).isEqualTo(22500);
+        assertThat(chain.strike(chain.atmIndex(22537.6))).isEqualTo(22550);
+        assertThat(chain.atmIndex(10)).isZero();
+        assertThat(chain.atmIndex(99999)).isEqualTo(20);
+    }
+
+    @Test
+    @DisplayName("A strike listed on one side only leaves the other side empty")
+    void missingSideIsNull() {
+        ExpiryChain chain = index.find("BANKNIFTY").orElseThrow().expiryOnOrAfter(WEEKLY).orElseThrow();
+
+        assertThat(chain.callKey(0)).isNotNull();
+        assertThat(chain.putKey(0)).isNull();
+    }
+
+    private static Instrument option(String underlying, LocalDate expiry, int strike, String side) {
+        return Instrument.builder()
+                .instrumentKey(key(underlying, expiry, strike, side))
+                .exchange("NSE")
+                .segment("NSE_FO")
+                .name(underlying)
+                .instrumentType(side)
+                .tradingSymbol(underlying + " " + strike + " " + side)
+                .lotSize(75)
+                .expiry(expiry.toString())
+                .strike((double) strike)
+                .underlyingSymbol(underlying)
+                .underlyingKey(underlying.equals("NIFTY") ? "NSE_INDEX|Nifty 50" : "NSE_INDEX|Nifty Bank")
+                .build();
+    }
+
+    private static String key(String underlying, LocalDate expiry, int strike, String side) {
+        return "NSE_FO|" + underlying + expiry + strike + side;
+    }
+}
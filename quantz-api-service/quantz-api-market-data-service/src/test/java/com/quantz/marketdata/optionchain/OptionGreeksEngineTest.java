@@ -0,0 +1,102 @@
+package com.quantz.marketdata.optionchain;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class OptionGreeksEngineTest {
+
+    private static final double RATE = 0.065;
+    private static final LocalDate EXPIRY = LocalDate.of(2025, 3, 27);
+    private static final Instant NOW = Instant.parse("2025-03-06T06:00:00Z");
+
+    @Test
+    @DisplayName("Implied volatility round-trips Black-76 premiums across the smile and recovers the forward")
+    void recoversVolatilitiesAndForward() {
+        ExpiryChain chain = chain();
+        double forward = 22510;
+        double[] premiums = premiums(chain, forward);
+
+        ChainGreeks greeks = new OptionGreeksEngine(RATE, 10).price(chain, premiums, null, NOW);
+
+        assertThat(greeks.forward()).isCloseTo(forward, within(1e-6));
+        for (int i = 0; i < chain.size(); i++) {
+            double expected = smile(chain.strike(i), forward);
+            assertThat(greeks.volatility(ChainGreeks.callLeg(i))).isCloseTo(expected, within(1e-6));
+            assertThat(greeks.volatility(ChainGreeks.putLeg(i))).isCloseTo(expected, within(1e-6));
+        }
+
+        int atm = chain.atmIndex(forward);
+        double discount = Math.exp(-RATE * greeks.timeToExpiry());
+        assertThat(greeks.delta(ChainGreeks.callLeg(atm)) - greeks.delta(ChainGreeks.putLeg(atm)))
+                .isCloseTo(discount, within(1e-6));
+        assertThat(greeks.gamma(ChainGreeks.callLeg(atm))).isPositive();
+        assertThat(greeks.vega(ChainGreeks.callLeg(atm))).isPositive();
+        assertThat(greeks.theta(ChainGreeks.callLeg(atm))).isNegative();
+    }
+
+    @Test
+    @DisplayName("An unchanged market re-solves only the legs whose premium changed")
+    void incrementalUpdate() {
+        ExpiryChain chain = chain();
+        OptionGreeksEngine engine = new OptionGreeksEngine(RATE, 10);
+        double[] premiums = premiums(chain, 22510);
+
+        assertThat(engine.price(chain, premiums, null, NOW).solved()).isEqualTo(premiums.length);
+
+        int far = ChainGreeks.callLeg(chain.size() - 1);
+        premiums[far] *= 1.05;
+        ChainGreeks updated = engine.price(chain, premiums.clone(), null, NOW);
+
+        assertThat(updated.solved()).isEqualTo(1);
+        assertThat(updated.volatility(far)).isGreaterThan(smile(chain.strike(chain.size() - 1), 22510));
+    }
+
+    @Test
+    @DisplayName("Premiums at or below intrinsic value have no implied volatility")
+    void rejectsArbitrageablePremiums() {
+        ExpiryChain chain = chain();
+        double[] premiums = premiums(chain, 22510);
+        premiums[ChainGreeks.callLeg(0)] = 1.0;
+
+        ChainGreeks greeks = new OptionGreeksEngine(RATE, 10).price(chain, premiums, null, NOW);
+
+        assertThat(greeks.volatility(ChainGreeks.callLeg(0))).isNaN();
+        assertThat(greeks.delta(ChainGreeks.callLeg(0))).isNaN();
+    }
+
+    private static ExpiryChain chain() {
+        int size = 41;
+        double[] strikes = new double[size];
+        String[] calls = new String[size];
+        String[] puts = new String[size];
+        for (int i = 0; i < size; i++) {
+            strikes[i] = 21500 + 50 * i;
+            calls[i] = "CE" + strikes[i];
+            puts[i] = "PE" + strikes[i];
+        }
+        return new ExpiryChain(EXPIRY, true, 75, strikes, calls, puts);
+    }
+
+    private static double[] premiums(ExpiryChain chain, double forward) {
+        double time = OptionGreeksEngine.timeToExpiry(EXPIRY, NOW);
+        double discount = Math.exp(-RATE * time);
+        double[] premiums = new double[chain.size() * 2];
+        for (int i = 0; i < chain.size(); i++) {
+            double sigmaRootTime = smile(chain.strike(i), forward) * Math.sqrt(time);
+            premiums[ChainGreeks.callLeg(i)] = discount * Black76.value(true, forward, chain.strike(i), sigmaRootTime);
+            premiums[ChainGreeks.putLeg(i)] = discount * Black76.value(false, forward, chain.strike(i), sigmaRootTime);
+        }
+        return premiums;
+    }
+
+    private static double smile(double strike, double forward) {
+        double moneyness = Math.log(strike / forward);
+        return 0.14 - 0.2 * moneyness + 1.5 * moneyness * moneyness;
+    }
+}
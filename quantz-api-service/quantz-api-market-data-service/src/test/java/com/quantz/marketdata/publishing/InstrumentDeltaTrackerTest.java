@@ -0,0 +1,58 @@
+package com.quantz.marketdata.publishing;
+
+import com.quantz.marketdata.entity.Instrument;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class InstrumentDeltaTrackerTest {
+
+    @Test
+    @DisplayName("The first master is published in full; later ones yield only added, changed and removed instruments")
+    void deltasAgainstPreviousMaster() {
+        InstrumentDeltaTracker tracker = new InstrumentDeltaTracker();
+        Instrument reliance = instrument("NSE_EQ|INE002A01018", "RELIANCE", 1);
+        Instrument infosys = instrument("NSE_EQ|INE009A01021", "INFY", 1);
+        Instrument tcs = instrument("NSE_EQ|INE467B01029", "TCS", 1);
+
+        InstrumentDeltaTracker.Delta baseline = tracker.update(List.of(reliance, infosys));
+        assertThat(baseline.upserts())
+                .extracting(InstrumentMessage::instrumentKey, InstrumentMessage::change)
+                .containsExactly(
+                        tuple("NSE_EQ|INE002A01018", InstrumentMessage.Change.ADDED),
+                        tuple("NSE_EQ|INE009A01021", InstrumentMessage.Change.ADDED));
+        assertThat(baseline.removed()).isEmpty();
+
+        Instrument relianceRetouched = instrument("NSE_EQ|INE002A01018", "RELIANCE", 1);
+        relianceRetouched.setUpdatedAt(LocalDateTime.now());
+        Instrument infosysNewLot = instrument("NSE_EQ|INE009A01021", "INFY", 5);
+        InstrumentDeltaTracker.Delta delta = tracker.update(List.of(relianceRetouched, infosysNewLot, tcs));
+
+        assertThat(delta.upserts())
+                .extracting(InstrumentMessage::instrumentKey, InstrumentMessage::change)
+                .containsExactly(
+                        tuple("NSE_EQ|INE009A01021", InstrumentMessage.Change.CHANGED),
+                        tuple("NSE_EQ|INE467B01029", InstrumentMessage.Change.ADDED));
+        assertThat(delta.removed()).isEmpty();
+
+        assertThat(tracker.update(List.of(tcs)).removed())
+                .containsExactly("NSE_EQ|INE002A01018", "NSE_EQ|INE009A01021");
+    }
+
+    private static Instrument instrument(String key, String symbol, int lotSize) {
+        return Instrument.builder()
+                .instrumentKey(key)
+                .exchange("NSE")
+                .segment("NSE_EQ")
+                .name(symbol)
+                .instrumentType("EQ")
+                .tradingSymbol(symbol)
+                .lotSize(lotSize)
+                .build();
+    }
+}
@@ -0,0 +1,113 @@
+package com.quantz.marketdata.publishing;
+
+import com.quantz.events.codec.BarDecoder;
+import com.quantz.marketdata.config.EventPublishingConfig;
+import com.quantz.marketdata.config.EventPublishingProperties;
+import com.quantz.marketdata.entity.CandleData;
+import com.quantz.marketdata.event.CandlesSavedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.kafka.KafkaContainer;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Publishes through an idempotent, zstd-compressed producer to a containerized broker; skipped without Docker
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class MarketDataEventPublisherKafkaTest {
+
+    @Container
+    static final KafkaContainer KAFKA = new KafkaContainer("apache/kafka:3.8.1");
+
+    @Test
+    @DisplayName("Candles of each instrument arrive in order on one partition, keyed by instrument key")
+    void publishesBarsInOrderPerInstrument() throws Exception {
+        EventPublishingProperties properties = new EventPublishingProperties();
+        properties.setEnabled(true);
+        properties.setBootstrapServers(KAFKA.getBootstrapServers());
+        properties.setCompression("zstd");
+        properties.getTopics().setBars("test.bars");
+
+        EventPublishingConfig config = new EventPublishingConfig();
+        KafkaTemplate<String, byte[]> template = config.marketDataKafkaTemplate(config.marketDataProducerFactory(properties));
+        ThreadPoolTaskExecutor executor = config.marketDataPublisherExecutor(properties);
+        MarketDataEventPublisher publisher = new MarketDataEventPublisher(template, executor, properties,
+                new SimpleMeterRegistry());
+
+        List<CandleData> reliance = candles("NSE_EQ|INE002A01018", 50);
+        List<CandleData> infosys = candles("NSE_EQ|INE009A01021", 50);
+        publisher.onCandlesSaved(new CandlesSavedEvent("NSE_EQ|INE002A01018", "1d", reliance));
+        publisher.onCandlesSaved(new CandlesSavedEvent("NSE_EQ|INE009A01021", "1d", infosys));
+        executor.shutdown();
+        template.flush();
+
+        Map<String, List<ConsumerRecord<String, byte[]>>> byKey = consume("test.bars", 100);
+
+        assertThat(byKey).containsOnlyKeys("NSE_EQ|INE002A01018", "NSE_EQ|INE009A01021");
+        for (List<ConsumerRecord<String, byte[]>> records : byKey.values()) {
+            assertThat(records).extracting(ConsumerRecord::partition).containsOnly(records.get(0).partition());
+            BarDecoder decoder = new BarDecoder();
+            List<Long> timestamps = new ArrayList<>();
+            for (ConsumerRecord<String, byte[]> record : records) {
+                decoder.wrap(new UnsafeBuffer(record.value()), 0);
+                assertThat(decoder.instrumentKey()).isEqualTo(record.key());
+                timestamps.add(decoder.timestamp());
+            }
+            assertThat(timestamps).hasSize(50).isSorted();
+        }
+    }
+
+    private Map<String, List<ConsumerRecord<String, byte[]>>> consume(String topic, int expected) {
+        Properties config = new Properties();
+        config.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, KAFKA.getBootstrapServers());
+        config.put(ConsumerConfig.GROUP_ID_CONFIG, "market-data-publisher-test");
+        config.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+
+        Map<String, List<ConsumerRecord<String, byte[]>>> byKey = new LinkedHashMap<>();
+        try (KafkaConsumer<String, byte[]> consumer =
+                     new KafkaConsumer<>(config, new StringDeserializer(), new ByteArrayDeserializer())) {
+            consumer.subscribe(List.of(topic));
+            long deadline = System.currentTimeMillis() + 30_000;
+            int received = 0;
+            while (received < expected && System.currentTimeMillis() < deadline) {
+                for (ConsumerRecord<String, byte[]> record : consumer.poll(Duration.ofMillis(500))) {
+                    byKey.computeIfAbsent(record.key(), key -> new ArrayList<>()).add(record);
+                    received++;
+                }
+            }
+        }
+        return byKey;
+    }
+
+    private static List<CandleData> candles(String instrumentKey, int count) {
+        List<CandleData> candles = new ArrayList<>(count);
+        LocalDateTime start = LocalDateTime.of(2025, 1, 1, 0, 0);
+        for (int i = 0; i < count; i++) {
+            double price = 100 + i;
+            candles.add(CandleData.builder()
+                    .instrumentKey(instrumentKey)
+                    .interval("1d")
+                    .timestamp(start.plusDays(i))
+                    .open(price).high(price).low(price).close(price)
+                    .volume(1000L + i)
+                    .build());
+        }
+        return candles;
+    }
+}
@@ -0,0 +1,161 @@
+package com.quantz.marketdata.scraping;
+
+import com.quantz.marketdata.cluster.ClusterCoordinator;
+import com.quantz.marketdata.config.ScrapeSchedulerProperties;
+import com.quantz.marketdata.config.UpstoxProperties;
+import com.quantz.marketdata.entity.CandleData;
+import com.quantz.marketdata.upstox.UpstoxCallController;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("Scrape Scheduling Tests")
+class ScrapeSchedulingTest {
+
+    private static final ZoneId IST = ZoneId.of("Asia/Kolkata");
+    private static final LocalDate TODAY = LocalDate.of(2025, 3, 14);
+
+    private final ScrapeSchedulerProperties.Weights weights = new ScrapeSchedulerProperties.Weights();
+
+    @Test
+    @DisplayName("Liquid, stale and requested instruments should rank higher")
+    void shouldRankByLiquidityStalenessAndDemand() {
+        // Given: A baseline instrument updated yesterday with modest turnover and no reads
+        double baseline = ScrapePlanner.priority(weights, 1e6, TODAY.minusDays(1), TODAY, 0);
+
+        // When/Then: Raising any one factor raises the priority
+        assertThat(ScrapePlanner.priority(weights, 1e9, TODAY.minusDays(1), TODAY, 0)).isGreaterThan(baseline);
+        assertThat(ScrapePlanner.priority(weights, 1e6, TODAY.minusDays(5), TODAY, 0)).isGreaterThan(baseline);
+        assertThat(ScrapePlanner.priority(weights, 1e6, TODAY.minusDays(1), TODAY, 8)).isGreaterThan(baseline);
+
+        // And: Staleness is capped, so an instrument never scraped counts as a month old
+        assertThat(ScrapePlanner.priority(weights, 0, null, TODAY, 0))
+                .isEqualTo(ScrapePlanner.priority(weights, 0, TODAY.minusYears(2), TODAY, 0));
+    }
+
+    @Test
+    @DisplayName("Concurrency should follow the deadline within the request budget")
+    void shouldSizeConcurrencyToDeadlineAndBudget() {
+        // Given: A budget of 10 requests per second, 200 ms latency and at most 8 concurrent calls
+
+        // When/Then: Plenty of time left runs at the minimum share of the budget, 5/s * 0.2 s = 1 call
+        assertThat(AdaptiveScrapeRunner.concurrency(10, 100, 3600, 0.2, 8, 0.5)).isEqualTo(1);
+
+        // When/Then: 100 instruments in 12.5 s needs 8/s, so 2 calls in flight
+        assertThat(AdaptiveScrapeRunner.concurrency(10, 100, 12.5, 0.2, 8, 0.5)).isEqualTo(2);
+
+        // When/Then: An unreachable deadline is capped at the budget, 10/s * 0.2 s = 2 calls
+        assertThat(AdaptiveScrapeRunner.concurrency(10, 1000, 1, 0.2, 8, 0.5)).isEqualTo(2);
+
+        // When/Then: Slow responses need more calls in flight, up to the maximum
+        assertThat(AdaptiveScrapeRunner.concurrency(10, 1000, 1, 5, 8, 0.5)).isEqualTo(8);
+    }
+
+    @Test
+    @DisplayName("A task rejected by the worker pool should end the run instead of blocking it")
+    void shouldStopRunWhenWorkerRejects() throws InterruptedException {
+        // Given: A worker pool that runs the first task and then shuts down
+        AtomicInteger submitted = new AtomicInteger();
+        TaskExecutor workers = task -> {
+            if (submitted.getAndIncrement() > 0) {
+                throw new TaskRejectedException("Executor is shut down");
+            }
+            task.run();
+        };
+        ClusterCoordinator clusterCoordinator = mock(ClusterCoordinator.class);
+        when(clusterCoordinator.liveNodeCount()).thenReturn(1);
+        UpstoxCallController callController = mock(UpstoxCallController.class);
+        when(callController.awaitAvailable(any())).thenReturn(true);
+        when(callController.concurrencyLimit()).thenReturn(8);
+        AdaptiveScrapeRunner runner = new AdaptiveScrapeRunner(workers, new UpstoxProperties(), clusterCoordinator,
+                new ScrapeSchedulerProperties(), callController);
+        List<ScrapeTask> tasks = List.of(new ScrapeTask("NSE_EQ|A", 2, null), new ScrapeTask("NSE_EQ|B", 1, null),
+                new ScrapeTask("NSE_EQ|C", 0, null));
+
+        // When
+        int points = assertTimeoutPreemptively(Duration.ofSeconds(5), () ->
+                runner.run(tasks, LocalDateTime.now().plusMinutes(1), ScrapeMonitor.NONE, task -> 10));
+
+        // Then: The first task's points are returned and nothing after the rejection is submitted
+        assertThat(points).isEqualTo(10);
+        assertThat(submitted).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Market hours should cover weekday sessions and the settled close")
+    void shouldTrackMarketSession() {
+        // Given: The NSE session with a five minute settle delay
+        MarketHours hours = new MarketHours(IST, LocalTime.of(9, 15), LocalTime.of(15, 30), Duration.ofMinutes(5));
+        ZonedDateTime friday = TODAY.atStartOfDay(IST);
+
+        // Then: The session is open between the open and the close on weekdays only
+        assertThat(hours.isOpen(friday.withHour(9).withMinute(14))).isFalse();
+        assertThat(hours.isOpen(friday.withHour(9).withMinute(15))).isTrue();
+        assertThat(hours.isOpen(friday.withHour(15).withMinute(30))).isFalse();
+        assertThat(hours.isOpen(friday.plusDays(1).withHour(11))).isFalse();
+
+        // And: The close counts as settled only after the delay, judged in the exchange's zone
+        assertThat(hours.isSettledAfterClose(friday.withHour(15).withMinute(34))).isFalse();
+        assertThat(hours.isSettledAfterClose(friday.withHour(15).withMinute(35))).isTrue();
+        assertThat(hours.isOpen(friday.withHour(11).withZoneSameInstant(ZoneId.of("UTC")))).isTrue();
+
+        // And: An open that is not before the close is rejected
+        assertThatThrownBy(() -> new MarketHours(IST, LocalTime.of(16, 0), LocalTime.of(9, 0), Duration.ZERO))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Intraday merge should insert only newer bars and revise the cursor bar in place")
+    void shouldMergeOnlyNewIntradayBars() {
+        // Given: A stored cursor at 09:16 and a poll returning 09:15 to 09:17, with 09:16 revised
+        LocalDateTime open = TODAY.atTime(9, 15);
+        CandleData cursor = bar(open.plusMinutes(1), 101, 1_000);
+        List<CandleData> fetched = List.of(
+                bar(open.plusMinutes(2), 102, 300),
+                bar(open, 100, 5_000),
+                bar(open.plusMinutes(1), 101.5, 1_800));
+
+        // When: Merging against the cursor
+        CandleIngestor.IntradayMerge merge = CandleIngestor.merge(cursor, fetched);
+
+        // Then: The older bar is ignored, the cursor bar is revised and the newer one inserted
+        assertThat(merge.revised().getClose()).isEqualTo(101.5);
+        assertThat(merge.inserts()).extracting(CandleData::getTimestamp).containsExactly(open.plusMinutes(2));
+        assertThat(merge.cursor().getTimestamp()).isEqualTo(open.plusMinutes(2));
+
+        // And: Polling the same bars again writes nothing
+        CandleIngestor.IntradayMerge again = CandleIngestor.merge(merge.cursor(), fetched);
+        assertThat(again.revised()).isNull();
+        assertThat(again.inserts()).isEmpty();
+    }
+
+    private static CandleData bar(LocalDateTime timestamp, double close, long volume) {
+        return CandleData.builder()
+                .instrumentKey("NSE_EQ|INE002A01018")
+                .interval("1minute")
+                .timestamp(timestamp)
+                .open(close)
+                .high(close)
+                .low(close)
+                .close(close)
+                .volume(volume)
+                .build();
+    }
+}
@@ -0,0 +1,182 @@
+package com.quantz.marketdata.scraping;
+
+import com.quantz.marketdata.entity.CandleData;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Chunked candle writes and the instrument cursor against a containerized Postgres; skipped without Docker
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class ScrapeStorePostgresTest {
+
+    private static final String RELIANCE = "NSE_EQ|INE002A01018";
+
+    @Container
+    static final GenericContainer<?> POSTGRES = new GenericContainer<>("postgres:16-alpine")
+            .withEnv("POSTGRES_USER", "quantz")
+            .withEnv("POSTGRES_PASSWORD", "quantz")
+            .withEnv("POSTGRES_DB", "quantz")
+            .withExposedPorts(5432)
+            .waitingFor(Wait.forLogMessage(".*database system is ready to accept connections.*\\n", 2));
+
+    private static DriverManagerDataSource dataSource;
+    private static JdbcTemplate jdbcTemplate;
+
+    private ScrapeStore store;
+
+    @BeforeAll
+    static void createSchema() {
+        dataSource = new DriverManagerDataSource("jdbc:postgresql://" + POSTGRES.getHost() + ":"
+                + POSTGRES.getMappedPort(5432) + "/quantz", "quantz", "quantz");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE candle_data (id BIGSERIAL PRIMARY KEY, instrument_key VARCHAR(255) NOT NULL, "
+                + "interval VARCHAR(10) NOT NULL, timestamp TIMESTAMP NOT NULL, open DOUBLE PRECISION NOT NULL, "
+                + "high DOUBLE PRECISION NOT NULL, low DOUBLE PRECISION NOT NULL, close DOUBLE PRECISION NOT NULL, "
+                + "volume BIGINT NOT NULL, created_at TIMESTAMP, "
+                + "CONSTRAINT uk_candle_instr_interval_date UNIQUE (instrument_key, interval, timestamp))");
+        jdbcTemplate.execute("CREATE TABLE instruments (instrument_key VARCHAR(255) PRIMARY KEY, "
+                + "segment VARCHAR(50), instrument_type VARCHAR(50), expiry VARCHAR(50))");
+    }
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("TRUNCATE candle_data, instruments");
+        store = new ScrapeStore(dataSource, new DataSourceTransactionManager(dataSource), 2);
+    }
+
+    @Test
+    @DisplayName("Candles should be written in committed chunks, and written again without duplicates")
+    void shouldWriteChunksAndUpsert() {
+        // Given: Five daily candles and chunks of two
+        List<CandleData> candles = candles(5, 100.0);
+        List<List<CandleData>> committed = new ArrayList<>();
+
+        // When
+        int written = store.insertCandles(candles, committed::add);
+
+        // Then: Three chunks were committed and announced in order
+        assertThat(written).isEqualTo(5);
+        assertThat(committed).extracting(List::size).containsExactly(2, 2, 1);
+        assertThat(rows()).isEqualTo(5);
+
+        // When: The same bars are fetched again with revised closes, as after a failed run
+        store.insertCandles(candles(5, 101.0), chunk -> { });
+
+        // Then: They replace the stored ones
+        assertThat(rows()).isEqualTo(5);
+        assertThat(jdbcTemplate.queryForList("SELECT DISTINCT close FROM candle_data", Double.class))
+                .containsExactly(101.0);
+    }
+
+    @Test
+    @DisplayName("A failing chunk should leave the earlier chunks committed and announced")
+    void shouldKeepCommittedChunksOnFailure() {
+        // Given: The fourth candle's interval does not fit its column
+        List<CandleData> candles = candles(5, 100.0);
+        candles.get(3).setInterval("1d".repeat(10));
+        List<List<CandleData>> committed = new ArrayList<>();
+
+        // When/Then: The second chunk fails
+        assertThatThrownBy(() -> store.insertCandles(candles, committed::add)).isInstanceOf(RuntimeException.class);
+
+        // Then: Only the first chunk is stored, and it was announced
+        assertThat(committed).hasSize(1);
+        assertThat(rows()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Candles without a price or volume should be skipped instead of failing their chunk")
+    void shouldSkipIncompleteCandles() {
+        // Given: The second candle has no volume and the fourth no close
+        List<CandleData> candles = candles(5, 100.0);
+        candles.get(1).setVolume(null);
+        candles.get(3).setClose(null);
+        List<List<CandleData>> committed = new ArrayList<>();
+
+        // When
+        int written = store.insertCandles(candles, committed::add);
+
+        // Then: The three complete candles are stored and announced
+        assertThat(written).isEqualTo(3);
+        assertThat(committed).extracting(List::size).containsExactly(2, 1);
+        assertThat(rows()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("A missing candle key should be added at startup after removing duplicate candles")
+    void shouldAddMissingCandleKey() {
+        // Given: A database from before the key, holding a duplicated candle
+        jdbcTemplate.execute("ALTER TABLE candle_data DROP CONSTRAINT uk_candle_instr_interval_date");
+        try {
+            for (double close : new double[]{100.0, 101.0}) {
+                jdbcTemplate.update("INSERT INTO candle_data (instrument_key, interval, timestamp, open, high, low, "
+                        + "close, volume) VALUES (?, '1d', '2025-01-02', 1, 1, 1, ?, 1)", RELIANCE, close);
+            }
+
+            // When
+            store.ensureCandleKey();
+
+            // Then: The newest row is kept and upserts work again
+            assertThat(jdbcTemplate.queryForList("SELECT close FROM candle_data", Double.class)).containsExactly(101.0);
+            store.insertCandles(candles(1, 102.0), chunk -> { });
+            assertThat(jdbcTemplate.queryForList("SELECT close FROM candle_data", Double.class)).containsExactly(102.0);
+        } finally {
+            jdbcTemplate.execute("ALTER TABLE candle_data DROP CONSTRAINT IF EXISTS uk_candle_instr_interval_date");
+            jdbcTemplate.execute("ALTER TABLE candle_data ADD CONSTRAINT uk_candle_instr_interval_date "
+                    + "UNIQUE (instrument_key, interval, timestamp)");
+        }
+    }
+
+    @Test
+    @DisplayName("The instrument cursor should stream only the requested segments and types")
+    void shouldStreamInstruments() {
+        // Given
+        jdbcTemplate.update("INSERT INTO instruments VALUES (?, 'NSE_EQ', 'EQ', NULL), (?, 'NSE_EQ', 'ETF', NULL), "
+                + "(?, 'NSE_FO', 'FUT', '2025-03-27')", RELIANCE, "NSE_EQ|NIFTYBEES", "NSE_FO|RELIANCE25MARFUT");
+        List<ScrapeStore.InstrumentRow> rows = new ArrayList<>();
+
+        // When/Then: A segment and type restriction
+        store.forEachInstrument(List.of("NSE_EQ"), List.of("EQ"), rows::add);
+        assertThat(rows).containsExactly(new ScrapeStore.InstrumentRow(RELIANCE, null));
+
+        // When/Then: Segments only, with the raw expiry of derivatives
+        rows.clear();
+        store.forEachInstrument(List.of("NSE_FO"), List.of(), rows::add);
+        assertThat(rows).containsExactly(new ScrapeStore.InstrumentRow("NSE_FO|RELIANCE25MARFUT", "2025-03-27"));
+    }
+
+    private static int rows() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM candle_data", Integer.class);
+    }
+
+    private static List<CandleData> candles(int count, double close) {
+        List<CandleData> candles = new ArrayList<>();
+        for (int day = 0; day < count; day++) {
+            candles.add(CandleData.builder()
+                    .instrumentKey(RELIANCE)
+                    .interval("1d")
+                    .timestamp(LocalDateTime.of(2025, 1, 2 + day, 0, 0))
+                    .open(close).high(close).low(close).close(close)
+                    .volume(1000L)
+                    .build());
+        }
+        return candles;
+    }
+}
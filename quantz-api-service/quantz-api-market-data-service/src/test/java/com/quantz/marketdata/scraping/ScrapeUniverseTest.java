@@ -0,0 +1,110 @@
+package com.quantz.marketdata.scraping;
+
+import com.quantz.marketdata.config.ScrapeUniverseProperties;
+import com.quantz.marketdata.entity.ScrapeBackoff;
+import com.quantz.marketdata.repository.ScrapeBackoffRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("Scrape Universe Tests")
+class ScrapeUniverseTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 3, 14);
+
+    @Test
+    @DisplayName("Empty responses should back off exponentially once past the threshold")
+    void shouldBackOffExponentially() {
+        // Given: A threshold of three empty responses, one day base and a thirty day cap
+        ScrapeUniverseProperties.Backoff backoff = new ScrapeUniverseProperties.Backoff();
+
+        // When/Then: Below the threshold the instrument is scraped on the next run
+        assertThat(ScrapeUniverse.retryAfter(1, TODAY, backoff)).isEqualTo(TODAY);
+        assertThat(ScrapeUniverse.retryAfter(2, TODAY, backoff)).isEqualTo(TODAY);
+
+        // When/Then: From the threshold on the pause doubles
+        assertThat(ScrapeUniverse.retryAfter(3, TODAY, backoff)).isEqualTo(TODAY.plusDays(1));
+        assertThat(ScrapeUniverse.retryAfter(4, TODAY, backoff)).isEqualTo(TODAY.plusDays(2));
+        assertThat(ScrapeUniverse.retryAfter(7, TODAY, backoff)).isEqualTo(TODAY.plusDays(16));
+
+        // When/Then: And never exceeds the cap, however long the streak
+        assertThat(ScrapeUniverse.retryAfter(8, TODAY, backoff)).isEqualTo(TODAY.plusDays(30));
+        assertThat(ScrapeUniverse.retryAfter(500, TODAY, backoff)).isEqualTo(TODAY.plusDays(30));
+    }
+
+    @Test
+    @DisplayName("Expired contracts and those beyond the window should be left out")
+    void shouldApplyExpiryWindow() {
+        // Then: Cash instruments have no expiry and always pass
+        assertThat(ScrapeUniverse.withinExpiryWindow(null, TODAY, 7)).isTrue();
+
+        // And: A contract expiring today still trades, yesterday's has expired
+        assertThat(ScrapeUniverse.withinExpiryWindow(TODAY, TODAY, 7)).isTrue();
+        assertThat(ScrapeUniverse.withinExpiryWindow(TODAY.minusDays(1), TODAY, null)).isFalse();
+
+        // And: The window bounds how far out contracts are scraped, without a window any future expiry passes
+        assertThat(ScrapeUniverse.withinExpiryWindow(TODAY.plusDays(7), TODAY, 7)).isTrue();
+        assertThat(ScrapeUniverse.withinExpiryWindow(TODAY.plusDays(8), TODAY, 7)).isFalse();
+        assertThat(ScrapeUniverse.withinExpiryWindow(TODAY.plusDays(90), TODAY, null)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Illiquid instruments should be left out only until their newest bar is older than the recheck period")
+    void shouldRecheckIlliquidInstruments() {
+        // Given: A minimum average volume of 1,000 and a weekly recheck
+
+        // When/Then: A thin instrument with a bar from yesterday is left out, a liquid one is not
+        assertThat(ScrapeUniverse.isIlliquid(state(TODAY.minusDays(1), 500), 1000, TODAY, 7)).isTrue();
+        assertThat(ScrapeUniverse.isIlliquid(state(TODAY.minusDays(1), 5000), 1000, TODAY, 7)).isFalse();
+
+        // When/Then: The exclusion lasts through the recheck period and ends after it
+        assertThat(ScrapeUniverse.isIlliquid(state(TODAY.minusDays(7), 500), 1000, TODAY, 7)).isTrue();
+        assertThat(ScrapeUniverse.isIlliquid(state(TODAY.minusDays(8), 500), 1000, TODAY, 7)).isFalse();
+
+        // When/Then: Instruments without daily bars and rules without a minimum keep everything
+        assertThat(ScrapeUniverse.isIlliquid(null, 1000, TODAY, 7)).isFalse();
+        assertThat(ScrapeUniverse.isIlliquid(state(TODAY.minusDays(1), 500), 0, TODAY, 7)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Stored candles should clear a backoff row this node never loaded")
+    void shouldClearStoredBackoffOnCandles() {
+        // Given: A backoff row written by another node, unknown to this one
+        ScrapeBackoffRepository repository = mock(ScrapeBackoffRepository.class);
+        ScrapeBackoff stored = ScrapeBackoff.builder().instrumentKey("NSE_EQ|A").consecutiveEmpty(5)
+                .lastEmptyDate(TODAY.minusDays(1)).retryAfter(TODAY.plusDays(3)).build();
+        when(repository.findById("NSE_EQ|A")).thenReturn(Optional.of(stored), Optional.empty());
+        when(repository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        ScrapeUniverse universe = new ScrapeUniverse(mock(ScrapeStore.class), repository,
+                new ScrapeUniverseProperties());
+
+        // When: Candles are stored for the instrument
+        universe.recordCandles("NSE_EQ|A");
+
+        // Then: The stored row is deleted
+        verify(repository).deleteIfPresent("NSE_EQ|A");
+
+        // When: A later empty response arrives, after the row was deleted
+        universe.recordEmpty("NSE_EQ|A", TODAY);
+        universe.recordEmpty("NSE_EQ|A", TODAY.plusDays(1));
+
+        // Then: The count restarts from the stored state, not from a copy held in memory
+        ArgumentCaptor<ScrapeBackoff> saved = ArgumentCaptor.forClass(ScrapeBackoff.class);
+        verify(repository, times(2)).save(saved.capture());
+        assertThat(saved.getAllValues()).extracting(ScrapeBackoff::getConsecutiveEmpty).containsExactly(6, 1);
+    }
+
+    private static ScrapeStore.BarState state(LocalDate lastBarDate, double averageVolume) {
+        return new ScrapeStore.BarState(lastBarDate, 100 * averageVolume, averageVolume);
+    }
+}
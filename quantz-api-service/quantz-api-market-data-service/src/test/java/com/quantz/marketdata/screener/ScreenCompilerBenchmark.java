@@ -0,0 +1,95 @@
+package com.quantz.marketdata.screener;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.Field;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A compiled screen against the same expression written in Java and against its handle tree invoked from an
+ * instance field, over a universe-sized row set (2,000 instruments). The compiled screen should run close to the
+ * hand-written code and well ahead of the field-held tree, which the JIT cannot inline.
+ * Run after {@code mvn test-compile} with {@code java -cp <test classpath> ...ScreenCompilerBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ScreenCompilerBenchmark {
+
+    private static final String EXPRESSION = "close > open AND volume > 2 * avgVol20 OR changePct < -3";
+
+    @Param({"2000"})
+    private int rows;
+
+    private double[][] universe;
+    private CompiledScreen screen;
+    private MethodHandle fieldHeldFilter;
+
+    @Setup
+    public void setUp() throws ReflectiveOperationException {
+        screen = ScreenCompiler.compile(EXPRESSION, null);
+        Field filter = screen.evaluator().getClass().getDeclaredField("FILTER");
+        filter.setAccessible(true);
+        fieldHeldFilter = (MethodHandle) filter.get(null);
+
+        Random random = new Random(7);
+        universe = new double[rows][screen.width()];
+        for (double[] row : universe) {
+            row[ScreenField.OPEN.ordinal()] = 100 + random.nextGaussian();
+            row[ScreenField.CLOSE.ordinal()] = 100 + random.nextGaussian();
+            row[ScreenField.VOLUME.ordinal()] = 1e5 + random.nextInt(400_000);
+            row[ScreenField.AVG_VOL_20.ordinal()] = 1e5;
+            row[ScreenField.CHANGE_PCT.ordinal()] = 2 * random.nextGaussian();
+        }
+    }
+
+    @Benchmark
+    public int handWritten() {
+        int matches = 0;
+        for (double[] row : universe) {
+            if (row[ScreenField.CLOSE.ordinal()] > row[ScreenField.OPEN.ordinal()]
+                    && row[ScreenField.VOLUME.ordinal()] > 2 * row[ScreenField.AVG_VOL_20.ordinal()]
+                    || row[ScreenField.CHANGE_PCT.ordinal()] < -3) {
+                matches++;
+            }
+        }
+        return matches;
+    }
+
+    @Benchmark
+    public int compiledScreen() {
+        int matches = 0;
+        for (double[] row : universe) {
+            if (screen.test(row)) {
+                matches++;
+            }
+        }
+        return matches;
+    }
+
+    @Benchmark
+    public int fieldHeldHandleTree() throws Throwable {
+        int matches = 0;
+        for (double[] row : universe) {
+            if ((boolean) fieldHeldFilter.invokeExact(row)) {
+                matches++;
+            }
+        }
+        return matches;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ScreenCompilerBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
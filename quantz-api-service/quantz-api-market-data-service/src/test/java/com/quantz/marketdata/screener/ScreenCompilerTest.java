@@ -0,0 +1,119 @@
+package com.quantz.marketdata.screener;
+
+import com.quantz.marketdata.entity.LatestBar;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Screener Expression Compiler Tests")
+class ScreenCompilerTest {
+
+    private static final String OVERSOLD_BREAKOUT = "RSI14 < 30 AND volume > 2 × avgVol20 AND close > SMA200";
+
+    @Test
+    @DisplayName("The trader screen should compile and evaluate against a row")
+    void shouldEvaluateCompiledScreen() {
+        CompiledScreen screen = ScreenCompiler.compile(OVERSOLD_BREAKOUT, "volume / avgVol20");
+
+        assertThat(screen.indicatorSpecs()).containsExactly("RSI:14", "SMA:200");
+        assertThat(screen.referenced()).containsKeys("volume", "avgVol20", "close", "RSI:14.rsi", "SMA:200.sma");
+
+        double[] row = row(screen, 105, 500_000, 200_000, 25, 100);
+        assertThat(screen.test(row)).isTrue();
+        assertThat(screen.rank(row)).isEqualTo(2.5);
+
+        assertThat(screen.test(row(screen, 105, 300_000, 200_000, 25, 100))).isFalse();
+        assertThat(screen.test(row(screen, 95, 500_000, 200_000, 25, 100))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Each screen should be evaluated by a hidden class of its own")
+    void shouldSpinHiddenClassPerScreen() {
+        // When: Two screens are compiled
+        CompiledScreen oversold = ScreenCompiler.compile(OVERSOLD_BREAKOUT, null);
+        CompiledScreen movers = ScreenCompiler.compile("changePct > 5", null);
+
+        // Then: Each has its own hidden class from the template, so its handles are constants of that class
+        Class<?> oversoldClass = oversold.evaluator().getClass();
+        assertThat(oversoldClass.isHidden()).isTrue();
+        assertThat(oversoldClass.getName()).startsWith(ScreenEvaluatorTemplate.class.getName() + "/");
+        assertThat(movers.evaluator().getClass()).isNotEqualTo(oversoldClass);
+
+        // Then: And each evaluates its own expression
+        double[] row = new double[movers.width()];
+        row[ScreenField.CHANGE_PCT.ordinal()] = 6;
+        assertThat(movers.test(row)).isTrue();
+        assertThat(oversold.test(row(oversold, 105, 500_000, 200_000, 25, 100))).isTrue();
+    }
+
+    @Test
+    @DisplayName("Missing values should fail comparisons instead of matching")
+    void shouldNotMatchMissingValues() {
+        CompiledScreen screen = ScreenCompiler.compile(OVERSOLD_BREAKOUT, null);
+
+        assertThat(screen.test(row(screen, 105, 500_000, 200_000, Double.NaN, 100))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Precedence, OR, NOT and multi-output indicators should follow the grammar")
+    void shouldHonourGrammar() {
+        CompiledScreen screen = ScreenCompiler.compile(
+                "NOT close < BB(20, 2).lower OR changePct >= 1 + 2 * 2", "-changePct");
+
+        double[] row = new double[screen.width()];
+        row[ScreenField.CLOSE.ordinal()] = 90;
+        row[ScreenField.CHANGE_PCT.ordinal()] = 4;
+        row[screen.indicatorColumns().get(0).column()] = 95;
+        assertThat(screen.indicatorColumns().get(0).output()).isEqualTo("lower");
+        assertThat(screen.test(row)).isFalse();
+
+        row[ScreenField.CHANGE_PCT.ordinal()] = 5;
+        assertThat(screen.test(row)).isTrue();
+        assertThat(screen.rank(row)).isEqualTo(-5);
+    }
+
+    @Test
+    @DisplayName("Malformed expressions should be rejected with a description")
+    void shouldRejectMalformedExpressions() {
+        assertThatThrownBy(() -> ScreenCompiler.compile("close >", null))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ScreenCompiler.compile("close + 1", null))
+                .hasMessageContaining("Expected a condition");
+        assertThatThrownBy(() -> ScreenCompiler.compile("FOO14 > 1", null))
+                .hasMessageContaining("Unknown field or indicator");
+        assertThatThrownBy(() -> ScreenCompiler.compile("MACD.foo > 0", null))
+                .hasMessageContaining("has no output");
+    }
+
+    @Test
+    @DisplayName("A bar without a close should read as missing change instead of failing")
+    void shouldTreatMissingCloseAsMissingChange() {
+        LatestBar bar = LatestBar.builder().instrumentKey("NSE_EQ|INE002A01018").prevClose(100.0).build();
+        double[] row = new double[ScreenField.values().length];
+
+        ScreenField.fill(bar, row);
+
+        assertThat(row[ScreenField.CHANGE_PCT.ordinal()]).isNaN();
+        assertThat(ScreenCompiler.compile("changePct < -3", null).test(row)).isFalse();
+    }
+
+    private double[] row(CompiledScreen screen, double close, long volume, double avgVol20, double rsi, double sma200) {
+        LatestBar bar = LatestBar.builder()
+                .instrumentKey("NSE_EQ|INE002A01018")
+                .timestamp(LocalDateTime.of(2024, 6, 3, 0, 0))
+                .open(close).high(close).low(close).close(close)
+                .volume(volume)
+                .averageVolume20Day(avgVol20)
+                .build();
+        double[] row = new double[screen.width()];
+        ScreenField.fill(bar, row);
+        for (CompiledScreen.IndicatorColumn column : screen.indicatorColumns()) {
+            row[column.column()] = column.spec().startsWith("RSI") ? rsi : sma200;
+        }
+        return row;
+    }
+}
@@ -0,0 +1,113 @@
+package com.quantz.marketdata.search;
+
+import com.quantz.marketdata.entity.Instrument;
+import com.quantz.marketdata.model.InstrumentQuery;
+import com.quantz.marketdata.optionchain.OptionChainIndex;
+import com.quantz.marketdata.repository.CandleDataRepository;
+import com.quantz.marketdata.repository.InstrumentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+@DisplayName("Instrument Query Engine Tests")
+class InstrumentQueryEngineTest {
+
+    private static final String WEEKLY = "2024-12-26";
+    private static final String MONTHLY = "2025-01-30";
+
+    private InstrumentQueryEngine queryEngine;
+
+    @BeforeEach
+    void setUp() {
+        InstrumentSearchIndex searchIndex = new InstrumentSearchIndex(mock(CandleDataRepository.class));
+        queryEngine = new InstrumentQueryEngine(mock(InstrumentRepository.class), searchIndex, new OptionChainIndex(), event -> { });
+
+        List<Instrument> instruments = List.of(
+                equity("NSE_EQ|INE002A01018", "RELIANCE"),
+                option("NSE_FO|1", "NIFTY 21950 CE", 21950.0, "CE", WEEKLY),
+                option("NSE_FO|2", "NIFTY 22000 CE", 22000.0, "CE", WEEKLY),
+                option("NSE_FO|3", "NIFTY 22500 PE", 22500.0, "PE", WEEKLY),
+                option("NSE_FO|4", "NIFTY 22525 CE", 22525.0, "CE", WEEKLY),
+                option("NSE_FO|5", "NIFTY 23000 CE", 23000.0, "CE", WEEKLY),
+                option("NSE_FO|6", "NIFTY 23050 CE", 23050.0, "CE", WEEKLY),
+                option("NSE_FO|7", "NIFTY 22500 CE", 22500.0, "CE", MONTHLY));
+        queryEngine.index(instruments);
+        searchIndex.index(instruments, Collections.emptyMap());
+    }
+
+    @Test
+    @DisplayName("Segment, option type, expiry window and strike range should all be applied together")
+    void shouldIntersectAllFilters() {
+        // When: Querying weekly NSE_FO calls with strikes between 22000 and 23000
+        List<Instrument> results = queryEngine.query(InstrumentQuery.builder()
+                .segment(List.of("NSE_FO"))
+                .optionType(List.of("CE"))
+                .expiryFrom(LocalDate.parse("2024-12-23"))
+                .expiryTo(LocalDate.parse("2024-12-27"))
+                .strikeMin(22000.0)
+                .strikeMax(23000.0)
+                .build());
+
+        // Then: Only the calls inside both the strike range and the expiry window are returned
+        assertThat(results).extracting(Instrument::getInstrumentKey)
+                .containsExactly("NSE_FO|2", "NSE_FO|4", "NSE_FO|5");
+    }
+
+    @Test
+    @DisplayName("Several values for one field should be combined with OR")
+    void shouldOrValuesWithinAField() {
+        // When: Querying both option types at one strike
+        List<Instrument> results = queryEngine.query(InstrumentQuery.builder()
+                .optionType(List.of("CE,PE"))
+                .strikeMin(22500.0)
+                .strikeMax(22500.0)
+                .build());
+
+        // Then: Both the put and the calls at that strike are returned
+        assertThat(results).extracting(Instrument::getInstrumentKey)
+                .containsExactly("NSE_FO|3", "NSE_FO|7");
+    }
+
+    @Test
+    @DisplayName("Epoch millisecond expiries from the Upstox JSON master should be understood")
+    void shouldParseEpochMillisExpiry() {
+        assertThat(InstrumentExpiry.parse("1735151400000")).isEqualTo(LocalDate.parse("2024-12-26"));
+        assertThat(InstrumentExpiry.parse("2024-12-26")).isEqualTo(LocalDate.parse("2024-12-26"));
+        assertThat(InstrumentExpiry.parse("not a date")).isNull();
+    }
+
+    @Test
+    @DisplayName("A search term should be restricted to instruments matching the filters")
+    void shouldApplyFiltersToSearch() {
+        // When: Searching NIFTY restricted to puts
+        List<Instrument> results = queryEngine.query(InstrumentQuery.builder()
+                .optionType(List.of("PE"))
+                .search("nifty")
+                .build());
+
+        // Then: Only the put is returned
+        assertThat(results).extracting(Instrument::getInstrumentKey).containsExactly("NSE_FO|3");
+    }
+
+    private Instrument equity(String key, String symbol) {
+        return Instrument.builder()
+                .instrumentKey(key).tradingSymbol(symbol).name(symbol)
+                .exchange("NSE").segment("NSE_EQ").instrumentType("EQ")
+                .build();
+    }
+
+    private Instrument option(String key, String symbol, double strike, String optionType, String expiry) {
+        return Instrument.builder()
+                .instrumentKey(key).tradingSymbol(symbol).name("NIFTY")
+                .exchange("NSE").segment("NSE_FO").instrumentType(optionType)
+                .strike(strike).optionType(optionType).expiry(expiry)
+                .build();
+    }
+}
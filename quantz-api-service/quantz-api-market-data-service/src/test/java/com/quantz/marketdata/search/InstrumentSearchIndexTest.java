@@ -0,0 +1,93 @@
+package com.quantz.marketdata.search;
+
+import com.quantz.marketdata.entity.Instrument;
+import com.quantz.marketdata.repository.CandleDataRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+@DisplayName("Instrument Search Index Tests")
+class InstrumentSearchIndexTest {
+
+    private InstrumentSearchIndex searchIndex;
+
+    @BeforeEach
+    void setUp() {
+        searchIndex = new InstrumentSearchIndex(mock(CandleDataRepository.class));
+        searchIndex.index(List.of(
+                instrument("NSE_EQ|INE002A01018", "RELIANCE", "RELIANCE INDUSTRIES LTD"),
+                instrument("NSE_EQ|INE614G01033", "RELINFRA", "RELIANCE INFRASTRUCTURE LTD"),
+                instrument("NSE_EQ|INE030A01027", "HINDUNILVR", "HINDUSTAN UNILEVER LTD"),
+                instrument("NSE_EQ|INE467B01029", "TCS", "TATA CONSULTANCY SERV LT"),
+                instrument("NSE_EQ|INE155A01022", "TATAMOTORS", "TATA MOTORS LIMITED")
+        ), Map.of(
+                "NSE_EQ|INE002A01018", 8_000_000.0,
+                "NSE_EQ|INE614G01033", 2_000_000.0,
+                "NSE_EQ|INE155A01022", 9_000_000.0,
+                "NSE_EQ|INE467B01029", 1_500_000.0));
+    }
+
+    @Test
+    @DisplayName("An exact symbol match should rank above prefix and substring matches regardless of case")
+    void shouldRankExactSymbolFirstIgnoringCase() {
+        // When: Searching for a symbol in lower case
+        List<Instrument> results = searchIndex.search("reliance");
+
+        // Then: The exact symbol wins, followed by the name prefix match
+        assertThat(results).extracting(Instrument::getTradingSymbol)
+                .containsExactly("RELIANCE", "RELINFRA");
+    }
+
+    @Test
+    @DisplayName("Matches of the same rank should be ordered by liquidity")
+    void shouldOrderEqualRanksByLiquidity() {
+        // Given: A less liquid instrument with a shorter symbol sharing the same prefix
+        searchIndex.index(List.of(
+                instrument("NSE_EQ|INE614G01033", "RELINFRA", "RELIANCE INFRASTRUCTURE LTD"),
+                instrument("NSE_EQ|INE002A01018", "RELIANCEPP", "RELIANCE INDUSTRIES PARTLY PAID"),
+                instrument("NSE_EQ|INE000000001", "RE", "RE LIMITED")
+        ), Map.of(
+                "NSE_EQ|INE614G01033", 2_000_000.0,
+                "NSE_EQ|INE002A01018", 8_000_000.0));
+
+        // When: Searching for a prefix shared by two symbols
+        List<Instrument> results = searchIndex.search("RE");
+
+        // Then: The exact symbol comes first, then the prefix matches with the more liquid one first
+        assertThat(results).extracting(Instrument::getTradingSymbol)
+                .containsExactly("RE", "RELIANCEPP", "RELINFRA");
+    }
+
+    @Test
+    @DisplayName("A term found only inside a name should still match as a substring")
+    void shouldMatchSubstringInsideName() {
+        // When: Searching for a fragment in the middle of a company name
+        List<Instrument> results = searchIndex.search("unilever");
+
+        // Then: The instrument carrying that name is found
+        assertThat(results).extracting(Instrument::getTradingSymbol).containsExactly("HINDUNILVR");
+    }
+
+    @Test
+    @DisplayName("A term with no matching trigram should return nothing")
+    void shouldReturnNothingForUnknownTerm() {
+        assertThat(searchIndex.search("XYZQ")).isEmpty();
+    }
+
+    private Instrument instrument(String key, String symbol, String name) {
+        return Instrument.builder()
+                .instrumentKey(key)
+                .tradingSymbol(symbol)
+                .name(name)
+                .exchange("NSE")
+                .segment("NSE_EQ")
+                .instrumentType("EQ")
+                .build();
+    }
+}
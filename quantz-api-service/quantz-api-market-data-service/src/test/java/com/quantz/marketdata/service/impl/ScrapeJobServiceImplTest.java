@@ -0,0 +1,132 @@
+package com.quantz.marketdata.service.impl;
+
+import com.quantz.marketdata.model.ScrapeJob;
+import com.quantz.marketdata.repository.ScrapingMetadataRepository;
+import com.quantz.marketdata.scraping.ScrapeMonitor;
+import com.quantz.marketdata.service.MarketDataScraperService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("Scrape Job Service Tests")
+class ScrapeJobServiceImplTest {
+
+    private static final int INSTRUMENTS = 4;
+
+    private MarketDataScraperService scraperService;
+    private ThreadPoolTaskExecutor executor;
+    private ScrapeJobServiceImpl jobService;
+
+    private final CountDownLatch firstInstrumentDone = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() {
+        scraperService = mock(MarketDataScraperService.class);
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.initialize();
+        jobService = new ScrapeJobServiceImpl(scraperService, mock(ScrapingMetadataRepository.class), executor, 1);
+
+        // A scrape of four instruments that waits after the first one until the test releases it
+        when(scraperService.scrape(anyString(), any())).thenAnswer(invocation -> {
+            ScrapeMonitor monitor = invocation.getArgument(1);
+            monitor.planned(INSTRUMENTS);
+            for (int i = 0; i < INSTRUMENTS && !monitor.isCancelled(); i++) {
+                monitor.awaitIfPaused();
+                monitor.instrumentScraped(250);
+                if (i == 0) {
+                    firstInstrumentDone.countDown();
+                    release.await(5, TimeUnit.SECONDS);
+                }
+            }
+            return !monitor.isCancelled();
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("Submitting should return at once, and a second submit should return the active job")
+    void shouldRunInBackgroundAndKeepOneActiveJob() throws Exception {
+        // When: Submitting twice while the first run is still going
+        ScrapeJob first = jobService.submit(ScrapeJob.Trigger.MANUAL);
+        ScrapeJob second = jobService.submit(ScrapeJob.Trigger.SCHEDULED);
+
+        // Then: Both calls see the same job
+        assertThat(second.getId()).isEqualTo(first.getId());
+        assertThat(firstInstrumentDone.await(5, TimeUnit.SECONDS)).isTrue();
+        ScrapeJob running = jobService.getJob(first.getId()).orElseThrow();
+        assertThat(running.getStatus()).isEqualTo(ScrapeJob.Status.RUNNING);
+        assertThat(running.getInstrumentsDone()).isEqualTo(1);
+        assertThat(running.getTotalInstruments()).isEqualTo(INSTRUMENTS);
+
+        // And: Once released the job completes with all progress counted
+        release.countDown();
+        ScrapeJob finished = awaitJob(first.getId(), job -> job.getStatus() == ScrapeJob.Status.COMPLETED);
+        assertThat(finished.getInstrumentsDone()).isEqualTo(INSTRUMENTS);
+        assertThat(finished.getDataPoints()).isEqualTo(INSTRUMENTS * 250L);
+        assertThat(finished.getProgress()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("A paused job should hold until resumed")
+    void shouldHoldPausedJobUntilResumed() throws Exception {
+        // Given: A running job paused after its first instrument
+        ScrapeJob job = jobService.submit(ScrapeJob.Trigger.MANUAL);
+        assertThat(firstInstrumentDone.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(jobService.pause(job.getId()).orElseThrow().getStatus()).isEqualTo(ScrapeJob.Status.PAUSED);
+
+        // When: The scrape reaches its next checkpoint
+        release.countDown();
+        Thread.sleep(100);
+
+        // Then: No further instrument is scraped until it is resumed
+        assertThat(jobService.getJob(job.getId()).orElseThrow().getInstrumentsDone()).isEqualTo(1);
+        jobService.resume(job.getId());
+        assertThat(awaitJob(job.getId(), view -> view.getStatus() == ScrapeJob.Status.COMPLETED)
+                .getInstrumentsDone()).isEqualTo(INSTRUMENTS);
+    }
+
+    @Test
+    @DisplayName("Cancelling should stop the run at the next checkpoint")
+    void shouldStopCancelledJob() throws Exception {
+        ScrapeJob job = jobService.submit(ScrapeJob.Trigger.MANUAL);
+        assertThat(firstInstrumentDone.await(5, TimeUnit.SECONDS)).isTrue();
+
+        jobService.cancel(job.getId());
+        release.countDown();
+
+        ScrapeJob cancelled = awaitJob(job.getId(), view -> view.getStatus() == ScrapeJob.Status.CANCELLED);
+        assertThat(cancelled.getInstrumentsDone()).isLessThan(INSTRUMENTS);
+        assertThat(cancelled.getFinishedAt()).isNotNull();
+    }
+
+    private ScrapeJob awaitJob(String id, Predicate<ScrapeJob> condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        ScrapeJob job = jobService.getJob(id).orElseThrow();
+        while (!condition.test(job) && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            job = jobService.getJob(id).orElseThrow();
+        }
+        assertThat(condition.test(job)).as("job %s reached the expected state, was %s", id, job.getStatus()).isTrue();
+        return job;
+    }
+}
@@ -0,0 +1,96 @@
+package com.quantz.marketdata.snapshot;
+
+import com.quantz.marketdata.entity.CandleData;
+import com.quantz.marketdata.entity.LatestBar;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Latest Bar Calculator Tests")
+class LatestBarCalculatorTest {
+
+    private static final String KEY = "NSE_EQ|INE002A01018";
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    @Test
+    @DisplayName("Rolling forward one candle at a time should match a rebuild from history")
+    void shouldMatchRebuildWhenAdvancedIncrementally() {
+        List<CandleData> history = new ArrayList<>();
+        for (int day = 0; day < 30; day++) {
+            history.add(candle(day, 100 + day % 7, 1_000L * (day + 1)));
+        }
+
+        LatestBar bar = LatestBarCalculator.fromHistory(KEY, history.subList(0, 5)).orElseThrow();
+        for (CandleData candle : history.subList(5, history.size())) {
+            bar = LatestBarCalculator.advance(bar, candle).orElseThrow();
+        }
+
+        LatestBar rebuilt = LatestBarCalculator.fromHistory(KEY, history).orElseThrow();
+        assertThat(bar.getClose()).isEqualTo(rebuilt.getClose());
+        assertThat(bar.getPrevClose()).isEqualTo(rebuilt.getPrevClose());
+        assertThat(bar.getHigh52Week()).isEqualTo(rebuilt.getHigh52Week());
+        assertThat(bar.getLow52Week()).isEqualTo(rebuilt.getLow52Week());
+        assertThat(bar.getRecentVolumes()).containsExactly(rebuilt.getRecentVolumes());
+        // Days 11..30 -> mean of 11k..30k
+        assertThat(bar.getAverageVolume20Day()).isEqualTo(20_500.0);
+    }
+
+    @Test
+    @DisplayName("A re-scraped candle for the latest bar should replace it without shifting previous close")
+    void shouldReviseLatestBarInPlace() {
+        LatestBar bar = LatestBarCalculator.fromHistory(KEY, List.of(candle(0, 100, 10), candle(1, 101, 20)))
+                .orElseThrow();
+
+        LatestBar revised = LatestBarCalculator.advance(bar, candle(1, 102, 30)).orElseThrow();
+
+        assertThat(revised.getClose()).isEqualTo(102);
+        assertThat(revised.getPrevClose()).isEqualTo(100);
+        assertThat(revised.getRecentVolumes()).containsExactly(10, 30);
+    }
+
+    @Test
+    @DisplayName("Backfills and 52-week extremes leaving the window should require a rebuild")
+    void shouldRequireRebuildWhenIncrementalUpdateIsNotPossible() {
+        LatestBar bar = LatestBarCalculator.fromHistory(KEY, List.of(candle(0, 500, 10), candle(1, 100, 10)))
+                .orElseThrow();
+
+        assertThat(LatestBarCalculator.advance(bar, candle(-1, 100, 10))).isEmpty();
+        assertThat(LatestBarCalculator.advance(bar, candle(2, 101, 10))).isPresent();
+        assertThat(LatestBarCalculator.advance(bar, candle(400, 101, 10))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Candles with missing prices or volume should be left out of the bar")
+    void shouldIgnoreIncompleteCandles() {
+        LatestBar bar = LatestBarCalculator.fromHistory(KEY, List.of(candle(0, 100, 10), candle(1, 101, 20)))
+                .orElseThrow();
+        CandleData noVolume = candle(2, 102, 30);
+        noVolume.setVolume(null);
+        CandleData noHigh = candle(2, 102, 30);
+        noHigh.setHigh(null);
+
+        assertThat(LatestBarCalculator.advance(bar, noVolume)).contains(bar);
+        assertThat(LatestBarCalculator.advance(bar, noHigh)).contains(bar);
+        assertThat(LatestBarCalculator.fromHistory(KEY, List.of(candle(0, 100, 10), noVolume)).orElseThrow()
+                .getClose()).isEqualTo(100);
+        assertThat(LatestBarCalculator.fromHistory(KEY, List.of(noHigh))).isEmpty();
+    }
+
+    private CandleData candle(int day, double close, long volume) {
+        return CandleData.builder()
+                .instrumentKey(KEY)
+                .interval("1d")
+                .timestamp(START.plusDays(day))
+                .open(close)
+                .high(close + 1)
+                .low(close - 1)
+                .close(close)
+                .volume(volume)
+                .build();
+    }
+}
@@ -0,0 +1,140 @@
+package com.quantz.marketdata.upstox;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Upstox Call Control Tests")
+class UpstoxCallControlTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    @DisplayName("Failures should be classified by whether a retry can succeed")
+    void shouldClassifyFailures() {
+        // Then: A 429 is throttled, whatever the method
+        assertThat(ErrorClass.of(HttpClientErrorException.create(HttpStatus.TOO_MANY_REQUESTS, "Too Many Requests",
+                HttpHeaders.EMPTY, null, null))).isEqualTo(ErrorClass.THROTTLED);
+
+        // Then: Server errors, timeouts and connection failures may succeed later
+        assertThat(ErrorClass.of(new HttpServerErrorException(HttpStatus.SERVICE_UNAVAILABLE)))
+                .isEqualTo(ErrorClass.RETRYABLE);
+        assertThat(ErrorClass.of(HttpClientErrorException.create(HttpStatus.REQUEST_TIMEOUT, "Request Timeout",
+                HttpHeaders.EMPTY, null, null))).isEqualTo(ErrorClass.RETRYABLE);
+        assertThat(ErrorClass.of(new ResourceAccessException("Read timed out"))).isEqualTo(ErrorClass.RETRYABLE);
+
+        // Then: Client errors, unsupported features and an open circuit are not retried
+        assertThat(ErrorClass.of(HttpClientErrorException.create(HttpStatus.NOT_FOUND, "Not Found",
+                HttpHeaders.EMPTY, null, null))).isEqualTo(ErrorClass.TERMINAL);
+        assertThat(ErrorClass.of(new HttpServerErrorException(HttpStatus.NOT_IMPLEMENTED)))
+                .isEqualTo(ErrorClass.TERMINAL);
+        assertThat(ErrorClass.of(new UpstoxUnavailableException("open"))).isEqualTo(ErrorClass.TERMINAL);
+    }
+
+    @Test
+    @DisplayName("Retry-After should be read as seconds or as an HTTP date")
+    void shouldParseRetryAfter() {
+        // Given: A fixed clock
+        Instant now = Instant.parse("2025-03-14T10:00:00Z");
+        HttpHeaders headers = new HttpHeaders();
+
+        // When/Then: Delay in seconds
+        headers.set(HttpHeaders.RETRY_AFTER, "7");
+        assertThat(ErrorClass.retryAfter(headers, now)).isEqualTo(Duration.ofSeconds(7));
+
+        // When/Then: HTTP date, in the future and already past
+        headers.set(HttpHeaders.RETRY_AFTER, DateTimeFormatter.RFC_1123_DATE_TIME
+                .format(now.plusSeconds(90).atZone(ZoneOffset.UTC)));
+        assertThat(ErrorClass.retryAfter(headers, now)).isEqualTo(Duration.ofSeconds(90));
+        headers.set(HttpHeaders.RETRY_AFTER, DateTimeFormatter.RFC_1123_DATE_TIME
+                .format(now.minusSeconds(5).atZone(ZoneOffset.UTC)));
+        assertThat(ErrorClass.retryAfter(headers, now)).isEqualTo(Duration.ZERO);
+
+        // When/Then: Missing or unreadable headers leave the default to the caller
+        headers.set(HttpHeaders.RETRY_AFTER, "soon");
+        assertThat(ErrorClass.retryAfter(headers, now)).isNull();
+        assertThat(ErrorClass.retryAfter(HttpHeaders.EMPTY, now)).isNull();
+    }
+
+    @Test
+    @DisplayName("Concurrency limit should grow additively and halve on a 429")
+    void shouldAdaptConcurrencyLimit() {
+        // Given: A limit of four between one and sixteen
+        AimdLimit limit = new AimdLimit(4, 1, 16, 2.0, SECOND);
+
+        // When: A steady stream of successes at constant latency
+        long now = 0;
+        for (int i = 0; i < 40; i++) {
+            limit.onSuccess(0.1, now += SECOND / 100);
+        }
+
+        // Then: The limit has grown by about one per round of calls
+        assertThat(limit.limit()).isGreaterThan(4).isLessThanOrEqualTo(16);
+        int grown = limit.limit();
+
+        // When: A burst of 429s within the cooldown
+        limit.onThrottle(now);
+        limit.onThrottle(now + 1);
+
+        // Then: They count as one signal
+        assertThat(limit.limit()).isEqualTo(Math.max(1, grown / 2));
+
+        // When: Latency stays well above its long-run average for a few seconds
+        int beforeSlowdown = limit.limit();
+        for (int i = 0; i < 5; i++) {
+            limit.onSuccess(2.0, now += SECOND);
+        }
+
+        // Then: The limit shrinks instead of growing
+        assertThat(limit.limit()).isLessThan(beforeSlowdown);
+    }
+
+    @Test
+    @DisplayName("Circuit breaker should open on failures and probe with a single call")
+    void shouldOpenAndProbeCircuit() {
+        // Given: A breaker opening after three failures for ten seconds, at most forty
+        CircuitBreaker breaker = new CircuitBreaker(3, Duration.ofSeconds(10), Duration.ofSeconds(40));
+
+        // When: Three consecutive failures
+        assertThat(breaker.onFailure(0)).isFalse();
+        assertThat(breaker.onFailure(0)).isFalse();
+        assertThat(breaker.onFailure(0)).isTrue();
+
+        // Then: Calls are refused until the open period has passed
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(breaker.tryAcquire(5 * SECOND)).isFalse();
+
+        // When: The period has passed
+        assertThat(breaker.tryAcquire(10 * SECOND)).isTrue();
+
+        // Then: Only that one probe is let through
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        assertThat(breaker.tryAcquire(10 * SECOND)).isFalse();
+
+        // When: The probe fails
+        assertThat(breaker.onFailure(11 * SECOND)).isTrue();
+
+        // Then: The breaker opens again for twice as long
+        assertThat(breaker.openUntil()).isEqualTo(31 * SECOND);
+
+        // When: The next probe succeeds
+        assertThat(breaker.tryAcquire(31 * SECOND)).isTrue();
+        breaker.onSuccess();
+
+        // Then: Calls flow again
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(breaker.tryAcquire(31 * SECOND)).isTrue();
+    }
+}
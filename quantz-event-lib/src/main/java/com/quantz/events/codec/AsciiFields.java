@@ -0,0 +1,89 @@
+package com.quantz.events.codec;
+
+import org.agrona.DirectBuffer;
+import org.agrona.MutableDirectBuffer;
+
+import static com.quantz.events.codec.MarketDataSchema.BYTE_ORDER;
+
+/**
+ * Character fields: fixed-width, zero-padded ASCII, and variable-length ASCII behind an unsigned 16-bit length.
+ * Characters outside ASCII are written as {@code '?'}; null is written as an empty value.
+ */
+final class AsciiFields {
+
+    static final int LENGTH_PREFIX = 2;
+    static final int MAX_VAR_LENGTH = 0xFFFF;
+
+    private AsciiFields() {
+    }
+
+    static void putFixed(MutableDirectBuffer buffer, int index, int width, CharSequence value) {
+        int length = value != null ? value.length() : 0;
+        if (length > width) {
+            throw new IllegalArgumentException("Value of " + length + " characters exceeds field width " + width);
+        }
+        for (int i = 0; i < length; i++) {
+            buffer.putByte(index + i, toAscii(value.charAt(i)));
+        }
+        buffer.setMemory(index + length, width - length, (byte) 0);
+    }
+
+    /**
+     * Append a fixed-width field up to its first padding byte
+     *
+     * @return number of characters appended
+     */
+    static int getFixed(DirectBuffer buffer, int index, int width, StringBuilder destination) {
+        int length = 0;
+        while (length < width) {
+            byte value = buffer.getByte(index + length);
+            if (value == 0) {
+                break;
+            }
+            destination.append((char) value);
+            length++;
+        }
+        return length;
+    }
+
+    static String getFixed(DirectBuffer buffer, int index, int width) {
+        StringBuilder value = new StringBuilder(width);
+        getFixed(buffer, index, width, value);
+        return value.toString();
+    }
+
+    /**
+     * @return number of bytes written, including the length prefix
+     */
+    static int putVar(MutableDirectBuffer buffer, int index, CharSequence value) {
+        int length = value != null ? value.length() : 0;
+        if (length > MAX_VAR_LENGTH) {
+            throw new IllegalArgumentException("Value of " + length + " characters exceeds " + MAX_VAR_LENGTH);
+        }
+        buffer.putShort(index, (short) length, BYTE_ORDER);
+        for (int i = 0; i < length; i++) {
+            buffer.putByte(index + LENGTH_PREFIX + i, toAscii(value.charAt(i)));
+        }
+        return LENGTH_PREFIX + length;
+    }
+
+    static int varLength(DirectBuffer buffer, int index) {
+        return buffer.getShort(index, BYTE_ORDER) & 0xFFFF;
+    }
+
+    static int getVar(DirectBuffer buffer, int index, StringBuilder destination) {
+        int length = varLength(buffer, index);
+        for (int i = 0; i < length; i++) {
+            destination.append((char) buffer.getByte(index + LENGTH_PREFIX + i));
+        }
+        return length;
+    }
+
+    static String getVar(DirectBuffer buffer, int index) {
+        return buffer.getStringWithoutLengthAscii(index + LENGTH_PREFIX, varLength(buffer, index));
+    }
+
+    private static byte toAscii(char value) {
+        return value < 0x80 ? (byte) value : (byte) '?';
+    }
+}
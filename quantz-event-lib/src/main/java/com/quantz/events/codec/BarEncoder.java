@@ -0,0 +1,84 @@
+package com.quantz.events.codec;
+
+import org.agrona.MutableDirectBuffer;
+
+import static com.quantz.events.codec.MarketDataSchema.BYTE_ORDER;
+import static com.quantz.events.codec.MarketDataSchema.INSTRUMENT_KEY_LENGTH;
+
+/**
+ * Writes a bar: OHLCV of one instrument and interval, stamped with the bar's open time.
+ * A reusable flyweight; nothing is allocated per message.
+ */
+public final class BarEncoder {
+
+    public static final int TEMPLATE_ID = MarketDataSchema.BAR_TEMPLATE_ID;
+    public static final int BLOCK_LENGTH = 112;
+    public static final int ENCODED_LENGTH = MessageHeader.ENCODED_LENGTH + BLOCK_LENGTH;
+    public static final int INTERVAL_LENGTH = 16;
+
+    static final int TIMESTAMP_OFFSET = 0;
+    static final int OPEN_OFFSET = 8;
+    static final int HIGH_OFFSET = 16;
+    static final int LOW_OFFSET = 24;
+    static final int CLOSE_OFFSET = 32;
+    static final int VOLUME_OFFSET = 40;
+    static final int INTERVAL_OFFSET = 48;
+    static final int INSTRUMENT_KEY_OFFSET = 64;
+
+    private MutableDirectBuffer buffer;
+    private int offset;
+
+    /**
+     * Write the message header at the offset and position the flyweight on the root block after it
+     */
+    public BarEncoder wrapAndApplyHeader(MutableDirectBuffer buffer, int offset) {
+        MessageHeader.encode(buffer, offset, BLOCK_LENGTH, TEMPLATE_ID);
+        this.buffer = buffer;
+        this.offset = offset + MessageHeader.ENCODED_LENGTH;
+        return this;
+    }
+
+    public int encodedLength() {
+        return ENCODED_LENGTH;
+    }
+
+    public BarEncoder instrumentKey(CharSequence value) {
+        AsciiFields.putFixed(buffer, offset + INSTRUMENT_KEY_OFFSET, INSTRUMENT_KEY_LENGTH, value);
+        return this;
+    }
+
+    public BarEncoder interval(CharSequence value) {
+        AsciiFields.putFixed(buffer, offset + INTERVAL_OFFSET, INTERVAL_LENGTH, value);
+        return this;
+    }
+
+    public BarEncoder timestamp(long epochMillis) {
+        buffer.putLong(offset + TIMESTAMP_OFFSET, epochMillis, BYTE_ORDER);
+        return this;
+    }
+
+    public BarEncoder open(double value) {
+        buffer.putDouble(offset + OPEN_OFFSET, value, BYTE_ORDER);
+        return this;
+    }
+
+    public BarEncoder high(double value) {
+        buffer.putDouble(offset + HIGH_OFFSET, value, BYTE_ORDER);
+        return this;
+    }
+
+    public BarEncoder low(double value) {
+        buffer.putDouble(offset + LOW_OFFSET, value, BYTE_ORDER);
+        return this;
+    }
+
+    public BarEncoder close(double value) {
+        buffer.putDouble(offset + CLOSE_OFFSET, value, BYTE_ORDER);
+        return this;
+    }
+
+    public BarEncoder volume(long value) {
+        buffer.putLong(offset + VOLUME_OFFSET, value, BYTE_ORDER);
+        return this;
+    }
+}
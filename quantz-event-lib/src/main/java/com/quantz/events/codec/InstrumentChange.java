@@ -0,0 +1,29 @@
+package com.quantz.events.codec;
+
+/**
+ * Kind of change carried by an instrument delta, encoded as a single byte
+ */
+public enum InstrumentChange {
+    ADDED(1),
+    CHANGED(2),
+    REMOVED(3);
+
+    private static final InstrumentChange[] BY_CODE = {null, ADDED, CHANGED, REMOVED};
+
+    private final byte code;
+
+    InstrumentChange(int code) {
+        this.code = (byte) code;
+    }
+
+    public byte code() {
+        return code;
+    }
+
+    /**
+     * @return the change for the code, or null for a code this version does not know
+     */
+    public static InstrumentChange of(byte code) {
+        return code > 0 && code < BY_CODE.length ? BY_CODE[code] : null;
+    }
+}
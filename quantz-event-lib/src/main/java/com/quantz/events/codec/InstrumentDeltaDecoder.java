@@ -0,0 +1,195 @@
+package com.quantz.events.codec;
+
+import org.agrona.DirectBuffer;
+
+import static com.quantz.events.codec.InstrumentDeltaEncoder.*;
+import static com.quantz.events.codec.MarketDataSchema.BYTE_ORDER;
+import static com.quantz.events.codec.MarketDataSchema.INSTRUMENT_KEY_LENGTH;
+
+/**
+ * Reads an instrument master change written by {@link InstrumentDeltaEncoder}. The positions of the variable fields
+ * are resolved once on {@link #wrap}, so they can be read in any order. A reusable flyweight; only the
+ * {@code String} accessors allocate.
+ */
+public final class InstrumentDeltaDecoder {
+
+    private final int[] varFieldOffsets = new int[VAR_FIELD_COUNT];
+
+    private DirectBuffer buffer;
+    private int start;
+    private int offset;
+    private int limit;
+    private int actingVersion;
+
+    /**
+     * Validate the message at the offset and locate its variable fields
+     *
+     * @throws IllegalArgumentException if the buffer does not hold a complete instrument delta of this schema
+     */
+    public InstrumentDeltaDecoder wrap(DirectBuffer buffer, int offset) {
+        int actingBlockLength = MessageHeader.validate(buffer, offset, TEMPLATE_ID, BLOCK_LENGTH);
+        this.actingVersion = MessageHeader.version(buffer, offset);
+        this.buffer = buffer;
+        this.start = offset;
+        this.offset = offset + MessageHeader.ENCODED_LENGTH;
+
+        int position = this.offset + actingBlockLength;
+        for (int field = 0; field < VAR_FIELD_COUNT; field++) {
+            if (position + AsciiFields.LENGTH_PREFIX > buffer.capacity()) {
+                throw new IllegalArgumentException("Instrument delta truncated in variable field " + field);
+            }
+            varFieldOffsets[field] = position;
+            position += AsciiFields.LENGTH_PREFIX + AsciiFields.varLength(buffer, position);
+        }
+        if (position > buffer.capacity()) {
+            throw new IllegalArgumentException("Instrument delta truncated in variable field " + (VAR_FIELD_COUNT - 1));
+        }
+        this.limit = position;
+        return this;
+    }
+
+    public int actingVersion() {
+        return actingVersion;
+    }
+
+    public int encodedLength() {
+        return limit - start;
+    }
+
+    /**
+     * @return the change, or null for a kind of change this version does not know
+     */
+    public InstrumentChange change() {
+        return InstrumentChange.of(buffer.getByte(offset + CHANGE_OFFSET));
+    }
+
+    /**
+     * Append the instrument key to the destination without allocating
+     *
+     * @return number of characters appended
+     */
+    public int getInstrumentKey(StringBuilder destination) {
+        return AsciiFields.getFixed(buffer, offset + INSTRUMENT_KEY_OFFSET, INSTRUMENT_KEY_LENGTH, destination);
+    }
+
+    public String instrumentKey() {
+        return AsciiFields.getFixed(buffer, offset + INSTRUMENT_KEY_OFFSET, INSTRUMENT_KEY_LENGTH);
+    }
+
+    /**
+     * @return lot size, or {@link MarketDataSchema#NULL_INT} when unknown
+     */
+    public int lotSize() {
+        return buffer.getInt(offset + LOT_SIZE_OFFSET, BYTE_ORDER);
+    }
+
+    /**
+     * @return tick size, or {@link MarketDataSchema#NULL_DOUBLE} when unknown
+     */
+    public double tickSize() {
+        return buffer.getDouble(offset + TICK_SIZE_OFFSET, BYTE_ORDER);
+    }
+
+    /**
+     * @return strike price, or {@link MarketDataSchema#NULL_DOUBLE} for instruments without one
+     */
+    public double strike() {
+        return buffer.getDouble(offset + STRIKE_OFFSET, BYTE_ORDER);
+    }
+
+    public int getExchange(StringBuilder destination) {
+        return getVar(EXCHANGE, destination);
+    }
+
+    public String exchange() {
+        return getVar(EXCHANGE);
+    }
+
+    public int getSegment(StringBuilder destination) {
+        return getVar(SEGMENT, destination);
+    }
+
+    public String segment() {
+        return getVar(SEGMENT);
+    }
+
+    public int getName(StringBuilder destination) {
+        return getVar(NAME, destination);
+    }
+
+    public String name() {
+        return getVar(NAME);
+    }
+
+    public int getIsin(StringBuilder destination) {
+        return getVar(ISIN, destination);
+    }
+
+    public String isin() {
+        return getVar(ISIN);
+    }
+
+    public int getInstrumentType(StringBuilder destination) {
+        return getVar(INSTRUMENT_TYPE, destination);
+    }
+
+    public String instrumentType() {
+        return getVar(INSTRUMENT_TYPE);
+    }
+
+    public int getTradingSymbol(StringBuilder destination) {
+        return getVar(TRADING_SYMBOL, destination);
+    }
+
+    public String tradingSymbol() {
+        return getVar(TRADING_SYMBOL);
+    }
+
+    public int getExchangeToken(StringBuilder destination) {
+        return getVar(EXCHANGE_TOKEN, destination);
+    }
+
+    public String exchangeToken() {
+        return getVar(EXCHANGE_TOKEN);
+    }
+
+    public int getExpiry(StringBuilder destination) {
+        return getVar(EXPIRY, destination);
+    }
+
+    public String expiry() {
+        return getVar(EXPIRY);
+    }
+
+    public int getOptionType(StringBuilder destination) {
+        return getVar(OPTION_TYPE, destination);
+    }
+
+    public String optionType() {
+        return getVar(OPTION_TYPE);
+    }
+
+    public int getUnderlyingSymbol(StringBuilder destination) {
+        return getVar(UNDERLYING_SYMBOL, destination);
+    }
+
+    public String underlyingSymbol() {
+        return getVar(UNDERLYING_SYMBOL);
+    }
+
+    public int getUnderlyingKey(StringBuilder destination) {
+        return getVar(UNDERLYING_KEY, destination);
+    }
+
+    public String underlyingKey() {
+        return getVar(UNDERLYING_KEY);
+    }
+
+    private int getVar(int field, StringBuilder destination) {
+        return AsciiFields.getVar(buffer, varFieldOffsets[field], destination);
+    }
+
+    private String getVar(int field) {
+        return AsciiFields.getVar(buffer, varFieldOffsets[field]);
+    }
+}
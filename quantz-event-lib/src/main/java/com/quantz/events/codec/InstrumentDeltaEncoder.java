@@ -0,0 +1,162 @@
+package com.quantz.events.codec;
+
+import org.agrona.MutableDirectBuffer;
+
+import static com.quantz.events.codec.MarketDataSchema.BYTE_ORDER;
+import static com.quantz.events.codec.MarketDataSchema.INSTRUMENT_KEY_LENGTH;
+
+/**
+ * Writes an instrument master change. Numeric attributes live in the fixed root block; the descriptive ones follow
+ * as variable-length ASCII fields, which must be written in schema order. Skipped numeric fields read as null values
+ * and skipped variable fields as empty. A reusable flyweight; nothing is allocated per message.
+ */
+public final class InstrumentDeltaEncoder {
+
+    public static final int TEMPLATE_ID = MarketDataSchema.INSTRUMENT_DELTA_TEMPLATE_ID;
+    public static final int BLOCK_LENGTH = 72;
+
+    static final int CHANGE_OFFSET = 0;
+    static final int LOT_SIZE_OFFSET = 4;
+    static final int TICK_SIZE_OFFSET = 8;
+    static final int STRIKE_OFFSET = 16;
+    static final int INSTRUMENT_KEY_OFFSET = 24;
+
+    static final int EXCHANGE = 0;
+    static final int SEGMENT = 1;
+    static final int NAME = 2;
+    static final int ISIN = 3;
+    static final int INSTRUMENT_TYPE = 4;
+    static final int TRADING_SYMBOL = 5;
+    static final int EXCHANGE_TOKEN = 6;
+    static final int EXPIRY = 7;
+    static final int OPTION_TYPE = 8;
+    static final int UNDERLYING_SYMBOL = 9;
+    static final int UNDERLYING_KEY = 10;
+    static final int VAR_FIELD_COUNT = 11;
+
+    private MutableDirectBuffer buffer;
+    private int start;
+    private int offset;
+    private int limit;
+    private int nextVarField;
+
+    /**
+     * Write the message header at the offset and position the flyweight on the root block after it
+     */
+    public InstrumentDeltaEncoder wrapAndApplyHeader(MutableDirectBuffer buffer, int offset) {
+        MessageHeader.encode(buffer, offset, BLOCK_LENGTH, TEMPLATE_ID);
+        this.buffer = buffer;
+        this.start = offset;
+        this.offset = offset + MessageHeader.ENCODED_LENGTH;
+        this.limit = this.offset + BLOCK_LENGTH;
+        this.nextVarField = 0;
+        buffer.setMemory(this.offset, BLOCK_LENGTH, (byte) 0);
+        buffer.putInt(this.offset + LOT_SIZE_OFFSET, MarketDataSchema.NULL_INT, BYTE_ORDER);
+        buffer.putDouble(this.offset + TICK_SIZE_OFFSET, MarketDataSchema.NULL_DOUBLE, BYTE_ORDER);
+        buffer.putDouble(this.offset + STRIKE_OFFSET, MarketDataSchema.NULL_DOUBLE, BYTE_ORDER);
+        return this;
+    }
+
+    /**
+     * Length of the message, after writing any variable fields not yet written as empty
+     */
+    public int encodedLength() {
+        skipTo(VAR_FIELD_COUNT);
+        return limit - start;
+    }
+
+    public InstrumentDeltaEncoder change(InstrumentChange value) {
+        buffer.putByte(offset + CHANGE_OFFSET, value.code());
+        return this;
+    }
+
+    public InstrumentDeltaEncoder instrumentKey(CharSequence value) {
+        AsciiFields.putFixed(buffer, offset + INSTRUMENT_KEY_OFFSET, INSTRUMENT_KEY_LENGTH, value);
+        return this;
+    }
+
+    /**
+     * @param value lot size, or {@link MarketDataSchema#NULL_INT} when unknown
+     */
+    public InstrumentDeltaEncoder lotSize(int value) {
+        buffer.putInt(offset + LOT_SIZE_OFFSET, value, BYTE_ORDER);
+        return this;
+    }
+
+    /**
+     * @param value tick size, or {@link MarketDataSchema#NULL_DOUBLE} when unknown
+     */
+    public InstrumentDeltaEncoder tickSize(double value) {
+        buffer.putDouble(offset + TICK_SIZE_OFFSET, value, BYTE_ORDER);
+        return this;
+    }
+
+    /**
+     * @param value strike price, or {@link MarketDataSchema#NULL_DOUBLE} for instruments without one
+     */
+    public InstrumentDeltaEncoder strike(double value) {
+        buffer.putDouble(offset + STRIKE_OFFSET, value, BYTE_ORDER);
+        return this;
+    }
+
+    public InstrumentDeltaEncoder exchange(CharSequence value) {
+        return putVar(EXCHANGE, value);
+    }
+
+    public InstrumentDeltaEncoder segment(CharSequence value) {
+        return putVar(SEGMENT, value);
+    }
+
+    public InstrumentDeltaEncoder name(CharSequence value) {
+        return putVar(NAME, value);
+    }
+
+    public InstrumentDeltaEncoder isin(CharSequence value) {
+        return putVar(ISIN, value);
+    }
+
+    public InstrumentDeltaEncoder instrumentType(CharSequence value) {
+        return putVar(INSTRUMENT_TYPE, value);
+    }
+
+    public InstrumentDeltaEncoder tradingSymbol(CharSequence value) {
+        return putVar(TRADING_SYMBOL, value);
+    }
+
+    public InstrumentDeltaEncoder exchangeToken(CharSequence value) {
+        return putVar(EXCHANGE_TOKEN, value);
+    }
+
+    public InstrumentDeltaEncoder expiry(CharSequence value) {
+        return putVar(EXPIRY, value);
+    }
+
+    public InstrumentDeltaEncoder optionType(CharSequence value) {
+        return putVar(OPTION_TYPE, value);
+    }
+
+    public InstrumentDeltaEncoder underlyingSymbol(CharSequence value) {
+        return putVar(UNDERLYING_SYMBOL, value);
+    }
+
+    public InstrumentDeltaEncoder underlyingKey(CharSequence value) {
+        return putVar(UNDERLYING_KEY, value);
+    }
+
+    private InstrumentDeltaEncoder putVar(int field, CharSequence value) {
+        if (field < nextVarField) {
+            throw new IllegalStateException("Variable fields must be written in schema order");
+        }
+        skipTo(field);
+        limit += AsciiFields.putVar(buffer, limit, value);
+        nextVarField = field + 1;
+        return this;
+    }
+
+    private void skipTo(int field) {
+        while (nextVarField < field) {
+            limit += AsciiFields.putVar(buffer, limit, null);
+            nextVarField++;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.quantz.events.codec;
+
+import java.nio.ByteOrder;
+
+/**
+ * Identity, version and conventions of the market-data wire schema.
+ * <p>
+ * Every message is a {@link MessageHeader} followed by a fixed-length root block, optionally followed by
+ * length-prefixed variable fields. All numbers are little-endian; timestamps are epoch milliseconds.
+ * <p>
+ * Evolution rules: fields are only ever appended to the end of a root block (or of the variable fields) and the
+ * version is bumped. Decoders locate variable data with the block length carried in the header, so they skip fields
+ * appended by newer writers, and fields a decoder knows but an older writer did not send read as null values.
+ * Removing or reordering a field needs a new schema id.
+ */
+public final class MarketDataSchema {
+
+    public static final int SCHEMA_ID = 0x515A;
+    public static final int SCHEMA_VERSION = 1;
+
+    public static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
+
+    public static final int TICK_TEMPLATE_ID = 1;
+    public static final int BAR_TEMPLATE_ID = 2;
+    public static final int QUOTE_TEMPLATE_ID = 3;
+    public static final int INSTRUMENT_DELTA_TEMPLATE_ID = 4;
+
+    /** Fixed width of instrument keys such as {@code NSE_FO|123456}; longer keys are rejected */
+    public static final int INSTRUMENT_KEY_LENGTH = 48;
+
+    public static final long NULL_LONG = Long.MIN_VALUE;
+    public static final int NULL_INT = Integer.MIN_VALUE;
+    public static final double NULL_DOUBLE = Double.NaN;
+
+    private MarketDataSchema() {
+    }
+}
@@ -0,0 +1,74 @@
+package com.quantz.events.codec;
+
+import org.agrona.DirectBuffer;
+import org.agrona.MutableDirectBuffer;
+
+import static com.quantz.events.codec.MarketDataSchema.BYTE_ORDER;
+
+/**
+ * Eight-byte header in front of every message: root block length, template id, schema id and schema version,
+ * each an unsigned 16-bit integer. Stateless, so it is used through static accessors.
+ */
+public final class MessageHeader {
+
+    public static final int ENCODED_LENGTH = 8;
+
+    private static final int BLOCK_LENGTH_OFFSET = 0;
+    private static final int TEMPLATE_ID_OFFSET = 2;
+    private static final int SCHEMA_ID_OFFSET = 4;
+    private static final int VERSION_OFFSET = 6;
+
+    private MessageHeader() {
+    }
+
+    public static void encode(MutableDirectBuffer buffer, int offset, int blockLength, int templateId) {
+        buffer.putShort(offset + BLOCK_LENGTH_OFFSET, (short) blockLength, BYTE_ORDER);
+        buffer.putShort(offset + TEMPLATE_ID_OFFSET, (short) templateId, BYTE_ORDER);
+        buffer.putShort(offset + SCHEMA_ID_OFFSET, (short) MarketDataSchema.SCHEMA_ID, BYTE_ORDER);
+        buffer.putShort(offset + VERSION_OFFSET, (short) MarketDataSchema.SCHEMA_VERSION, BYTE_ORDER);
+    }
+
+    public static int blockLength(DirectBuffer buffer, int offset) {
+        return buffer.getShort(offset + BLOCK_LENGTH_OFFSET, BYTE_ORDER) & 0xFFFF;
+    }
+
+    /**
+     * Template id of the message at the offset, used to pick a decoder
+     */
+    public static int templateId(DirectBuffer buffer, int offset) {
+        return buffer.getShort(offset + TEMPLATE_ID_OFFSET, BYTE_ORDER) & 0xFFFF;
+    }
+
+    public static int schemaId(DirectBuffer buffer, int offset) {
+        return buffer.getShort(offset + SCHEMA_ID_OFFSET, BYTE_ORDER) & 0xFFFF;
+    }
+
+    public static int version(DirectBuffer buffer, int offset) {
+        return buffer.getShort(offset + VERSION_OFFSET, BYTE_ORDER) & 0xFFFF;
+    }
+
+    /**
+     * Check that the header announces the expected message and a root block at least as long as the first
+     * version of it, so every field a decoder reads lies inside the message
+     *
+     * @return the acting block length
+     */
+    static int validate(DirectBuffer buffer, int offset, int templateId, int minimumBlockLength) {
+        if (buffer.capacity() - offset < ENCODED_LENGTH) {
+            throw new IllegalArgumentException("Buffer too short for a message header");
+        }
+        int schemaId = schemaId(buffer, offset);
+        if (schemaId != MarketDataSchema.SCHEMA_ID) {
+            throw new IllegalArgumentException("Unknown schema id " + schemaId);
+        }
+        int actualTemplateId = templateId(buffer, offset);
+        if (actualTemplateId != templateId) {
+            throw new IllegalArgumentException("Expected template " + templateId + " but found " + actualTemplateId);
+        }
+        int blockLength = blockLength(buffer, offset);
+        if (blockLength < minimumBlockLength || buffer.capacity() - offset - ENCODED_LENGTH < blockLength) {
+            throw new IllegalArgumentException("Invalid block length " + blockLength + " for template " + templateId);
+        }
+        return blockLength;
+    }
+}
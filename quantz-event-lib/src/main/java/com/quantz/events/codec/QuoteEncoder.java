@@ -0,0 +1,95 @@
+package com.quantz.events.codec;
+
+import org.agrona.MutableDirectBuffer;
+
+import static com.quantz.events.codec.MarketDataSchema.BYTE_ORDER;
+import static com.quantz.events.codec.MarketDataSchema.INSTRUMENT_KEY_LENGTH;
+
+/**
+ * Writes a quote: the last trade plus previous close, average price and the resting buy and sell quantities of
+ * the order book. A reusable flyweight; nothing is allocated per message.
+ */
+public final class QuoteEncoder {
+
+    public static final int TEMPLATE_ID = MarketDataSchema.QUOTE_TEMPLATE_ID;
+    public static final int BLOCK_LENGTH = 120;
+    public static final int ENCODED_LENGTH = MessageHeader.ENCODED_LENGTH + BLOCK_LENGTH;
+
+    static final int TIMESTAMP_OFFSET = 0;
+    static final int LAST_PRICE_OFFSET = 8;
+    static final int CLOSE_PRICE_OFFSET = 16;
+    static final int AVERAGE_PRICE_OFFSET = 24;
+    static final int LAST_QUANTITY_OFFSET = 32;
+    static final int VOLUME_OFFSET = 40;
+    static final int OPEN_INTEREST_OFFSET = 48;
+    static final int TOTAL_BUY_QUANTITY_OFFSET = 56;
+    static final int TOTAL_SELL_QUANTITY_OFFSET = 64;
+    static final int INSTRUMENT_KEY_OFFSET = 72;
+
+    private MutableDirectBuffer buffer;
+    private int offset;
+
+    /**
+     * Write the message header at the offset and position the flyweight on the root block after it
+     */
+    public QuoteEncoder wrapAndApplyHeader(MutableDirectBuffer buffer, int offset) {
+        MessageHeader.encode(buffer, offset, BLOCK_LENGTH, TEMPLATE_ID);
+        this.buffer = buffer;
+        this.offset = offset + MessageHeader.ENCODED_LENGTH;
+        return this;
+    }
+
+    public int encodedLength() {
+        return ENCODED_LENGTH;
+    }
+
+    public QuoteEncoder instrumentKey(CharSequence value) {
+        AsciiFields.putFixed(buffer, offset + INSTRUMENT_KEY_OFFSET, INSTRUMENT_KEY_LENGTH, value);
+        return this;
+    }
+
+    public QuoteEncoder timestamp(long epochMillis) {
+        buffer.putLong(offset + TIMESTAMP_OFFSET, epochMillis, BYTE_ORDER);
+        return this;
+    }
+
+    public QuoteEncoder lastPrice(double value) {
+        buffer.putDouble(offset + LAST_PRICE_OFFSET, value, BYTE_ORDER);
+        return this;
+    }
+
+    public QuoteEncoder closePrice(double value) {
+        buffer.putDouble(offset + CLOSE_PRICE_OFFSET, value, BYTE_ORDER);
+        return this;
+    }
+
+    public QuoteEncoder averagePrice(double value) {
+        buffer.putDouble(offset + AVERAGE_PRICE_OFFSET, value, BYTE_ORDER);
+        return this;
+    }
+
+    public QuoteEncoder lastQuantity(long value) {
+        buffer.putLong(offset + LAST_QUANTITY_OFFSET, value, BYTE_ORDER);
+        return this;
+    }
+
+    public QuoteEncoder volume(long value) {
+        buffer.putLong(offset + VOLUME_OFFSET, value, BYTE_ORDER);
+        return this;
+    }
+
+    public QuoteEncoder openInterest(long value) {
+        buffer.putLong(offset + OPEN_INTEREST_OFFSET, value, BYTE_ORDER);
+        return this;
+    }
+
+    public QuoteEncoder totalBuyQuantity(long value) {
+        buffer.putLong(offset + TOTAL_BUY_QUANTITY_OFFSET, value, BYTE_ORDER);
+        return this;
+    }
+
+    public QuoteEncoder totalSellQuantity(long value) {
+        buffer.putLong(offset + TOTAL_SELL_QUANTITY_OFFSET, value, BYTE_ORDER);
+        return this;
+    }
+}
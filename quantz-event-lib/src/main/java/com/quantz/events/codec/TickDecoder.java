@@ -0,0 +1,72 @@
+package com.quantz.events.codec;
+
+import org.agrona.DirectBuffer;
+
+import static com.quantz.events.codec.MarketDataSchema.BYTE_ORDER;
+import static com.quantz.events.codec.MarketDataSchema.INSTRUMENT_KEY_LENGTH;
+import static com.quantz.events.codec.TickEncoder.*;
+
+/**
+ * Reads a tick written by {@link TickEncoder}. A reusable flyweight; only the {@code String} accessors allocate.
+ */
+public final class TickDecoder {
+
+    private DirectBuffer buffer;
+    private int offset;
+    private int actingBlockLength;
+    private int actingVersion;
+
+    /**
+     * Validate the message header at the offset and position the flyweight on the root block after it
+     *
+     * @throws IllegalArgumentException if the buffer does not hold a tick of this schema
+     */
+    public TickDecoder wrap(DirectBuffer buffer, int offset) {
+        this.actingBlockLength = MessageHeader.validate(buffer, offset, TEMPLATE_ID, BLOCK_LENGTH);
+        this.actingVersion = MessageHeader.version(buffer, offset);
+        this.buffer = buffer;
+        this.offset = offset + MessageHeader.ENCODED_LENGTH;
+        return this;
+    }
+
+    public int actingVersion() {
+        return actingVersion;
+    }
+
+    public int encodedLength() {
+        return MessageHeader.ENCODED_LENGTH + actingBlockLength;
+    }
+
+    /**
+     * Append the instrument key to the destination without allocating
+     *
+     * @return number of characters appended
+     */
+    public int getInstrumentKey(StringBuilder destination) {
+        return AsciiFields.getFixed(buffer, offset + INSTRUMENT_KEY_OFFSET, INSTRUMENT_KEY_LENGTH, destination);
+    }
+
+    public String instrumentKey() {
+        return AsciiFields.getFixed(buffer, offset + INSTRUMENT_KEY_OFFSET, INSTRUMENT_KEY_LENGTH);
+    }
+
+    public long timestamp() {
+        return buffer.getLong(offset + TIMESTAMP_OFFSET, BYTE_ORDER);
+    }
+
+    public double lastPrice() {
+        return buffer.getDouble(offset + LAST_PRICE_OFFSET, BYTE_ORDER);
+    }
+
+    public long lastQuantity() {
+        return buffer.getLong(offset + LAST_QUANTITY_OFFSET, BYTE_ORDER);
+    }
+
+    public long volume() {
+        return buffer.getLong(offset + VOLUME_OFFSET, BYTE_ORDER);
+    }
+
+    public long openInterest() {
+        return buffer.getLong(offset + OPEN_INTEREST_OFFSET, BYTE_ORDER);
+    }
+}
@@ -0,0 +1,71 @@
+package com.quantz.events.codec;
+
+import org.agrona.MutableDirectBuffer;
+
+import static com.quantz.events.codec.MarketDataSchema.BYTE_ORDER;
+import static com.quantz.events.codec.MarketDataSchema.INSTRUMENT_KEY_LENGTH;
+
+/**
+ * Writes a tick, the last trade of an instrument: timestamp, price and quantity of the trade together with the
+ * session volume and open interest. A reusable flyweight; nothing is allocated per message.
+ */
+public final class TickEncoder {
+
+    public static final int TEMPLATE_ID = MarketDataSchema.TICK_TEMPLATE_ID;
+    public static final int BLOCK_LENGTH = 88;
+    public static final int ENCODED_LENGTH = MessageHeader.ENCODED_LENGTH + BLOCK_LENGTH;
+
+    static final int TIMESTAMP_OFFSET = 0;
+    static final int LAST_PRICE_OFFSET = 8;
+    static final int LAST_QUANTITY_OFFSET = 16;
+    static final int VOLUME_OFFSET = 24;
+    static final int OPEN_INTEREST_OFFSET = 32;
+    static final int INSTRUMENT_KEY_OFFSET = 40;
+
+    private MutableDirectBuffer buffer;
+    private int offset;
+
+    /**
+     * Write the message header at the offset and position the flyweight on the root block after it
+     */
+    public TickEncoder wrapAndApplyHeader(MutableDirectBuffer buffer, int offset) {
+        MessageHeader.encode(buffer, offset, BLOCK_LENGTH, TEMPLATE_ID);
+        this.buffer = buffer;
+        this.offset = offset + MessageHeader.ENCODED_LENGTH;
+        return this;
+    }
+
+    public int encodedLength() {
+        return ENCODED_LENGTH;
+    }
+
+    public TickEncoder instrumentKey(CharSequence value) {
+        AsciiFields.putFixed(buffer, offset + INSTRUMENT_KEY_OFFSET, INSTRUMENT_KEY_LENGTH, value);
+        return this;
+    }
+
+    public TickEncoder timestamp(long epochMillis) {
+        buffer.putLong(offset + TIMESTAMP_OFFSET, epochMillis, BYTE_ORDER);
+        return this;
+    }
+
+    public TickEncoder lastPrice(double value) {
+        buffer.putDouble(offset + LAST_PRICE_OFFSET, value, BYTE_ORDER);
+        return this;
+    }
+
+    public TickEncoder lastQuantity(long value) {
+        buffer.putLong(offset + LAST_QUANTITY_OFFSET, value, BYTE_ORDER);
+        return this;
+    }
+
+    public TickEncoder volume(long value) {
+        buffer.putLong(offset + VOLUME_OFFSET, value, BYTE_ORDER);
+        return this;
+    }
+
+    public TickEncoder openInterest(long value) {
+        buffer.putLong(offset + OPEN_INTEREST_OFFSET, value, BYTE_ORDER);
+        return this;
+    }
+}
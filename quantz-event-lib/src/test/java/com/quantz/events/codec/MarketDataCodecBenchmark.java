@@ -0,0 +1,89 @@
+package com.quantz.events.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Flyweight codec against Jackson for one bar and one tick, encode plus decode of every field.
+ * <p>
+ * Run after {@code mvn test-compile} with
+ * {@code java -cp target/test-classes:target/classes:<test classpath> org.openjdk.jmh.Main MarketDataCodecBenchmark -prof gc};
+ * the gc profiler shows the allocation rate per operation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MarketDataCodecBenchmark {
+
+    private static final String KEY = "NSE_EQ|INE002A01018";
+
+    public record Bar(String instrumentKey, String interval, long timestamp,
+                      double open, double high, double low, double close, long volume) {
+    }
+
+    public record Tick(String instrumentKey, long timestamp, double lastPrice, long lastQuantity,
+                       long volume, long openInterest) {
+    }
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final UnsafeBuffer buffer = new UnsafeBuffer(new byte[256]);
+    private final StringBuilder key = new StringBuilder(MarketDataSchema.INSTRUMENT_KEY_LENGTH);
+    private final BarEncoder barEncoder = new BarEncoder();
+    private final BarDecoder barDecoder = new BarDecoder();
+    private final TickEncoder tickEncoder = new TickEncoder();
+    private final TickDecoder tickDecoder = new TickDecoder();
+
+    private Bar bar;
+    private Tick tick;
+
+    @Setup
+    public void setUp() {
+        bar = new Bar(KEY, "1minute", 1_736_000_000_000L, 1250.5, 1254.0, 1249.2, 1253.1, 183_450);
+        tick = new Tick(KEY, 1_736_000_000_123L, 1253.1, 25, 4_183_450, 0);
+    }
+
+    @Benchmark
+    public double flyweightBar() {
+        barEncoder.wrapAndApplyHeader(buffer, 0)
+                .instrumentKey(bar.instrumentKey()).interval(bar.interval()).timestamp(bar.timestamp())
+                .open(bar.open()).high(bar.high()).low(bar.low()).close(bar.close()).volume(bar.volume());
+        barDecoder.wrap(buffer, 0);
+        key.setLength(0);
+        barDecoder.getInstrumentKey(key);
+        barDecoder.getInterval(key);
+        return barDecoder.timestamp() + barDecoder.open() + barDecoder.high() + barDecoder.low()
+                + barDecoder.close() + barDecoder.volume() + key.length();
+    }
+
+    @Benchmark
+    public double jacksonBar() throws Exception {
+        Bar decoded = objectMapper.readValue(objectMapper.writeValueAsBytes(bar), Bar.class);
+        return decoded.timestamp() + decoded.open() + decoded.high() + decoded.low() + decoded.close()
+                + decoded.volume() + decoded.instrumentKey().length() + decoded.interval().length();
+    }
+
+    @Benchmark
+    public double flyweightTick() {
+        tickEncoder.wrapAndApplyHeader(buffer, 0)
+                .instrumentKey(tick.instrumentKey()).timestamp(tick.timestamp()).lastPrice(tick.lastPrice())
+                .lastQuantity(tick.lastQuantity()).volume(tick.volume()).openInterest(tick.openInterest());
+        tickDecoder.wrap(buffer, 0);
+        key.setLength(0);
+        tickDecoder.getInstrumentKey(key);
+        return tickDecoder.timestamp() + tickDecoder.lastPrice() + tickDecoder.lastQuantity()
+                + tickDecoder.volume() + tickDecoder.openInterest() + key.length();
+    }
+
+    @Benchmark
+    public double jacksonTick() throws Exception {
+        Tick decoded = objectMapper.readValue(objectMapper.writeValueAsBytes(tick), Tick.class);
+        return decoded.timestamp() + decoded.lastPrice() + decoded.lastQuantity() + decoded.volume()
+                + decoded.openInterest() + decoded.instrumentKey().length();
+    }
+}
@@ -0,0 +1,134 @@
+package com.quantz.events.codec;
+
+import org.agrona.ExpandableArrayBuffer;
+import org.agrona.MutableDirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MarketDataCodecTest {
+
+    private static final String KEY = "NSE_FO|45122";
+
+    private final MutableDirectBuffer buffer = new ExpandableArrayBuffer(512);
+
+    @Test
+    @DisplayName("Ticks, bars, quotes and instrument deltas round-trip, with absent values read as null values")
+    void roundTripsEveryMessage() {
+        new TickEncoder().wrapAndApplyHeader(buffer, 16)
+                .instrumentKey(KEY).timestamp(1_736_000_000_123L).lastPrice(245.35)
+                .lastQuantity(75).volume(1_200_000).openInterest(3_400_000);
+        assertThat(MessageHeader.templateId(buffer, 16)).isEqualTo(MarketDataSchema.TICK_TEMPLATE_ID);
+        TickDecoder tick = new TickDecoder().wrap(buffer, 16);
+        assertThat(tick.instrumentKey()).isEqualTo(KEY);
+        assertThat(tick.timestamp()).isEqualTo(1_736_000_000_123L);
+        assertThat(tick.lastPrice()).isEqualTo(245.35);
+        assertThat(tick.lastQuantity()).isEqualTo(75);
+        assertThat(tick.volume()).isEqualTo(1_200_000);
+        assertThat(tick.openInterest()).isEqualTo(3_400_000);
+        assertThat(tick.encodedLength()).isEqualTo(TickEncoder.ENCODED_LENGTH);
+
+        new BarEncoder().wrapAndApplyHeader(buffer, 0)
+                .instrumentKey(KEY).interval("30minute").timestamp(1_736_000_000_000L)
+                .open(240.0).high(247.5).low(239.1).close(245.35).volume(98_000);
+        BarDecoder bar = new BarDecoder().wrap(buffer, 0);
+        assertThat(bar.instrumentKey()).isEqualTo(KEY);
+        assertThat(bar.interval()).isEqualTo("30minute");
+        assertThat(new double[]{bar.open(), bar.high(), bar.low(), bar.close()})
+                .containsExactly(240.0, 247.5, 239.1, 245.35);
+        assertThat(bar.volume()).isEqualTo(98_000);
+
+        new QuoteEncoder().wrapAndApplyHeader(buffer, 0)
+                .instrumentKey(KEY).timestamp(1L).lastPrice(245.35).closePrice(MarketDataSchema.NULL_DOUBLE)
+                .averagePrice(244.0).lastQuantity(75).volume(10).openInterest(MarketDataSchema.NULL_LONG)
+                .totalBuyQuantity(5_000).totalSellQuantity(6_000);
+        QuoteDecoder quote = new QuoteDecoder().wrap(buffer, 0);
+        assertThat(quote.closePrice()).isNaN();
+        assertThat(quote.openInterest()).isEqualTo(MarketDataSchema.NULL_LONG);
+        assertThat(quote.totalBuyQuantity()).isEqualTo(5_000);
+        assertThat(quote.totalSellQuantity()).isEqualTo(6_000);
+
+        int length = new InstrumentDeltaEncoder().wrapAndApplyHeader(buffer, 0)
+                .change(InstrumentChange.ADDED).instrumentKey(KEY).lotSize(75).strike(24500.0)
+                .exchange("NSE").segment("NSE_FO").name("NIFTY")
+                .tradingSymbol("NIFTY 24500 CE 30 JAN 25").expiry("2025-01-30")
+                .optionType("CE").underlyingKey("NSE_INDEX|Nifty 50")
+                .encodedLength();
+        InstrumentDeltaDecoder delta = new InstrumentDeltaDecoder().wrap(new UnsafeBuffer(buffer, 0, length), 0);
+        assertThat(delta.change()).isEqualTo(InstrumentChange.ADDED);
+        assertThat(delta.instrumentKey()).isEqualTo(KEY);
+        assertThat(delta.lotSize()).isEqualTo(75);
+        assertThat(delta.tickSize()).isNaN();
+        assertThat(delta.strike()).isEqualTo(24500.0);
+        assertThat(delta.underlyingKey()).isEqualTo("NSE_INDEX|Nifty 50");
+        assertThat(delta.tradingSymbol()).isEqualTo("NIFTY 24500 CE 30 JAN 25");
+        assertThat(delta.isin()).isEmpty();
+        assertThat(delta.underlyingSymbol()).isEmpty();
+        assertThat(delta.encodedLength()).isEqualTo(length);
+    }
+
+    @Test
+    @DisplayName("Decoders reject foreign messages and skip fields appended by a newer schema version")
+    void validatesHeaderAndToleratesNewerWriters() {
+        new TickEncoder().wrapAndApplyHeader(buffer, 0).instrumentKey(KEY);
+        assertThatThrownBy(() -> new BarDecoder().wrap(buffer, 0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new TickDecoder().wrap(new UnsafeBuffer(buffer, 0, 40), 0))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        // A later version that appended an 8-byte field to the root block
+        InstrumentDeltaEncoder encoder = new InstrumentDeltaEncoder().wrapAndApplyHeader(buffer, 0)
+                .change(InstrumentChange.CHANGED).instrumentKey(KEY);
+        int length = encoder.exchange("NSE").segment("NSE_EQ").encodedLength();
+        int varStart = MessageHeader.ENCODED_LENGTH + InstrumentDeltaEncoder.BLOCK_LENGTH;
+        ExpandableArrayBuffer newer = new ExpandableArrayBuffer(512);
+        newer.putBytes(0, buffer, 0, varStart);
+        newer.putLong(varStart, 42L);
+        newer.putBytes(varStart + 8, buffer, varStart, length - varStart);
+        newer.putShort(0, (short) (InstrumentDeltaEncoder.BLOCK_LENGTH + 8), MarketDataSchema.BYTE_ORDER);
+        newer.putShort(6, (short) (MarketDataSchema.SCHEMA_VERSION + 1), MarketDataSchema.BYTE_ORDER);
+
+        InstrumentDeltaDecoder decoder = new InstrumentDeltaDecoder().wrap(newer, 0);
+        assertThat(decoder.actingVersion()).isEqualTo(MarketDataSchema.SCHEMA_VERSION + 1);
+        assertThat(decoder.change()).isEqualTo(InstrumentChange.CHANGED);
+        assertThat(decoder.exchange()).isEqualTo("NSE");
+        assertThat(decoder.segment()).isEqualTo("NSE_EQ");
+        assertThat(decoder.encodedLength()).isEqualTo(length + 8);
+    }
+
+    @Test
+    @DisplayName("Encoding and decoding through the flyweights allocates nothing once warm")
+    void allocatesNothingPerMessage() {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        BarEncoder encoder = new BarEncoder();
+        BarDecoder decoder = new BarDecoder();
+        StringBuilder key = new StringBuilder(MarketDataSchema.INSTRUMENT_KEY_LENGTH);
+        UnsafeBuffer direct = new UnsafeBuffer(new byte[BarEncoder.ENCODED_LENGTH]);
+
+        long checksum = codecLoop(encoder, decoder, direct, key, 20_000);
+        long before = threads.getCurrentThreadAllocatedBytes();
+        checksum += codecLoop(encoder, decoder, direct, key, 100_000);
+        long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+
+        assertThat(checksum).isPositive();
+        assertThat(allocated).isLessThan(1024);
+    }
+
+    private static long codecLoop(BarEncoder encoder, BarDecoder decoder, UnsafeBuffer buffer,
+                                  StringBuilder key, int iterations) {
+        long checksum = 0;
+        for (int i = 0; i < iterations; i++) {
+            encoder.wrapAndApplyHeader(buffer, 0)
+                    .instrumentKey(KEY).interval("1minute").timestamp(i)
+                    .open(i).high(i + 1).low(i - 1).close(i).volume(i);
+            decoder.wrap(buffer, 0);
+            key.setLength(0);
+            checksum += decoder.getInstrumentKey(key) + decoder.volume() + (long) decoder.close();
+        }
+        return checksum;
+    }
+}